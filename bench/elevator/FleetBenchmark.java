@@ -0,0 +1,102 @@
+package elevator;
+
+import elevator.sim.CarrierPool;
+import elevator.sim.SimulationClock;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a large fleet of cars sharing a {@link CarrierPool} on the wall clock.
+ * <p>
+ * The fleet runs with short timings and each invocation presses an inside button on
+ * the next car, so the cars keep travelling and cycling their doors throughout.
+ * {@link #scheduleLatency()} then measures how long an action due now waits for a
+ * carrier, which is the lag every door and travel timeout of the fleet sees. {@link #startFleet()} builds and starts a
+ * whole fleet; run it with {@code -prof gc} and divide {@code gc.alloc.rate.norm} by
+ * {@code cars} for the memory per car.
+ * </p>
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FleetBenchmark {
+    private static final int FLOORS = 30;
+    private static final ElevatorConfig FAST = new ElevatorConfig(20, 10, 50, 1);
+
+    @Param({"10000"})
+    public int cars;
+
+    @Param({"1", "4"})
+    public int carriers;
+
+    private CarrierPool pool;
+    private List<Elevator> fleet;
+    private SimulationClock probe; // Lane of its own, so the probe never waits behind a car
+    private Random random;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = new CarrierPool(carriers);
+        fleet = build(pool, cars);
+        probe = pool.newClock();
+        random = new Random(42);
+        for (Elevator car : fleet) {
+            car.start();
+            car.addInsideRequest(2 + random.nextInt(FLOORS - 1));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (Elevator car : fleet) {
+            car.stop();
+        }
+        pool.close();
+    }
+
+    /**
+     * Keeps the fleet busy and measures the delay before an action due now runs.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void scheduleLatency() throws InterruptedException {
+        Elevator car = fleet.get(cursor++ % cars);
+        car.addInsideRequest(1 + random.nextInt(FLOORS)); // Also ends any wait for an inside call
+
+        CountDownLatch ran = new CountDownLatch(1);
+        probe.schedule(0, ran::countDown);
+        ran.await();
+    }
+
+    /**
+     * Builds and starts a fleet of idle cars, one lane each.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    public List<Elevator> startFleet() {
+        List<Elevator> started = build(pool, cars);
+        for (Elevator car : started) {
+            car.start();
+        }
+        return started;
+    }
+
+    private static List<Elevator> build(CarrierPool pool, int cars) {
+        List<Elevator> fleet = new ArrayList<>(cars);
+        for (int i = 0; i < cars; i++) {
+            fleet.add(new Elevator(FLOORS, pool.newClock(), FAST));
+        }
+        return fleet;
+    }
+}
@@ -0,0 +1,92 @@
+package elevator;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link RequestIndex} operations that replaced the old queue sort:
+ * inserting and cancelling a call, and finding the next stop of a LOOK sweep.
+ * <p>
+ * The index is pre-loaded with {@code pendingCalls} random presses. Because presses
+ * for the same floor and direction collapse, its occupancy is bounded by three bits
+ * per floor however many presses are pending.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RequestIndexBenchmark {
+    private static final int SAMPLES = 1024; // Power of two so the cursor can wrap with a mask
+
+    @Param({"10", "100", "500"})
+    public int floors;
+
+    @Param({"10", "1000", "100000"})
+    public int pendingCalls;
+
+    private RequestIndex index;
+    private int[] sampleFloors;
+    private boolean[] sampleUp;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        index = new RequestIndex(floors);
+
+        for (int i = 0; i < pendingCalls; i++) {
+            int floor = 1 + random.nextInt(floors);
+            switch (random.nextInt(3)) {
+                case 0 -> index.addInside(floor, 0);
+                case 1 -> index.addHallCall(floor, true, 0);
+                default -> index.addHallCall(floor, false, 0);
+            }
+        }
+
+        sampleFloors = new int[SAMPLES];
+        sampleUp = new boolean[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            sampleFloors[i] = 1 + random.nextInt(floors);
+            sampleUp[i] = random.nextBoolean();
+        }
+    }
+
+    /**
+     * Inserts and cancels a hall call, restoring the index to its previous state.
+     */
+    @Benchmark
+    public boolean insertAndCancel() {
+        int i = cursor++ & (SAMPLES - 1);
+        int floor = sampleFloors[i];
+        boolean up = sampleUp[i];
+
+        if (index.addHallCall(floor, up, 0)) {
+            return index.cancelHallCall(floor, up);
+        }
+        index.cancelHallCall(floor, up);
+        return index.addHallCall(floor, up, 0);
+    }
+
+    /**
+     * Looks up the next stop of a sweep from a random floor and direction.
+     */
+    @Benchmark
+    public int nextStop() {
+        int i = cursor++ & (SAMPLES - 1);
+        return index.nextStop(sampleFloors[i], sampleUp[i]);
+    }
+
+    /**
+     * Checks whether a car passing a random floor has to stop there.
+     */
+    @Benchmark
+    public boolean hasStopAt() {
+        int i = cursor++ & (SAMPLES - 1);
+        return index.hasStopAt(sampleFloors[i], sampleUp[i]);
+    }
+}
@@ -0,0 +1,112 @@
+package elevator;
+
+import elevator.sim.VirtualClock;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the full request path of {@link Elevator#addRequest(int, Direction)} and
+ * {@link Elevator#addInsideRequest(int)}: posting to the lock-free intake and applying
+ * the press to the request index when the car drains it.
+ * <p>
+ * The elevator is pre-loaded with {@code pendingCalls} presses and never moves, so the
+ * benchmark reflects the steady state of a busy building where most presses repeat
+ * calls that are already pending. {@link #mashButtons()} instead presses a few calls
+ * many times between drains, which the intake coalesces before they reach the index.
+ * Run with {@code -prof gc} to see the allocation rate.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RequestIntakeBenchmark {
+    private static final int SAMPLES = 1024; // Power of two so the cursor can wrap with a mask
+    private static final int MASH_PRESSES = 64; // Presses between drains in mashButtons
+    private static final int MASHED_CALLS = 4; // Distinct calls among them
+
+    @Param({"10", "100", "500"})
+    public int floors;
+
+    @Param({"10", "1000", "100000"})
+    public int pendingCalls;
+
+    private Elevator elevator;
+    private int[] hallFloors;
+    private Direction[] hallDirections;
+    private int[] insideFloors;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        elevator = new Elevator(floors, new VirtualClock());
+
+        hallFloors = new int[SAMPLES];
+        hallDirections = new Direction[SAMPLES];
+        insideFloors = new int[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            // Keep hall calls valid: floor 1 only goes up, the top floor only goes down
+            hallFloors[i] = 1 + random.nextInt(floors);
+            boolean up = hallFloors[i] == 1 || (hallFloors[i] != floors && random.nextBoolean());
+            hallDirections[i] = Direction.of(up);
+            insideFloors[i] = 2 + random.nextInt(floors - 1); // The car rests at floor 1
+        }
+
+        for (int i = 0; i < pendingCalls; i++) {
+            int sample = i & (SAMPLES - 1);
+            elevator.addRequest(hallFloors[sample], hallDirections[sample]);
+            elevator.drainIntake();
+        }
+    }
+
+    /**
+     * Adds an outside request and applies it.
+     */
+    @Benchmark
+    public void addRequest() {
+        int i = cursor++ & (SAMPLES - 1);
+        elevator.addRequest(hallFloors[i], hallDirections[i]);
+        elevator.drainIntake();
+    }
+
+    /**
+     * Adds an inside button request and applies it.
+     */
+    @Benchmark
+    public void addInsideRequest() {
+        int i = cursor++ & (SAMPLES - 1);
+        elevator.addInsideRequest(insideFloors[i]);
+        elevator.drainIntake();
+    }
+
+    /**
+     * Presses a few hall calls over and over before the car drains them, as people do in
+     * a crowded lobby. Reported per press.
+     */
+    @Benchmark
+    @OperationsPerInvocation(MASH_PRESSES)
+    public void mashButtons() {
+        for (int n = 0; n < MASH_PRESSES; n++) {
+            int i = (cursor + n % MASHED_CALLS) & (SAMPLES - 1);
+            elevator.addRequest(hallFloors[i], hallDirections[i]);
+        }
+        cursor += MASHED_CALLS;
+        elevator.drainIntake();
+    }
+
+    /**
+     * Adds an outside request, withdraws it, and applies both.
+     */
+    @Benchmark
+    public void addAndCancel() {
+        int i = cursor++ & (SAMPLES - 1);
+        elevator.addRequest(hallFloors[i], hallDirections[i]);
+        elevator.cancelRequest(hallFloors[i], hallDirections[i]);
+        elevator.drainIntake();
+    }
+}
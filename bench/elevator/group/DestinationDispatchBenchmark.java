@@ -0,0 +1,58 @@
+package elevator.group;
+
+import elevator.ElevatorConfig;
+import elevator.workload.BatchResult;
+import elevator.workload.BatchRunner;
+import elevator.workload.PassengerTable;
+import elevator.workload.TrafficPattern;
+import elevator.workload.WorkloadGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the wall time of simulating the same up-peak hour under destination dispatch
+ * from hall keypads and under conventional up and down calls.
+ * <p>
+ * Each invocation runs the hour in virtual time with cars of limited capacity. Destination
+ * dispatch weighs every car's bookings for each call, so this is what grouping passengers
+ * by destination costs the simulator. Compare the dispatchers' waiting and journey times
+ * on identical traffic with
+ * {@code SweepRunner --dispatcher eta,destination --capacity 16 --rate 3000}.
+ * </p>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DestinationDispatchBenchmark {
+    private static final int FLOORS = 20;
+    private static final int CARS = 4;
+    private static final int CAPACITY = 16; // Passengers per car
+    private static final long HOUR_MILLIS = 3_600_000;
+
+    @Param({"eta", "destination"})
+    public String dispatcher;
+
+    @Param({"1200", "3000"})
+    public double tripsPerHour;
+
+    private PassengerTable traffic;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        traffic = new WorkloadGenerator(FLOORS, TrafficPattern.UP_PEAK, tripsPerHour, 42).generatePassengers(HOUR_MILLIS);
+    }
+
+    /**
+     * Runs the up-peak hour until the last passenger arrives.
+     */
+    @Benchmark
+    public BatchResult upPeakHour() throws InterruptedException {
+        Dispatcher selected = dispatcher.equals("destination") ? new DestinationDispatcher() : new EtaDispatcher();
+        BatchRunner runner = new BatchRunner(FLOORS, CARS, selected, ElevatorConfig.DEFAULT.withCapacity(CAPACITY));
+        return runner.run(traffic);
+    }
+}
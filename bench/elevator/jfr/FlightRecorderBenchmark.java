@@ -0,0 +1,73 @@
+package elevator.jfr;
+
+import elevator.group.EtaDispatcher;
+import elevator.workload.BatchResult;
+import elevator.workload.BatchRunner;
+import elevator.workload.PassengerTable;
+import elevator.workload.TrafficPattern;
+import elevator.workload.WorkloadGenerator;
+import jdk.jfr.Recording;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of the elevator's Flight Recorder events on a busy simulation: an
+ * hour of lunch traffic through four cars, with no recording, with a recording that
+ * leaves the elevator events disabled, and with one that commits all of them.
+ * <p>
+ * The simulation runs in virtual time and spends nearly all of its wall time in the
+ * cars' state changes, so the difference between the modes is the events' share of the
+ * hot path. A real-time deployment spends almost all of its time asleep, where the
+ * events cost nothing.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FlightRecorderBenchmark {
+    private static final List<String> EVENTS = List.of("elevator.RequestEnqueued", "elevator.StopPlanned",
+            "elevator.StopDiverted", "elevator.CarDeparted", "elevator.CarArrived", "elevator.DoorCycle");
+
+    @Param({"none", "disabled", "enabled"})
+    public String recording;
+
+    private PassengerTable traffic;
+    private Recording flightRecording;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        traffic = new WorkloadGenerator(20, TrafficPattern.LUNCH, 1200, 42).generatePassengers(3_600_000);
+        if (!recording.equals("none")) {
+            flightRecording = new Recording();
+            for (String event : EVENTS) {
+                if (recording.equals("enabled")) {
+                    flightRecording.enable(event).withoutStackTrace();
+                } else {
+                    flightRecording.disable(event);
+                }
+            }
+            flightRecording.setToDisk(false);
+            flightRecording.start();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (flightRecording != null) {
+            flightRecording.close();
+        }
+    }
+
+    /**
+     * Runs the hour of traffic.
+     */
+    @Benchmark
+    public BatchResult simulate() throws InterruptedException {
+        return new BatchRunner(20, 4, new EtaDispatcher()).run(traffic);
+    }
+}
@@ -0,0 +1,72 @@
+package elevator.journal;
+
+import elevator.Direction;
+import elevator.Elevator;
+import elevator.Request;
+import elevator.sim.VirtualClock;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures appending events to a {@link JournalWriter}, including segment rotation.
+ * <p>
+ * Small segments rotate often and show the cost of mapping new files; large segments
+ * show the steady-state cost of an append into the mapped page cache.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JournalBenchmark {
+
+    @Param({"1048576", "67108864"})
+    public long segmentBytes;
+
+    private Path directory;
+    private JournalWriter writer;
+    private Elevator car;
+    private Request request;
+    private int floor;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal-bench");
+        writer = new JournalWriter(directory, segmentBytes);
+        car = new Elevator(100, new VirtualClock());
+        writer.attach(car);
+        request = Request.hallCall(50, Direction.UP);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        writer.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Appends a floor-passed event.
+     */
+    @Benchmark
+    public void appendFloorPassed() {
+        writer.onFloorPassed(car, 1 + (floor++ & 63));
+    }
+
+    /**
+     * Appends a request-served event, which carries a packed request and a timestamp.
+     */
+    @Benchmark
+    public void appendRequestServed() {
+        writer.onRequestServed(car, request, floor++);
+    }
+}
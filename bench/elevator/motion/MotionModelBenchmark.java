@@ -0,0 +1,76 @@
+package elevator.motion;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the kinematic motion model: the table lookup that dispatchers and planners
+ * use for every estimate, the pass time a moving car solves once per floor, and the
+ * one-off cost of building the tables.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MotionModelBenchmark {
+    private static final int SAMPLES = 1024; // Power of two so the cursor can wrap with a mask
+
+    @Param({"20", "100", "500"})
+    public int floors;
+
+    private KinematicMotion motion;
+    private int[] origins;
+    private int[] targets;
+    private int[] passed;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        motion = new KinematicMotion(floors);
+        Random random = new Random(42);
+        origins = new int[SAMPLES];
+        targets = new int[SAMPLES];
+        passed = new int[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            int a = 1 + random.nextInt(floors - 2);
+            int b = a + 2 + random.nextInt(floors - a - 1);
+            origins[i] = a;
+            targets[i] = b;
+            passed[i] = a + 1 + random.nextInt(b - a - 1); // Strictly between the ends
+        }
+    }
+
+    /**
+     * Looks up the duration of a run.
+     */
+    @Benchmark
+    public long travelMillis() {
+        int i = cursor++ & (SAMPLES - 1);
+        return motion.travelMillis(origins[i], targets[i]);
+    }
+
+    /**
+     * Solves for the time a car passes a floor on a run.
+     */
+    @Benchmark
+    public long passMillis() {
+        int i = cursor++ & (SAMPLES - 1);
+        return motion.passMillis(origins[i], targets[i], passed[i]);
+    }
+
+    /**
+     * Builds the travel and commit tables of a building.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    public KinematicMotion buildTables() {
+        return new KinematicMotion(floors);
+    }
+}
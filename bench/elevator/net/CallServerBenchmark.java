@@ -0,0 +1,98 @@
+package elevator.net;
+
+import elevator.Direction;
+import elevator.Elevator;
+import elevator.group.EtaDispatcher;
+import elevator.group.GroupController;
+import elevator.sim.VirtualClock;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures call ingestion through a {@link CallServer} over loopback TCP.
+ * <p>
+ * The cars share a virtual clock that never advances, so they hold still and the
+ * measurement covers only the network path, decoding, dispatching and the hand-off to
+ * the cars' intakes. {@link #ingestBatch()} sends a batch of calls and waits for the
+ * server to acknowledge it, reported per call; {@link #syncRoundTrip()} is the latency
+ * of a single call and its acknowledgement.
+ * </p>
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CallServerBenchmark {
+    private static final int FLOORS = 40;
+    private static final int CARS = 8;
+    private static final int BATCH = 1000;
+    private static final int SAMPLES = 1024; // Power of two so the cursor can wrap with a mask
+
+    private CallServer server;
+    private CallClient client;
+    private int[] floors;
+    private boolean[] inside;
+    private int cursor;
+
+    @Setup
+    public void setUp() throws IOException {
+        VirtualClock clock = new VirtualClock();
+        List<Elevator> bank = new ArrayList<>(CARS);
+        for (int i = 0; i < CARS; i++) {
+            bank.add(new Elevator(FLOORS, clock));
+        }
+        server = new CallServer(new GroupController(bank, new EtaDispatcher()), 0);
+        server.start();
+        client = new CallClient(server.getAddress().getPort());
+
+        Random random = new Random(42);
+        floors = new int[SAMPLES];
+        inside = new boolean[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            floors[i] = 2 + random.nextInt(FLOORS - 1); // Down calls are valid from floor 2 up
+            inside[i] = random.nextBoolean();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        client.close();
+        server.close();
+    }
+
+    /**
+     * Sends a batch of hall and car calls and waits for its acknowledgement.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BATCH)
+    public long ingestBatch() throws IOException {
+        for (int n = 0; n < BATCH; n++) {
+            int i = cursor++ & (SAMPLES - 1);
+            if (inside[i]) {
+                client.carCall(i % CARS, floors[i]);
+            } else {
+                client.hallCall(floors[i], Direction.DOWN);
+            }
+        }
+        return client.sync();
+    }
+
+    /**
+     * Sends one call and waits for its acknowledgement.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long syncRoundTrip() throws IOException {
+        int i = cursor++ & (SAMPLES - 1);
+        client.hallCall(floors[i], Direction.DOWN);
+        return client.sync();
+    }
+}
@@ -0,0 +1,59 @@
+package elevator.park;
+
+import elevator.group.EtaDispatcher;
+import elevator.workload.BatchResult;
+import elevator.workload.BatchRunner;
+import elevator.workload.PassengerTable;
+import elevator.workload.TrafficPattern;
+import elevator.workload.WorkloadGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the wall time of simulating light traffic with idle cars parked where demand
+ * is expected and with idle cars always parked at the lobby.
+ * <p>
+ * Each invocation runs three hours of one traffic pattern in virtual time, starting with
+ * an empty demand model that learns as the cars answer calls, so this is what forecasting
+ * and repositioning cost the simulator. Compare the policies' waiting times on identical
+ * traffic with {@code SweepRunner --parking home,demand --pattern DOWN_PEAK --rate 60 --hours 3}.
+ * </p>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParkingBenchmark {
+    private static final int FLOORS = 20;
+    private static final int CARS = 4;
+    private static final long DURATION_MILLIS = 3 * 3_600_000;
+
+    @Param({"home", "demand"})
+    public String parking;
+
+    @Param({"DOWN_PEAK", "LUNCH", "INTER_FLOOR"})
+    public TrafficPattern pattern;
+
+    @Param({"60", "120"})
+    public double tripsPerHour;
+
+    private PassengerTable traffic;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        traffic = new WorkloadGenerator(FLOORS, pattern, tripsPerHour, 42).generatePassengers(DURATION_MILLIS);
+    }
+
+    /**
+     * Runs the traffic with a fresh demand model, or with every car parking at the lobby.
+     */
+    @Benchmark
+    public BatchResult lightTraffic() throws InterruptedException {
+        BatchRunner runner = new BatchRunner(FLOORS, CARS, new EtaDispatcher());
+        runner.setDemandModel(parking.equals("demand") ? new DemandModel(FLOORS) : null);
+        return runner.run(traffic);
+    }
+}
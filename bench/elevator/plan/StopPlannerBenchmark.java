@@ -0,0 +1,71 @@
+package elevator.plan;
+
+import elevator.ElevatorConfig;
+import elevator.RequestIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time a {@link StopPlanner} takes to choose the next stop.
+ * <p>
+ * The request index is loaded with {@code pendingRequests} random requests that have
+ * waited up to two minutes. The cost planner's search grows with the number of pending
+ * floors until its node budget caps it; LOOK answers in constant time. Compare the
+ * planners' waiting times on identical traffic with
+ * {@code SweepRunner --planner look,cost}.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StopPlannerBenchmark {
+    private static final int FLOORS = 60;
+    private static final long NOW = 600_000;
+
+    @Param({"4", "8", "16", "32"})
+    public int pendingRequests;
+
+    private RequestIndex requests;
+    private StopPlanner look;
+    private StopPlanner cost;
+    private int floor;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        requests = new RequestIndex(FLOORS);
+        while (requests.size() < pendingRequests) {
+            int f = 1 + random.nextInt(FLOORS);
+            long since = NOW - random.nextInt(120_000);
+            if (random.nextBoolean()) {
+                requests.addInside(f, since);
+            } else {
+                requests.addHallCall(f, f == 1 || (f != FLOORS && random.nextBoolean()), since);
+            }
+        }
+        look = new LookPlanner();
+        cost = new CostPlanner(ElevatorConfig.DEFAULT);
+        floor = FLOORS / 2;
+    }
+
+    /**
+     * Chooses the next stop with LOOK.
+     */
+    @Benchmark
+    public int look() {
+        return look.nextStop(requests, floor, true, NOW);
+    }
+
+    /**
+     * Chooses the next stop with the cost-based search.
+     */
+    @Benchmark
+    public int cost() {
+        return cost.nextStop(requests, floor, true, NOW);
+    }
+}
@@ -0,0 +1,92 @@
+package elevator.topology;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures route lookups and served-floor checks in tall zoned buildings, and the time to
+ * build the route tables.
+ * <p>
+ * The building is divided into zones of equal height stacked above the lobby. Each zone
+ * has a bank of cars serving it from a sky lobby at its bottom floor, and a shuttle runs
+ * from the lobby to every sky lobby, so most trips between zones take three legs. The
+ * lookups should take the same few nanoseconds however tall the building and however
+ * many banks it has.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TopologyBenchmark {
+    private static final int TRIPS = 1024; // Random trips looked up in turn, a power of two
+
+    @Param({"60", "240"})
+    public int floors;
+
+    @Param({"4", "24"})
+    public int zones;
+
+    private List<FloorSet> banks;
+    private Topology topology;
+    private int[] origins;
+    private int[] destinations;
+    private int trip;
+
+    @Setup
+    public void setUp() {
+        banks = new ArrayList<>();
+        FloorSet skyLobbies = FloorSet.of(1);
+        int height = (floors - 1) / zones;
+        for (int zone = 0; zone < zones; zone++) {
+            int bottom = 2 + zone * height;
+            int top = zone == zones - 1 ? floors : bottom + height - 1;
+            banks.add(zone == 0 ? FloorSet.range(1, top) : FloorSet.range(bottom, top));
+            skyLobbies = skyLobbies.union(FloorSet.of(bottom));
+        }
+        banks.add(skyLobbies);
+        topology = new Topology(floors, banks);
+
+        Random random = new Random(42);
+        origins = new int[TRIPS];
+        destinations = new int[TRIPS];
+        for (int i = 0; i < TRIPS; i++) {
+            origins[i] = 1 + random.nextInt(floors);
+            do {
+                destinations[i] = 1 + random.nextInt(floors);
+            } while (destinations[i] == origins[i]);
+        }
+    }
+
+    /**
+     * Looks up the bank and the floor to leave it at for the next leg of a trip.
+     */
+    @Benchmark
+    public int routeLookup() {
+        int i = trip++ & TRIPS - 1;
+        return topology.nextBank(origins[i], destinations[i]) * 256 + topology.legEnd(origins[i], destinations[i]);
+    }
+
+    /**
+     * Checks whether the bank of the top zone serves a floor.
+     */
+    @Benchmark
+    public boolean servesCheck() {
+        return topology.serves(zones - 1, origins[trip++ & TRIPS - 1]);
+    }
+
+    /**
+     * Builds the route tables of the whole building.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Topology build() {
+        return new Topology(floors, banks);
+    }
+}
@@ -0,0 +1,68 @@
+package elevator.ui;
+
+import elevator.Direction;
+import elevator.Request;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of showing one change to a long request queue: posting and applying
+ * it to the incremental list model, against rebuilding the whole queue text as a full
+ * re-render does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class QueueViewBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int pending;
+
+    private QueueListModel model;
+    private List<Request> requests;
+    private Request toggled;
+    private boolean present;
+
+    @Setup
+    public void setUp() {
+        model = new QueueListModel(pending + 1);
+        requests = new ArrayList<>(pending);
+        for (int floor = 1; floor <= pending; floor++) {
+            Request request = Request.hallCall(floor, Direction.DOWN);
+            requests.add(request);
+            model.post(request, true);
+        }
+        model.apply();
+        toggled = Request.inside(pending / 2 + 1); // A row in the middle of the list
+    }
+
+    /**
+     * Adds or removes one row of the model and applies the change.
+     */
+    @Benchmark
+    public int incrementalUpdate() {
+        present = !present;
+        model.post(toggled, present);
+        return model.apply();
+    }
+
+    /**
+     * Rebuilds the text of the whole queue, as for a text area's {@code setText}.
+     */
+    @Benchmark
+    public String fullRender() {
+        StringBuilder text = new StringBuilder();
+        text.append("Current queue item: ").append(requests.get(0)).append('\n');
+        for (Request request : requests) {
+            text.append("Floor: ").append(request.getFloor())
+                    .append(", Direction: ").append(request.getDirection()).append('\n');
+        }
+        return text.toString();
+    }
+}
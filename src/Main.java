@@ -1,4 +1,6 @@
+import elevator.Direction;
 import elevator.Elevator;
+import elevator.ui.SwingElevatorView;
 
 import javax.swing.*;
 import java.awt.*;
@@ -39,10 +41,11 @@ public class Main {
         logArea.setEditable(false); // No user edits
         JScrollPane logScrollPane = new JScrollPane(logArea); // Scroll if content exceeds area
 
-        // Set up the queue area below the log area
-        JTextArea queueArea = new JTextArea(10, 40); // 10 rows, 40 columns
-        queueArea.setEditable(false); // No user edits
-        JScrollPane queueScrollPane = new JScrollPane(queueArea); // Scroll if content exceeds area
+        // Set up the queue list below the log area
+        JList<String> queueList = new JList<>();
+        queueList.setVisibleRowCount(10); // 10 rows
+        queueList.setPrototypeCellValue("Current queue item: Request [Floor: 0000, Direction: DOWN]"); // Fixed cell size
+        JScrollPane queueScrollPane = new JScrollPane(queueList); // Scroll if content exceeds area
 
         // Create a vertical panel to hold the log and queue areas
         JPanel textPanel = new JPanel();
@@ -76,12 +79,11 @@ public class Main {
             }
         }
 
-        // Create an Elevator object with the given top floor, logArea, and queueArea
-        Elevator elevator = new Elevator(topFloor, logArea, queueArea);
+        // Create an Elevator object with the given top floor, rendered into logArea and queueList
+        Elevator elevator = new Elevator(topFloor, new SwingElevatorView(logArea, queueList, topFloor));
 
-        // Thread to automatically process the elevator queue
-        Thread elevatorThread = new Thread(elevator::processQueueAutomatically);
-        elevatorThread.start();
+        // Start serving the elevator queue on the clock's dispatching thread
+        elevator.start();
 
         // Listen for adding requests
         while (true) {
@@ -89,7 +91,8 @@ public class Main {
                 System.out.println("\nChoose an action:");
                 System.out.println("1. Add an outside request");
                 System.out.println("2. Add an inside button request");
-                System.out.println("3. Exit");
+                System.out.println("3. Cancel an outside request");
+                System.out.println("4. Exit");
                 System.out.print("> ");
                 int choice = scanner.nextInt();
 
@@ -112,8 +115,21 @@ public class Main {
                     int floor = scanner.nextInt();
                     elevator.addInsideRequest(floor);
 
-                // Exit the program
+                // Withdraw an outside button request
                 } else if (choice == 3) {
+                    System.out.print("Enter the floor number: ");
+                    int floor = scanner.nextInt();
+                    System.out.print("Enter direction (up/down): ");
+                    String direction = scanner.next().toLowerCase();
+
+                    if (!direction.equals("up") && !direction.equals("down")) {
+                        System.out.println("Invalid direction. Please enter 'up' or 'down'.");
+                    } else {
+                        elevator.cancelRequest(floor, Direction.parse(direction));
+                    }
+
+                // Exit the program
+                } else if (choice == 4) {
                     System.out.println("Stopping the elevator...");
                     elevator.stop();
                     break;
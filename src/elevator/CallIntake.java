@@ -0,0 +1,298 @@
+package elevator;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * The {@code CallIntake} class is a bounded multi-producer, single-consumer queue of
+ * button presses and cancellations waiting to be applied to an elevator.
+ * <p>
+ * Any number of threads may {@link #offer(int, int, long) offer} or
+ * {@link #cancel(int, int, long) cancel} calls concurrently. Only the elevator's clock
+ * thread {@link #poll() polls}. Neither side takes a lock: every queued call is
+ * returned by exactly one poll, in the order the producers' tail swaps took effect.
+ * </p>
+ * <p>
+ * Repeat operations are coalesced: the intake keeps the latest operation for each floor
+ * and kind of call, and a queued node only marks that call as having one. The producer
+ * that finds no operation pending links the node; later presses and cancels just replace
+ * the pending operation with one atomic update, without allocating or touching the
+ * queue, and the consumer takes the latest operation as it polls the node. Mashing a
+ * button therefore costs one queue entry per drain, however hard it is pressed, and the
+ * queue can never disagree with a call's latest state. A call's node keeps the time of
+ * the operation that queued it.
+ * </p>
+ * <p>
+ * The number of queued calls is bounded by a capacity. When the intake is full a new
+ * call is handled by the {@link OverflowPolicy}: it is rejected and counted, or the
+ * producer waits for the car to drain. Coalesced calls never count against the capacity.
+ * </p>
+ * <p>
+ * A producer that has swapped the tail but not yet linked its node leaves the queue
+ * briefly unreadable past that point; the consumer then sees the queue as empty and
+ * picks the call up on its next drain, so calls are delayed but never lost.
+ * </p>
+ */
+final class CallIntake {
+    static final int INSIDE = 0; // Inside button press
+    static final int UP = 1; // Up hall call
+    static final int DOWN = 2; // Down hall call
+    static final int DEFAULT_CAPACITY = 4096; // Queued calls per car before the overflow policy applies
+
+    private static final int NONE = 0; // No operation queued for the call
+    private static final int PRESSED = 1; // The pending operation is a press
+    private static final int CANCELLED = 2; // The pending operation is a cancellation
+    private static final long BLOCK_PARK_NANOS = 100_000; // Pause between capacity checks of a blocked producer
+
+    private final AtomicReference<Call> tail; // Last linked or linking node, swapped by producers
+    private Call head; // Consumer-owned stub; its successor is the next call
+    private final int topFloor;
+    private final AtomicIntegerArray latest; // Pending operation, indexed by floor * 3 + kind; set while a node is queued
+    private final AtomicInteger size; // Calls queued and not yet polled
+    private final LongAdder coalesced;
+    private final LongAdder rejected;
+    private volatile int capacity;
+    private volatile OverflowPolicy policy;
+
+    // Constructor
+
+    /**
+     * Constructs an empty {@code CallIntake} with the default capacity that rejects
+     * calls when full.
+     *
+     * @param topFloor The highest floor of the car; calls beyond it are queued without coalescing.
+     */
+    CallIntake(int topFloor) {
+        Call stub = new Call(0, INSIDE, false, 0);
+        this.head = stub;
+        this.tail = new AtomicReference<>(stub);
+        this.topFloor = topFloor;
+        this.latest = new AtomicIntegerArray((topFloor + 1) * 3);
+        this.size = new AtomicInteger();
+        this.coalesced = new LongAdder();
+        this.rejected = new LongAdder();
+        this.capacity = DEFAULT_CAPACITY;
+        this.policy = OverflowPolicy.REJECT;
+    }
+
+    // Package-Private Methods
+
+    /**
+     * Enqueues a press. Safe to call from any thread.
+     *
+     * @param floor The floor of the call.
+     * @param kind  The kind of call: {@link #INSIDE}, {@link #UP}, or {@link #DOWN}.
+     * @param time  The simulation time at which the button was pressed.
+     * @return {@code true} if the press was queued or coalesced, {@code false} if the intake was full.
+     */
+    boolean offer(int floor, int kind, long time) {
+        return post(floor, kind, false, time);
+    }
+
+    /**
+     * Enqueues a cancellation. Safe to call from any thread.
+     *
+     * @param floor The floor of the call.
+     * @param kind  The kind of call: {@link #INSIDE}, {@link #UP}, or {@link #DOWN}.
+     * @param time  The simulation time at which the call was cancelled.
+     * @return {@code true} if the cancellation was queued or coalesced, {@code false} if the intake was full.
+     */
+    boolean cancel(int floor, int kind, long time) {
+        return post(floor, kind, true, time);
+    }
+
+    /**
+     * Dequeues the oldest visible call with its latest operation. Must only be called by
+     * the consumer thread.
+     *
+     * @return The next call, or {@code null} if none is visible.
+     */
+    Call poll() {
+        Call next = head.next;
+        if (next == null) {
+            return null;
+        }
+        head = next; // The dequeued node becomes the new stub
+        int slot = slot(next.floor, next.kind);
+        if (slot >= 0) {
+            next.cancel = latest.getAndSet(slot, NONE) == CANCELLED; // Later operations queue a new node
+        }
+        size.decrementAndGet();
+        return next;
+    }
+
+    /**
+     * Indicates whether a call is visible to the consumer. Must only be called by the consumer thread.
+     *
+     * @return {@code true} if {@link #poll()} would return a call.
+     */
+    boolean hasPending() {
+        return head.next != null;
+    }
+
+    /**
+     * Visits the calls not yet polled, oldest first, without dequeuing them. Only safe
+     * while the consumer is known to be paused, such as while a virtual clock holds time.
+     *
+     * @param action The action to perform on each pending call.
+     */
+    void forEachPending(Consumer<Call> action) {
+        for (Call call = head.next; call != null; call = call.next) {
+            int slot = slot(call.floor, call.kind);
+            if (slot >= 0) {
+                call.cancel = latest.get(slot) == CANCELLED;
+            }
+            action.accept(call);
+        }
+    }
+
+    /**
+     * Sets the maximum number of queued calls and what happens to a call that does not fit.
+     *
+     * @param capacity The maximum number of queued calls.
+     * @param policy   The overflow policy.
+     */
+    void setLimit(int capacity, OverflowPolicy policy) {
+        this.capacity = capacity;
+        this.policy = policy;
+    }
+
+    /**
+     * Returns the maximum number of queued calls.
+     *
+     * @return The capacity.
+     */
+    int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the overflow policy.
+     *
+     * @return The overflow policy.
+     */
+    OverflowPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Returns the number of presses and cancellations folded into an operation already
+     * queued for the same call, either as repeats or by replacing it.
+     *
+     * @return The number of coalesced calls.
+     */
+    long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Returns the number of calls rejected because the intake was full.
+     *
+     * @return The number of rejected calls.
+     */
+    long getRejected() {
+        return rejected.sum();
+    }
+
+    // Private Methods
+
+    /**
+     * Coalesces, admits, and enqueues one operation.
+     */
+    private boolean post(int floor, int kind, boolean cancel, long time) {
+        int slot = slot(floor, kind);
+        if (slot < 0) {
+            if (!reserve()) {
+                rejected.increment();
+                return false;
+            }
+            link(new Call(floor, kind, cancel, time)); // Invalid floor; the car reports it when drained
+            return true;
+        }
+
+        int op = cancel ? CANCELLED : PRESSED;
+        while (true) {
+            int pending = latest.get(slot);
+            if (pending == op) {
+                coalesced.increment(); // The same operation is already queued
+                return true;
+            }
+            if (pending != NONE) {
+                if (latest.compareAndSet(slot, pending, op)) {
+                    coalesced.increment(); // Replaces the queued operation; its node delivers this one
+                    return true;
+                }
+                continue;
+            }
+            if (!reserve()) {
+                rejected.increment();
+                return false;
+            }
+            if (latest.compareAndSet(slot, NONE, op)) {
+                link(new Call(floor, kind, cancel, time));
+                return true;
+            }
+            size.decrementAndGet(); // Another producer queued the call meanwhile
+        }
+    }
+
+    /**
+     * Claims room for one call, applying the overflow policy when the intake is full.
+     *
+     * @return {@code true} if room was claimed.
+     */
+    private boolean reserve() {
+        while (true) {
+            int queued = size.get();
+            if (queued < capacity) {
+                if (size.compareAndSet(queued, queued + 1)) {
+                    return true;
+                }
+            } else if (policy == OverflowPolicy.REJECT) {
+                return false;
+            } else {
+                LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+                if (Thread.currentThread().isInterrupted()) {
+                    return false; // Leaves the interrupt set for the caller
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends a node with one atomic swap of the tail pointer.
+     */
+    private void link(Call call) {
+        Call previous = tail.getAndSet(call);
+        previous.next = call; // Publishes the node to the consumer
+    }
+
+    /**
+     * Returns the coalescing slot of a call, or {@code -1} if its floor is out of range.
+     */
+    private int slot(int floor, int kind) {
+        return floor >= 1 && floor <= topFloor ? floor * 3 + kind : -1;
+    }
+
+    /**
+     * A single queued button press or cancellation.
+     */
+    static final class Call {
+        final int floor;
+        final int kind;
+        boolean cancel; // Withdraws the call instead of pressing it; set to the latest operation when polled
+        final long time;
+        volatile Call next;
+
+        Call(int floor, int kind, boolean cancel, long time) {
+            this.floor = floor;
+            this.kind = kind;
+            this.cancel = cancel;
+            this.time = time;
+        }
+    }
+}
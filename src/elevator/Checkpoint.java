@@ -0,0 +1,405 @@
+package elevator;
+
+import elevator.motion.ConstantSpeedMotion;
+import elevator.motion.KinematicMotion;
+import elevator.motion.MotionModel;
+import elevator.sim.SimulationClock;
+import elevator.topology.FloorSet;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The {@code Checkpoint} class is the state of a bank of elevators at one moment of
+ * simulation time, in a form that can be saved and used to resume or fork a run.
+ * <p>
+ * A checkpoint is encoded in a compact binary format: a header with the format version
+ * and the capture time, then for each car its building height, configuration, motion
+ * model, capacity, served floors, position, direction, current request, pending requests,
+ * and keypad bookings. Each request is packed into an {@code int} (see
+ * {@link Request#pack()}): a pending request is followed by the time it was made, a
+ * booking's hall call by its destination.
+ * Constant-speed and kinematic motion can be saved; version 1 files, which predate
+ * motion models, are read as constant-speed, cars from files before version 3 have
+ * no capacity limit, cars from files before version 4 serve every landing, and cars
+ * from files before version 5 have no bookings. The passengers aboard are not saved: a
+ * restored car starts empty.
+ * </p>
+ */
+public final class Checkpoint {
+    private static final int MAGIC = 0x454C434B; // "ELCK"
+    private static final int VERSION = 5;
+    private static final int CONSTANT_SPEED = 0; // Motion tag: speed given by the floor travel time
+    private static final int KINEMATIC = 1; // Motion tag: floor levels, landings and limits follow
+    private static final int NO_REQUEST = -1; // Never a packed request, as floors start at 1
+    private static final int MAX_TOP_FLOOR = Short.MAX_VALUE; // Highest floor a topology can have
+    private static final int PRESIZE_LIMIT = 1024; // Entries allocated ahead of reading a list of unbounded length
+
+    private final long time;
+    private final List<ElevatorSnapshot> cars;
+
+    // Constructor
+
+    /**
+     * Constructs a new {@code Checkpoint}.
+     *
+     * @param time The simulation time of the capture.
+     * @param cars The state of each car, in bank order.
+     */
+    public Checkpoint(long time, List<ElevatorSnapshot> cars) {
+        this.time = time;
+        this.cars = Collections.unmodifiableList(new ArrayList<>(cars));
+    }
+
+    // Public Methods
+
+    /**
+     * Captures a bank of cars that share one clock. The cars must not be running; see
+     * {@link Elevator#snapshot()}.
+     *
+     * @param cars The cars to capture, in bank order.
+     * @return The checkpoint, timed by the first car's clock.
+     * @throws IllegalArgumentException If no cars are given.
+     */
+    public static Checkpoint capture(List<Elevator> cars) {
+        if (cars.isEmpty()) {
+            throw new IllegalArgumentException("A checkpoint needs at least one elevator.");
+        }
+        List<ElevatorSnapshot> snapshots = new ArrayList<>(cars.size());
+        for (Elevator car : cars) {
+            snapshots.add(car.snapshot());
+        }
+        return new Checkpoint(cars.get(0).getClock().now(), snapshots);
+    }
+
+    /**
+     * Creates a new bank of cars from this checkpoint. Each call creates independent
+     * cars, so one checkpoint can seed any number of forked runs.
+     *
+     * @param clock     The clock that will drive the cars, normally set to {@link #getTime()}.
+     * @param listeners The listeners to register on every car.
+     * @return The restored cars, in bank order and not yet running.
+     */
+    public List<Elevator> restore(SimulationClock clock, ElevatorListener... listeners) {
+        List<Elevator> restored = new ArrayList<>(cars.size());
+        for (ElevatorSnapshot car : cars) {
+            restored.add(Elevator.restore(car, clock, listeners));
+        }
+        return restored;
+    }
+
+    /**
+     * Writes this checkpoint to a file, replacing any existing file.
+     *
+     * @param path The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public void write(Path path) throws IOException {
+        try (OutputStream out = Files.newOutputStream(path)) {
+            write(out);
+        }
+    }
+
+    /**
+     * Writes this checkpoint to a stream. The stream is flushed but not closed.
+     *
+     * @param stream The stream to write to.
+     * @throws IOException If the stream cannot be written, or a car uses a motion model
+     *                     that checkpoints cannot store.
+     */
+    public void write(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(time);
+        out.writeInt(cars.size());
+
+        for (ElevatorSnapshot car : cars) {
+            ElevatorConfig config = car.getConfig();
+            out.writeInt(car.getTopFloor());
+            out.writeLong(config.getFloorTravelMillis());
+            out.writeLong(config.getDoorMoveMillis());
+            out.writeLong(config.getDoorDwellMillis());
+            out.writeInt(config.getHomeFloor());
+            writeMotion(out, config.getMotion());
+            out.writeInt(config.getCapacity());
+            writeServedFloors(out, config.getServedFloors());
+            out.writeInt(car.getCurrentFloor());
+            out.writeBoolean(car.isMovingUp());
+            out.writeInt(car.getCurrentRequest() == null ? NO_REQUEST : car.getCurrentRequest().pack());
+
+            List<Request> pending = car.getPendingRequests();
+            out.writeInt(pending.size());
+            for (int i = 0; i < pending.size(); i++) {
+                out.writeInt(pending.get(i).pack());
+                out.writeLong(car.getRequestedAt(i));
+            }
+
+            List<Request> booked = car.getBookedCalls();
+            out.writeInt(booked.size());
+            for (int i = 0; i < booked.size(); i++) {
+                out.writeInt(booked.get(i).pack());
+                out.writeInt(car.getBookedDestination(i));
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Reads a checkpoint from a file.
+     *
+     * @param path The file to read.
+     * @return The checkpoint.
+     * @throws IOException If the file cannot be read or is not a checkpoint.
+     */
+    public static Checkpoint read(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Reads a checkpoint from a stream.
+     *
+     * @param stream The stream to read from.
+     * @return The checkpoint.
+     * @throws IOException If the stream cannot be read or does not hold a checkpoint.
+     */
+    public static Checkpoint read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+        int version = in.readInt() == MAGIC ? in.readInt() : -1;
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Not a version 1 to " + VERSION + " elevator checkpoint.");
+        }
+        long time = in.readLong();
+        int count = readCount(in, Integer.MAX_VALUE);
+
+        List<ElevatorSnapshot> cars = new ArrayList<>(Math.min(count, PRESIZE_LIMIT));
+        MotionModel shared = null; // Reused while cars share a kinematic model, so its tables are built once
+        for (int c = 0; c < count; c++) {
+            int topFloor = in.readInt();
+            if (topFloor < 1 || topFloor > MAX_TOP_FLOOR) {
+                throw new IOException("Invalid top floor in checkpoint: " + topFloor);
+            }
+            ElevatorConfig config;
+            try {
+                config = new ElevatorConfig(in.readLong(), in.readLong(), in.readLong(), in.readInt());
+                if (version > 1) {
+                    MotionModel motion = readMotion(in, shared);
+                    if (motion != null) {
+                        config = config.withMotion(motion);
+                        shared = motion;
+                    }
+                }
+                if (version > 2) {
+                    int capacity = in.readInt();
+                    if (capacity != ElevatorConfig.UNLIMITED_CAPACITY) {
+                        config = config.withCapacity(capacity);
+                    }
+                }
+                if (version > 3) {
+                    config = config.withServedFloors(readServedFloors(in));
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid car configuration in checkpoint.", e);
+            }
+            if (config.getHomeFloor() > topFloor || config.getMotion().getTopFloor() < topFloor) {
+                throw new IOException("The configuration in the checkpoint does not fit " + topFloor + " floors.");
+            }
+            int currentFloor = in.readInt();
+            if (currentFloor < 1 || currentFloor > topFloor) {
+                throw new IOException("Invalid current floor in checkpoint: " + currentFloor);
+            }
+            boolean movingUp = in.readBoolean();
+            int current = in.readInt();
+            Request currentRequest = current == NO_REQUEST ? null : readRequest(current, topFloor);
+
+            int pendingCount = readCount(in, 3 * topFloor); // Pending requests are distinct
+            List<Request> pending = new ArrayList<>(pendingCount);
+            long[] requestedAt = new long[pendingCount];
+            for (int i = 0; i < pendingCount; i++) {
+                pending.add(readRequest(in.readInt(), topFloor));
+                requestedAt[i] = in.readLong();
+            }
+
+            int bookedCount = version > 4 ? readCount(in, Integer.MAX_VALUE) : 0; // One per passenger
+            List<Request> booked = new ArrayList<>(Math.min(bookedCount, PRESIZE_LIMIT));
+            int[] destinations = new int[Math.min(bookedCount, PRESIZE_LIMIT)];
+            for (int i = 0; i < bookedCount; i++) {
+                if (i == destinations.length) {
+                    destinations = Arrays.copyOf(destinations, (int) Math.min(bookedCount, 2L * i));
+                }
+                booked.add(readRequest(in.readInt(), topFloor));
+                destinations[i] = in.readInt();
+                if (booked.get(i).isInside() || destinations[i] < 1 || destinations[i] > topFloor) {
+                    throw new IOException("Invalid booking in checkpoint.");
+                }
+            }
+
+            cars.add(new ElevatorSnapshot(topFloor, config, currentFloor, movingUp, currentRequest, pending,
+                    requestedAt, booked, destinations));
+        }
+        return new Checkpoint(time, cars);
+    }
+
+    // Getters
+
+    /**
+     * Returns the simulation time of the capture.
+     *
+     * @return The time in milliseconds.
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Returns the state of each car.
+     *
+     * @return An unmodifiable list of car snapshots, in bank order.
+     */
+    public List<ElevatorSnapshot> getCars() {
+        return cars;
+    }
+
+    // Private Methods
+
+    /**
+     * Unpacks a request read from a checkpoint, checking that it names a floor of the car.
+     *
+     * @return The request.
+     */
+    private static Request readRequest(int packed, int topFloor) throws IOException {
+        int floor = packed >> 2;
+        if (floor < 1 || floor > topFloor || (packed & 3) == 3) {
+            throw new IOException("Invalid request in checkpoint: " + packed);
+        }
+        return Request.unpack(packed);
+    }
+
+    /**
+     * Reads the number of entries of a list, which may hold at most {@code max}.
+     *
+     * @return The number of entries.
+     */
+    private static int readCount(DataInputStream in, int max) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > max) {
+            throw new IOException("Invalid list length in checkpoint: " + count);
+        }
+        return count;
+    }
+
+    /**
+     * Writes the floors a car is restricted to: the number of words of the set, or
+     * {@code -1} if the car serves every landing, then the words.
+     */
+    private static void writeServedFloors(DataOutputStream out, FloorSet served) throws IOException {
+        if (served == null) {
+            out.writeInt(-1);
+            return;
+        }
+        long[] words = served.toLongArray();
+        out.writeInt(words.length);
+        for (long word : words) {
+            out.writeLong(word);
+        }
+    }
+
+    /**
+     * Reads the floors a car is restricted to, as written by {@link #writeServedFloors}.
+     *
+     * @return The served floors, or {@code null} if the car serves every landing.
+     */
+    private static FloorSet readServedFloors(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) {
+            return null;
+        } else if (count > (MAX_TOP_FLOOR >> 6) + 1) {
+            throw new IOException("Invalid served floors in checkpoint.");
+        }
+        long[] words = new long[count];
+        for (int i = 0; i < count; i++) {
+            words[i] = in.readLong();
+        }
+        try {
+            return FloorSet.valueOf(words);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid served floors in checkpoint.", e);
+        }
+    }
+
+    /**
+     * Writes a car's motion model.
+     */
+    private static void writeMotion(DataOutputStream out, MotionModel motion) throws IOException {
+        if (motion instanceof ConstantSpeedMotion) {
+            out.writeByte(CONSTANT_SPEED);
+        } else if (motion instanceof KinematicMotion kinematic) {
+            out.writeByte(KINEMATIC);
+            out.writeInt(kinematic.getTopFloor());
+            for (int floor = 1; floor <= kinematic.getTopFloor(); floor++) {
+                out.writeDouble(kinematic.getLevel(floor));
+                out.writeBoolean(kinematic.hasLanding(floor));
+            }
+            out.writeDouble(kinematic.getMaxSpeed());
+            out.writeDouble(kinematic.getMaxAcceleration());
+            out.writeDouble(kinematic.getMaxJerk());
+        } else {
+            throw new IOException("Checkpoints cannot store the motion model " + motion + ".");
+        }
+    }
+
+    /**
+     * Reads a car's motion model.
+     *
+     * @param previous The model read for an earlier car, returned again if it is the same.
+     * @return The kinematic model, or {@code null} for constant-speed motion given by the
+     *         floor travel time.
+     */
+    private static MotionModel readMotion(DataInputStream in, MotionModel previous) throws IOException {
+        int tag = in.readByte();
+        if (tag == CONSTANT_SPEED) {
+            return null;
+        } else if (tag != KINEMATIC) {
+            throw new IOException("Unknown motion model " + tag + " in checkpoint.");
+        }
+        int topFloor = in.readInt();
+        if (topFloor < 1 || topFloor > MAX_TOP_FLOOR) {
+            throw new IOException("Invalid motion model top floor in checkpoint: " + topFloor);
+        }
+        double[] levels = new double[topFloor + 1];
+        boolean[] landings = new boolean[topFloor + 1];
+        for (int floor = 1; floor <= topFloor; floor++) {
+            levels[floor] = in.readDouble();
+            landings[floor] = in.readBoolean();
+        }
+        double maxSpeed = in.readDouble();
+        double maxAcceleration = in.readDouble();
+        double maxJerk = in.readDouble();
+
+        if (previous instanceof KinematicMotion last && last.getTopFloor() == topFloor
+                && last.getMaxSpeed() == maxSpeed && last.getMaxAcceleration() == maxAcceleration
+                && last.getMaxJerk() == maxJerk) {
+            boolean same = true;
+            for (int floor = 1; floor <= topFloor && same; floor++) {
+                same = last.getLevel(floor) == levels[floor] && last.hasLanding(floor) == landings[floor];
+            }
+            if (same) {
+                return last;
+            }
+        }
+        return new KinematicMotion(levels, landings, maxSpeed, maxAcceleration, maxJerk);
+    }
+}
@@ -0,0 +1,198 @@
+package elevator;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * The {@code DestinationBook} class holds the destinations entered on hall keypads for
+ * an elevator, keyed by the origin floor and direction of each call.
+ * <p>
+ * Under destination control a passenger enters the destination before boarding, so the
+ * car learns it with the hall call instead of from an inside button. The book keeps the
+ * destinations until the car answers the call; they then become inside stops in one
+ * {@link #take(int, boolean, IntConsumer) take}. A booking whose call the car turned away
+ * is withdrawn with {@link #unbook(int, boolean, int, boolean) unbook}, and the bookings
+ * of a cancelled call with {@link #clear(int, boolean) clear}.
+ * </p>
+ * <p>
+ * Destinations are a bitset per origin and direction, so repeat bookings of one trip
+ * take no room. Any number of threads may {@link #book(int, boolean, int) book}; only the
+ * elevator's clock thread takes. Bits and counters are atomic, so a booking made while
+ * the car takes is either taken now or left for the next answer, never lost.
+ * </p>
+ */
+final class DestinationBook {
+    private final int words; // Bitset words per origin and direction
+    private final AtomicLongArray destinations; // Booked destinations, indexed by (origin * 2 + up) * words
+    private final AtomicIntegerArray passengers; // Bookings per origin and direction, counting repeats
+    private final AtomicIntegerArray perDestination; // Origins and directions with each destination booked
+    private final AtomicInteger booked; // Bookings not yet taken, counting repeats
+
+    // Constructor
+
+    /**
+     * Constructs an empty {@code DestinationBook}.
+     *
+     * @param topFloor The highest floor of the car.
+     */
+    DestinationBook(int topFloor) {
+        this.words = (topFloor >> 6) + 1;
+        this.destinations = new AtomicLongArray((topFloor + 1) * 2 * words);
+        this.passengers = new AtomicIntegerArray((topFloor + 1) * 2);
+        this.perDestination = new AtomicIntegerArray(topFloor + 1);
+        this.booked = new AtomicInteger();
+    }
+
+    // Package-Private Methods
+
+    /**
+     * Books a destination for the call at an origin. The floors must already be validated.
+     *
+     * @param origin      The floor the call was made from.
+     * @param up          {@code true} for an up call.
+     * @param destination The floor entered on the keypad.
+     * @return {@code true} if the destination was not yet booked from the origin.
+     */
+    boolean book(int origin, boolean up, int destination) {
+        int index = (origin * 2 + (up ? 1 : 0)) * words + (destination >> 6);
+        long bit = 1L << destination;
+        passengers.incrementAndGet(origin * 2 + (up ? 1 : 0));
+        booked.incrementAndGet();
+
+        long word;
+        do {
+            word = destinations.get(index);
+            if ((word & bit) != 0) {
+                return false; // Already booked from this origin
+            }
+        } while (!destinations.compareAndSet(index, word, word | bit));
+        perDestination.incrementAndGet(destination);
+        return true;
+    }
+
+    /**
+     * Withdraws a booking whose call was not accepted. The destination itself is only
+     * removed if that booking added it; an earlier booking of the same trip keeps it.
+     *
+     * @param origin      The floor the call was made from.
+     * @param up          {@code true} for an up call.
+     * @param destination The floor entered on the keypad.
+     * @param added       What {@link #book(int, boolean, int) book} returned for the booking.
+     */
+    void unbook(int origin, boolean up, int destination, boolean added) {
+        int call = origin * 2 + (up ? 1 : 0);
+        int index = call * words + (destination >> 6);
+        long bit = 1L << destination;
+        if (passengers.getAndUpdate(call, count -> Math.max(0, count - 1)) > 0) {
+            booked.decrementAndGet();
+        }
+        if (!added) {
+            return;
+        }
+
+        long word;
+        do {
+            word = destinations.get(index);
+            if ((word & bit) == 0) {
+                return; // Taken by the car meanwhile
+            }
+        } while (!destinations.compareAndSet(index, word, word & ~bit));
+        perDestination.decrementAndGet(destination);
+    }
+
+    /**
+     * Removes every destination booked for the call at an origin, as when the call is
+     * cancelled.
+     *
+     * @param origin The floor of the call.
+     * @param up     {@code true} for an up call.
+     * @return The number of destinations removed.
+     */
+    int clear(int origin, boolean up) {
+        return take(origin, up, destination -> { });
+    }
+
+    /**
+     * Removes every destination booked for the call at an origin and passes each to the
+     * action, in ascending floor order.
+     *
+     * @param origin The floor of the call being answered.
+     * @param up     {@code true} for an up call.
+     * @param action Receives each booked destination.
+     * @return The number of destinations taken.
+     */
+    int take(int origin, boolean up, IntConsumer action) {
+        int call = origin * 2 + (up ? 1 : 0);
+        booked.addAndGet(-passengers.getAndSet(call, 0));
+
+        int taken = 0;
+        for (int w = 0; w < words; w++) {
+            long word = destinations.getAndSet(call * words + w, 0);
+            while (word != 0) {
+                int destination = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                perDestination.decrementAndGet(destination);
+                action.accept(destination);
+                taken++;
+            }
+        }
+        return taken;
+    }
+
+    /**
+     * Passes every booking to the action, one call per passenger, as the hall call it
+     * was made with and the destination. Each destination of a call is passed once; the
+     * call's repeat bookings follow, with its lowest destination, so booking the same
+     * sequence again rebuilds this book. Only the elevator's clock thread may call this,
+     * while no thread books.
+     *
+     * @param action Receives the hall call and destination of each booking.
+     */
+    void forEachBooking(ObjIntConsumer<Request> action) {
+        for (int call = 0; call < passengers.length(); call++) {
+            Request hallCall = null;
+            int lowest = 0;
+            int distinct = 0;
+            for (int w = 0; w < words; w++) {
+                long word = destinations.get(call * words + w);
+                while (word != 0) {
+                    int destination = (w << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                    if (hallCall == null) {
+                        hallCall = Request.hallCall(call >> 1, Direction.of((call & 1) == 1));
+                        lowest = destination;
+                    }
+                    action.accept(hallCall, destination);
+                    distinct++;
+                }
+            }
+            for (int repeat = distinct; hallCall != null && repeat < passengers.get(call); repeat++) {
+                action.accept(hallCall, lowest);
+            }
+        }
+    }
+
+    /**
+     * Indicates whether any call holds a booking for the floor.
+     *
+     * @param floor The destination floor.
+     * @return {@code true} if the floor is booked from some origin.
+     */
+    boolean isBooked(int floor) {
+        return perDestination.get(floor) > 0;
+    }
+
+    /**
+     * Returns the number of bookings not yet taken, counting each passenger who entered
+     * a destination, including repeats of one trip. A booking made during a take of its
+     * call may be counted until the call is next answered.
+     *
+     * @return The number of waiting passengers with a booking.
+     */
+    int getBooked() {
+        return booked.get();
+    }
+}
@@ -0,0 +1,78 @@
+package elevator;
+
+/**
+ * The {@code Direction} enum is the direction of travel of a hall call or a car.
+ * <p>
+ * Comparing directions is a reference comparison, so the dispatch path never has to
+ * compare strings. {@link #toString()} keeps the lower-case labels used in log messages
+ * and on the console.
+ * </p>
+ */
+public enum Direction {
+    UP("up"),
+    DOWN("down");
+
+    private final String label;
+
+    // Constructor
+
+    Direction(String label) {
+        this.label = label;
+    }
+
+    // Public Methods
+
+    /**
+     * Returns the direction for a boolean "going up" flag.
+     *
+     * @param up {@code true} for up, {@code false} for down.
+     * @return The matching direction.
+     */
+    public static Direction of(boolean up) {
+        return up ? UP : DOWN;
+    }
+
+    /**
+     * Parses a console label.
+     *
+     * @param label {@code "up"} or {@code "down"}, in any case.
+     * @return The matching direction.
+     * @throws IllegalArgumentException If the label is neither "up" nor "down".
+     */
+    public static Direction parse(String label) {
+        if (UP.label.equalsIgnoreCase(label)) {
+            return UP;
+        } else if (DOWN.label.equalsIgnoreCase(label)) {
+            return DOWN;
+        }
+        throw new IllegalArgumentException("Invalid direction. Please enter 'up' or 'down'.");
+    }
+
+    /**
+     * Indicates whether this direction is up.
+     *
+     * @return {@code true} for {@link #UP}.
+     */
+    public boolean isUp() {
+        return this == UP;
+    }
+
+    /**
+     * Returns the opposite direction.
+     *
+     * @return {@link #DOWN} for {@link #UP} and vice versa.
+     */
+    public Direction opposite() {
+        return this == UP ? DOWN : UP;
+    }
+
+    /**
+     * Returns the lower-case label of this direction.
+     *
+     * @return {@code "up"} or {@code "down"}.
+     */
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -1,507 +1,1291 @@
 package elevator;
 
-import javax.swing.*;
-import java.util.*;
+import elevator.jfr.CarArrivedEvent;
+import elevator.jfr.CarDepartedEvent;
+import elevator.jfr.DoorCycleEvent;
+import elevator.jfr.RequestEnqueuedEvent;
+import elevator.jfr.StopDivertedEvent;
+import elevator.jfr.StopPlannedEvent;
+import elevator.motion.MotionModel;
+import elevator.park.HomeParking;
+import elevator.park.ParkingPolicy;
+import elevator.plan.LookPlanner;
+import elevator.plan.StopPlanner;
+import elevator.sim.RealTimeClock;
+import elevator.sim.ScheduledEvent;
+import elevator.sim.SimulationClock;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
 
 /**
  * The {@code Elevator} class models an elevator system capable of handling
  * multiple floor requests with priority management. It supports both inside
- * and outside button requests, processes them based on optimal paths, and
- * provides real-time logging and queue updates through the provided UI components.
+ * and outside button requests and serves them in SCAN/LOOK order.
+ * <p>
+ * The car has no user interface of its own and never blocks: it is a state machine
+ * driven by its {@link SimulationClock}, and it publishes every state change to its
+ * {@link ElevatorListener}s. Requests may be added from any thread and are applied on
+ * the clock's dispatching thread.
+ * </p>
+ * <p>
+ * Timings, capacity and served floors come from an {@link ElevatorConfig}, travel times
+ * from its {@link MotionModel}, the next stop from a {@link StopPlanner}, and where an
+ * idle car waits from a {@link ParkingPolicy}. Incoming calls are bounded by an
+ * {@link OverflowPolicy}, destination calls are described at
+ * {@link #addDestinationCall(int, int)}, passenger loads at {@link #board(int)}, and
+ * checkpoints at {@link #snapshot()}. Dispatch, motion and door cycles are also
+ * committed as Flight Recorder events of the {@code elevator.jfr} package.
+ * </p>
  */
 public class Elevator {
-    private int currentFloor;
-    private int topFloor;
-    private Deque<Request> requestQueue; // Use Deque for queue manipulations
-    private boolean running;
-    private JTextArea logArea; // Log area for real-time updates
-    private JTextArea queueArea; // Queue display area for real-time updates
-    private Request currentRequest; // To track the current request being processed
-    private boolean movingUp; // Tracks the direction of the elevator (true if moving up)
-    private Thread currentThread;
+    public static final long FLOOR_TRAVEL_MILLIS = 3000; // Time to travel one floor
+    public static final long DOOR_MOVE_MILLIS = 1000; // Time for the doors to open or close
+    public static final long DOOR_DWELL_MILLIS = 10000; // Time the doors stay open
+    private static final long IDLE_INSIDE_WAIT_MILLIS = 30000; // Inside-call wait with nothing else pending
+    private static final long BUSY_INSIDE_WAIT_MILLIS = 10000; // Inside-call wait while other requests wait
+    private static final AtomicInteger CAR_NUMBERS = new AtomicInteger(); // Numbers cars in Flight Recorder events
+
+    private volatile int currentFloor;
+    private final int topFloor;
+    private final int lowestServed; // Lowest floor the car stops at
+    private final int highestServed; // Highest floor the car stops at
+    private final RequestIndex requestIndex; // Pending stops keyed by floor and direction, dispatching thread only
+    private final CallIntake intake; // Button presses posted by any thread, drained by the dispatching thread
+    private final DestinationBook bookings; // Keypad destinations, booked by any thread, taken on answering
+    private final AtomicBoolean wakeupScheduled; // Coalesces presses into one pending wakeup
+    private final AtomicBoolean started;
+    private volatile boolean running;
+    private volatile Request currentRequest; // To track the current request being processed
+    private volatile boolean movingUp; // Tracks the direction of the elevator (true if moving up)
+    private volatile Phase phase;
+    private volatile ScheduledEvent timer; // Timeout ending the current phase, if any
+    private Request target; // Floor the current movement ends at
+    private boolean openDoors; // Whether the doors open on arrival at the target
+    private int runOrigin; // Floor the current run started from
+    private long departedAt; // Time the current run started
+    private long doorsOpeningAt; // Time the current door cycle started
+    private final int carNumber; // Number of the car in this process, for Flight Recorder events
+    private volatile int load; // Passengers aboard, changed only while the doors are open
+    private final int capacity; // Passengers the car can carry, from the configuration
+    private volatile long bypassedCalls; // Hall calls passed because the car was full
+    private final SimulationClock clock; // Source of time for all movement and waiting
+    private final ElevatorConfig config; // Timings and home floor
+    private final MotionModel motion; // Travel times between floors, from the configuration
+    private final ElevatorListeners listeners; // Subscribers to state-change events
+    private volatile StopPlanner planner; // Chooses the next stop at each decision point
+    private volatile ParkingPolicy parking; // Chooses where the car waits with nothing to do
+    private volatile int parkingFloor; // Floor the car is parked at or heading to park at, or -1 while busy
+
+    // Scheduled actions, created once so that timeouts do not allocate
+    private final Runnable stepAction = this::step;
+    private final Runnable doorsOpenedAction = this::doorsOpened;
+    private final Runnable doorsClosingAction = this::doorsClosing;
+    private final Runnable doorsClosedAction = this::doorsClosed;
+    private final Runnable waitExpiredAction = this::waitExpired;
+    private final Runnable wakeupAction = this::wakeup;
+    private final IntConsumer bookedAction = this::applyBooking;
+
+    /**
+     * The phases of the car's state machine.
+     */
+    private enum Phase {
+        NEW, // Constructed but not started
+        IDLE, // Parked with nothing to do
+        MOVING, // Travelling towards the target floor
+        DOORS_OPENING,
+        DOORS_OPEN, // Dwelling with the doors open
+        DOORS_CLOSING,
+        WAITING, // Doors closed, waiting for an inside call
+        STOPPED
+    }
 
     //Constructor
 
     /**
-     * Constructs an {@code Elevator} object with the specified top floor
-     * and UI components for logging and queue display.
+     * Constructs an {@code Elevator} object with the specified top floor that
+     * runs against the wall clock.
      * <p>
      * The elevator is initialized at floor 1 with an empty request queue
-     * and is set to run immediately. It uses the provided JTextAreas to
-     * display real-time logs and the current state of the request queue.
+     * and is set to run immediately.
      * </p>
      * @param topFloor  The highest floor the elevator can reach.
-     * @param logArea   The JTextArea used to display log messages.
-     * @param queueArea The JTextArea used to display the current request queue.
+     * @param listeners The listeners to register before the elevator publishes its first event.
+     */
+    public Elevator(int topFloor, ElevatorListener... listeners) {
+        this(topFloor, new RealTimeClock(), listeners);
+    }
+
+    /**
+     * Constructs an {@code Elevator} object with the specified top floor and
+     * simulation clock.
+     *
+     * @param topFloor  The highest floor the elevator can reach.
+     * @param clock     The clock that drives movement, door timings, and polling.
+     * @param listeners The listeners to register before the elevator publishes its first event.
      */
-    public Elevator(int topFloor, JTextArea logArea, JTextArea queueArea) {
-        this.currentFloor = 1;
+    public Elevator(int topFloor, SimulationClock clock, ElevatorListener... listeners) {
+        this(topFloor, clock, ElevatorConfig.DEFAULT, listeners);
+    }
+
+    /**
+     * Constructs an {@code Elevator} object with the specified top floor, simulation
+     * clock, and configuration. The elevator starts at its home floor.
+     *
+     * @param topFloor  The highest floor the elevator can reach.
+     * @param clock     The clock that drives movement, door timings, and polling.
+     * @param config    The timings and home floor of the car.
+     * @param listeners The listeners to register before the elevator publishes its first event.
+     * @throws IllegalArgumentException If the home floor is above the top floor, or the
+     *                                  motion model does not cover the building.
+     */
+    public Elevator(int topFloor, SimulationClock clock, ElevatorConfig config, ElevatorListener... listeners) {
+        this(topFloor, clock, config, config.getHomeFloor(), listeners);
+    }
+
+    /**
+     * Constructs an {@code Elevator} object at the given floor.
+     *
+     * @param topFloor   The highest floor the elevator can reach.
+     * @param clock      The clock that drives movement, door timings, and polling.
+     * @param config     The timings and home floor of the car.
+     * @param startFloor The floor the car starts at.
+     * @param listeners  The listeners to register before the elevator publishes its first event.
+     * @throws IllegalArgumentException If the home or start floor is above the top floor, or
+     *                                  the motion model does not cover the building.
+     */
+    private Elevator(int topFloor, SimulationClock clock, ElevatorConfig config, int startFloor,
+                     ElevatorListener... listeners) {
+        if (config.getHomeFloor() > topFloor || startFloor < 1 || startFloor > topFloor) {
+            throw new IllegalArgumentException("The home and start floors must be between 1 and " + topFloor + ".");
+        }
+        if (config.getMotion().getTopFloor() < topFloor || !config.serves(config.getHomeFloor())) {
+            throw new IllegalArgumentException("The motion model must cover floor " + topFloor
+                    + " and the car must serve the home floor.");
+        }
+        int lowest = 1;
+        while (!config.serves(lowest)) {
+            lowest++;
+        }
+        int highest = topFloor;
+        while (!config.serves(highest)) {
+            highest--;
+        }
+        this.currentFloor = startFloor;
         this.topFloor = topFloor;
-        this.requestQueue = new ArrayDeque<>();
+        this.lowestServed = lowest;
+        this.highestServed = highest;
+        this.carNumber = CAR_NUMBERS.getAndIncrement();
+        this.requestIndex = new RequestIndex(topFloor);
+        this.intake = new CallIntake(topFloor);
+        this.bookings = new DestinationBook(topFloor);
+        this.wakeupScheduled = new AtomicBoolean();
+        this.started = new AtomicBoolean();
         this.running = true;
-        this.logArea = logArea;
-        this.queueArea = queueArea;
         this.currentRequest = null;
         this.movingUp = false;
-        this.currentThread = Thread.currentThread();
-        log("Elevator initialized at floor 1.");
-        updateQueueDisplay();
+        this.phase = Phase.NEW;
+        this.clock = clock;
+        this.config = config;
+        this.motion = config.getMotion();
+        this.capacity = config.getCapacity();
+        this.listeners = new ElevatorListeners();
+        this.planner = new LookPlanner();
+        this.parking = new HomeParking();
+        this.parkingFloor = -1;
+        for (ElevatorListener listener : listeners) {
+            this.listeners.add(listener);
+        }
+        log("Elevator initialized at floor " + currentFloor + ".");
+        notifyQueueChanged();
     }
 
     // Public Methods
 
     /**
-     * Continuously processes the request queue. If no requests are available,
-     * the elevator returns to floor 1.
+     * Creates an elevator from a snapshot. The car starts idle at the snapshot's floor,
+     * facing the snapshot's direction, with every pending request restored together with
+     * the time it was first made, and every keypad booking restored with its call.
+     * <p>
+     * A car captured while travelling or cycling its doors resumes from a decision point
+     * at the floor it had reached, so partial floor travel and door time are not replayed.
+     * The current request is chosen afresh from the pending requests when the car starts.
+     * </p>
+     *
+     * @param snapshot  The captured state.
+     * @param clock     The clock that will drive the restored car, normally set to the capture time.
+     * @param listeners The listeners to register before the elevator publishes its first event.
+     * @return The restored elevator, not yet started.
      */
-    public void processQueueAutomatically() {
-        while (running) {
-            if (!requestQueue.isEmpty() || currentRequest != null) {
-                processNewRequest();
-            } else if (currentFloor != 1) {
-                // If there are no requests, return to floor 1 without opening doors
-                log("Returning to floor 1 as no more requests are in the queue.");
-                Request floorOneRequest = new Request(1, "up", false);
-                moveToFloor(floorOneRequest, false, true);
+    public static Elevator restore(ElevatorSnapshot snapshot, SimulationClock clock, ElevatorListener... listeners) {
+        Elevator car = new Elevator(snapshot.getTopFloor(), clock, snapshot.getConfig(),
+                snapshot.getCurrentFloor(), listeners);
+        car.movingUp = snapshot.isMovingUp();
+
+        List<Request> pending = snapshot.getPendingRequests();
+        boolean changed = false;
+        for (int i = 0; i < pending.size(); i++) { // The car has not started, so this thread may index directly
+            Request request = pending.get(i);
+            long time = snapshot.getRequestedAt(i);
+            changed |= request.isInside() ? car.applyInsideCall(request.getFloor(), time)
+                    : car.applyHallCall(request.getFloor(), request.getDirection().isUp(), time);
+        }
+        List<Request> bookedCalls = snapshot.getBookedCalls();
+        for (int i = 0; i < bookedCalls.size(); i++) {
+            Request call = bookedCalls.get(i);
+            car.bookings.book(call.getFloor(), call.getDirection().isUp(), snapshot.getBookedDestination(i));
+        }
+        if (changed) {
+            car.notifyQueueChanged();
+        }
+        return car;
+    }
+
+    /**
+     * Captures the state of this elevator, including presses and cancellations posted
+     * but not yet applied.
+     * <p>
+     * The car must not be running while it is captured: call this from one of the car's
+     * scheduled actions, before it starts, or while a {@link elevator.sim.VirtualClock}
+     * holds time between {@code runUntil} calls.
+     * </p>
+     *
+     * @return The snapshot.
+     */
+    public ElevatorSnapshot snapshot() {
+        Map<Request, Long> since = new LinkedHashMap<>(); // Pending requests with their first press, in order
+        for (Request request : requestIndex.snapshot()) {
+            since.put(request, request.isInside() ? requestIndex.insideSince(request.getFloor())
+                    : requestIndex.hallCallSince(request.getFloor(), request.getDirection().isUp()));
+        }
+
+        intake.forEachPending(call -> { // Replays the intake as the next drain would
+            Request request = call.kind == CallIntake.INSIDE ? Request.inside(call.floor)
+                    : Request.hallCall(call.floor, Direction.of(call.kind == CallIntake.UP));
+            if (call.cancel) {
+                since.remove(request);
+            } else {
+                since.putIfAbsent(request, call.time);
             }
+        });
 
-            updateQueueDisplay();
+        List<Request> pending = new ArrayList<>(since.keySet());
+        long[] requestedAt = new long[pending.size()];
+        for (int i = 0; i < requestedAt.length; i++) {
+            requestedAt[i] = since.get(pending.get(i));
+        }
+        List<Request> bookedCalls = new ArrayList<>();
+        List<Integer> bookedDestinations = new ArrayList<>();
+        bookings.forEachBooking((call, destination) -> {
+            bookedCalls.add(call);
+            bookedDestinations.add(destination);
+        });
+        return new ElevatorSnapshot(topFloor, config, currentFloor, movingUp, currentRequest, pending, requestedAt,
+                bookedCalls, bookedDestinations.stream().mapToInt(Integer::intValue).toArray());
+    }
 
-            try {
-                Thread.sleep(1000); // Wait 1 second if no requests are in the queue
-            } catch (InterruptedException e) {
-                log("Elevator processing interrupted.");
+    /**
+     * Starts the elevator. It serves its pending requests and from then on reacts to new
+     * ones; with no requests, it parks. Returns immediately: all of the car's work runs
+     * as actions scheduled on its clock.
+     *
+     * @throws IllegalStateException If the elevator has already been started.
+     */
+    public void start() {
+        if (!started.compareAndSet(false, true)) {
+            throw new IllegalStateException("The elevator has already been started.");
+        }
+        clock.schedule(0, () -> {
+            if (running) {
+                phase = Phase.IDLE;
+                decide();
             }
+        });
+    }
+
+    /**
+     * Adds a new outside request to the queue. Safe to call from any thread. A repeat
+     * press of a call that is still waiting to be applied is coalesced with it.
+     *
+     * @param floor     The target floor for the request.
+     * @param direction The direction of travel.
+     * @return {@code true} if the call was accepted or coalesced, {@code false} if it is
+     *         invalid or was rejected by a full intake.
+     */
+    public boolean addRequest(int floor, Direction direction) {
+        if (!isValidHallCall(floor, direction)) {
+            return false;
         }
+        return post(intake.offer(floor, direction.isUp() ? CallIntake.UP : CallIntake.DOWN, clock.now()));
     }
 
     /**
-     * Adds a new outside request to the queue.
+     * Adds a new outside request to the queue from a console label. Safe to call from any thread.
      *
      * @param floor     The target floor for the request.
      * @param direction The direction of travel ("up" or "down").
+     * @return {@code true} if the call was accepted or coalesced.
+     * @throws IllegalArgumentException If the direction is neither "up" nor "down".
      */
-    public void addRequest(int floor, String direction) {
-        if ((floor == 1 && !direction.equals("up")) || (floor == topFloor && !direction.equals("down"))) {
-            System.out.println("Invalid request. Floor 1 can only go up, and the top floor can only go down.");
-        } else if (floor < 1 || floor > topFloor) {
-            System.out.println("Invalid floor. Please select a floor between 1 and " + topFloor + ".");
-        } else {
-            Request newRequest = new Request(floor, direction, false); // Create a new outside request
-
-            // Check if there’s a current request in progress
-            if (currentRequest != null) {
-                // Prioritize if the new request is on the way and closer in the same direction
-                if (movingUp && floor > currentFloor && floor < currentRequest.getFloor()) {
-                    log("Prioritizing request to stop at floor " + floor + " on the way up.");
-                    requestQueue.addFirst(currentRequest); // Push the current request back into the queue
-                    currentRequest = newRequest; // Set the new request as the priority
-                } else if (!movingUp && floor < currentFloor && floor > currentRequest.getFloor()) {
-                    log("Prioritizing request to stop at floor " + floor + " on the way down.");
-                    requestQueue.addFirst(currentRequest); // Push the current request back into the queue
-                    currentRequest = newRequest;
-                } else {
-                    // If the new request is in the same direction but further away
-                    Optional<Request> nextRequestOpt = Optional.ofNullable(requestQueue.peekFirst());
-                    if (nextRequestOpt.isPresent()) {
-                        Request nextRequest = nextRequestOpt.get();
-                        if (movingUp && direction.equals("up") && floor > currentFloor && floor < nextRequest.getFloor()) {
-                            log("Inserting outside request at floor " + floor + " on the way up.");
-                            requestQueue.addFirst(newRequest); // Insert in the queue before the next request
-                        } else if (!movingUp && direction.equals("down") && floor < currentFloor && floor > nextRequest.getFloor()) {
-                            log("Inserting outside request at floor " + floor + " on the way down.");
-                            requestQueue.addFirst(newRequest); // Insert in the queue before the next request
-                        } else {
-                            // Otherwise, add it to the end of the queue
-                            log("Adding request for floor " + floor + " to the end of the queue.");
-                            requestQueue.addLast(newRequest);
-                        }
-                    } else {
-                        // If no next request exists, simply add the new request to the end
-                        requestQueue.addLast(newRequest);
-                    }
-                }
-            } else {
-                // If the elevator is idle, add the new request to the queue
-                log("Elevator is idle, adding request to the queue.");
-                requestQueue.addLast(newRequest);
-            }
+    public boolean addRequest(int floor, String direction) {
+        return addRequest(floor, Direction.parse(direction));
+    }
 
-            // Sort the requests based on most optimal path
-            sortQueue();
+    /**
+     * Adds an inside button request to the queue. Safe to call from any thread; the
+     * request is validated when the car picks it up.
+     *
+     * @param floor The target floor requested from inside the elevator.
+     * @return {@code true} if the press was accepted or coalesced, {@code false} if it
+     *         was rejected by a full intake.
+     */
+    public boolean addInsideRequest(int floor) {
+        return post(intake.offer(floor, CallIntake.INSIDE, clock.now()));
+    }
+
+    /**
+     * Adds a destination call from a hall keypad. Safe to call from any thread. The car
+     * answers it as a hall call in the direction of the destination, which it books and
+     * adds as an inside stop when it answers the call.
+     *
+     * @param origin      The floor the call was made from.
+     * @param destination The floor entered on the keypad.
+     * @return {@code true} if the call was accepted or coalesced, {@code false} if it is
+     *         invalid or was rejected by a full intake.
+     */
+    public boolean addDestinationCall(int origin, int destination) {
+        if (!serves(destination) || destination == origin) {
+            log("Invalid destination. Please select another floor this car serves between 1 and " + topFloor + ".");
+            return false;
         }
+        Direction direction = Direction.of(destination > origin);
+        if (!isValidHallCall(origin, direction)) {
+            return false;
+        }
+        boolean up = direction.isUp();
+        boolean added = bookings.book(origin, up, destination); // Before the call, so answering it finds the booking
+        if (!post(intake.offer(origin, up ? CallIntake.UP : CallIntake.DOWN, clock.now()))) {
+            bookings.unbook(origin, up, destination, added); // Turned away; no stop for a rider who never called
+            return false;
+        }
+        return true;
+    }
 
-        updateQueueDisplay();
+    /**
+     * Withdraws an outside request, such as a call whose passenger has taken the stairs
+     * or been assigned another car. Safe to call from any thread. A car already heading
+     * for the call's floor chooses a new stop at the next floor it reaches. Destinations
+     * booked with the call are withdrawn with it.
+     *
+     * @param floor     The floor of the call.
+     * @param direction The direction of the call.
+     * @return {@code true} if the cancellation was accepted or coalesced, {@code false} if
+     *         the call is invalid or the cancellation was rejected by a full intake.
+     */
+    public boolean cancelRequest(int floor, Direction direction) {
+        if (!isValidHallCall(floor, direction)) {
+            return false;
+        }
+        if (!post(intake.cancel(floor, direction.isUp() ? CallIntake.UP : CallIntake.DOWN, clock.now()))) {
+            return false;
+        }
+        bookings.clear(floor, direction.isUp()); // Once the cancellation is queued, so a rejected one keeps them
+        return true;
     }
 
     /**
-     * Adds an inside button request to the queue.
+     * Withdraws an inside button request. Safe to call from any thread.
      *
-     * @param floor The target floor requested from inside the elevator.
+     * @param floor The floor of the stop.
+     * @return {@code true} if the cancellation was accepted or coalesced, {@code false} if
+     *         the floor is outside the building or the cancellation was rejected by a full intake.
      */
-    public void addInsideRequest(int floor) {
+    public boolean cancelInsideRequest(int floor) {
         if (floor < 1 || floor > topFloor) {
             log("Invalid floor. Please select a floor between 1 and " + topFloor + ".");
-        } else if (floor == currentFloor) {
-            log("You are already on floor " + floor + ".");
-        } else {
-            Request newRequest = new Request(floor, null, true);
-            requestQueue.addFirst(newRequest);
+            return false;
+        }
+        return post(intake.cancel(floor, CallIntake.INSIDE, clock.now()));
+    }
 
-            // Sort the requests based on most optimal path
-            sortQueue();
+    /**
+     * Bounds the number of calls waiting to be applied. Repeat presses are coalesced and
+     * do not count. Safe to call from any thread; calls already queued are kept.
+     *
+     * @param capacity The maximum number of queued calls.
+     * @param policy   What happens to a call posted while the intake is full.
+     * @throws IllegalArgumentException If the capacity is not positive or the policy is {@code null}.
+     */
+    public void setIntakeLimit(int capacity, OverflowPolicy policy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The intake capacity must be at least 1.");
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("The overflow policy must not be null.");
+        }
+        intake.setLimit(capacity, policy);
+    }
+
+    /**
+     * Records passengers stepping into the car, as many as it has room for. Call from a
+     * listener while the doors are open, on the clock's dispatching thread.
+     *
+     * @param passengers The number of passengers who want to board.
+     * @return The number who fit and boarded; the rest are left waiting. The stops booked
+     *         for keypad passengers left waiting stay pending until they are withdrawn with
+     *         {@link #cancelInsideRequest(int)}.
+     * @throws IllegalArgumentException If the number is negative.
+     * @throws IllegalStateException    If the doors are not open.
+     */
+    public int board(int passengers) {
+        if (passengers < 0) {
+            throw new IllegalArgumentException("The number of passengers cannot be negative.");
         }
+        requireDoorsOpen();
+        int boarded = Math.min(passengers, capacity - load);
+        load += boarded;
+        return boarded;
+    }
 
-        updateQueueDisplay();
+    /**
+     * Records passengers stepping out of the car. Call from a listener while the doors
+     * are open, on the clock's dispatching thread.
+     *
+     * @param passengers The number of passengers leaving.
+     * @throws IllegalArgumentException If the number is negative or more than are aboard.
+     * @throws IllegalStateException    If the doors are not open.
+     */
+    public void alight(int passengers) {
+        if (passengers < 0 || passengers > load) {
+            throw new IllegalArgumentException("Between 0 and " + load + " passengers can alight.");
+        }
+        requireDoorsOpen();
+        load -= passengers;
     }
 
     /**
-     * Stops the elevator system immediately.
+     * Stops the elevator system immediately. Safe to call from any thread.
      */
     public void stop() {
         running = false;
         log("Forcing elevator system to stop.");
-        if (currentThread != null) {
-            currentThread.interrupt();
+        ScheduledEvent pending = timer;
+        if (pending != null) {
+            pending.cancel();
         }
+        phase = Phase.STOPPED;
     }
 
-    // Private Methods
+    /**
+     * Registers a listener for state-change events.
+     *
+     * @param listener The listener to add.
+     */
+    public void addListener(ElevatorListener listener) {
+        listeners.add(listener);
+    }
 
     /**
-     * Sorts the queue to optimize the elevator's path.
+     * Unregisters a listener.
+     *
+     * @param listener The listener to remove.
      */
-    private void sortQueue() {
-        List<Request> allRequests = new ArrayList<>(new HashSet<>(requestQueue));  // Remove duplicates
+    public void removeListener(ElevatorListener listener) {
+        listeners.remove(listener);
+    }
 
-        // Remove the current request from the list to avoid duplication
-        if (currentRequest != null) {
-            allRequests.removeIf(req -> req.getFloor() == currentRequest.getFloor());
+    /**
+     * Replaces the planner that chooses the car's next stop. Takes effect at the next
+     * decision point; a stop the car is already travelling to is kept.
+     *
+     * @param planner The planner to use.
+     * @throws IllegalArgumentException If the planner is {@code null}.
+     */
+    public void setPlanner(StopPlanner planner) {
+        if (planner == null) {
+            throw new IllegalArgumentException("An elevator needs a stop planner.");
         }
+        this.planner = planner;
+    }
 
-        // Build the optimal path from the current floor
-        List<Request> sortedRequests = buildOptimalPath(currentFloor, allRequests);
+    /**
+     * Replaces the policy that chooses where the car parks. Takes effect the next time
+     * the car runs out of requests; a car already parked stays where it is.
+     *
+     * @param parking The parking policy to use.
+     * @throws IllegalArgumentException If the policy is {@code null}.
+     */
+    public void setParkingPolicy(ParkingPolicy parking) {
+        if (parking == null) {
+            throw new IllegalArgumentException("An elevator needs a parking policy.");
+        }
+        this.parking = parking;
+    }
 
-        // Create a new queue with the sorted requests
-        Deque<Request> newQueue = new ArrayDeque<>(sortedRequests);
+    // Getters
 
-        // Replace the original queue with the sorted one
-        requestQueue = newQueue;
+    /**
+     * Indicates whether the car stops at a floor: the floor is in the building, has a
+     * landing, and is one of the car's served floors. Takes constant time.
+     *
+     * @param floor The floor.
+     * @return {@code true} if the car can be called to or sent to the floor.
+     */
+    public boolean serves(int floor) {
+        return floor >= 1 && floor <= topFloor && config.serves(floor);
     }
 
     /**
-     * Builds the optimal path based on the current floor and request list.
+     * Returns the clock that drives this elevator.
      *
-     * @param startFloor The floor where the elevator starts.
-     * @param requests   The list of pending requests.
-     * @return A sorted list of requests representing the optimal path.
+     * @return The simulation clock.
      */
-    private List<Request> buildOptimalPath(int startFloor, List<Request> requests) {
-        // Separate inside and outside requests
-        List<Request> insideRequests = new ArrayList<>();
-        List<Request> outsideRequests = new ArrayList<>();
+    public SimulationClock getClock() {
+        return clock;
+    }
 
-        for (Request request : requests) {
-            if (request.isInside()) {
-                insideRequests.add(request);
-            } else {
-                outsideRequests.add(request);
-            }
-        }
+    /**
+     * Returns the timings and home floor of this elevator.
+     *
+     * @return The configuration.
+     */
+    public ElevatorConfig getConfig() {
+        return config;
+    }
 
-        // Sort inside requests by direction
-        List<Request> sortedInsideRequests = sortInsideRequests(startFloor, insideRequests);
+    /**
+     * Returns the planner that chooses the car's next stop.
+     *
+     * @return The stop planner.
+     */
+    public StopPlanner getPlanner() {
+        return planner;
+    }
 
-        // Build the path by merging inside and outside requests logically
-        return mergeRequests(sortedInsideRequests, outsideRequests);
+    /**
+     * Returns the policy that chooses where the car parks.
+     *
+     * @return The parking policy.
+     */
+    public ParkingPolicy getParkingPolicy() {
+        return parking;
     }
 
     /**
-     * Sorts inside requests based on their direction relative to the starting floor.
+     * Returns the floor the car is parked at, or travelling to in order to park, with no
+     * requests to serve.
      *
-     * @param startFloor     The floor where sorting begins.
-     * @param insideRequests The list of inside requests to be sorted.
-     * @return A list of requests sorted by their direction and position.
+     * @return The parking floor, or {@code -1} while the car is serving requests or has
+     *         not started.
      */
-    private List<Request> sortInsideRequests(int startFloor, List<Request> insideRequests) {
-        List<Request> goingUp = new ArrayList<>();
-        List<Request> goingDown = new ArrayList<>();
+    public int getParkingFloor() {
+        return parkingFloor;
+    }
 
-        for (Request request : insideRequests) {
-            if (request.getFloor() > startFloor) {
-                goingUp.add(request);
-            } else {
-                goingDown.add(request);
-            }
-        }
+    /**
+     * Returns the maximum number of calls that may wait to be applied.
+     *
+     * @return The intake capacity.
+     */
+    public int getIntakeCapacity() {
+        return intake.getCapacity();
+    }
 
-        // Sort going up requests in ascending order
-        goingUp.sort(Comparator.comparingInt(Request::getFloor));
+    /**
+     * Returns what happens to a call posted while the intake is full.
+     *
+     * @return The overflow policy.
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return intake.getPolicy();
+    }
 
-        // Sort going down requests in descending order
-        goingDown.sort((a, b) -> Integer.compare(b.getFloor(), a.getFloor()));
+    /**
+     * Returns the number of presses and cancellations folded into an operation on the
+     * same call still waiting to be applied: repeats, and presses and cancels that
+     * replace it.
+     *
+     * @return The number of coalesced calls.
+     */
+    public long getCoalescedCalls() {
+        return intake.getCoalesced();
+    }
 
-        // Determine initial direction
-        boolean movingUp = goingUp.size() > goingDown.size();
+    /**
+     * Returns the number of calls rejected because the intake was full.
+     *
+     * @return The number of rejected calls.
+     */
+    public long getRejectedCalls() {
+        return intake.getRejected();
+    }
 
-        // Combine the lists based on the initial direction
-        List<Request> sortedInsideRequests = new ArrayList<>();
-        if (movingUp) {
-            sortedInsideRequests.addAll(goingUp);
-            sortedInsideRequests.addAll(goingDown);
-        } else {
-            sortedInsideRequests.addAll(goingDown);
-            sortedInsideRequests.addAll(goingUp);
-        }
+    /**
+     * Indicates whether the car will stop at a floor for a pending inside stop or a
+     * booked destination. When called from another thread the result may be momentarily stale.
+     *
+     * @param floor The floor.
+     * @return {@code true} if a rider or a booked passenger is bound for the floor.
+     */
+    public boolean isStoppingAt(int floor) {
+        return floor >= 1 && floor <= topFloor && (requestIndex.hasInside(floor) || bookings.isBooked(floor));
+    }
 
-        return sortedInsideRequests;
+    /**
+     * Returns the number of passengers who entered a destination for this car and have
+     * not yet been picked up.
+     *
+     * @return The number of booked passengers.
+     */
+    public int getBookedPassengers() {
+        return bookings.getBooked();
     }
 
     /**
-     * Determines if the specified request matches the current direction of travel.
+     * Returns the number of passengers aboard.
      *
-     * @param movingUp {@code true} if the elevator is moving up, {@code false} if it is moving down.
-     * @param request  The request to evaluate.
-     * @return {@code true} if the request matches the elevator's direction, {@code false} otherwise.
+     * @return The load.
      */
-    private boolean matchesDirection(boolean movingUp, Request request) {
-        return (movingUp && "up".equals(request.getDirection())) ||
-                (!movingUp && "down".equals(request.getDirection()));
+    public int getLoad() {
+        return load;
     }
 
     /**
-     * Merges inside and outside requests into a single path logically.
+     * Returns the number of passengers the car can carry.
      *
-     * @param insideRequests  The list of inside requests.
-     * @param outsideRequests The list of outside requests.
-     * @return A merged list of requests representing the combined path.
+     * @return The capacity, or {@link ElevatorConfig#UNLIMITED_CAPACITY}.
      */
-    private List<Request> mergeRequests(List<Request> insideRequests, List<Request> outsideRequests) {
-        List<Request> mergedPath = new ArrayList<>(insideRequests);
+    public int getCapacity() {
+        return capacity;
+    }
 
-        for (Request outsideRequest : outsideRequests) {
-            boolean inserted = false;
+    /**
+     * Indicates whether the car has no room for another passenger.
+     *
+     * @return {@code true} if the load has reached the capacity.
+     */
+    public boolean isFull() {
+        return load >= capacity;
+    }
 
-            // Check if the outside request fits naturally between two inside requests
-            for (int i = 0; i < mergedPath.size() - 1; i++) {
-                Request current = mergedPath.get(i);
-                Request next = mergedPath.get(i + 1);
+    /**
+     * Returns the number of times the car passed a hall call in its direction of travel
+     * because it was full.
+     *
+     * @return The number of bypassed calls.
+     */
+    public long getBypassedCalls() {
+        return bypassedCalls;
+    }
 
-                boolean movingUp = next.getFloor() > current.getFloor();
-                boolean requestInRange = current.getFloor() <= outsideRequest.getFloor() &&
-                        outsideRequest.getFloor() <= next.getFloor();
+    /**
+     * Returns the floor the elevator is currently at or passing.
+     *
+     * @return The current floor.
+     */
+    public int getCurrentFloor() {
+        return currentFloor;
+    }
 
-                if (requestInRange && matchesDirection(movingUp, outsideRequest)) {
-                    mergedPath.add(i + 1, outsideRequest);
-                    inserted = true;
-                    break;
-                }
-            }
+    /**
+     * Returns the highest floor the elevator can reach.
+     *
+     * @return The top floor.
+     */
+    public int getTopFloor() {
+        return topFloor;
+    }
 
-            // If the request doesn’t fit naturally, add it to the end
-            if (!inserted) {
-                mergedPath.add(outsideRequest);
+    /**
+     * Indicates whether the elevator is travelling, or last travelled, upwards.
+     *
+     * @return {@code true} if the elevator is moving up, {@code false} otherwise.
+     */
+    public boolean isMovingUp() {
+        return movingUp;
+    }
+
+    /**
+     * Returns the request currently being served.
+     *
+     * @return The current request, or {@code null} if the elevator has no active request.
+     */
+    public Request getCurrentRequest() {
+        return currentRequest;
+    }
+
+    /**
+     * Returns the number of pending requests, including the current request. When
+     * called from another thread the result may be momentarily stale.
+     *
+     * @return The number of queued requests.
+     */
+    public int getQueueSize() {
+        return requestIndex.size();
+    }
+
+    /**
+     * Indicates whether the elevator has no active or queued requests.
+     *
+     * @return {@code true} if the elevator is idle, {@code false} otherwise.
+     */
+    public boolean isIdle() {
+        return currentRequest == null && requestIndex.isEmpty();
+    }
+
+    /**
+     * Returns the pending requests in ascending floor order, including the current request.
+     * When called from another thread the snapshot is weakly consistent: it may miss or
+     * still include requests changed while it was being taken.
+     *
+     * @return A new list describing every pending request.
+     */
+    public List<Request> getPendingRequests() {
+        return requestIndex.snapshot();
+    }
+
+    // Private Methods
+
+    /**
+     * Checks if any inside request exists in the queue.
+     *
+     * @return {@code true} if an inside request is found, otherwise {@code false}.
+     */
+    private boolean checkForInsideRequest() {
+        drainIntake();
+        return requestIndex.hasInsideStops();
+    }
+
+    /**
+     * Applies every call posted to the intake since the last drain. Runs on the clock's
+     * dispatching thread; package-private so benchmarks can drive the intake path directly.
+     */
+    void drainIntake() {
+        boolean changed = false;
+        CallIntake.Call call;
+
+        while ((call = intake.poll()) != null) {
+            if (call.cancel) {
+                changed |= applyCancel(call.floor, call.kind);
+            } else {
+                changed |= call.kind == CallIntake.INSIDE
+                        ? applyInsideCall(call.floor, call.time)
+                        : applyHallCall(call.floor, call.kind == CallIntake.UP, call.time);
             }
         }
 
-        return mergedPath;
+        if (changed) {
+            notifyQueueChanged();
+        }
     }
 
     /**
-     * Opens and closes the elevator doors with appropriate wait times.
+     * Indexes a hall call; the car stops for it when it passes the floor in the same direction.
+     *
+     * @param floor The floor the call was made from.
+     * @param up    {@code true} for an up call.
+     * @param time  The time at which the button was pressed.
+     * @return {@code true} if the pending requests changed.
      */
-    private void openAndCloseDoors() {
-        log("Opening doors...");
+    private boolean applyHallCall(int floor, boolean up, long time) {
+        Direction direction = Direction.of(up);
+        boolean idle = currentRequest == null && requestIndex.isEmpty();
+
+        boolean added = requestIndex.addHallCall(floor, up, time);
+        if (!listeners.isEmpty()) { // Skip building messages nobody reads; repeat presses are common when busy
+            if (!added) {
+                log("Request for floor " + floor + " going " + direction + " is already queued.");
+            } else if (idle) {
+                log("Elevator is idle, adding request to the queue.");
+            } else {
+                log("Adding request for floor " + floor + " going " + direction + " to the queue.");
+            }
+        }
 
-        try {
-            Thread.sleep(1000); // Simulate doors opening
-        } catch (InterruptedException e) {
-            log("Elevator waiting interrupted.");
+        if (!added) {
+            return false;
         }
+        new RequestEnqueuedEvent().record(carNumber, floor, up ? "up" : "down", requestIndex.size(), time, clock.now());
+        listeners.onRequestAdded(this, Request.hallCall(floor, direction));
+        return true;
+    }
 
-        log("Waiting for passengers to enter/exit...");
+    /**
+     * Validates and indexes an inside button press.
+     *
+     * @param floor The requested floor.
+     * @param time  The time at which the button was pressed.
+     * @return {@code true} if the pending requests changed.
+     */
+    private boolean applyInsideCall(int floor, long time) {
+        if (floor < 1 || floor > topFloor) {
+            log("Invalid floor. Please select a floor between 1 and " + topFloor + ".");
+            return false;
+        } else if (!motion.hasLanding(floor)) {
+            log("Floor " + floor + " is in an express zone and has no landing.");
+            return false;
+        } else if (!serves(floor)) {
+            log("Floor " + floor + " is not served by this car.");
+            return false;
+        } else if (floor == currentFloor) {
+            log("You are already on floor " + floor + ".");
+            return false;
+        } else if (!requestIndex.addInside(floor, time)) {
+            return false;
+        }
+
+        new RequestEnqueuedEvent().record(carNumber, floor, "inside", requestIndex.size(), time, clock.now());
+        listeners.onRequestAdded(this, Request.inside(floor));
+        return true;
+    }
+
+    /**
+     * Adds a destination booked from a hall keypad as an inside stop, as the car answers
+     * the call it was booked with.
+     *
+     * @param floor The booked destination.
+     */
+    private void applyBooking(int floor) {
+        applyInsideCall(floor, clock.now());
+    }
 
-        try {
-            Thread.sleep(10000); // Wait for 10 seconds for people to exit
-        } catch (InterruptedException e) {
-            log("Elevator waiting interrupted.");
+    /**
+     * Removes a withdrawn call from the pending requests.
+     *
+     * @param floor The floor of the call.
+     * @param kind  The kind of call.
+     * @return {@code true} if the pending requests changed.
+     */
+    private boolean applyCancel(int floor, int kind) {
+        boolean removed = kind == CallIntake.INSIDE ? requestIndex.cancelInside(floor)
+                : requestIndex.cancelHallCall(floor, kind == CallIntake.UP);
+        if (!removed) {
+            return false; // Never pending, already served, or an invalid floor
         }
 
-        log("Closing doors...");
+        Request request = kind == CallIntake.INSIDE ? Request.inside(floor)
+                : Request.hallCall(floor, Direction.of(kind == CallIntake.UP));
+        log("Request for floor " + floor + (request.isInside() ? "" : " going " + request.getDirection()) + " cancelled.");
+        listeners.onRequestCancelled(this, request);
+        return true;
+    }
 
-        try {
-            Thread.sleep(1000); // Simulate doors closing
-        } catch (InterruptedException e) {
-            log("Elevator waiting interrupted.");
+    /**
+     * Checks that a hall call names a landing of this car and a direction it can travel from there.
+     *
+     * @param floor     The floor of the call.
+     * @param direction The direction of the call.
+     * @return {@code true} if the call is valid.
+     */
+    private boolean isValidHallCall(int floor, Direction direction) {
+        if ((floor == lowestServed && direction != Direction.UP)
+                || (floor == highestServed && direction != Direction.DOWN)) {
+            log("Invalid request. Floor " + lowestServed + " can only go up, and floor " + highestServed
+                    + " can only go down.");
+            return false;
+        } else if (floor < 1 || floor > topFloor) {
+            log("Invalid floor. Please select a floor between 1 and " + topFloor + ".");
+            return false;
+        } else if (!motion.hasLanding(floor)) {
+            log("Floor " + floor + " is in an express zone and has no landing.");
+            return false;
+        } else if (!serves(floor)) {
+            log("Floor " + floor + " is not served by this car.");
+            return false;
         }
+        return true;
     }
 
     /**
-     * Checks if any inside request exists in the queue.
+     * Wakes the car to apply a call the intake accepted.
      *
-     * @return {@code true} if an inside request is found, otherwise {@code false}.
+     * @param accepted Whether the intake accepted the call.
+     * @return {@code accepted}.
      */
-    private boolean checkForInsideRequest() {
-        for (Request request : requestQueue) {
-            if (request.isInside()) {
-                return true;
-            }
+    private boolean post(boolean accepted) {
+        if (accepted) {
+            scheduleWakeup();
         }
-        return false;
+        return accepted;
     }
 
+    /**
+     * Schedules a wakeup to apply newly posted presses, unless one is already pending.
+     */
+    private void scheduleWakeup() {
+        if (wakeupScheduled.compareAndSet(false, true)) {
+            clock.schedule(0, wakeupAction);
+        }
+    }
+
+    /**
+     * Applies newly posted presses. An idle car sets off, and a car waiting for an inside
+     * call stops waiting as soon as one arrives.
+     */
+    private void wakeup() {
+        wakeupScheduled.set(false); // Later presses schedule a new wakeup
+        if (!running || phase == Phase.NEW) {
+            return; // Presses stay in the intake until the car starts
+        }
+
+        drainIntake();
+        if (phase == Phase.WAITING && requestIndex.hasInsideStops()) {
+            timer.cancel();
+            log("Inside button pressed. Processing inside request...");
+            finishStop();
+        } else if (phase == Phase.IDLE) {
+            decide();
+        }
+    }
 
     /**
-     * Processes the next request in the queue.
+     * Chooses what to do next at a decision point: set off for the stop chosen by the
+     * planner, or, if nothing is pending, travel to the parking floor or stay idle there.
      */
-    private void processNewRequest() {
-        if (currentRequest == null && !requestQueue.isEmpty()) {
-            currentRequest = requestQueue.pollFirst();
+    private void decide() {
+        drainIntake();
+
+        StopPlannedEvent planned = new StopPlannedEvent();
+        planned.begin();
+        int nextStop = isFull() && requestIndex.hasInsideStops()
+                ? requestIndex.nextInsideStop(currentFloor, movingUp) // No room: only let riders out
+                : planner.nextStop(requestIndex, currentFloor, movingUp, clock.now());
+        planned.record(carNumber, currentFloor, movingUp, requestIndex.size(), nextStop, planner, clock.now());
+        if (nextStop >= 0) {
+            parkingFloor = -1;
+            currentRequest = requestIndex.describeStop(nextStop, currentFloor, movingUp);
+            notifyQueueChanged();
+            beginMove(currentRequest, true);
+            return;
         }
 
-        updateQueueDisplay();
+        parkingFloor = chooseParkingFloor();
+        if (currentFloor != parkingFloor) {
+            // If there are no requests, park without opening doors
+            log("Returning to floor " + parkingFloor + " as no more requests are in the queue.");
+            beginMove(parkingRequest(parkingFloor), false);
+        } else {
+            phase = Phase.IDLE;
+            notifyQueueChanged();
+        }
+    }
 
-        if (currentRequest != null) {
-            moveToFloor(currentRequest, true, false);
-            // Clear current request after it's serviced
-            currentRequest = null;
+    /**
+     * Asks the parking policy where to park. A car that has just reached its parking
+     * floor stays there, so that cars do not keep repositioning without being called.
+     * A floor the car cannot stop at is replaced with the home floor.
+     *
+     * @return The floor to park at.
+     */
+    private int chooseParkingFloor() {
+        if (parkingFloor == currentFloor) {
+            return currentFloor;
         }
+        int floor = parking.parkingFloor(this, clock.now());
+        return serves(floor) ? floor : config.getHomeFloor();
     }
 
     /**
-     * Moves the elevator to the specified target floor, handling door operations
-     * and potential interruptions along the way.
+     * Sets off for the floor of a request. The car stops on the way for any inside stop
+     * or hall call in its direction of travel.
      *
-     * @param request           The floor request to process.
-     * @param openDoors         {@code true} if the doors should open upon arrival,
-     *                          {@code false} otherwise.
-     * @param returningToFloor1 {@code true} if the elevator is returning to floor 1,
-     *                          {@code false} otherwise.
+     * @param request   The request to travel to.
+     * @param openDoors {@code true} if the doors should open upon arrival.
      */
-    private void moveToFloor(Request request, boolean openDoors, boolean returningToFloor1) {
-        if (request.getFloor() < 1 || request.getFloor() > topFloor) {
-            log("Invalid floor. Please select a floor between 1 and " + topFloor + ".");
+    private void beginMove(Request request, boolean openDoors) {
+        this.target = request;
+        this.openDoors = openDoors;
+        departedAt = clock.now();
+        new CarDepartedEvent().record(carNumber, currentFloor, request.getFloor(), !openDoors, requestIndex.size(),
+                departedAt);
+        listeners.onDeparted(this, currentFloor, request.getFloor());
+
+        if (request.getFloor() == currentFloor) {
+            arrive();
             return;
         }
 
-        log("Starting movement to floor " + request.getFloor());
-
         movingUp = request.getFloor() > currentFloor;
+        phase = Phase.MOVING;
+        runOrigin = currentFloor;
+        scheduleStep();
+    }
 
-        while (currentFloor != request.getFloor()) {
-            if (currentFloor < request.getFloor()) {
-                currentFloor++;
-            } else if (currentFloor > request.getFloor()) {
-                currentFloor--;
-            }
+    /**
+     * Completes the travel of one floor.
+     */
+    private void step() {
+        if (!running) {
+            return;
+        }
 
-            // Only log passing floors, not the arrival floor
-            if (currentFloor != request.getFloor()) {
-                log("Passing floor " + currentFloor);
+        currentFloor += movingUp ? 1 : -1;
+        drainIntake();
+
+        if (currentFloor != target.getFloor()) {
+            if (openDoors && requestIndex.nextRequestFloor(target.getFloor()) != target.getFloor()) {
+                // Every request at the target was cancelled: halt at the nearest landing and choose again
+                log("Nothing left at floor " + target.getFloor() + ". Choosing a new stop.");
+                int halt = nearestStopAhead(false);
+                new StopDivertedEvent().record(carNumber, currentFloor, target.getFloor(),
+                        halt < 0 ? target.getFloor() : halt, StopDivertedEvent.CANCELLED, clock.now());
+                target = Request.inside(halt < 0 ? target.getFloor() : halt);
+                currentRequest = null;
+                openDoors = false;
+                notifyQueueChanged();
             }
 
-            // Check if there is a request that should interrupt this movement
-            if (currentRequest != null) {
-                // Check if the current request is on the way and closer than the target floor
-                if ((movingUp && currentRequest.getFloor() > currentFloor && currentRequest.getFloor() < request.getFloor()) ||
-                        (!movingUp && currentRequest.getFloor() < currentFloor && currentRequest.getFloor() > request.getFloor())) {
-                    processNewRequest();
-                    return;
-                }
+            // Stop on the way for the nearest inside stop or hall call in the direction of
+            // travel, committing only once the car would otherwise pass the last moment to brake
+            int stop = nearestStopAhead(true);
+            if (stop >= 0 && motion.commitMillis(runOrigin, stop) < nextStepMillis()) {
+                log("Stopping at floor " + stop + " on the way " + (movingUp ? "up." : "down."));
+                new StopDivertedEvent().record(carNumber, currentFloor, target.getFloor(), stop,
+                        StopDivertedEvent.ON_THE_WAY, clock.now());
+                target = requestIndex.describeStop(stop, currentFloor, movingUp);
+                currentRequest = target;
+                openDoors = true;
+                parkingFloor = -1;
             }
 
-            try {
-                Thread.sleep(3000); // 3-second delay between floors
-            } catch (InterruptedException e) {
-                log("Elevator movement interrupted.");
+            if (currentFloor == target.getFloor()) {
+                arrive();
+                return;
             }
+            if (isFull() && requestIndex.hasHallCall(currentFloor, movingUp)) {
+                bypassedCalls++;
+                log("Car full. Passing the call at floor " + currentFloor + ".");
+            }
+            listeners.onFloorPassed(this, currentFloor);
+            scheduleStep();
+            return;
         }
 
-        // Log the final destination as "Arrived"
-        log("Arrived at floor " + currentFloor);
+        if (openDoors && requestIndex.nextRequestFloor(currentFloor) != currentFloor) {
+            openDoors = false; // Cancelled while the car was on its way; nobody to open for
+        }
+        arrive();
+    }
 
-        if (!requestQueue.isEmpty()) {
-            Request firstRequest = requestQueue.peekFirst();
-            if (firstRequest.getFloor() == currentFloor) {
-                requestQueue.pollFirst(); // Remove this request from the queue
+    /**
+     * Schedules the pass of the next floor of the run, or the arrival if it is the target.
+     */
+    private void scheduleStep() {
+        timer = clock.schedule(Math.max(0, departedAt + nextStepMillis() - clock.now()), stepAction);
+    }
+
+    /**
+     * Returns when the car reaches the next floor of the run, measured from the start of the run.
+     */
+    private long nextStepMillis() {
+        int next = currentFloor + (movingUp ? 1 : -1);
+        int to = target.getFloor();
+        return next == to ? motion.travelMillis(runOrigin, to) : motion.passMillis(runOrigin, to, next);
+    }
+
+    /**
+     * Finds the nearest floor from the current floor up to, but not including, the target
+     * at which the car can still stop.
+     *
+     * @param requested {@code true} to consider only floors with a stop requested in the
+     *                  direction of travel, or only inside stops while the car is full;
+     *                  {@code false} for any landing.
+     * @return The floor, or {@code -1} if there is none.
+     */
+    private int nearestStopAhead(boolean requested) {
+        long elapsed = clock.now() - departedAt;
+        int step = movingUp ? 1 : -1;
+        for (int floor = currentFloor; floor != target.getFloor(); floor += step) {
+            if ((requested ? wantsStop(floor) : motion.hasLanding(floor))
+                    && elapsed <= motion.commitMillis(runOrigin, floor)) {
+                return floor;
             }
         }
+        return -1;
+    }
+
+    /**
+     * Indicates whether the car should stop at a floor it is about to pass: for an inside
+     * stop, or for a hall call in its direction of travel if it has room.
+     *
+     * @param floor The floor.
+     * @return {@code true} if the car should stop there.
+     */
+    private boolean wantsStop(int floor) {
+        return isFull() ? requestIndex.hasInside(floor) : requestIndex.hasStopAt(floor, movingUp);
+    }
+
+    /**
+     * Checks that the car's doors are open for passengers to move.
+     *
+     * @throws IllegalStateException If the doors are not open.
+     */
+    private void requireDoorsOpen() {
+        if (phase != Phase.DOORS_OPEN) {
+            throw new IllegalStateException("Passengers can only board or alight while the doors are open.");
+        }
+    }
+
+    /**
+     * Handles arrival at the target floor: answers the floor's requests and starts the
+     * door cycle, or ends the movement if the doors stay shut.
+     */
+    private void arrive() {
+        new CarArrivedEvent().record(carNumber, currentFloor, departedAt, openDoors, clock.now());
+        listeners.onArrived(this, currentFloor);
 
         // Update the elevator direction based on the requested direction if one exists
-        if (request.getDirection() != null && request.getDirection().equals("up")) {
-            movingUp = true;
-        } else if (request.getDirection() != null && request.getDirection().equals("down")) {
-            movingUp = false;
-        }
-
-        // Perform door operations only if openDoors is true
-        if (openDoors) {
-            openAndCloseDoors();
-
-            // Check if there are any inside requests
-            if (!checkForInsideRequest()) {
-                log("Waiting for inside button calls...");
-
-                // Determine how long to wait based on the queue state
-                int waitTime = requestQueue.isEmpty() ? 30 : 10; // 30 seconds if no other requests, 10 if there are
-
-                try {
-                    for (int i = 0; i < waitTime; i++) {
-                        // Check every second if an inside button is pressed
-                        if (checkForInsideRequest()) {
-                            log("Inside button pressed. Processing inside request...");
-                            return;
-                        }
-                        Thread.sleep(1000);
-                    }
-                } catch (InterruptedException e) {
-                    log("Elevator waiting interrupted.");
-                }
-
-                // After waiting, decide if it should move to the next queue item
-                if (requestQueue.isEmpty() && !returningToFloor1) {
-                    log("No more requests. Returning to floor 1.");
-                    Request floorOneRequest = new Request(1, "up", false);
-                    moveToFloor(floorOneRequest, false, true); // Return to floor 1
-                    updateQueueDisplay();
-                }
-            } else {
-                log("Inside button pressed. Processing inside request...");
-            }
+        if (target.getDirection() != null) {
+            movingUp = target.getDirection().isUp();
+        }
+
+        if (!openDoors) {
+            finishStop();
+            return;
+        }
+
+        serveFloor(target);
+        phase = Phase.DOORS_OPENING;
+        doorsOpeningAt = clock.now();
+        listeners.onDoorsOpening(this, currentFloor);
+        timer = clock.schedule(config.getDoorMoveMillis(), doorsOpenedAction);
+    }
+
+    /**
+     * Holds the doors open for passengers to enter and exit.
+     */
+    private void doorsOpened() {
+        if (!running) {
+            return;
         }
+        phase = Phase.DOORS_OPEN;
+        listeners.onDoorsOpened(this, currentFloor);
+        timer = clock.schedule(config.getDoorDwellMillis(), doorsClosingAction);
+    }
 
-        updateQueueDisplay();
+    /**
+     * Starts closing the doors at the end of the dwell.
+     */
+    private void doorsClosing() {
+        if (!running) {
+            return;
+        }
+        phase = Phase.DOORS_CLOSING;
+        listeners.onDoorsClosing(this, currentFloor);
+        timer = clock.schedule(config.getDoorMoveMillis(), doorsClosedAction);
     }
 
     /**
-     * Updates the request queue display in real-time.
+     * Ends the door cycle. Unless an inside button has already been pressed, the car
+     * waits for one: 30 seconds if nothing else is pending, 10 seconds otherwise.
      */
-    private void updateQueueDisplay() {
-        if (currentRequest != null) {
-            queueArea.setText("Current queue item: " + currentRequest + "\n");
-            if (!requestQueue.isEmpty()) {
-                queueArea.append("--------------------------------" + "\n");
-                queueArea.append("Awaiting queue items:" + "\n");
-                queueArea.append("--------------------------------" + "\n");
-                for (Request request : requestQueue) {
-                    queueArea.append("Floor: " + request.getFloor() + ", Direction: " + request.getDirection() + "\n");
-                }
+    private void doorsClosed() {
+        if (!running) {
+            return;
+        }
+        new DoorCycleEvent().record(carNumber, currentFloor, doorsOpeningAt, load, clock.now());
+        listeners.onDoorsClosed(this, currentFloor);
+
+        if (checkForInsideRequest()) {
+            log("Inside button pressed. Processing inside request...");
+            finishStop();
+            return;
+        }
+
+        log("Waiting for inside button calls...");
+        phase = Phase.WAITING;
+        timer = clock.schedule(requestIndex.isEmpty() ? IDLE_INSIDE_WAIT_MILLIS : BUSY_INSIDE_WAIT_MILLIS,
+                waitExpiredAction);
+    }
+
+    /**
+     * Ends an inside-call wait that no button press interrupted.
+     */
+    private void waitExpired() {
+        if (!running) {
+            return;
+        }
+        drainIntake();
+
+        if (requestIndex.isEmpty()) {
+            parkingFloor = chooseParkingFloor();
+            if (currentFloor != parkingFloor) {
+                log("No more requests. Returning to floor " + parkingFloor + ".");
+                currentRequest = null;
+                beginMove(parkingRequest(parkingFloor), false); // Park
+                return;
             }
-        } else {
-            queueArea.setText("");
         }
+        finishStop();
+    }
 
-        queueArea.revalidate();
-        queueArea.repaint();
+    /**
+     * Ends the current movement and moves on to the next decision.
+     */
+    private void finishStop() {
+        currentRequest = null;
+        target = null;
+        decide();
+    }
+
+    /**
+     * Removes the requests answered by stopping at the current floor: any inside stop
+     * and the hall call in the direction the elevator leaves in, whose booked
+     * destinations become inside stops. An inside stop at the
+     * end of a sweep turns the elevator around to answer an opposite call waiting here.
+     *
+     * @param request The request the elevator stopped for.
+     */
+    private void serveFloor(Request request) {
+        long insideSince = requestIndex.insideSince(currentFloor);
+        if (requestIndex.cancelInside(currentFloor)) {
+            listeners.onRequestServed(this, Request.inside(currentFloor), insideSince);
+        }
+
+        if (request.isInside() && !requestIndex.hasHallCall(currentFloor, movingUp)
+                && !requestIndex.hasRequestsBeyond(currentFloor, movingUp)) {
+            movingUp = !movingUp;
+        }
+
+        long hallCallSince = requestIndex.hallCallSince(currentFloor, movingUp);
+        if (requestIndex.cancelHallCall(currentFloor, movingUp)) {
+            listeners.onRequestServed(this, Request.hallCall(currentFloor, Direction.of(movingUp)), hallCallSince);
+        }
+
+        if (bookings.take(currentFloor, movingUp, bookedAction) > 0) { // Keypad passengers boarding here
+            notifyQueueChanged();
+        }
+    }
+
+    /**
+     * Describes the trip to a parking floor. The car is left facing up, unless it parks
+     * at the top floor.
+     *
+     * @param floor The parking floor.
+     * @return A hall-call request for the parking floor.
+     */
+    private Request parkingRequest(int floor) {
+        return Request.hallCall(floor, floor == topFloor ? Direction.DOWN : Direction.UP);
+    }
+
+    /**
+     * Notifies listeners that the pending requests may have changed.
+     */
+    private void notifyQueueChanged() {
+        listeners.onQueueChanged(this);
     }
 
     /**
-     * Logs a message to the provided JTextArea.
+     * Publishes a status message to the registered listeners.
      *
-     * @param message The message to log.
+     * @param message The message to publish.
      */
     private void log(String message) {
-        logArea.append(message + "\n");
-        logArea.setCaretPosition(logArea.getDocument().getLength());
+        listeners.onMessage(this, message);
     }
 }
@@ -0,0 +1,265 @@
+package elevator;
+
+import elevator.motion.ConstantSpeedMotion;
+import elevator.motion.MotionModel;
+import elevator.topology.FloorSet;
+
+/**
+ * The {@code ElevatorConfig} class holds the tunable timings of a car and the floor it
+ * parks at when it runs out of requests.
+ * <p>
+ * Travel between floors follows a {@link MotionModel}. By default the car moves at a
+ * constant speed of one floor per {@link #getFloorTravelMillis() floor travel time};
+ * {@link #withMotion(MotionModel)} replaces this with any other model, such as a
+ * kinematic one.
+ * </p>
+ * <p>
+ * A car carries any number of passengers unless {@link #withCapacity(int)} sets a limit.
+ * A car at its limit passes hall calls on the way and only stops to let riders out.
+ * </p>
+ * <p>
+ * A car stops at every landing of its motion model unless {@link #withServedFloors(FloorSet)}
+ * restricts it to some of them, as in a zoned building where each bank serves its own
+ * floors and the transfer floors it shares with other banks.
+ * </p>
+ * <p>
+ * Instances are immutable, so one configuration can be shared by every car of a bank
+ * and by simulations running in parallel.
+ * </p>
+ */
+public final class ElevatorConfig {
+    /** The capacity of a car whose load is never limited. */
+    public static final int UNLIMITED_CAPACITY = Integer.MAX_VALUE;
+
+    /** The timings of the original simulation, parking at floor 1. */
+    public static final ElevatorConfig DEFAULT = new ElevatorConfig(Elevator.FLOOR_TRAVEL_MILLIS,
+            Elevator.DOOR_MOVE_MILLIS, Elevator.DOOR_DWELL_MILLIS, 1);
+
+    private final long floorTravelMillis;
+    private final long doorMoveMillis;
+    private final long doorDwellMillis;
+    private final int homeFloor;
+    private final MotionModel motion;
+    private final int capacity; // Passengers the car can carry, UNLIMITED_CAPACITY if unbounded
+    private final FloorSet servedFloors; // Floors the car stops at, or null for every landing
+
+    // Constructors
+
+    /**
+     * Constructs a new {@code ElevatorConfig}.
+     *
+     * @param floorTravelMillis The time to travel one floor.
+     * @param doorMoveMillis    The time for the doors to open or close.
+     * @param doorDwellMillis   The time the doors stay open.
+     * @param homeFloor         The floor the car returns to when it has no requests.
+     * @throws IllegalArgumentException If a timing is negative or the home floor is below 1.
+     */
+    public ElevatorConfig(long floorTravelMillis, long doorMoveMillis, long doorDwellMillis, int homeFloor) {
+        this(floorTravelMillis, doorMoveMillis, doorDwellMillis, homeFloor, new ConstantSpeedMotion(floorTravelMillis),
+                UNLIMITED_CAPACITY, null);
+    }
+
+    /**
+     * Constructs a new {@code ElevatorConfig} with the given motion.
+     *
+     * @param floorTravelMillis The time to travel one floor, as reported to views.
+     * @param doorMoveMillis    The time for the doors to open or close.
+     * @param doorDwellMillis   The time the doors stay open.
+     * @param homeFloor         The floor the car returns to when it has no requests.
+     * @param motion            The travel times between floors.
+     * @param capacity          The number of passengers the car can carry.
+     * @param servedFloors      The floors the car stops at, or {@code null} for every landing.
+     */
+    private ElevatorConfig(long floorTravelMillis, long doorMoveMillis, long doorDwellMillis, int homeFloor,
+                           MotionModel motion, int capacity, FloorSet servedFloors) {
+        if (floorTravelMillis < 0 || doorMoveMillis < 0 || doorDwellMillis < 0) {
+            throw new IllegalArgumentException("Timings cannot be negative.");
+        }
+        if (homeFloor < 1) {
+            throw new IllegalArgumentException("The home floor must be 1 or above.");
+        }
+        this.floorTravelMillis = floorTravelMillis;
+        this.doorMoveMillis = doorMoveMillis;
+        this.doorDwellMillis = doorDwellMillis;
+        this.homeFloor = homeFloor;
+        this.motion = motion;
+        this.capacity = capacity;
+        this.servedFloors = servedFloors;
+    }
+
+    // Public Methods
+
+    /**
+     * Returns a copy of this configuration whose cars travel according to the given
+     * model. The floor travel time becomes the model's time for a run of one floor.
+     *
+     * @param motion The motion model.
+     * @return The new configuration.
+     * @throws IllegalArgumentException If the model is {@code null} or the home floor has no landing.
+     */
+    public ElevatorConfig withMotion(MotionModel motion) {
+        if (motion == null) {
+            throw new IllegalArgumentException("The motion model must not be null.");
+        }
+        if (homeFloor > motion.getTopFloor() || !motion.hasLanding(homeFloor)) {
+            throw new IllegalArgumentException("The home floor must have a landing in the motion model.");
+        }
+        long floorMillis = motion.getTopFloor() > 1 ? motion.travelMillis(1, 2) : floorTravelMillis;
+        return new ElevatorConfig(floorMillis, doorMoveMillis, doorDwellMillis, homeFloor, motion, capacity,
+                servedFloors);
+    }
+
+    /**
+     * Returns a copy of this configuration whose cars carry at most the given number of
+     * passengers.
+     *
+     * @param capacity The number of passengers, or {@link #UNLIMITED_CAPACITY}.
+     * @return The new configuration.
+     * @throws IllegalArgumentException If the capacity is below 1.
+     */
+    public ElevatorConfig withCapacity(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("A car must carry at least one passenger.");
+        }
+        return new ElevatorConfig(floorTravelMillis, doorMoveMillis, doorDwellMillis, homeFloor, motion, capacity,
+                servedFloors);
+    }
+
+    /**
+     * Returns a copy of this configuration whose cars stop only at the given floors.
+     *
+     * @param servedFloors The floors the car serves, or {@code null} for every landing.
+     * @return The new configuration.
+     * @throws IllegalArgumentException If the set does not include the home floor, or
+     *                                  includes a floor without a landing.
+     */
+    public ElevatorConfig withServedFloors(FloorSet servedFloors) {
+        if (servedFloors != null) {
+            if (!servedFloors.contains(homeFloor)) {
+                throw new IllegalArgumentException("A car must serve its home floor " + homeFloor + ".");
+            }
+            for (int floor = servedFloors.getLowest(); floor >= 0; floor = servedFloors.nextFloor(floor + 1)) {
+                if (floor > motion.getTopFloor() || !motion.hasLanding(floor)) {
+                    throw new IllegalArgumentException("Floor " + floor + " has no landing in the motion model.");
+                }
+            }
+        }
+        return new ElevatorConfig(floorTravelMillis, doorMoveMillis, doorDwellMillis, homeFloor, motion, capacity,
+                servedFloors);
+    }
+
+    /**
+     * Returns a copy of this configuration whose cars park at the given floor.
+     *
+     * @param homeFloor The floor the car returns to when it has no requests.
+     * @return The new configuration.
+     * @throws IllegalArgumentException If the car cannot stop at the floor.
+     */
+    public ElevatorConfig withHomeFloor(int homeFloor) {
+        if (!serves(homeFloor)) {
+            throw new IllegalArgumentException("A car can only park at a floor it serves: " + homeFloor);
+        }
+        return new ElevatorConfig(floorTravelMillis, doorMoveMillis, doorDwellMillis, homeFloor, motion, capacity,
+                servedFloors);
+    }
+
+    /**
+     * Indicates whether a car with this configuration stops at a floor: the floor has a
+     * landing and, if the served floors are restricted, is one of them.
+     *
+     * @param floor The floor.
+     * @return {@code true} if the car can stop at the floor.
+     */
+    public boolean serves(int floor) {
+        return floor >= 1 && floor <= motion.getTopFloor() && motion.hasLanding(floor)
+                && (servedFloors == null || servedFloors.contains(floor));
+    }
+
+    /**
+     * Returns a string representation of this configuration.
+     *
+     * @return A string representation of this configuration.
+     */
+    @Override
+    public String toString() {
+        return "ElevatorConfig [Floor: " + floorTravelMillis + " ms, Doors: " + doorMoveMillis
+                + " ms, Dwell: " + doorDwellMillis + " ms, Home: " + homeFloor
+                + (capacity == UNLIMITED_CAPACITY ? "" : ", Capacity: " + capacity)
+                + (servedFloors == null ? "" : ", Serves: " + servedFloors)
+                + (motion instanceof ConstantSpeedMotion ? "" : ", Motion: " + motion) + "]";
+    }
+
+    // Getters
+
+    /**
+     * Returns the time to travel one floor.
+     *
+     * @return The floor travel time in milliseconds.
+     */
+    public long getFloorTravelMillis() {
+        return floorTravelMillis;
+    }
+
+    /**
+     * Returns the time for the doors to open or close.
+     *
+     * @return The door movement time in milliseconds.
+     */
+    public long getDoorMoveMillis() {
+        return doorMoveMillis;
+    }
+
+    /**
+     * Returns the time the doors stay open.
+     *
+     * @return The door dwell time in milliseconds.
+     */
+    public long getDoorDwellMillis() {
+        return doorDwellMillis;
+    }
+
+    /**
+     * Returns the time of one full open, dwell, and close cycle of the doors.
+     *
+     * @return The door cycle time in milliseconds.
+     */
+    public long getDoorCycleMillis() {
+        return 2 * doorMoveMillis + doorDwellMillis;
+    }
+
+    /**
+     * Returns the floor the car returns to when it has no requests.
+     *
+     * @return The home floor.
+     */
+    public int getHomeFloor() {
+        return homeFloor;
+    }
+
+    /**
+     * Returns the model of travel between floors.
+     *
+     * @return The motion model.
+     */
+    public MotionModel getMotion() {
+        return motion;
+    }
+
+    /**
+     * Returns the number of passengers the car can carry.
+     *
+     * @return The capacity, or {@link #UNLIMITED_CAPACITY}.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the floors the car is restricted to.
+     *
+     * @return The served floors, or {@code null} if the car stops at every landing.
+     */
+    public FloorSet getServedFloors() {
+        return servedFloors;
+    }
+}
@@ -0,0 +1,124 @@
+package elevator;
+
+/**
+ * The {@code ElevatorListener} interface receives state-change events published by an
+ * {@link Elevator}.
+ * <p>
+ * Events are delivered synchronously on the thread that drives the elevator (only
+ * the stop message is published on the thread calling {@link Elevator#stop()}), so
+ * implementations must return quickly and must not block; a user interface should
+ * record what changed and render it later on its own thread. Every method has an
+ * empty default implementation so listeners only override the events they need.
+ * </p>
+ */
+public interface ElevatorListener {
+
+    /**
+     * Called for free-form status messages, such as rejected requests or idle returns.
+     *
+     * @param elevator The elevator publishing the event.
+     * @param message  The message text.
+     */
+    default void onMessage(Elevator elevator, String message) {
+    }
+
+    /**
+     * Called when a request has been accepted into the elevator's pending requests.
+     *
+     * @param elevator The elevator publishing the event.
+     * @param request  The accepted request.
+     */
+    default void onRequestAdded(Elevator elevator, Request request) {
+    }
+
+    /**
+     * Called when a pending request has been withdrawn before the elevator answered it.
+     *
+     * @param elevator The elevator publishing the event.
+     * @param request  The withdrawn request.
+     */
+    default void onRequestCancelled(Elevator elevator, Request request) {
+    }
+
+    /**
+     * Called when a request has been answered by the elevator stopping at its floor.
+     *
+     * @param elevator    The elevator publishing the event.
+     * @param request     The answered request.
+     * @param requestedAt The simulation time at which the request was first made.
+     */
+    default void onRequestServed(Elevator elevator, Request request, long requestedAt) {
+    }
+
+    /**
+     * Called whenever the pending requests or the current request may have changed.
+     *
+     * @param elevator The elevator publishing the event.
+     */
+    default void onQueueChanged(Elevator elevator) {
+    }
+
+    /**
+     * Called when the elevator starts moving towards a floor.
+     *
+     * @param elevator    The elevator publishing the event.
+     * @param floor       The floor the elevator is leaving.
+     * @param targetFloor The floor the elevator is heading for.
+     */
+    default void onDeparted(Elevator elevator, int floor, int targetFloor) {
+    }
+
+    /**
+     * Called when the elevator passes a floor without stopping.
+     *
+     * @param elevator The elevator publishing the event.
+     * @param floor    The floor being passed.
+     */
+    default void onFloorPassed(Elevator elevator, int floor) {
+    }
+
+    /**
+     * Called when the elevator comes to a halt at a floor.
+     *
+     * @param elevator The elevator publishing the event.
+     * @param floor    The floor the elevator arrived at.
+     */
+    default void onArrived(Elevator elevator, int floor) {
+    }
+
+    /**
+     * Called when the doors begin to open.
+     *
+     * @param elevator The elevator publishing the event.
+     * @param floor    The floor the elevator is at.
+     */
+    default void onDoorsOpening(Elevator elevator, int floor) {
+    }
+
+    /**
+     * Called when the doors are fully open and passengers may enter or exit.
+     *
+     * @param elevator The elevator publishing the event.
+     * @param floor    The floor the elevator is at.
+     */
+    default void onDoorsOpened(Elevator elevator, int floor) {
+    }
+
+    /**
+     * Called when the doors begin to close.
+     *
+     * @param elevator The elevator publishing the event.
+     * @param floor    The floor the elevator is at.
+     */
+    default void onDoorsClosing(Elevator elevator, int floor) {
+    }
+
+    /**
+     * Called when the doors are fully closed.
+     *
+     * @param elevator The elevator publishing the event.
+     * @param floor    The floor the elevator is at.
+     */
+    default void onDoorsClosed(Elevator elevator, int floor) {
+    }
+}
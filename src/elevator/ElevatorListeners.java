@@ -0,0 +1,144 @@
+package elevator;
+
+/**
+ * The {@code ElevatorListeners} class fans each event out to a copy-on-write array of
+ * {@link ElevatorListener}s.
+ * <p>
+ * Registration is rare and copies the array; publishing is frequent and only reads the
+ * current array, so the elevator's hot loop never allocates or locks to notify listeners,
+ * and does nothing at all when no listener is registered.
+ * </p>
+ */
+final class ElevatorListeners implements ElevatorListener {
+    private static final ElevatorListener[] NONE = new ElevatorListener[0];
+
+    private volatile ElevatorListener[] listeners = NONE;
+
+    // Package-Private Methods
+
+    /**
+     * Registers a listener.
+     *
+     * @param listener The listener to add.
+     */
+    synchronized void add(ElevatorListener listener) {
+        ElevatorListener[] current = listeners;
+        ElevatorListener[] updated = new ElevatorListener[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, current.length);
+        updated[current.length] = listener;
+        listeners = updated;
+    }
+
+    /**
+     * Unregisters a listener. Does nothing if the listener is not registered.
+     *
+     * @param listener The listener to remove.
+     */
+    synchronized void remove(ElevatorListener listener) {
+        ElevatorListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                ElevatorListener[] updated = new ElevatorListener[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                listeners = updated.length == 0 ? NONE : updated;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Indicates whether any listener is registered.
+     *
+     * @return {@code true} if no listener is registered.
+     */
+    boolean isEmpty() {
+        return listeners.length == 0;
+    }
+
+    // Event Fan-Out
+
+    @Override
+    public void onMessage(Elevator elevator, String message) {
+        for (ElevatorListener listener : listeners) {
+            listener.onMessage(elevator, message);
+        }
+    }
+
+    @Override
+    public void onRequestAdded(Elevator elevator, Request request) {
+        for (ElevatorListener listener : listeners) {
+            listener.onRequestAdded(elevator, request);
+        }
+    }
+
+    @Override
+    public void onRequestCancelled(Elevator elevator, Request request) {
+        for (ElevatorListener listener : listeners) {
+            listener.onRequestCancelled(elevator, request);
+        }
+    }
+
+    @Override
+    public void onRequestServed(Elevator elevator, Request request, long requestedAt) {
+        for (ElevatorListener listener : listeners) {
+            listener.onRequestServed(elevator, request, requestedAt);
+        }
+    }
+
+    @Override
+    public void onQueueChanged(Elevator elevator) {
+        for (ElevatorListener listener : listeners) {
+            listener.onQueueChanged(elevator);
+        }
+    }
+
+    @Override
+    public void onDeparted(Elevator elevator, int floor, int targetFloor) {
+        for (ElevatorListener listener : listeners) {
+            listener.onDeparted(elevator, floor, targetFloor);
+        }
+    }
+
+    @Override
+    public void onFloorPassed(Elevator elevator, int floor) {
+        for (ElevatorListener listener : listeners) {
+            listener.onFloorPassed(elevator, floor);
+        }
+    }
+
+    @Override
+    public void onArrived(Elevator elevator, int floor) {
+        for (ElevatorListener listener : listeners) {
+            listener.onArrived(elevator, floor);
+        }
+    }
+
+    @Override
+    public void onDoorsOpening(Elevator elevator, int floor) {
+        for (ElevatorListener listener : listeners) {
+            listener.onDoorsOpening(elevator, floor);
+        }
+    }
+
+    @Override
+    public void onDoorsOpened(Elevator elevator, int floor) {
+        for (ElevatorListener listener : listeners) {
+            listener.onDoorsOpened(elevator, floor);
+        }
+    }
+
+    @Override
+    public void onDoorsClosing(Elevator elevator, int floor) {
+        for (ElevatorListener listener : listeners) {
+            listener.onDoorsClosing(elevator, floor);
+        }
+    }
+
+    @Override
+    public void onDoorsClosed(Elevator elevator, int floor) {
+        for (ElevatorListener listener : listeners) {
+            listener.onDoorsClosed(elevator, floor);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package elevator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The {@code ElevatorSnapshot} class is the captured state of one {@link Elevator}:
+ * its building, configuration, position, direction, current request, every pending
+ * request together with the time it was first made, and the destinations booked on hall
+ * keypads for calls the car has not answered yet.
+ * <p>
+ * Snapshots are immutable. They are taken with {@link Elevator#snapshot()} and turned
+ * back into a running car with {@link Elevator#restore(ElevatorSnapshot,
+ * elevator.sim.SimulationClock, ElevatorListener...)}.
+ * </p>
+ */
+public final class ElevatorSnapshot {
+    private final int topFloor;
+    private final ElevatorConfig config;
+    private final int currentFloor;
+    private final boolean movingUp;
+    private final Request currentRequest; // Null if the car had no active request
+    private final List<Request> pendingRequests;
+    private final long[] requestedAt; // Parallel to pendingRequests
+    private final List<Request> bookedCalls; // Hall call of each keypad booking, one per passenger
+    private final int[] bookedDestinations; // Parallel to bookedCalls
+
+    // Constructors
+
+    /**
+     * Constructs a new {@code ElevatorSnapshot} of a car with no keypad bookings.
+     *
+     * @param topFloor        The highest floor the car can reach.
+     * @param config          The timings and home floor of the car.
+     * @param currentFloor    The floor the car was at or passing.
+     * @param movingUp        {@code true} if the car was travelling, or last travelled, upwards.
+     * @param currentRequest  The request being served, or {@code null}.
+     * @param pendingRequests The pending requests, without duplicates.
+     * @param requestedAt     The time each pending request was first made, in the same order.
+     * @throws IllegalArgumentException If the request and time counts differ.
+     */
+    public ElevatorSnapshot(int topFloor, ElevatorConfig config, int currentFloor, boolean movingUp,
+                            Request currentRequest, List<Request> pendingRequests, long[] requestedAt) {
+        this(topFloor, config, currentFloor, movingUp, currentRequest, pendingRequests, requestedAt,
+                List.of(), new int[0]);
+    }
+
+    /**
+     * Constructs a new {@code ElevatorSnapshot}.
+     *
+     * @param topFloor           The highest floor the car can reach.
+     * @param config             The timings and home floor of the car.
+     * @param currentFloor       The floor the car was at or passing.
+     * @param movingUp           {@code true} if the car was travelling, or last travelled, upwards.
+     * @param currentRequest     The request being served, or {@code null}.
+     * @param pendingRequests    The pending requests, without duplicates.
+     * @param requestedAt        The time each pending request was first made, in the same order.
+     * @param bookedCalls        The hall call of each keypad booking, one entry per passenger.
+     * @param bookedDestinations The destination of each booking, in the same order.
+     * @throws IllegalArgumentException If the request and time counts differ, the booking
+     *                                  and destination counts differ, or a booking is not
+     *                                  for a hall call.
+     */
+    public ElevatorSnapshot(int topFloor, ElevatorConfig config, int currentFloor, boolean movingUp,
+                            Request currentRequest, List<Request> pendingRequests, long[] requestedAt,
+                            List<Request> bookedCalls, int[] bookedDestinations) {
+        if (pendingRequests.size() != requestedAt.length) {
+            throw new IllegalArgumentException("Every pending request needs a request time.");
+        }
+        if (bookedCalls.size() != bookedDestinations.length) {
+            throw new IllegalArgumentException("Every booking needs a destination.");
+        }
+        for (Request call : bookedCalls) {
+            if (call.isInside()) {
+                throw new IllegalArgumentException("Destinations are booked with hall calls, not " + call + ".");
+            }
+        }
+        this.topFloor = topFloor;
+        this.config = config;
+        this.currentFloor = currentFloor;
+        this.movingUp = movingUp;
+        this.currentRequest = currentRequest;
+        this.pendingRequests = Collections.unmodifiableList(new ArrayList<>(pendingRequests));
+        this.requestedAt = requestedAt.clone();
+        this.bookedCalls = Collections.unmodifiableList(new ArrayList<>(bookedCalls));
+        this.bookedDestinations = bookedDestinations.clone();
+    }
+
+    // Public Method
+
+    /**
+     * Returns a string representation of this snapshot.
+     *
+     * @return A string representation of this snapshot.
+     */
+    @Override
+    public String toString() {
+        return "ElevatorSnapshot [Floor: " + currentFloor + ", " + (movingUp ? "up" : "down")
+                + ", Current: " + currentRequest + ", Pending: " + pendingRequests + "]";
+    }
+
+    // Getters
+
+    /**
+     * Returns the highest floor the car can reach.
+     *
+     * @return The top floor.
+     */
+    public int getTopFloor() {
+        return topFloor;
+    }
+
+    /**
+     * Returns the timings and home floor of the car.
+     *
+     * @return The configuration.
+     */
+    public ElevatorConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Returns the floor the car was at or passing.
+     *
+     * @return The floor.
+     */
+    public int getCurrentFloor() {
+        return currentFloor;
+    }
+
+    /**
+     * Indicates whether the car was travelling, or last travelled, upwards.
+     *
+     * @return {@code true} if the car was moving up.
+     */
+    public boolean isMovingUp() {
+        return movingUp;
+    }
+
+    /**
+     * Returns the request the car was serving.
+     *
+     * @return The current request, or {@code null}.
+     */
+    public Request getCurrentRequest() {
+        return currentRequest;
+    }
+
+    /**
+     * Returns the pending requests.
+     *
+     * @return An unmodifiable list of the pending requests.
+     */
+    public List<Request> getPendingRequests() {
+        return pendingRequests;
+    }
+
+    /**
+     * Returns when a pending request was first made.
+     *
+     * @param index The position of the request in {@link #getPendingRequests()}.
+     * @return The request time in simulation milliseconds.
+     */
+    public long getRequestedAt(int index) {
+        return requestedAt[index];
+    }
+
+    /**
+     * Returns the hall call of each destination booked on a keypad and not yet taken by
+     * the car, one entry per passenger.
+     *
+     * @return An unmodifiable list of the calls the bookings were made with.
+     */
+    public List<Request> getBookedCalls() {
+        return bookedCalls;
+    }
+
+    /**
+     * Returns the destination of a keypad booking.
+     *
+     * @param index The position of the booking in {@link #getBookedCalls()}.
+     * @return The destination floor.
+     */
+    public int getBookedDestination(int index) {
+        return bookedDestinations[index];
+    }
+}
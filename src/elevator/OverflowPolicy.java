@@ -0,0 +1,24 @@
+package elevator;
+
+/**
+ * The {@code OverflowPolicy} enum decides what happens to a call posted to an
+ * {@link Elevator} whose intake is already holding as many calls as it may.
+ * <p>
+ * Repeat presses of a call that is already queued are coalesced and never overflow, so
+ * the limit is only reached when presses arrive for many different calls faster than the
+ * car applies them.
+ * </p>
+ */
+public enum OverflowPolicy {
+    /**
+     * The call is dropped and counted, and the posting method returns {@code false}.
+     */
+    REJECT,
+
+    /**
+     * The posting thread waits until the car has applied enough calls to make room. Suited
+     * to producers that should be slowed down, such as a network reader; never use it from
+     * a thread that drives the car, which would then wait for itself.
+     */
+    BLOCK
+}
@@ -5,13 +5,28 @@ package elevator;
  * <p>
  * A request can either be an inside request (from within the elevator) or an outside
  * request (from a specific floor). Inside requests do not specify a direction, while
- * outside requests include a direction of travel ("up" or "down").
+ * outside requests include a {@link Direction} of travel.
+ * </p>
+ * <p>
+ * Requests are immutable values: two requests are equal when their floor, direction,
+ * and type match, and each packs into a single {@code int} (see {@link #pack()}).
+ * Instances are obtained from {@link #inside(int)} and {@link #hallCall(int, Direction)},
+ * which hand out shared flyweights for ordinary building heights, so publishing a
+ * request on the dispatch path does not allocate.
  * </p>
  */
-public class Request {
-    private int floor;
-    private String direction; // "up" or "down", null for inside requests
-    private boolean isInside; // Distinguishes inside vs. outside requests
+public final class Request {
+    private static final int KIND_INSIDE = 0; // Low two bits of a packed request
+    private static final int KIND_UP = 1;
+    private static final int KIND_DOWN = 2;
+    private static final int CACHED_FLOORS = 1024; // Floors below this share flyweight instances
+
+    // Created on first use; the fields are final, so a racy publication is still safe
+    private static final Request[][] FLYWEIGHTS = new Request[3][CACHED_FLOORS];
+
+    private final int floor;
+    private final Direction direction; // Null for inside requests
+    private final boolean isInside; // Distinguishes inside vs. outside requests
 
     // Constructor
 
@@ -19,16 +34,83 @@ public class Request {
      * Constructs a new {@code Request} with the specified floor, direction, and type.
      *
      * @param floor     The target floor for the request.
-     * @param direction The direction of travel ("up" or "down"), or {@code null} for inside requests.
+     * @param direction The direction of travel, or {@code null} for inside requests.
      * @param isInside  {@code true} if the request is an inside request, {@code false} if it is an outside request.
      */
-    public Request(int floor, String direction, boolean isInside) {
+    private Request(int floor, Direction direction, boolean isInside) {
         this.floor = floor;
         this.direction = direction;
         this.isInside = isInside;
     }
 
-    // Public Method
+    // Public Methods
+
+    /**
+     * Returns the inside request for a floor.
+     *
+     * @param floor The floor requested from inside the elevator.
+     * @return The request.
+     */
+    public static Request inside(int floor) {
+        return of(floor, KIND_INSIDE);
+    }
+
+    /**
+     * Returns the outside request for a floor and direction.
+     *
+     * @param floor     The floor the call was made from.
+     * @param direction The direction of travel.
+     * @return The request.
+     */
+    public static Request hallCall(int floor, Direction direction) {
+        return of(floor, direction.isUp() ? KIND_UP : KIND_DOWN);
+    }
+
+    /**
+     * Rebuilds a request from its packed form.
+     *
+     * @param packed A value returned by {@link #pack()}.
+     * @return The request.
+     * @throws IllegalArgumentException If the low bits hold no kind of request.
+     */
+    public static Request unpack(int packed) {
+        int kind = packed & 3;
+        if (kind > KIND_DOWN) {
+            throw new IllegalArgumentException("Not a packed request: " + packed);
+        }
+        return of(packed >> 2, kind);
+    }
+
+    /**
+     * Packs this request into an {@code int}: the floor in the upper bits and the
+     * request type (inside, up, or down) in the lowest two.
+     *
+     * @return The packed request.
+     */
+    public int pack() {
+        return floor << 2 | kind();
+    }
+
+    /**
+     * Compares requests by floor, direction, and type.
+     *
+     * @param other The object to compare with.
+     * @return {@code true} if the other object is an equal request.
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Request request && request.pack() == pack();
+    }
+
+    /**
+     * Returns a hash code consistent with {@link #equals(Object)}.
+     *
+     * @return The packed request.
+     */
+    @Override
+    public int hashCode() {
+        return pack();
+    }
 
     /**
      * Returns a string representation of this request.
@@ -54,9 +136,9 @@ public class Request {
     /**
      * Returns the direction of the request if it is an outside request.
      *
-     * @return The direction of travel ("up" or "down"), or {@code null} if this is an inside request.
+     * @return The direction of travel, or {@code null} if this is an inside request.
      */
-    public String getDirection() {
+    public Direction getDirection() {
         return direction;
     }
 
@@ -68,4 +150,43 @@ public class Request {
     public boolean isInside() {
         return isInside;
     }
+
+    // Private Methods
+
+    /**
+     * Returns the type bits of this request.
+     */
+    private int kind() {
+        if (isInside) {
+            return KIND_INSIDE;
+        }
+        return direction.isUp() ? KIND_UP : KIND_DOWN;
+    }
+
+    /**
+     * Returns the flyweight for a floor and type, creating it on first use. Floors outside
+     * the cached range get a fresh instance.
+     */
+    private static Request of(int floor, int kind) {
+        if (floor < 0 || floor >= CACHED_FLOORS) {
+            return create(floor, kind);
+        }
+        Request request = FLYWEIGHTS[kind][floor];
+        if (request == null) {
+            request = create(floor, kind);
+            FLYWEIGHTS[kind][floor] = request;
+        }
+        return request;
+    }
+
+    /**
+     * Creates a new request of the given type.
+     */
+    private static Request create(int floor, int kind) {
+        return switch (kind) {
+            case KIND_INSIDE -> new Request(floor, null, true);
+            case KIND_UP -> new Request(floor, Direction.UP, false);
+            default -> new Request(floor, Direction.DOWN, false);
+        };
+    }
 }
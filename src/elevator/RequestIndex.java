@@ -0,0 +1,368 @@
+package elevator;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The {@code RequestIndex} class keeps the pending stops of an elevator in a form that
+ * supports SCAN/LOOK scheduling incrementally.
+ * <p>
+ * Inside stops, up hall calls, and down hall calls are each held in a bitset keyed by
+ * floor. Inserting or cancelling a stop is a single bit operation, duplicate presses
+ * collapse onto the same bit, and the next stop of a sweep is found with a word-wise
+ * scan from the current floor. None of these operations allocate, so the cost of
+ * keeping the path ordered no longer grows with the number of calls.
+ * </p>
+ * <p>
+ * The index also remembers when each pending request was first made, so the time a
+ * request waited can be reported when it is served.
+ * </p>
+ */
+public class RequestIndex {
+    private final int topFloor;
+    private final BitSet insideStops;
+    private final BitSet upCalls;
+    private final BitSet downCalls;
+    private final long[] insideSince; // Time of the first press of each pending inside stop
+    private final long[] upSince;
+    private final long[] downSince;
+    private int size; // Number of set bits across all three sets
+
+    // Constructor
+
+    /**
+     * Constructs an empty {@code RequestIndex} for floors {@code 1..topFloor}.
+     *
+     * @param topFloor The highest floor that may be indexed.
+     */
+    public RequestIndex(int topFloor) {
+        this.topFloor = topFloor;
+        this.insideStops = new BitSet(topFloor + 1);
+        this.upCalls = new BitSet(topFloor + 1);
+        this.downCalls = new BitSet(topFloor + 1);
+        this.insideSince = new long[topFloor + 1];
+        this.upSince = new long[topFloor + 1];
+        this.downSince = new long[topFloor + 1];
+        this.size = 0;
+    }
+
+    // Public Methods
+
+    /**
+     * Adds an inside stop.
+     *
+     * @param floor The requested floor.
+     * @param time  The time at which the button was pressed.
+     * @return {@code true} if the stop was new, {@code false} if it was already pending.
+     */
+    public boolean addInside(int floor, long time) {
+        return set(insideStops, insideSince, floor, time);
+    }
+
+    /**
+     * Adds a hall call.
+     *
+     * @param floor The floor the call was made from.
+     * @param up    {@code true} for an up call, {@code false} for a down call.
+     * @param time  The time at which the button was pressed.
+     * @return {@code true} if the call was new, {@code false} if it was already pending.
+     */
+    public boolean addHallCall(int floor, boolean up, long time) {
+        return up ? set(upCalls, upSince, floor, time) : set(downCalls, downSince, floor, time);
+    }
+
+    /**
+     * Cancels an inside stop.
+     *
+     * @param floor The floor of the stop.
+     * @return {@code true} if a stop was removed, {@code false} if none was pending or
+     *         the floor is outside the index.
+     */
+    public boolean cancelInside(int floor) {
+        return clear(insideStops, floor);
+    }
+
+    /**
+     * Cancels a hall call.
+     *
+     * @param floor The floor of the call.
+     * @param up    {@code true} for an up call, {@code false} for a down call.
+     * @return {@code true} if a call was removed, {@code false} if none was pending or
+     *         the floor is outside the index.
+     */
+    public boolean cancelHallCall(int floor, boolean up) {
+        return clear(up ? upCalls : downCalls, floor);
+    }
+
+    /**
+     * Returns when a pending inside stop was first requested.
+     *
+     * @param floor The floor of the stop.
+     * @return The time of the first press; undefined if no stop is pending.
+     */
+    public long insideSince(int floor) {
+        return insideSince[floor];
+    }
+
+    /**
+     * Returns when a pending hall call was first made.
+     *
+     * @param floor The floor of the call.
+     * @param up    {@code true} for an up call, {@code false} for a down call.
+     * @return The time of the first press; undefined if no call is pending.
+     */
+    public long hallCallSince(int floor, boolean up) {
+        return (up ? upSince : downSince)[floor];
+    }
+
+    /**
+     * Indicates whether an inside stop is pending for the floor.
+     *
+     * @param floor The floor to check.
+     * @return {@code true} if an inside stop is pending.
+     */
+    public boolean hasInside(int floor) {
+        return insideStops.get(floor);
+    }
+
+    /**
+     * Indicates whether a hall call is pending for the floor and direction.
+     *
+     * @param floor The floor to check.
+     * @param up    {@code true} for an up call, {@code false} for a down call.
+     * @return {@code true} if the hall call is pending.
+     */
+    public boolean hasHallCall(int floor, boolean up) {
+        return (up ? upCalls : downCalls).get(floor);
+    }
+
+    /**
+     * Indicates whether a car passing the floor in the given direction should stop there.
+     *
+     * @param floor  The floor being passed.
+     * @param up     {@code true} if the car is travelling up.
+     * @return {@code true} if an inside stop or a hall call in the same direction is pending.
+     */
+    public boolean hasStopAt(int floor, boolean up) {
+        return insideStops.get(floor) || hasHallCall(floor, up);
+    }
+
+    /**
+     * Indicates whether any inside stop is pending.
+     *
+     * @return {@code true} if at least one inside stop is pending.
+     */
+    public boolean hasInsideStops() {
+        return !insideStops.isEmpty();
+    }
+
+    /**
+     * Indicates whether any request lies strictly beyond the floor in the given direction.
+     *
+     * @param floor The reference floor.
+     * @param up    {@code true} to look above the floor, {@code false} to look below.
+     * @return {@code true} if a request of any kind lies beyond the floor.
+     */
+    public boolean hasRequestsBeyond(int floor, boolean up) {
+        if (up) {
+            return nextSet(insideStops, floor + 1) >= 0 || nextSet(upCalls, floor + 1) >= 0
+                    || nextSet(downCalls, floor + 1) >= 0;
+        }
+        return previousSet(insideStops, floor - 1) >= 0 || previousSet(upCalls, floor - 1) >= 0
+                || previousSet(downCalls, floor - 1) >= 0;
+    }
+
+    /**
+     * Returns the next floor to stop at under the LOOK discipline.
+     * <p>
+     * The car keeps sweeping in its current direction while any request lies ahead,
+     * stopping for inside stops and same-direction hall calls, and turning at the
+     * farthest opposite-direction call. When nothing lies ahead the sweep reverses.
+     * </p>
+     *
+     * @param floor The current floor.
+     * @param up    {@code true} if the car is sweeping up.
+     * @return The next floor to stop at, or {@code -1} if the index is empty.
+     */
+    public int nextStop(int floor, boolean up) {
+        int stop = up ? sweepUp(floor) : sweepDown(floor);
+        if (stop < 0) {
+            stop = up ? sweepDown(floor) : sweepUp(floor);
+        }
+        return stop;
+    }
+
+    /**
+     * Returns the next inside stop under the LOOK discipline, ignoring hall calls. A car
+     * that cannot take on passengers uses this to let its riders out.
+     *
+     * @param floor The current floor.
+     * @param up    {@code true} if the car is sweeping up.
+     * @return The next inside stop, or {@code -1} if none is pending.
+     */
+    public int nextInsideStop(int floor, boolean up) {
+        int stop = up ? nextSet(insideStops, floor) : previousSet(insideStops, floor);
+        if (stop < 0) {
+            stop = up ? previousSet(insideStops, floor) : nextSet(insideStops, floor);
+        }
+        return stop;
+    }
+
+    /**
+     * Returns the lowest floor at or above the given floor with any pending request.
+     * Iterating from floor 1 visits every floor that needs a stop, in ascending order.
+     *
+     * @param floor The floor to start from.
+     * @return The floor, or {@code -1} if no request is pending at or above it.
+     */
+    public int nextRequestFloor(int floor) {
+        return min(min(nextSet(insideStops, floor), nextSet(upCalls, floor)), nextSet(downCalls, floor));
+    }
+
+    /**
+     * Describes a stop returned by {@link #nextStop(int, boolean)} as a {@link Request}.
+     *
+     * @param stop  The floor of the stop.
+     * @param floor The current floor of the car.
+     * @param up    {@code true} if the car is sweeping up.
+     * @return The request the car is travelling to serve.
+     */
+    public Request describeStop(int stop, int floor, boolean up) {
+        if (insideStops.get(stop)) {
+            return Request.inside(stop);
+        }
+        boolean towardsUp = stop == floor ? up : stop > floor;
+        // Prefer a call in the travel direction; otherwise the stop is a turning point
+        boolean callUp = hasHallCall(stop, towardsUp) ? towardsUp : !towardsUp;
+        return Request.hallCall(stop, Direction.of(callUp));
+    }
+
+    /**
+     * Returns the pending requests in ascending floor order. Intended for display only.
+     *
+     * @return A new list describing every pending request.
+     */
+    public List<Request> snapshot() {
+        List<Request> requests = new ArrayList<>(size);
+        for (int floor = 1; floor <= topFloor; floor++) {
+            if (insideStops.get(floor)) {
+                requests.add(Request.inside(floor));
+            }
+            if (upCalls.get(floor)) {
+                requests.add(Request.hallCall(floor, Direction.UP));
+            }
+            if (downCalls.get(floor)) {
+                requests.add(Request.hallCall(floor, Direction.DOWN));
+            }
+        }
+        return requests;
+    }
+
+    /**
+     * Indicates whether no request is pending.
+     *
+     * @return {@code true} if the index is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of pending requests.
+     *
+     * @return The number of distinct pending stops and hall calls.
+     */
+    public int size() {
+        return size;
+    }
+
+    // Private Methods
+
+    /**
+     * Finds the next stop while sweeping up from the floor.
+     *
+     * @param floor The current floor.
+     * @return The stop floor, or {@code -1} if nothing lies at or above the floor.
+     */
+    private int sweepUp(int floor) {
+        int stop = min(nextSet(insideStops, floor), nextSet(upCalls, floor));
+        if (stop >= 0) {
+            return stop;
+        }
+        int turn = previousSet(downCalls, topFloor); // Farthest down call is the turning point
+        return turn >= floor ? turn : -1;
+    }
+
+    /**
+     * Finds the next stop while sweeping down from the floor.
+     *
+     * @param floor The current floor.
+     * @return The stop floor, or {@code -1} if nothing lies at or below the floor.
+     */
+    private int sweepDown(int floor) {
+        int stop = Math.max(previousSet(insideStops, floor), previousSet(downCalls, floor));
+        if (stop >= 0) {
+            return stop;
+        }
+        int turn = nextSet(upCalls, 1); // Lowest up call is the turning point
+        return turn >= 0 && turn <= floor ? turn : -1;
+    }
+
+    /**
+     * Returns the smaller of two bit positions, treating {@code -1} as absent.
+     */
+    private static int min(int a, int b) {
+        if (a < 0) {
+            return b;
+        }
+        return b < 0 ? a : Math.min(a, b);
+    }
+
+    /**
+     * Returns the next set bit at or above the floor, or {@code -1}.
+     */
+    private int nextSet(BitSet bits, int floor) {
+        if (floor > topFloor) {
+            return -1;
+        }
+        int bit = bits.nextSetBit(Math.max(floor, 1));
+        return bit > topFloor ? -1 : bit;
+    }
+
+    /**
+     * Returns the previous set bit at or below the floor, or {@code -1}.
+     */
+    private int previousSet(BitSet bits, int floor) {
+        if (floor < 1) {
+            return -1;
+        }
+        int bit = bits.previousSetBit(Math.min(floor, topFloor));
+        return bit < 1 ? -1 : bit;
+    }
+
+    /**
+     * Sets the bit for the floor, records the request time, and updates the size.
+     */
+    private boolean set(BitSet bits, long[] since, int floor, long time) {
+        if (bits.get(floor)) {
+            return false;
+        }
+        bits.set(floor);
+        since[floor] = time;
+        size++;
+        return true;
+    }
+
+    /**
+     * Clears the bit for the floor and updates the size. A floor outside the index was never pending.
+     */
+    private boolean clear(BitSet bits, int floor) {
+        if (floor < 1 || floor > topFloor || !bits.get(floor)) {
+            return false;
+        }
+        bits.clear(floor);
+        size--;
+        return true;
+    }
+}
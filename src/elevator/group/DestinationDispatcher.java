@@ -0,0 +1,85 @@
+package elevator.group;
+
+import elevator.Direction;
+import elevator.Elevator;
+
+import java.util.List;
+
+/**
+ * The {@code DestinationDispatcher} assigns destination calls from hall keypads so that
+ * passengers bound for the same floor share a car.
+ * <p>
+ * Each car is charged its estimated time of arrival at the caller, as estimated by an
+ * {@link EtaDispatcher}, plus the delay the trip would add to everyone already assigned
+ * to it. A car that already stops at the destination, for a rider or a booked passenger,
+ * adds no stop. Any other car adds one door cycle for the caller and each of its riders
+ * and booked passengers, so a new destination goes to the emptiest car, and the cars of
+ * a bank each serve a few floors per trip instead of all of them. A car whose riders and
+ * booked passengers already fill it is charged a return trip through the building, as
+ * the caller would be left behind.
+ * </p>
+ * <p>
+ * Up and down calls without a destination are dispatched by estimated time of arrival alone.
+ * </p>
+ */
+public class DestinationDispatcher implements Dispatcher {
+    private final EtaDispatcher eta = new EtaDispatcher(); // Stateless, so it may be shared
+
+    /**
+     * Selects the car with the smallest estimated time of arrival for a call without a destination.
+     *
+     * @param cars      The cars of the bank.
+     * @param floor     The floor the call was made from.
+     * @param direction The requested direction of travel.
+     * @return The index of the selected car.
+     */
+    @Override
+    public int selectCar(List<Elevator> cars, int floor, Direction direction) {
+        return eta.selectCar(cars, floor, direction);
+    }
+
+    /**
+     * Selects the car that serves the caller with the least added delay.
+     *
+     * @param cars        The cars of the bank.
+     * @param origin      The floor the call was made from.
+     * @param destination The floor entered on the keypad.
+     * @return The index of the selected car.
+     */
+    @Override
+    public int selectCar(List<Elevator> cars, int origin, int destination) {
+        int best = 0;
+        long bestCost = Long.MAX_VALUE;
+
+        for (int i = 0; i < cars.size(); i++) {
+            long cost = estimateCost(cars.get(i), origin, destination);
+            if (cost < bestCost) {
+                best = i;
+                bestCost = cost;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Estimates the cost of assigning a destination call to a car.
+     *
+     * @param car         The car to evaluate.
+     * @param origin      The calling floor.
+     * @param destination The destination floor.
+     * @return The cost in milliseconds.
+     */
+    public long estimateCost(Elevator car, int origin, int destination) {
+        long cost = eta.estimateArrival(car, origin, destination > origin);
+        int assigned = car.getLoad() + car.getBookedPassengers();
+
+        if (!car.isStoppingAt(destination)) {
+            cost += (assigned + 1L) * car.getConfig().getDoorCycleMillis();
+        }
+        if (assigned >= car.getCapacity()) {
+            cost += 2 * car.getConfig().getMotion().travelMillis(1, car.getTopFloor());
+        }
+        return cost;
+    }
+}
@@ -0,0 +1,45 @@
+package elevator.group;
+
+import elevator.Direction;
+import elevator.Elevator;
+
+import java.util.List;
+
+/**
+ * The {@code Dispatcher} interface decides which car of a bank should answer an
+ * outside (hall) request.
+ * <p>
+ * Implementations only read car state; the {@link GroupController} hands the call to
+ * the selected car. Dispatchers must be stateless or confine their state to the
+ * controller they are used by.
+ * </p>
+ * <p>
+ * Destination calls from hall keypads name the destination as well; dispatchers that do
+ * not use it treat them as hall calls in the destination's direction.
+ * </p>
+ */
+public interface Dispatcher {
+
+    /**
+     * Selects the car that should serve a hall call.
+     *
+     * @param cars      The cars of the bank, in controller order.
+     * @param floor     The floor the call was made from.
+     * @param direction The requested direction of travel.
+     * @return The index of the selected car in {@code cars}.
+     */
+    int selectCar(List<Elevator> cars, int floor, Direction direction);
+
+    /**
+     * Selects the car that should serve a destination call. By default the call is
+     * dispatched as a hall call in the direction of the destination.
+     *
+     * @param cars        The cars of the bank, in controller order.
+     * @param origin      The floor the call was made from.
+     * @param destination The floor entered on the keypad.
+     * @return The index of the selected car in {@code cars}.
+     */
+    default int selectCar(List<Elevator> cars, int origin, int destination) {
+        return selectCar(cars, origin, Direction.of(destination > origin));
+    }
+}
@@ -0,0 +1,83 @@
+package elevator.group;
+
+import elevator.Direction;
+import elevator.Elevator;
+import elevator.Request;
+import elevator.motion.MotionModel;
+
+import java.util.List;
+
+/**
+ * The {@code EtaDispatcher} assigns each hall call to the car with the lowest
+ * estimated time of arrival at the calling floor.
+ * <p>
+ * The estimate charges the travel time of the car's route to the caller, looked up in
+ * the car's {@link MotionModel}, and one full door cycle per stop the car has already
+ * committed to. A car
+ * that will pass the floor in the requested direction goes there directly; any other
+ * busy car is assumed to finish its current request first and then turn around.
+ * </p>
+ * <p>
+ * The estimate is load-aware: a full car passes hall calls until riders step out, so it
+ * is never treated as being on its way, however well placed it is.
+ * </p>
+ */
+public class EtaDispatcher implements Dispatcher {
+    /**
+     * Selects the car with the smallest estimated time of arrival.
+     *
+     * @param cars      The cars of the bank.
+     * @param floor     The floor the call was made from.
+     * @param direction The requested direction of travel.
+     * @return The index of the selected car.
+     */
+    @Override
+    public int selectCar(List<Elevator> cars, int floor, Direction direction) {
+        int best = 0;
+        long bestEta = Long.MAX_VALUE;
+
+        for (int i = 0; i < cars.size(); i++) {
+            long eta = estimateArrival(cars.get(i), floor, direction.isUp());
+            if (eta < bestEta) {
+                best = i;
+                bestEta = eta;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Estimates how long the car would take to reach the calling floor.
+     *
+     * @param car    The car to evaluate.
+     * @param floor  The calling floor.
+     * @param callUp {@code true} if the call is for going up.
+     * @return The estimated time of arrival in milliseconds.
+     */
+    public long estimateArrival(Elevator car, int floor, boolean callUp) {
+        int position = car.getCurrentFloor();
+        Request target = car.getCurrentRequest();
+        int committedStops = car.getQueueSize();
+        MotionModel motion = car.getConfig().getMotion();
+
+        if (committedStops == 0) {
+            return motion.travelMillis(position, floor);
+        }
+
+        boolean onTheWay = !car.isFull() && car.isMovingUp() == callUp
+                && (callUp ? floor >= position : floor <= position);
+        long travelMillis;
+        int stopsBefore;
+
+        if (onTheWay || target == null) {
+            travelMillis = motion.travelMillis(position, floor);
+            stopsBefore = committedStops / 2; // Assume half the committed stops lie before the caller
+        } else {
+            travelMillis = motion.travelMillis(position, target.getFloor()) + motion.travelMillis(target.getFloor(), floor);
+            stopsBefore = committedStops;
+        }
+
+        return travelMillis + stopsBefore * car.getConfig().getDoorCycleMillis();
+    }
+}
@@ -0,0 +1,228 @@
+package elevator.group;
+
+import elevator.Direction;
+import elevator.Elevator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The {@code GroupController} class manages a bank of elevators that share hall calls.
+ * <p>
+ * Outside requests are routed to a single car chosen by a pluggable {@link Dispatcher};
+ * inside requests go straight to the car they were made in. Destination calls from hall
+ * keypads are routed the same way, and the dispatcher may use the destination to group
+ * passengers bound for nearby floors into the same car. A withdrawn hall call is
+ * cancelled on every car, since any of them may hold it. In a zoned building each bank
+ * has its own controller, and its cars serve the bank's floors. Every car runs as actions
+ * scheduled on its clock, so a bank can run in real time or, with a shared virtual
+ * clock, in virtual time.
+ * </p>
+ */
+public class GroupController {
+    private final List<Elevator> cars;
+    private final Dispatcher dispatcher;
+    private final int topFloor;
+    private final int lowestServed; // Lowest floor the bank stops at
+    private final int highestServed; // Highest floor the bank stops at
+    private final long[] assignedCalls; // Number of hall calls handed to each car
+
+    // Constructor
+
+    /**
+     * Constructs a {@code GroupController} for the given cars.
+     *
+     * @param cars       The cars of the bank. All cars must serve the same floors.
+     * @param dispatcher The strategy used to assign hall calls to cars.
+     * @throws IllegalArgumentException If no cars are given, or their top floors or served floors differ.
+     */
+    public GroupController(List<Elevator> cars, Dispatcher dispatcher) {
+        if (cars.isEmpty()) {
+            throw new IllegalArgumentException("A group needs at least one elevator.");
+        }
+        this.cars = Collections.unmodifiableList(new ArrayList<>(cars));
+        this.dispatcher = dispatcher;
+        this.topFloor = cars.get(0).getTopFloor();
+        this.assignedCalls = new long[cars.size()];
+
+        for (Elevator car : cars) {
+            if (car.getTopFloor() != topFloor) {
+                throw new IllegalArgumentException("All elevators in a group must share the same top floor.");
+            }
+            if (!Objects.equals(car.getConfig().getServedFloors(), cars.get(0).getConfig().getServedFloors())) {
+                throw new IllegalArgumentException("All elevators in a group must serve the same floors.");
+            }
+        }
+        int lowest = 1;
+        while (!cars.get(0).serves(lowest)) {
+            lowest++;
+        }
+        int highest = topFloor;
+        while (!cars.get(0).serves(highest)) {
+            highest--;
+        }
+        this.lowestServed = lowest;
+        this.highestServed = highest;
+    }
+
+    // Public Methods
+
+    /**
+     * Starts every car. The cars run as scheduled actions of their clock, so no thread
+     * is started per car.
+     */
+    public void start() {
+        for (Elevator car : cars) {
+            car.start();
+        }
+    }
+
+    /**
+     * Assigns an outside request to a car chosen by the dispatcher.
+     *
+     * @param floor     The floor the call was made from.
+     * @param direction The direction of travel.
+     * @return The index of the car that received the call, or {@code -1} if the call is
+     *         invalid or the chosen car's intake rejected it. Invalid calls are rejected
+     *         without a message; the return value tells the caller.
+     */
+    public int addRequest(int floor, Direction direction) {
+        if (!isValidHallCall(floor, direction)) {
+            return -1;
+        }
+
+        int car = dispatcher.selectCar(cars, floor, direction);
+        if (!cars.get(car).addRequest(floor, direction)) {
+            return -1;
+        }
+        assignedCalls[car]++;
+        return car;
+    }
+
+    /**
+     * Assigns a destination call from a hall keypad to a car chosen by the dispatcher.
+     * The passenger is told the car and boards only that one; the car books the
+     * destination and stops there without an inside button press.
+     *
+     * @param origin      The floor the call was made from.
+     * @param destination The floor entered on the keypad.
+     * @return The index of the car that received the call, or {@code -1} if the call is
+     *         invalid or the chosen car's intake rejected it.
+     */
+    public int addDestinationCall(int origin, int destination) {
+        if (destination == origin || !cars.get(0).serves(destination)
+                || !isValidHallCall(origin, Direction.of(destination > origin))) {
+            return -1;
+        }
+
+        int car = dispatcher.selectCar(cars, origin, destination);
+        if (!cars.get(car).addDestinationCall(origin, destination)) {
+            return -1;
+        }
+        assignedCalls[car]++;
+        return car;
+    }
+
+    /**
+     * Withdraws an outside request from every car that may hold it.
+     *
+     * @param floor     The floor of the call.
+     * @param direction The direction of the call.
+     * @return {@code true} if every car accepted the cancellation, {@code false} if the
+     *         call is invalid or a car's intake rejected it.
+     */
+    public boolean cancelRequest(int floor, Direction direction) {
+        if (!isValidHallCall(floor, direction)) {
+            return false;
+        }
+        boolean accepted = true;
+        for (Elevator car : cars) {
+            accepted &= car.cancelRequest(floor, direction);
+        }
+        return accepted;
+    }
+
+    /**
+     * Adds an inside button request to the given car.
+     *
+     * @param car   The index of the car the button was pressed in.
+     * @param floor The requested floor.
+     * @return {@code true} if the press was accepted, {@code false} if the car's intake rejected it.
+     */
+    public boolean addInsideRequest(int car, int floor) {
+        return cars.get(car).addInsideRequest(floor);
+    }
+
+    /**
+     * Withdraws an inside button request from the given car.
+     *
+     * @param car   The index of the car.
+     * @param floor The floor of the stop.
+     * @return {@code true} if the cancellation was accepted, {@code false} if the floor is
+     *         outside the building or the car's intake rejected it.
+     */
+    public boolean cancelInsideRequest(int car, int floor) {
+        if (floor < 1 || floor > topFloor) {
+            return false;
+        }
+        return cars.get(car).cancelInsideRequest(floor);
+    }
+
+    /**
+     * Stops every car in the bank.
+     */
+    public void stop() {
+        for (Elevator car : cars) {
+            car.stop();
+        }
+    }
+
+    // Getters
+
+    /**
+     * Returns the cars of the bank in controller order.
+     *
+     * @return An unmodifiable list of cars.
+     */
+    public List<Elevator> getCars() {
+        return cars;
+    }
+
+    /**
+     * Returns the dispatcher used to assign hall calls.
+     *
+     * @return The dispatcher.
+     */
+    public Dispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    /**
+     * Returns how many hall calls have been assigned to a car so far.
+     *
+     * @param car The index of the car.
+     * @return The number of assigned hall calls.
+     */
+    public long getAssignedCalls(int car) {
+        return assignedCalls[car];
+    }
+
+    // Private Methods
+
+    /**
+     * Checks that a hall call names a floor of the bank and a direction a car can travel from there.
+     *
+     * @param floor     The floor of the call.
+     * @param direction The direction of the call.
+     * @return {@code true} if the call is valid.
+     */
+    private boolean isValidHallCall(int floor, Direction direction) {
+        if ((floor == lowestServed && direction != Direction.UP)
+                || (floor == highestServed && direction != Direction.DOWN)) {
+            return false; // The terminals of the bank can only be left one way
+        }
+        return cars.get(0).serves(floor);
+    }
+}
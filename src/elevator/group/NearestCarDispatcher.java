@@ -0,0 +1,38 @@
+package elevator.group;
+
+import elevator.Direction;
+import elevator.Elevator;
+
+import java.util.List;
+
+/**
+ * The {@code NearestCarDispatcher} assigns each hall call to the car that is
+ * physically closest to the calling floor, regardless of its direction or workload.
+ * Ties go to the car with the lowest index.
+ */
+public class NearestCarDispatcher implements Dispatcher {
+
+    /**
+     * Selects the car with the smallest distance to the calling floor.
+     *
+     * @param cars      The cars of the bank.
+     * @param floor     The floor the call was made from.
+     * @param direction The requested direction of travel (unused).
+     * @return The index of the nearest car.
+     */
+    @Override
+    public int selectCar(List<Elevator> cars, int floor, Direction direction) {
+        int best = 0;
+        int bestDistance = Integer.MAX_VALUE;
+
+        for (int i = 0; i < cars.size(); i++) {
+            int distance = Math.abs(cars.get(i).getCurrentFloor() - floor);
+            if (distance < bestDistance) {
+                best = i;
+                bestDistance = distance;
+            }
+        }
+
+        return best;
+    }
+}
@@ -0,0 +1,99 @@
+package elevator.group;
+
+import elevator.Direction;
+import elevator.Elevator;
+import elevator.topology.FloorSet;
+
+import java.util.List;
+
+/**
+ * The {@code SectorDispatcher} combines SCAN/LOOK sweep assignment with static sectoring.
+ * <p>
+ * A call is given, in order of preference, to:
+ * </p>
+ * <ol>
+ *     <li>the nearest car already sweeping towards the calling floor in the requested direction,</li>
+ *     <li>the nearest idle car,</li>
+ *     <li>the car that owns the sector containing the calling floor.</li>
+ * </ol>
+ * <p>
+ * Sectors split the bank's served floors into contiguous, equally sized bands, one per
+ * car, so that busy banks spread their backlog instead of piling every call onto one car.
+ * </p>
+ */
+public class SectorDispatcher implements Dispatcher {
+
+    /**
+     * Selects a car using sweep direction first, idleness second, and sector ownership last.
+     *
+     * @param cars      The cars of the bank.
+     * @param floor     The floor the call was made from.
+     * @param direction The requested direction of travel.
+     * @return The index of the selected car.
+     */
+    @Override
+    public int selectCar(List<Elevator> cars, int floor, Direction direction) {
+        boolean callUp = direction.isUp();
+        int sweeping = -1;
+        int sweepingDistance = Integer.MAX_VALUE;
+        int idle = -1;
+        int idleDistance = Integer.MAX_VALUE;
+
+        for (int i = 0; i < cars.size(); i++) {
+            Elevator car = cars.get(i);
+            int distance = Math.abs(car.getCurrentFloor() - floor);
+
+            if (car.isIdle()) {
+                if (distance < idleDistance) {
+                    idle = i;
+                    idleDistance = distance;
+                }
+            } else if (isSweepingTowards(car, floor, callUp) && distance < sweepingDistance) {
+                sweeping = i;
+                sweepingDistance = distance;
+            }
+        }
+
+        if (sweeping >= 0) {
+            return sweeping;
+        }
+        if (idle >= 0) {
+            return idle;
+        }
+        return sectorOwner(cars, floor);
+    }
+
+    // Private Methods
+
+    /**
+     * Determines whether a busy car will pass the floor in the requested direction
+     * during its current sweep.
+     *
+     * @param car    The car to evaluate.
+     * @param floor  The calling floor.
+     * @param callUp {@code true} if the call is for going up.
+     * @return {@code true} if the call lies ahead of the car in its direction of travel.
+     */
+    private boolean isSweepingTowards(Elevator car, int floor, boolean callUp) {
+        if (car.isMovingUp() != callUp) {
+            return false;
+        }
+        return callUp ? floor > car.getCurrentFloor() : floor < car.getCurrentFloor();
+    }
+
+    /**
+     * Returns the car whose static sector contains the floor. Sectors divide the floors
+     * the bank serves, so in a zoned building every car owns part of its bank's zone.
+     *
+     * @param cars  The cars of the bank.
+     * @param floor The calling floor.
+     * @return The index of the sector's owning car.
+     */
+    private int sectorOwner(List<Elevator> cars, int floor) {
+        FloorSet served = cars.get(0).getConfig().getServedFloors();
+        int position = served == null ? floor - 1 : served.rank(floor);
+        int floors = served == null ? cars.get(0).getTopFloor() : served.size();
+        int sector = (int) ((long) position * cars.size() / floors);
+        return Math.min(sector, cars.size() - 1);
+    }
+}
@@ -0,0 +1,60 @@
+package elevator.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * The {@code CarArrivedEvent} class is a Flight Recorder event for a car reaching the
+ * end of a run, with the simulation time the run took.
+ */
+@Name("elevator.CarArrived")
+@Label("Car Arrived")
+@Category({"Elevator", "Motion"})
+@Description("A car reached the floor its run ends at")
+@StackTrace(false)
+public final class CarArrivedEvent extends Event {
+    @Label("Car")
+    int car;
+
+    @Label("Floor")
+    int floor;
+
+    @Label("Travel Time")
+    @Description("Simulation time since the car departed")
+    @Timespan(Timespan.MILLISECONDS)
+    long travelTime;
+
+    @Label("Opens Doors")
+    boolean opensDoors;
+
+    @Label("Simulation Time")
+    @Description("Milliseconds since the car's clock started")
+    long simulationTime;
+
+    // Public Methods
+
+    /**
+     * Commits the event if it is enabled in a running recording.
+     *
+     * @param car        The number of the car.
+     * @param floor      The floor the car arrived at.
+     * @param departedAt The simulation time the run started.
+     * @param opensDoors {@code true} if the car stopped for a request.
+     * @param now        The current simulation time.
+     */
+    public void record(int car, int floor, long departedAt, boolean opensDoors, long now) {
+        if (shouldCommit()) {
+            this.car = car;
+            this.floor = floor;
+            this.travelTime = now - departedAt;
+            this.opensDoors = opensDoors;
+            this.simulationTime = now;
+            commit();
+        }
+    }
+}
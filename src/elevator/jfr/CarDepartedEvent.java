@@ -0,0 +1,63 @@
+package elevator.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The {@code CarDepartedEvent} class is a Flight Recorder event for a car setting off,
+ * either for a stop or to park.
+ */
+@Name("elevator.CarDeparted")
+@Label("Car Departed")
+@Category({"Elevator", "Motion"})
+@Description("A car set off for a stop or a parking floor")
+@StackTrace(false)
+public final class CarDepartedEvent extends Event {
+    @Label("Car")
+    int car;
+
+    @Label("Floor")
+    int floor;
+
+    @Label("Target")
+    int target;
+
+    @Label("Parking")
+    @Description("Whether the car travels to park rather than to answer a request")
+    boolean parking;
+
+    @Label("Pending Requests")
+    int pending;
+
+    @Label("Simulation Time")
+    @Description("Milliseconds since the car's clock started")
+    long simulationTime;
+
+    // Public Methods
+
+    /**
+     * Commits the event if it is enabled in a running recording.
+     *
+     * @param car     The number of the car.
+     * @param floor   The floor the car leaves.
+     * @param target  The floor it travels to.
+     * @param parking {@code true} if it travels to park.
+     * @param pending The number of pending requests.
+     * @param now     The current simulation time.
+     */
+    public void record(int car, int floor, int target, boolean parking, int pending, long now) {
+        if (shouldCommit()) {
+            this.car = car;
+            this.floor = floor;
+            this.target = target;
+            this.parking = parking;
+            this.pending = pending;
+            this.simulationTime = now;
+            commit();
+        }
+    }
+}
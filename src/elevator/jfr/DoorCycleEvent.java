@@ -0,0 +1,61 @@
+package elevator.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * The {@code DoorCycleEvent} class is a Flight Recorder event for a car's doors closing
+ * at the end of a stop, with the simulation time from the doors starting to open.
+ */
+@Name("elevator.DoorCycle")
+@Label("Door Cycle")
+@Category({"Elevator", "Doors"})
+@Description("A car's doors opened, dwelt and closed at a stop")
+@StackTrace(false)
+public final class DoorCycleEvent extends Event {
+    @Label("Car")
+    int car;
+
+    @Label("Floor")
+    int floor;
+
+    @Label("Cycle Time")
+    @Description("Simulation time from the doors starting to open until they closed")
+    @Timespan(Timespan.MILLISECONDS)
+    long cycleTime;
+
+    @Label("Load")
+    @Description("Passengers aboard as the doors closed")
+    int load;
+
+    @Label("Simulation Time")
+    @Description("Milliseconds since the car's clock started")
+    long simulationTime;
+
+    // Public Methods
+
+    /**
+     * Commits the event if it is enabled in a running recording.
+     *
+     * @param car       The number of the car.
+     * @param floor     The floor of the stop.
+     * @param openingAt The simulation time the doors started to open.
+     * @param load      The passengers aboard.
+     * @param now       The current simulation time.
+     */
+    public void record(int car, int floor, long openingAt, int load, long now) {
+        if (shouldCommit()) {
+            this.car = car;
+            this.floor = floor;
+            this.cycleTime = now - openingAt;
+            this.load = load;
+            this.simulationTime = now;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package elevator.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * The {@code RequestEnqueuedEvent} class is a Flight Recorder event for a call added to
+ * a car's pending requests.
+ * <p>
+ * The intake delay is the simulation time from the button press to the car applying the
+ * call, and the pending count includes the new call, so a recording shows how far each
+ * car's queue grows and how long calls sit in the intake.
+ * </p>
+ */
+@Name("elevator.RequestEnqueued")
+@Label("Request Enqueued")
+@Category({"Elevator", "Dispatch"})
+@Description("A call was added to a car's pending requests")
+@StackTrace(false)
+public final class RequestEnqueuedEvent extends Event {
+    @Label("Car")
+    int car;
+
+    @Label("Floor")
+    int floor;
+
+    @Label("Kind")
+    @Description("inside, up or down")
+    String kind;
+
+    @Label("Pending Requests")
+    int pending;
+
+    @Label("Intake Delay")
+    @Timespan(Timespan.MILLISECONDS)
+    long intakeDelay;
+
+    @Label("Simulation Time")
+    @Description("Milliseconds since the car's clock started")
+    long simulationTime;
+
+    // Public Methods
+
+    /**
+     * Commits the event if it is enabled in a running recording.
+     *
+     * @param car       The number of the car.
+     * @param floor     The floor of the call.
+     * @param kind      {@code inside}, {@code up} or {@code down}.
+     * @param pending   The number of pending requests, including this one.
+     * @param pressedAt The simulation time the button was pressed.
+     * @param now       The current simulation time.
+     */
+    public void record(int car, int floor, String kind, int pending, long pressedAt, long now) {
+        if (shouldCommit()) {
+            this.car = car;
+            this.floor = floor;
+            this.kind = kind;
+            this.pending = pending;
+            this.intakeDelay = now - pressedAt;
+            this.simulationTime = now;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package elevator.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The {@code StopDivertedEvent} class is a Flight Recorder event for a moving car
+ * changing the floor its run ends at: to stop on the way for a call that came in ahead
+ * of it, or to halt because every request at its target was cancelled.
+ */
+@Name("elevator.StopDiverted")
+@Label("Stop Diverted")
+@Category({"Elevator", "Dispatch"})
+@Description("A moving car changed the floor its run ends at")
+@StackTrace(false)
+public final class StopDivertedEvent extends Event {
+    /** Reason of a diversion to answer a call on the way. */
+    public static final String ON_THE_WAY = "stop on the way";
+    /** Reason of a diversion because the target's requests were cancelled. */
+    public static final String CANCELLED = "target cancelled";
+
+    @Label("Car")
+    int car;
+
+    @Label("Floor")
+    @Description("The floor the car has reached")
+    int floor;
+
+    @Label("Previous Target")
+    int previousTarget;
+
+    @Label("Target")
+    int target;
+
+    @Label("Reason")
+    String reason;
+
+    @Label("Simulation Time")
+    @Description("Milliseconds since the car's clock started")
+    long simulationTime;
+
+    // Public Methods
+
+    /**
+     * Commits the event if it is enabled in a running recording.
+     *
+     * @param car            The number of the car.
+     * @param floor          The floor the car has reached.
+     * @param previousTarget The floor the run was to end at.
+     * @param target         The floor it ends at now.
+     * @param reason         {@link #ON_THE_WAY} or {@link #CANCELLED}.
+     * @param now            The current simulation time.
+     */
+    public void record(int car, int floor, int previousTarget, int target, String reason, long now) {
+        if (shouldCommit()) {
+            this.car = car;
+            this.floor = floor;
+            this.previousTarget = previousTarget;
+            this.target = target;
+            this.reason = reason;
+            this.simulationTime = now;
+            commit();
+        }
+    }
+}
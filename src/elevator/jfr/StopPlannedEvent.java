@@ -0,0 +1,75 @@
+package elevator.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The {@code StopPlannedEvent} class is a Flight Recorder event for a car choosing its
+ * next stop.
+ * <p>
+ * Begin the event before asking the planner and record it once the planner answers: the
+ * event's duration is then the wall-clock cost of planning, with the number of pending
+ * requests it was planned over, which is what a queue sort used to cost.
+ * </p>
+ */
+@Name("elevator.StopPlanned")
+@Label("Stop Planned")
+@Category({"Elevator", "Dispatch"})
+@Description("A car chose its next stop; the duration is the time spent planning")
+@StackTrace(false)
+public final class StopPlannedEvent extends Event {
+    @Label("Car")
+    int car;
+
+    @Label("Floor")
+    int floor;
+
+    @Label("Moving Up")
+    boolean up;
+
+    @Label("Pending Requests")
+    int pending;
+
+    @Label("Stop")
+    @Description("The chosen floor, or -1 if nothing is pending")
+    int stop;
+
+    @Label("Planner")
+    String planner;
+
+    @Label("Simulation Time")
+    @Description("Milliseconds since the car's clock started")
+    long simulationTime;
+
+    // Public Methods
+
+    /**
+     * Ends the event and commits it if it is enabled in a running recording and lasted
+     * longer than its threshold.
+     *
+     * @param car     The number of the car.
+     * @param floor   The floor the car is at.
+     * @param up      The car's direction of travel.
+     * @param pending The number of pending requests planned over.
+     * @param stop    The chosen stop, or {@code -1} if there is none.
+     * @param planner The planner that chose it.
+     * @param now     The current simulation time.
+     */
+    public void record(int car, int floor, boolean up, int pending, int stop, Object planner, long now) {
+        end();
+        if (shouldCommit()) {
+            this.car = car;
+            this.floor = floor;
+            this.up = up;
+            this.pending = pending;
+            this.stop = stop;
+            this.planner = planner.getClass().getSimpleName();
+            this.simulationTime = now;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package elevator.journal;
+
+import elevator.Request;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * The {@code CarState} class is the state of one car as rebuilt from a journal: where
+ * it is, where it is heading, whether its doors are open, and what it still has to do.
+ */
+public final class CarState {
+    private final int car;
+    private final SortedSet<Request> pending; // Ordered like Elevator.getPendingRequests()
+    private int currentFloor;
+    private boolean movingUp;
+    private int targetFloor; // -1 while the car is not travelling
+    private boolean doorsOpen;
+    private long time; // Time of the last event applied
+
+    // Constructor
+
+    /**
+     * Constructs the state of a car that has not yet recorded any event: at floor 1,
+     * idle, with nothing pending.
+     *
+     * @param car The number of the car.
+     */
+    CarState(int car) {
+        this.car = car;
+        this.pending = new TreeSet<>(Comparator.comparingInt(Request::pack));
+        this.currentFloor = 1;
+        this.targetFloor = -1;
+    }
+
+    // Public Method
+
+    /**
+     * Returns a string representation of this state.
+     *
+     * @return A string representation of this state.
+     */
+    @Override
+    public String toString() {
+        return "Car " + car + " [Floor: " + currentFloor + ", " + (movingUp ? "up" : "down")
+                + (targetFloor >= 0 ? ", Heading To: " + targetFloor : "")
+                + (doorsOpen ? ", Doors Open" : "") + ", Pending: " + pending + "]";
+    }
+
+    // Package-Private Method
+
+    /**
+     * Applies the next event of this car.
+     *
+     * @param event The event, which must belong to this car.
+     */
+    void apply(JournalEvent event) {
+        time = event.getTime();
+        switch (event.getType()) {
+            case REQUEST_ADDED -> pending.add(event.getRequest());
+            case REQUEST_CANCELLED -> pending.remove(event.getRequest());
+            case REQUEST_SERVED -> {
+                Request request = event.getRequest();
+                pending.remove(request);
+                if (!request.isInside()) {
+                    movingUp = request.getDirection().isUp(); // The car leaves in the served direction
+                }
+            }
+            case DEPARTED -> {
+                currentFloor = event.getValue();
+                targetFloor = (int) event.getExtra();
+                if (targetFloor != currentFloor) {
+                    movingUp = targetFloor > currentFloor;
+                }
+            }
+            case FLOOR_PASSED -> currentFloor = event.getValue();
+            case ARRIVED -> {
+                currentFloor = event.getValue();
+                targetFloor = -1;
+            }
+            case DOORS_OPENING -> doorsOpen = true;
+            case DOORS_CLOSED -> doorsOpen = false;
+        }
+    }
+
+    // Getters
+
+    /**
+     * Returns the number of the car.
+     *
+     * @return The car number, from 0.
+     */
+    public int getCar() {
+        return car;
+    }
+
+    /**
+     * Returns the floor the car was at or passing.
+     *
+     * @return The floor.
+     */
+    public int getCurrentFloor() {
+        return currentFloor;
+    }
+
+    /**
+     * Indicates whether the car was travelling, or last travelled, upwards.
+     *
+     * @return {@code true} if the car was moving up.
+     */
+    public boolean isMovingUp() {
+        return movingUp;
+    }
+
+    /**
+     * Returns the floor the car was travelling to.
+     *
+     * @return The target floor, or {@code -1} if the car was not travelling.
+     */
+    public int getTargetFloor() {
+        return targetFloor;
+    }
+
+    /**
+     * Indicates whether the doors were open or in motion.
+     *
+     * @return {@code true} between a door opening and the doors closing.
+     */
+    public boolean isDoorsOpen() {
+        return doorsOpen;
+    }
+
+    /**
+     * Returns the time of the last event applied to this car.
+     *
+     * @return The time in simulation milliseconds.
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Returns the requests that were pending, in ascending floor order.
+     *
+     * @return A new list of the pending requests.
+     */
+    public List<Request> getPendingRequests() {
+        return new ArrayList<>(pending);
+    }
+}
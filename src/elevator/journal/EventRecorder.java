@@ -0,0 +1,103 @@
+package elevator.journal;
+
+import elevator.Elevator;
+import elevator.ElevatorListener;
+import elevator.Request;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The {@code EventRecorder} class is the base of listeners that keep an elevator's state
+ * transitions as {@link JournalEvent} records, such as the journal, the event trace, and
+ * the call server's state stream.
+ * <p>
+ * Each listener event is mapped to its record type, value, and extra value in one place,
+ * so every consumer of the records sees the same encoding. Subclasses receive them in
+ * {@link #record(Elevator, JournalEvent.Type, int, long)} and number the cars with
+ * {@link #carNumber(Elevator)}.
+ * </p>
+ */
+public abstract class EventRecorder implements ElevatorListener {
+    private final Map<Elevator, Integer> cars; // Car numbers by identity
+
+    // Constructor
+
+    /**
+     * Constructs an {@code EventRecorder} that has numbered no cars yet.
+     */
+    protected EventRecorder() {
+        this.cars = new IdentityHashMap<>();
+    }
+
+    // Event Handlers
+
+    @Override
+    public void onRequestAdded(Elevator elevator, Request request) {
+        record(elevator, JournalEvent.Type.REQUEST_ADDED, request.pack(), 0);
+    }
+
+    @Override
+    public void onRequestServed(Elevator elevator, Request request, long requestedAt) {
+        record(elevator, JournalEvent.Type.REQUEST_SERVED, request.pack(), requestedAt);
+    }
+
+    @Override
+    public void onRequestCancelled(Elevator elevator, Request request) {
+        record(elevator, JournalEvent.Type.REQUEST_CANCELLED, request.pack(), 0);
+    }
+
+    @Override
+    public void onDeparted(Elevator elevator, int floor, int targetFloor) {
+        record(elevator, JournalEvent.Type.DEPARTED, floor, targetFloor);
+    }
+
+    @Override
+    public void onFloorPassed(Elevator elevator, int floor) {
+        record(elevator, JournalEvent.Type.FLOOR_PASSED, floor, 0);
+    }
+
+    @Override
+    public void onArrived(Elevator elevator, int floor) {
+        record(elevator, JournalEvent.Type.ARRIVED, floor, 0);
+    }
+
+    @Override
+    public void onDoorsOpening(Elevator elevator, int floor) {
+        record(elevator, JournalEvent.Type.DOORS_OPENING, floor, 0);
+    }
+
+    @Override
+    public void onDoorsClosed(Elevator elevator, int floor) {
+        record(elevator, JournalEvent.Type.DOORS_CLOSED, floor, 0);
+    }
+
+    // Protected Methods
+
+    /**
+     * Handles one state transition. Runs on the thread of the car's clock.
+     *
+     * @param elevator The car the transition happened to.
+     * @param type     The type of the record.
+     * @param value    The packed request or the floor, depending on the type.
+     * @param extra    The request time of a served request, the target of a departure, or 0.
+     */
+    protected abstract void record(Elevator elevator, JournalEvent.Type type, int value, long extra);
+
+    /**
+     * Returns the number of a car, assigning the next one on first sight. Callers must
+     * not number cars concurrently: either serialize the calls, or number every car
+     * before any of them runs.
+     *
+     * @param car The car.
+     * @return The car's number, from 0 in the order cars were first seen.
+     */
+    protected final int carNumber(Elevator car) {
+        Integer number = cars.get(car);
+        if (number == null) {
+            number = cars.size();
+            cars.put(car, number);
+        }
+        return number;
+    }
+}
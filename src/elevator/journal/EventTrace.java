@@ -0,0 +1,151 @@
+package elevator.journal;
+
+import elevator.Elevator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * The {@code EventTrace} class records the state transitions of a simulation as a
+ * canonical byte trace, so that two runs can be checked to have behaved identically.
+ * <p>
+ * The trace holds the same events and {@value JournalEvent#SIZE}-byte records as a
+ * journal, back to back with no segment headers: every request added, served or
+ * cancelled, departure, floor passed, arrival, and door cycle, with its simulation time
+ * and car number. The records are hashed as they are appended, and can also be written
+ * to a stream to find where two traces part.
+ * </p>
+ * <p>
+ * A run driven by a {@link elevator.sim.VirtualClock} is sequenced entirely by the
+ * clock's agenda, and a generated workload by its seed, so the same inputs must give the
+ * same trace, byte for byte. A trace that differs between two runs of the same commit
+ * reveals a dependence on thread timing; between two commits, it pins down the first
+ * decision a change altered.
+ * </p>
+ */
+public class EventTrace extends EventRecorder {
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private final MessageDigest digest; // Hash of every record so far, guarded by this
+    private final OutputStream sink; // Receives every record, or null to keep only the hash
+    private final ByteBuffer scratch; // Holds the record being appended
+    private long events;
+
+    // Constructors
+
+    /**
+     * Constructs an {@code EventTrace} that keeps only the hash of the trace.
+     */
+    public EventTrace() {
+        this(null);
+    }
+
+    /**
+     * Constructs an {@code EventTrace} that also writes each record to a stream. The
+     * caller remains responsible for closing the stream.
+     *
+     * @param sink The stream to write the records to, or {@code null} to keep only the hash.
+     */
+    public EventTrace(OutputStream sink) {
+        try {
+            this.digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(DIGEST_ALGORITHM + " is required of every Java platform.", e);
+        }
+        this.sink = sink;
+        this.scratch = ByteBuffer.allocate(JournalEvent.SIZE);
+    }
+
+    // Public Methods
+
+    /**
+     * Starts tracing a car. Cars are numbered in the order they are attached.
+     *
+     * @param car The car to record.
+     * @return The car's number in the trace.
+     */
+    public synchronized int attach(Elevator car) {
+        int number = carNumber(car);
+        car.addListener(this);
+        return number;
+    }
+
+    /**
+     * Returns the number of the first event at which two traces differ, including one
+     * ending before the other.
+     *
+     * @param expected The records of one trace.
+     * @param actual   The records of the other.
+     * @return The event number, from 0, or {@code -1} if the traces are identical.
+     */
+    public static long firstDifference(byte[] expected, byte[] actual) {
+        int mismatch = Arrays.mismatch(expected, actual);
+        return mismatch < 0 ? -1 : mismatch / JournalEvent.SIZE;
+    }
+
+    /**
+     * Decodes one event of a trace.
+     *
+     * @param trace The records of the trace.
+     * @param event The event number, from 0.
+     * @return The event, or {@code null} if the trace ends before it.
+     */
+    public static JournalEvent eventAt(byte[] trace, long event) {
+        if (event < 0 || (event + 1) * JournalEvent.SIZE > trace.length) {
+            return null;
+        }
+        return JournalEvent.decode(ByteBuffer.wrap(trace, (int) event * JournalEvent.SIZE, JournalEvent.SIZE));
+    }
+
+    // Getters
+
+    /**
+     * Returns the number of events recorded so far.
+     *
+     * @return The event count.
+     */
+    public synchronized long getEvents() {
+        return events;
+    }
+
+    /**
+     * Returns the SHA-256 hash of the records so far, which identifies the trace.
+     *
+     * @return The hash in hexadecimal.
+     */
+    public synchronized String getDigest() {
+        try {
+            return HexFormat.of().formatHex(((MessageDigest) digest.clone()).digest());
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(DIGEST_ALGORITHM + " digests can be cloned.", e);
+        }
+    }
+
+    // Protected Methods
+
+    /**
+     * Hashes one event record and writes it to the sink.
+     *
+     * @throws UncheckedIOException If the sink cannot be written.
+     */
+    @Override
+    protected synchronized void record(Elevator elevator, JournalEvent.Type type, int value, long extra) {
+        scratch.clear();
+        JournalEvent.encode(scratch, elevator.getClock().now(), carNumber(elevator), type, value, extra);
+        digest.update(scratch.array());
+        if (sink != null) {
+            try {
+                sink.write(scratch.array());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write the event trace.", e);
+            }
+        }
+        events++;
+    }
+}
@@ -0,0 +1,203 @@
+package elevator.journal;
+
+import elevator.Request;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The {@code JournalEvent} class is one state transition of one car, as stored in a
+ * journal.
+ * <p>
+ * Every event is encoded as a fixed {@value #SIZE}-byte record: the simulation time,
+ * the car number, the event type, a floor or packed {@link Request}, and one extra
+ * value whose meaning depends on the type (the target floor of a departure, or the
+ * time a served request was first made).
+ * </p>
+ * <p>
+ * The same record is used wherever events leave the process, in journal segments and
+ * on the network, so {@link #encode} and {@link #decode} are public.
+ * </p>
+ */
+public final class JournalEvent {
+    /** Size of an encoded event in bytes. */
+    public static final int SIZE = 24;
+
+    /**
+     * The kinds of state transition recorded in a journal.
+     */
+    public enum Type {
+        /** A request was accepted; the value is the packed request. */
+        REQUEST_ADDED,
+        /** A request was answered; the value is the packed request, the extra its request time. */
+        REQUEST_SERVED,
+        /** The car set off; the value is the current floor, the extra the target floor. */
+        DEPARTED,
+        /** The car passed a floor without stopping; the value is the floor. */
+        FLOOR_PASSED,
+        /** The car arrived; the value is the floor. */
+        ARRIVED,
+        /** The doors started to open; the value is the floor. */
+        DOORS_OPENING,
+        /** The doors finished closing; the value is the floor. */
+        DOORS_CLOSED,
+        /** A pending request was withdrawn; the value is the packed request. */
+        REQUEST_CANCELLED;
+
+        private static final Type[] VALUES = values();
+
+        /**
+         * Returns the on-disk code of this type. Code 0 marks unused journal space.
+         *
+         * @return The type code.
+         */
+        byte code() {
+            return (byte) (ordinal() + 1);
+        }
+
+        /**
+         * Returns the type for an on-disk code.
+         *
+         * @param code The type code.
+         * @return The type, or {@code null} if the code marks unused space or is unknown.
+         */
+        static Type ofCode(int code) {
+            return code >= 1 && code <= VALUES.length ? VALUES[code - 1] : null;
+        }
+    }
+
+    private final long time;
+    private final int car;
+    private final Type type;
+    private final int value;
+    private final long extra;
+
+    // Constructor
+
+    /**
+     * Constructs a new {@code JournalEvent}.
+     *
+     * @param time  The simulation time of the event.
+     * @param car   The number of the car, from 0.
+     * @param type  The kind of transition.
+     * @param value The floor or packed request.
+     * @param extra The type-specific extra value.
+     */
+    public JournalEvent(long time, int car, Type type, int value, long extra) {
+        this.time = time;
+        this.car = car;
+        this.type = type;
+        this.value = value;
+        this.extra = extra;
+    }
+
+    // Public Methods
+
+    /**
+     * Writes one event record at the buffer's position, advancing it by {@value #SIZE} bytes.
+     *
+     * @param buffer The buffer to write to, with at least {@value #SIZE} bytes remaining.
+     * @param time   The simulation time of the event.
+     * @param car    The number of the car, from 0.
+     * @param type   The kind of transition.
+     * @param value  The floor or packed request.
+     * @param extra  The type-specific extra value.
+     */
+    public static void encode(ByteBuffer buffer, long time, int car, Type type, int value, long extra) {
+        buffer.putLong(time);
+        buffer.putShort((short) car);
+        buffer.put(type.code());
+        buffer.put((byte) 0); // Reserved
+        buffer.putInt(value);
+        buffer.putLong(extra);
+    }
+
+    /**
+     * Reads one event record at the buffer's position, advancing it by {@value #SIZE} bytes.
+     *
+     * @param buffer The buffer to read from, with at least {@value #SIZE} bytes remaining.
+     * @return The event, or {@code null} if the record's type code is 0 or unknown.
+     */
+    public static JournalEvent decode(ByteBuffer buffer) {
+        long time = buffer.getLong();
+        int car = buffer.getShort() & 0xFFFF;
+        Type type = Type.ofCode(buffer.get());
+        buffer.get(); // Reserved
+        int value = buffer.getInt();
+        long extra = buffer.getLong();
+        return type == null ? null : new JournalEvent(time, car, type, value, extra);
+    }
+
+    /**
+     * Returns the request of a {@link Type#REQUEST_ADDED}, {@link Type#REQUEST_SERVED}, or
+     * {@link Type#REQUEST_CANCELLED} event.
+     *
+     * @return The unpacked request.
+     * @throws IllegalArgumentException If the value is not a packed request.
+     */
+    public Request getRequest() {
+        return Request.unpack(value);
+    }
+
+    /**
+     * Returns a string representation of this event.
+     *
+     * @return A string representation of this event.
+     */
+    @Override
+    public String toString() {
+        String detail = switch (type) {
+            case REQUEST_ADDED, REQUEST_CANCELLED -> String.valueOf(getRequest());
+            case REQUEST_SERVED -> getRequest() + ", Requested At: " + extra + " ms";
+            case DEPARTED -> "Floor: " + value + ", Target: " + extra;
+            default -> "Floor: " + value;
+        };
+        return "JournalEvent [Time: " + time + " ms, Car: " + car + ", " + type + ", " + detail + "]";
+    }
+
+    // Getters
+
+    /**
+     * Returns the simulation time of the event.
+     *
+     * @return The time in milliseconds.
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Returns the number of the car the event belongs to.
+     *
+     * @return The car number, from 0.
+     */
+    public int getCar() {
+        return car;
+    }
+
+    /**
+     * Returns the kind of transition.
+     *
+     * @return The event type.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the floor or packed request of the event.
+     *
+     * @return The event value.
+     */
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * Returns the type-specific extra value of the event.
+     *
+     * @return The target floor of a departure, or the request time of a served request.
+     */
+    public long getExtra() {
+        return extra;
+    }
+}
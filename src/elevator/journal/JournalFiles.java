@@ -0,0 +1,77 @@
+package elevator.journal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The {@code JournalFiles} class holds the on-disk layout shared by the journal writer
+ * and reader.
+ * <p>
+ * A journal is a directory of segment files named {@code segment-NNNNNNNN.journal},
+ * numbered from 0. Each segment starts with a header record holding a magic number, the
+ * format version, and the segment number, followed by fixed-size event records. Unused
+ * space at the end of a segment is zero-filled, and a zero type code marks its end.
+ * </p>
+ */
+final class JournalFiles {
+    static final int MAGIC = 0x454C4A4E; // "ELJN"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = JournalEvent.SIZE; // Keeps every record aligned to the record size
+
+    private static final String PREFIX = "segment-";
+    private static final String SUFFIX = ".journal";
+
+    private JournalFiles() {
+    }
+
+    /**
+     * Returns the path of a segment.
+     *
+     * @param directory The journal directory.
+     * @param index     The segment number.
+     * @return The segment path.
+     */
+    static Path segment(Path directory, long index) {
+        return directory.resolve(String.format("%s%08d%s", PREFIX, index, SUFFIX));
+    }
+
+    /**
+     * Lists the segments of a journal in order.
+     *
+     * @param directory The journal directory.
+     * @return The segment paths, oldest first; empty if the directory does not exist.
+     * @throws IOException If the directory cannot be listed.
+     */
+    static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(JournalFiles::isSegment).sorted().collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Returns the number of a segment from its file name.
+     *
+     * @param segment The segment path.
+     * @return The segment number.
+     */
+    static long indexOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    /**
+     * Indicates whether a path is named like a segment.
+     */
+    private static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX)
+                && name.length() == PREFIX.length() + 8 + SUFFIX.length();
+    }
+}
@@ -0,0 +1,158 @@
+package elevator.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The {@code JournalReader} class reads a journal written by {@link JournalWriter} and
+ * rebuilds the state of its cars.
+ * <p>
+ * Segments are memory-mapped read-only and scanned in order, so replaying even a large
+ * journal is a sequential pass over the page cache. A journal that is still being
+ * written can be read; events appended after a segment has been scanned are not seen.
+ * </p>
+ */
+public class JournalReader {
+    private final Path directory;
+
+    // Constructor
+
+    /**
+     * Constructs a reader for a journal directory.
+     *
+     * @param directory The journal directory.
+     */
+    public JournalReader(Path directory) {
+        this.directory = directory;
+    }
+
+    // Public Methods
+
+    /**
+     * Passes every event of the journal, oldest first, to an action.
+     *
+     * @param action The action to perform on each event.
+     * @throws IOException If a segment cannot be read, is not a journal segment, or holds a corrupt event.
+     */
+    public void forEach(Consumer<JournalEvent> action) throws IOException {
+        for (Path path : JournalFiles.segments(directory)) {
+            MappedByteBuffer segment;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            readSegment(path, segment, action);
+        }
+    }
+
+    /**
+     * Reads every event of the journal.
+     *
+     * @return The events, oldest first.
+     * @throws IOException If a segment cannot be read, is not a journal segment, or holds a corrupt event.
+     */
+    public List<JournalEvent> readAll() throws IOException {
+        List<JournalEvent> events = new ArrayList<>();
+        forEach(events::add);
+        return events;
+    }
+
+    /**
+     * Rebuilds the state of every car from the events recorded up to a point in time.
+     *
+     * @param time The simulation time to rebuild, inclusive; {@code Long.MAX_VALUE} for the end.
+     * @return The state of each car that recorded an event, indexed by car number.
+     * @throws IOException If a segment cannot be read, is not a journal segment, or holds a corrupt event.
+     */
+    public List<CarState> rebuild(long time) throws IOException {
+        List<CarState> cars = new ArrayList<>();
+        forEach(event -> {
+            if (event.getTime() > time) {
+                return;
+            }
+            while (cars.size() <= event.getCar()) {
+                cars.add(new CarState(cars.size()));
+            }
+            cars.get(event.getCar()).apply(event);
+        });
+        return cars;
+    }
+
+    /**
+     * Prints a journal from the command line.
+     * <p>
+     * Usage: {@code JournalReader <directory> [--at ms] [--events]}. Prints the state of
+     * every car at the given time (the end of the journal by default), preceded by each
+     * event up to that time if {@code --events} is given.
+     * </p>
+     *
+     * @param args Command-line arguments.
+     * @throws IOException If the journal cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: JournalReader <directory> [--at ms] [--events]");
+            return;
+        }
+
+        JournalReader reader = new JournalReader(Path.of(args[0]));
+        long at = Long.MAX_VALUE;
+        boolean events = false;
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--at" -> at = Long.parseLong(args[++i]);
+                case "--events" -> events = true;
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        if (events) {
+            long until = at;
+            reader.forEach(event -> {
+                if (event.getTime() <= until) {
+                    System.out.println(event);
+                }
+            });
+        }
+        for (CarState car : reader.rebuild(at)) {
+            System.out.println(car);
+        }
+    }
+
+    // Private Method
+
+    /**
+     * Checks a segment's header and decodes its events up to the first unused record,
+     * rejecting a request event whose value is not a packed request.
+     */
+    private static void readSegment(Path path, ByteBuffer segment, Consumer<JournalEvent> action) throws IOException {
+        if (segment.remaining() < JournalFiles.HEADER_SIZE
+                || segment.getInt() != JournalFiles.MAGIC || segment.getInt() != JournalFiles.VERSION) {
+            throw new IOException("Not a journal segment: " + path);
+        }
+        segment.position(JournalFiles.HEADER_SIZE);
+
+        while (segment.remaining() >= JournalEvent.SIZE) {
+            JournalEvent event = JournalEvent.decode(segment);
+            if (event == null) {
+                return; // Zero-filled space after the last event
+            }
+            switch (event.getType()) {
+                case REQUEST_ADDED, REQUEST_CANCELLED, REQUEST_SERVED -> {
+                    if ((event.getValue() & 3) == 3) {
+                        throw new IOException("Invalid request in journal segment " + path + ": " + event.getValue());
+                    }
+                }
+                default -> {
+                }
+            }
+            action.accept(event);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package elevator.journal;
+
+import elevator.Elevator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * The {@code JournalWriter} class records the state transitions of one or more
+ * elevators in an append-only journal of memory-mapped segment files.
+ * <p>
+ * Attach each car with {@link #attach(Elevator)}; the writer then listens to it and
+ * appends a {@link JournalEvent} for every request added or served, departure, floor
+ * passed, arrival, and door cycle. Appending is a handful of stores into the current
+ * mapped segment, with no system call and no allocation, and a new segment is mapped
+ * when the current one is full. Data reaches the page cache immediately and survives a
+ * crash of the JVM; {@link #flush()} additionally forces it to the storage device.
+ * </p>
+ * <p>
+ * Appends are serialized, so cars running on their own threads may share a writer.
+ * Opening a writer on an existing journal continues it in a new segment.
+ * </p>
+ */
+public class JournalWriter extends EventRecorder implements Closeable {
+    /** The default size of a segment file. */
+    public static final long DEFAULT_SEGMENT_BYTES = 64L << 20;
+
+    private final Path directory;
+    private final long segmentBytes;
+    private MappedByteBuffer segment;
+    private long segmentIndex;
+    private long written; // Events appended since the writer was opened
+    private boolean closed;
+
+    // Constructors
+
+    /**
+     * Opens a writer with the default segment size.
+     *
+     * @param directory The journal directory, created if missing.
+     * @throws IOException If the directory or first segment cannot be created.
+     */
+    public JournalWriter(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_BYTES);
+    }
+
+    /**
+     * Opens a writer.
+     *
+     * @param directory    The journal directory, created if missing.
+     * @param segmentBytes The size of each segment file; rounded down to whole records.
+     * @throws IOException If the directory or first segment cannot be created.
+     * @throws IllegalArgumentException If a segment could not hold at least one event.
+     */
+    public JournalWriter(Path directory, long segmentBytes) throws IOException {
+        long rounded = segmentBytes / JournalEvent.SIZE * JournalEvent.SIZE;
+        if (rounded < JournalFiles.HEADER_SIZE + JournalEvent.SIZE || rounded > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segments must hold at least one event and be under 2 GiB.");
+        }
+        this.directory = directory;
+        this.segmentBytes = rounded;
+
+        Files.createDirectories(directory);
+        List<Path> existing = JournalFiles.segments(directory);
+        this.segmentIndex = existing.isEmpty() ? -1 : JournalFiles.indexOf(existing.get(existing.size() - 1));
+        openNextSegment();
+    }
+
+    // Public Methods
+
+    /**
+     * Starts journaling a car. Cars are numbered in the order they are attached.
+     *
+     * @param car The car to record.
+     * @return The car's number in the journal.
+     */
+    public synchronized int attach(Elevator car) {
+        int number = carNumber(car);
+        car.addListener(this);
+        return number;
+    }
+
+    /**
+     * Forces every appended event to the storage device.
+     */
+    public synchronized void flush() {
+        if (!closed) {
+            segment.force();
+        }
+    }
+
+    /**
+     * Flushes the journal and stops recording. Events published after closing are ignored.
+     */
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            segment.force();
+            closed = true;
+        }
+    }
+
+    // Getters
+
+    /**
+     * Returns the journal directory.
+     *
+     * @return The directory holding the segments.
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns the number of events appended since the writer was opened.
+     *
+     * @return The event count.
+     */
+    public synchronized long getWritten() {
+        return written;
+    }
+
+    // Protected Methods
+
+    /**
+     * Appends one event record, rotating to a new segment when the current one is full.
+     *
+     * @throws UncheckedIOException If a new segment cannot be created.
+     */
+    @Override
+    protected synchronized void record(Elevator elevator, JournalEvent.Type type, int value, long extra) {
+        if (closed) {
+            return;
+        }
+        if (segment.remaining() < JournalEvent.SIZE) {
+            try {
+                segment.force();
+                openNextSegment();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not rotate the journal in " + directory, e);
+            }
+        }
+
+        JournalEvent.encode(segment, elevator.getClock().now(), carNumber(elevator), type, value, extra);
+        written++;
+    }
+
+    // Private Methods
+
+    /**
+     * Creates and maps the next segment file and writes its header.
+     */
+    private void openNextSegment() throws IOException {
+        segmentIndex++;
+        Path path = JournalFiles.segment(directory, segmentIndex);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes); // Stays valid after close
+        }
+        segment.putInt(JournalFiles.MAGIC);
+        segment.putInt(JournalFiles.VERSION);
+        segment.putLong(segmentIndex);
+        segment.putLong(0); // Reserved
+    }
+}
@@ -0,0 +1,368 @@
+package elevator.metrics;
+
+import elevator.Elevator;
+import elevator.ElevatorListener;
+import elevator.Request;
+import elevator.sim.SimulationClock;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code ElevatorMetrics} class measures how well one or more elevators serve
+ * their passengers.
+ * <p>
+ * Registered as an {@link ElevatorListener} on every car of a bank, it records the
+ * wait of each hall call from the first press until a car answers it, the ride of each
+ * inside call from the press until the car arrives, car utilization, floors travelled,
+ * stops per trip, how many calls were cancelled, coalesced in a car's intake, or
+ * rejected by a full intake, and how often a full car passed a hall call. Workloads that
+ * track individual passengers can add end-to-end journey times with
+ * {@link #recordPassenger(long, long, long)}. Distributions are kept in
+ * {@link Histogram}s, so recording is allocation-free and safe from any thread. The
+ * same numbers are available over JMX once {@link #register(String)} is called.
+ * </p>
+ */
+public class ElevatorMetrics implements ElevatorListener, ElevatorMetricsMXBean {
+    private final SimulationClock clock;
+    private final long startTime;
+    private final Histogram waitTimes;
+    private final Histogram rideTimes;
+    private final Histogram passengerWaitTimes;
+    private final Histogram journeyTimes;
+    private final Histogram stopsPerTrip;
+    private final Map<Elevator, CarStats> cars;
+    private ObjectName registeredName;
+
+    // Constructor
+
+    /**
+     * Constructs an {@code ElevatorMetrics} that measures elapsed time on the given clock.
+     *
+     * @param clock The clock shared by the measured cars.
+     */
+    public ElevatorMetrics(SimulationClock clock) {
+        this.clock = clock;
+        this.startTime = clock.now();
+        this.waitTimes = new Histogram();
+        this.rideTimes = new Histogram();
+        this.passengerWaitTimes = new Histogram();
+        this.journeyTimes = new Histogram();
+        this.stopsPerTrip = new Histogram();
+        this.cars = new ConcurrentHashMap<>();
+    }
+
+    // Public Methods
+
+    /**
+     * Records the journey of one passenger.
+     *
+     * @param arrivedAt   The time the passenger arrived at the origin floor.
+     * @param boardedAt   The time the passenger boarded a car.
+     * @param deliveredAt The time the passenger stepped out at the destination.
+     */
+    public void recordPassenger(long arrivedAt, long boardedAt, long deliveredAt) {
+        passengerWaitTimes.record(boardedAt - arrivedAt);
+        journeyTimes.record(deliveredAt - arrivedAt);
+    }
+
+    /**
+     * Registers this object with the platform MBean server.
+     *
+     * @param name The value of the {@code name} key of the MBean's object name.
+     * @throws JMException If the name is invalid or already registered.
+     */
+    public synchronized void register(String name) throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = new ObjectName("elevator:type=ElevatorMetrics,name=" + ObjectName.quote(name));
+        server.registerMBean(this, objectName);
+        registeredName = objectName;
+    }
+
+    /**
+     * Removes this object from the platform MBean server if it was registered.
+     *
+     * @throws JMException If the MBean cannot be unregistered.
+     */
+    public synchronized void unregister() throws JMException {
+        if (registeredName != null) {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+            registeredName = null;
+        }
+    }
+
+    /**
+     * Returns a multi-line summary of all metrics.
+     *
+     * @return The summary.
+     */
+    @Override
+    public String toString() {
+        return String.format("Hall-call wait (ms):   %s%n"
+                        + "Inside-call ride (ms): %s%n"
+                        + "Passenger wait (ms):   %s%n"
+                        + "Journey time (ms):     %s%n"
+                        + "Stops per trip:        %s%n"
+                        + "Utilization: %.1f%%, floors travelled: %d, stops: %d%n"
+                        + "Calls cancelled: %d, coalesced: %d, rejected: %d, bypassed by full cars: %d",
+                waitTimes, rideTimes, passengerWaitTimes, journeyTimes, stopsPerTrip,
+                getUtilization() * 100, getFloorsTravelled(), getStops(),
+                getCancelledRequests(), getCoalescedCalls(), getRejectedCalls(), getBypassedCalls());
+    }
+
+    // Event Handlers
+
+    @Override
+    public void onRequestServed(Elevator elevator, Request request, long requestedAt) {
+        (request.isInside() ? rideTimes : waitTimes).record(clock.now() - requestedAt);
+    }
+
+    @Override
+    public void onRequestCancelled(Elevator elevator, Request request) {
+        statsOf(elevator).cancelled++;
+    }
+
+    @Override
+    public void onDeparted(Elevator elevator, int floor, int targetFloor) {
+        CarStats car = statsOf(elevator);
+        car.departedAt = clock.now();
+        car.departedFrom = floor;
+        car.onTrip = true;
+    }
+
+    @Override
+    public void onArrived(Elevator elevator, int floor) {
+        CarStats car = statsOf(elevator);
+        car.busyMillis += clock.now() - car.departedAt;
+        car.floorsTravelled += Math.abs(floor - car.departedFrom);
+    }
+
+    @Override
+    public void onDoorsOpening(Elevator elevator, int floor) {
+        CarStats car = statsOf(elevator);
+        car.doorsOpenedAt = clock.now();
+        car.stops++;
+        car.tripStops++;
+    }
+
+    @Override
+    public void onDoorsClosed(Elevator elevator, int floor) {
+        CarStats car = statsOf(elevator);
+        car.busyMillis += clock.now() - car.doorsOpenedAt;
+        if (car.onTrip && elevator.getQueueSize() == 0) {
+            stopsPerTrip.record(car.tripStops);
+            car.onTrip = false;
+            car.tripStops = 0;
+        }
+    }
+
+    // Getters
+
+    /**
+     * Returns the distribution of hall-call wait times.
+     *
+     * @return The wait-time histogram.
+     */
+    public Histogram getWaitTimes() {
+        return waitTimes;
+    }
+
+    /**
+     * Returns the distribution of inside-call ride times.
+     *
+     * @return The ride-time histogram.
+     */
+    public Histogram getRideTimes() {
+        return rideTimes;
+    }
+
+    /**
+     * Returns the distribution of recorded passenger wait times.
+     *
+     * @return The passenger wait-time histogram.
+     */
+    public Histogram getPassengerWaitTimes() {
+        return passengerWaitTimes;
+    }
+
+    /**
+     * Returns the distribution of recorded passenger journey times.
+     *
+     * @return The journey-time histogram.
+     */
+    public Histogram getJourneyTimes() {
+        return journeyTimes;
+    }
+
+    /**
+     * Returns the distribution of stops per trip.
+     *
+     * @return The stops-per-trip histogram.
+     */
+    public Histogram getStopsPerTrip() {
+        return stopsPerTrip;
+    }
+
+    @Override
+    public long getHallCallsServed() {
+        return waitTimes.getCount();
+    }
+
+    @Override
+    public double getMeanWaitMillis() {
+        return waitTimes.getMean();
+    }
+
+    @Override
+    public long getWaitP50Millis() {
+        return waitTimes.percentile(50);
+    }
+
+    @Override
+    public long getWaitP90Millis() {
+        return waitTimes.percentile(90);
+    }
+
+    @Override
+    public long getWaitP99Millis() {
+        return waitTimes.percentile(99);
+    }
+
+    @Override
+    public long getMaxWaitMillis() {
+        return waitTimes.getMax();
+    }
+
+    @Override
+    public double getMeanRideMillis() {
+        return rideTimes.getMean();
+    }
+
+    @Override
+    public long getRideP90Millis() {
+        return rideTimes.percentile(90);
+    }
+
+    @Override
+    public long getPassengersDelivered() {
+        return journeyTimes.getCount();
+    }
+
+    @Override
+    public double getMeanJourneyMillis() {
+        return journeyTimes.getMean();
+    }
+
+    @Override
+    public long getJourneyP90Millis() {
+        return journeyTimes.percentile(90);
+    }
+
+    @Override
+    public long getJourneyP99Millis() {
+        return journeyTimes.percentile(99);
+    }
+
+    @Override
+    public double getUtilization() {
+        long elapsed = clock.now() - startTime;
+        if (elapsed <= 0 || cars.isEmpty()) {
+            return 0;
+        }
+        long busy = 0;
+        for (CarStats car : cars.values()) {
+            busy += car.busyMillis;
+        }
+        return Math.min(1.0, (double) busy / ((double) elapsed * cars.size()));
+    }
+
+    @Override
+    public long getFloorsTravelled() {
+        long floors = 0;
+        for (CarStats car : cars.values()) {
+            floors += car.floorsTravelled;
+        }
+        return floors;
+    }
+
+    @Override
+    public long getStops() {
+        long stops = 0;
+        for (CarStats car : cars.values()) {
+            stops += car.stops;
+        }
+        return stops;
+    }
+
+    @Override
+    public double getMeanStopsPerTrip() {
+        return stopsPerTrip.getMean();
+    }
+
+    @Override
+    public long getCancelledRequests() {
+        long cancelled = 0;
+        for (CarStats car : cars.values()) {
+            cancelled += car.cancelled;
+        }
+        return cancelled;
+    }
+
+    @Override
+    public long getCoalescedCalls() {
+        long coalesced = 0;
+        for (Elevator car : cars.keySet()) {
+            coalesced += car.getCoalescedCalls();
+        }
+        return coalesced;
+    }
+
+    @Override
+    public long getRejectedCalls() {
+        long rejected = 0;
+        for (Elevator car : cars.keySet()) {
+            rejected += car.getRejectedCalls();
+        }
+        return rejected;
+    }
+
+    @Override
+    public long getBypassedCalls() {
+        long bypassed = 0;
+        for (Elevator car : cars.keySet()) {
+            bypassed += car.getBypassedCalls();
+        }
+        return bypassed;
+    }
+
+    // Private Method
+
+    /**
+     * Returns the counters of a car, creating them on its first event.
+     *
+     * @param elevator The car.
+     * @return The car's counters.
+     */
+    private CarStats statsOf(Elevator elevator) {
+        return cars.computeIfAbsent(elevator, car -> new CarStats());
+    }
+
+    /**
+     * Per-car counters. Each is written only by its car's thread and read by reporters.
+     */
+    private static final class CarStats {
+        private volatile long busyMillis;
+        private volatile long floorsTravelled;
+        private volatile long stops;
+        private volatile long cancelled;
+        private long departedAt;
+        private int departedFrom;
+        private long doorsOpenedAt;
+        private boolean onTrip;
+        private int tripStops;
+    }
+}
@@ -0,0 +1,108 @@
+package elevator.metrics;
+
+/**
+ * The {@code ElevatorMetricsMXBean} interface exposes the service-quality metrics of
+ * a bank of elevators through JMX. All times are in simulation milliseconds.
+ */
+public interface ElevatorMetricsMXBean {
+
+    /**
+     * @return The number of hall calls answered.
+     */
+    long getHallCallsServed();
+
+    /**
+     * @return The mean time from a hall call to a car answering it.
+     */
+    double getMeanWaitMillis();
+
+    /**
+     * @return The median hall-call wait time.
+     */
+    long getWaitP50Millis();
+
+    /**
+     * @return The 90th percentile hall-call wait time.
+     */
+    long getWaitP90Millis();
+
+    /**
+     * @return The 99th percentile hall-call wait time.
+     */
+    long getWaitP99Millis();
+
+    /**
+     * @return The longest hall-call wait time.
+     */
+    long getMaxWaitMillis();
+
+    /**
+     * @return The mean time from an inside button press to arriving at that floor.
+     */
+    double getMeanRideMillis();
+
+    /**
+     * @return The 90th percentile inside-call ride time.
+     */
+    long getRideP90Millis();
+
+    /**
+     * @return The number of passengers recorded as delivered.
+     */
+    long getPassengersDelivered();
+
+    /**
+     * @return The mean time from a passenger's arrival to reaching the destination.
+     */
+    double getMeanJourneyMillis();
+
+    /**
+     * @return The 90th percentile passenger journey time.
+     */
+    long getJourneyP90Millis();
+
+    /**
+     * @return The 99th percentile passenger journey time.
+     */
+    long getJourneyP99Millis();
+
+    /**
+     * @return The fraction of elapsed time cars spent moving or cycling doors, between 0 and 1.
+     */
+    double getUtilization();
+
+    /**
+     * @return The total number of floors travelled by all cars.
+     */
+    long getFloorsTravelled();
+
+    /**
+     * @return The total number of door-opening stops made by all cars.
+     */
+    long getStops();
+
+    /**
+     * @return The mean number of stops per trip, a trip lasting from leaving idle to running out of requests.
+     */
+    double getMeanStopsPerTrip();
+
+    /**
+     * @return The number of pending requests withdrawn before a car answered them.
+     */
+    long getCancelledRequests();
+
+    /**
+     * @return The number of presses and cancellations folded into an operation on the same call still in a car's intake.
+     */
+    long getCoalescedCalls();
+
+    /**
+     * @return The number of calls rejected because a car's intake was full.
+     */
+    long getRejectedCalls();
+
+    /**
+     * @return The number of times a full car passed a hall call in its direction of travel.
+     */
+    long getBypassedCalls();
+}
@@ -0,0 +1,147 @@
+package elevator.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The {@code Histogram} class records the distribution of non-negative long values
+ * with bounded relative error, in the style of an HDR histogram.
+ * <p>
+ * Values below 128 are counted exactly. Larger values fall into log-linear buckets:
+ * every power-of-two range is split into 64 equal sub-buckets, so any recorded value
+ * is reported within about 1.6% of its true value. The whole range of {@code long} fits
+ * in a fixed array of counters, so recording never allocates, and the counters are
+ * atomic, so several cars may record into the same histogram concurrently.
+ * </p>
+ */
+public class Histogram {
+    private static final int EXACT_LIMIT = 128; // Values below this get a bucket each
+    private static final int SUB_BUCKETS = 64; // Sub-buckets per power of two above the exact range
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int BUCKETS = EXACT_LIMIT + (63 - SUB_BUCKET_BITS - 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts;
+    private final AtomicLong count;
+    private final AtomicLong sum;
+    private final AtomicLong max;
+
+    // Constructor
+
+    /**
+     * Constructs an empty {@code Histogram}.
+     */
+    public Histogram() {
+        this.counts = new AtomicLongArray(BUCKETS);
+        this.count = new AtomicLong();
+        this.sum = new AtomicLong();
+        this.max = new AtomicLong();
+    }
+
+    // Public Methods
+
+    /**
+     * Records a value. Negative values are recorded as zero.
+     *
+     * @param value The value to record.
+     */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        counts.incrementAndGet(bucketOf(v));
+        count.incrementAndGet();
+        sum.addAndGet(v);
+        max.accumulateAndGet(v, Math::max);
+    }
+
+    /**
+     * Returns the value at the given percentile.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return The highest value equivalent to the percentile's bucket, or 0 if empty.
+     */
+    public long percentile(double percentile) {
+        long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(total * Math.min(100.0, percentile) / 100.0));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= rank) {
+                return Math.min(highestValueIn(bucket), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return The count.
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Returns the mean of the recorded values.
+     *
+     * @return The exact mean, or 0 if empty.
+     */
+    public double getMean() {
+        long total = count.get();
+        return total == 0 ? 0 : (double) sum.get() / total;
+    }
+
+    /**
+     * Returns the largest recorded value.
+     *
+     * @return The exact maximum, or 0 if empty.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns a one-line summary of the distribution.
+     *
+     * @return The count, mean, median, 90th, 99th percentile and maximum.
+     */
+    @Override
+    public String toString() {
+        return String.format("count=%d mean=%.1f p50=%d p90=%d p99=%d max=%d",
+                getCount(), getMean(), percentile(50), percentile(90), percentile(99), getMax());
+    }
+
+    // Private Methods
+
+    /**
+     * Maps a value to its bucket index.
+     *
+     * @param value A non-negative value.
+     * @return The bucket index.
+     */
+    private static int bucketOf(long value) {
+        if (value < EXACT_LIMIT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return EXACT_LIMIT + (shift - 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    /**
+     * Returns the highest value that maps to a bucket.
+     *
+     * @param bucket The bucket index.
+     * @return The bucket's upper bound.
+     */
+    private static long highestValueIn(int bucket) {
+        if (bucket < EXACT_LIMIT) {
+            return bucket;
+        }
+        int shift = (bucket - EXACT_LIMIT) / SUB_BUCKETS + 1;
+        long subBucket = (bucket - EXACT_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,77 @@
+package elevator.motion;
+
+/**
+ * The {@code ConstantSpeedMotion} class moves a car one floor per fixed interval, with
+ * no acceleration: a run of ten floors takes ten times as long as a run of one.
+ * <p>
+ * This is the motion of the original simulation and the default of every
+ * {@link elevator.ElevatorConfig}. A car can stop at any floor it reaches, so it may
+ * decide to stop at a floor up to the moment it gets there.
+ * </p>
+ */
+public final class ConstantSpeedMotion implements MotionModel {
+    private final long floorMillis;
+
+    // Constructor
+
+    /**
+     * Constructs a {@code ConstantSpeedMotion}.
+     *
+     * @param floorMillis The time to travel one floor.
+     * @throws IllegalArgumentException If the time is negative.
+     */
+    public ConstantSpeedMotion(long floorMillis) {
+        if (floorMillis < 0) {
+            throw new IllegalArgumentException("The floor travel time cannot be negative.");
+        }
+        this.floorMillis = floorMillis;
+    }
+
+    // Public Methods
+
+    @Override
+    public long travelMillis(int from, int to) {
+        return Math.abs(to - from) * floorMillis;
+    }
+
+    @Override
+    public long passMillis(int from, int to, int floor) {
+        return Math.abs(floor - from) * floorMillis;
+    }
+
+    @Override
+    public long commitMillis(int from, int stop) {
+        return Math.abs(stop - from) * floorMillis;
+    }
+
+    @Override
+    public boolean hasLanding(int floor) {
+        return true;
+    }
+
+    @Override
+    public int getTopFloor() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns a string representation of this model.
+     *
+     * @return A string representation of this model.
+     */
+    @Override
+    public String toString() {
+        return "ConstantSpeedMotion [Floor: " + floorMillis + " ms]";
+    }
+
+    // Getter
+
+    /**
+     * Returns the time to travel one floor.
+     *
+     * @return The floor travel time in milliseconds.
+     */
+    public long getFloorMillis() {
+        return floorMillis;
+    }
+}
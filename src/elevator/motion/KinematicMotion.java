@@ -0,0 +1,363 @@
+package elevator.motion;
+
+import java.util.Arrays;
+
+/**
+ * The {@code KinematicMotion} class moves a car along a jerk-limited speed profile, so
+ * long runs are much faster per floor than short hops.
+ * <p>
+ * Every run starts and ends at rest. The car raises its acceleration at the jerk limit
+ * up to the acceleration limit, accelerates to the speed limit, cruises, and brakes with
+ * the mirror image of the same profile. Runs too short to reach the limits peak at a
+ * lower speed. Floors may be at any height, and floors inside an express zone have no
+ * landing: the car runs past them but never stops there.
+ * </p>
+ * <p>
+ * The duration of every run between two floors, and the latest moment the car can still
+ * commit to a stop, are computed once when the model is built and kept in tables, so
+ * {@link #travelMillis(int, int)} and {@link #commitMillis(int, int)} are array lookups.
+ * The tables hold two {@code int}s per pair of floors, about 2 MiB for 500 floors, and
+ * are shared by every car using the model. Only the time at which a car passes an
+ * intermediate floor is solved on demand, once per floor passed.
+ * </p>
+ */
+public final class KinematicMotion implements MotionModel {
+    public static final double DEFAULT_FLOOR_HEIGHT = 3.5; // Metres between landings
+    public static final double DEFAULT_MAX_SPEED = 2.5; // Metres per second
+    public static final double DEFAULT_MAX_ACCELERATION = 1.0; // Metres per second squared
+    public static final double DEFAULT_MAX_JERK = 1.6; // Metres per second cubed
+    private static final int PASS_ITERATIONS = 50; // Bisection steps when solving for a pass time
+
+    private final double[] levels; // Height of each floor above floor 1, indexed by floor
+    private final boolean[] landings; // Whether the car can stop at each floor
+    private final double maxSpeed;
+    private final double maxAcceleration;
+    private final double maxJerk;
+    private final int stride; // Row length of the tables
+    private final int[] travel; // Run durations in milliseconds, indexed by from * stride + to
+    private final int[] commit; // Latest commit times in milliseconds, indexed like travel
+
+    // Constructors
+
+    /**
+     * Constructs a {@code KinematicMotion} with the default floor height and limits.
+     *
+     * @param topFloor The highest floor.
+     * @throws IllegalArgumentException If the top floor is below 1.
+     */
+    public KinematicMotion(int topFloor) {
+        this(topFloor, DEFAULT_FLOOR_HEIGHT, DEFAULT_MAX_SPEED, DEFAULT_MAX_ACCELERATION, DEFAULT_MAX_JERK);
+    }
+
+    /**
+     * Constructs a {@code KinematicMotion} for evenly spaced floors, each with a landing.
+     *
+     * @param topFloor        The highest floor.
+     * @param floorHeight     The distance between floors, in metres.
+     * @param maxSpeed        The speed limit, in metres per second.
+     * @param maxAcceleration The acceleration limit, in metres per second squared.
+     * @param maxJerk         The jerk limit, in metres per second cubed.
+     * @throws IllegalArgumentException If the top floor is below 1 or a dimension or limit is not positive.
+     */
+    public KinematicMotion(int topFloor, double floorHeight, double maxSpeed, double maxAcceleration, double maxJerk) {
+        this(evenLevels(topFloor, floorHeight), allLandings(topFloor), maxSpeed, maxAcceleration, maxJerk);
+    }
+
+    /**
+     * Constructs a {@code KinematicMotion} for floors at the given heights.
+     *
+     * @param levels          The height of each floor above floor 1 in metres, indexed by
+     *                        floor; index 0 is unused. Heights must rise with the floor number.
+     * @param landings        Whether each floor has a landing, indexed like {@code levels}.
+     * @param maxSpeed        The speed limit, in metres per second.
+     * @param maxAcceleration The acceleration limit, in metres per second squared.
+     * @param maxJerk         The jerk limit, in metres per second cubed.
+     * @throws IllegalArgumentException If the arrays differ in length or describe no floor,
+     *                                  the heights do not rise, or a limit is not positive.
+     */
+    public KinematicMotion(double[] levels, boolean[] landings, double maxSpeed, double maxAcceleration,
+                           double maxJerk) {
+        if (levels.length < 2 || levels.length != landings.length) {
+            throw new IllegalArgumentException("Levels and landings must describe the same floors, from floor 1.");
+        }
+        for (int floor = 2; floor < levels.length; floor++) {
+            if (!(levels[floor] > levels[floor - 1])) {
+                throw new IllegalArgumentException("Floor " + floor + " must be higher than the floor below it.");
+            }
+        }
+        if (!(maxSpeed > 0) || !(maxAcceleration > 0) || !(maxJerk > 0)
+                || Double.isInfinite(maxSpeed + maxAcceleration + maxJerk)) {
+            throw new IllegalArgumentException("Speed, acceleration and jerk limits must be positive numbers.");
+        }
+        this.levels = levels.clone();
+        this.landings = landings.clone();
+        this.maxSpeed = maxSpeed;
+        this.maxAcceleration = maxAcceleration;
+        this.maxJerk = maxJerk;
+        this.stride = levels.length;
+        this.travel = new int[stride * stride];
+        this.commit = new int[stride * stride];
+
+        for (int from = 1; from < stride; from++) {
+            for (int to = 1; to < stride; to++) {
+                double distance = Math.abs(levels[to] - levels[from]);
+                double seconds = runSeconds(distance);
+                travel[from * stride + to] = toMillis(seconds);
+                commit[from * stride + to] = toMillis(seconds - accelSeconds(peakSpeed(distance)));
+            }
+        }
+    }
+
+    // Public Methods
+
+    /**
+     * Returns a copy of this model in which a range of floors has no landings.
+     *
+     * @param lowest  The lowest floor of the express zone.
+     * @param highest The highest floor of the express zone.
+     * @return The new model.
+     * @throws IllegalArgumentException If the range is empty or outside the building.
+     */
+    public KinematicMotion withExpressZone(int lowest, int highest) {
+        if (lowest < 1 || highest > getTopFloor() || lowest > highest) {
+            throw new IllegalArgumentException("An express zone must span floors between 1 and " + getTopFloor() + ".");
+        }
+        boolean[] zoned = landings.clone();
+        Arrays.fill(zoned, lowest, highest + 1, false);
+        return new KinematicMotion(levels, zoned, maxSpeed, maxAcceleration, maxJerk);
+    }
+
+    @Override
+    public long travelMillis(int from, int to) {
+        return travel[from * stride + to];
+    }
+
+    @Override
+    public long passMillis(int from, int to, int floor) {
+        double distance = Math.abs(levels[to] - levels[from]);
+        double target = Math.abs(levels[floor] - levels[from]);
+        double low = 0;
+        double high = runSeconds(distance);
+        for (int i = 0; i < PASS_ITERATIONS; i++) {
+            double middle = (low + high) / 2;
+            if (position(middle, distance) < target) {
+                low = middle;
+            } else {
+                high = middle;
+            }
+        }
+        return Math.min(toMillis(high), travelMillis(from, to));
+    }
+
+    /**
+     * Returns the latest time into a run at which the car can still commit to a stop:
+     * the moment a run ending at that stop would start to brake. The car is taken to
+     * have followed the shorter run's profile until then, which differs from its actual
+     * profile only in how early it eased off the acceleration.
+     *
+     * @param from The floor the run starts at.
+     * @param stop The floor the car would stop at.
+     * @return The time since the start of the run, in milliseconds.
+     */
+    @Override
+    public long commitMillis(int from, int stop) {
+        return commit[from * stride + stop];
+    }
+
+    @Override
+    public boolean hasLanding(int floor) {
+        return floor >= 1 && floor < stride && landings[floor];
+    }
+
+    @Override
+    public int getTopFloor() {
+        return stride - 1;
+    }
+
+    /**
+     * Returns a string representation of this model.
+     *
+     * @return A string representation of this model.
+     */
+    @Override
+    public String toString() {
+        int express = 0;
+        for (int floor = 1; floor < stride; floor++) {
+            express += landings[floor] ? 0 : 1;
+        }
+        return "KinematicMotion [Floors: " + getTopFloor() + ", Rise: " + levels[stride - 1] + " m, Speed: "
+                + maxSpeed + " m/s, Acceleration: " + maxAcceleration + " m/s2, Jerk: " + maxJerk
+                + " m/s3, Express floors: " + express + "]";
+    }
+
+    // Getters
+
+    /**
+     * Returns the height of a floor above floor 1.
+     *
+     * @param floor The floor.
+     * @return The height in metres.
+     */
+    public double getLevel(int floor) {
+        return levels[floor];
+    }
+
+    /**
+     * Returns the speed limit.
+     *
+     * @return The maximum speed in metres per second.
+     */
+    public double getMaxSpeed() {
+        return maxSpeed;
+    }
+
+    /**
+     * Returns the acceleration limit.
+     *
+     * @return The maximum acceleration in metres per second squared.
+     */
+    public double getMaxAcceleration() {
+        return maxAcceleration;
+    }
+
+    /**
+     * Returns the jerk limit.
+     *
+     * @return The maximum jerk in metres per second cubed.
+     */
+    public double getMaxJerk() {
+        return maxJerk;
+    }
+
+    // Private Methods
+
+    /**
+     * Returns the duration of a run from rest to rest.
+     *
+     * @param distance The length of the run in metres.
+     * @return The duration in seconds.
+     */
+    private double runSeconds(double distance) {
+        double peak = peakSpeed(distance);
+        if (peak == 0) {
+            return 0;
+        }
+        return 2 * accelSeconds(peak) + (distance - 2 * accelDistance(peak)) / peak;
+    }
+
+    /**
+     * Returns the highest speed reached on a run: the speed limit, or for a short run the
+     * speed at which accelerating and braking meet halfway.
+     */
+    private double peakSpeed(double distance) {
+        if (distance <= 0) {
+            return 0;
+        }
+        if (distance >= 2 * accelDistance(maxSpeed)) {
+            return maxSpeed;
+        }
+        double knee = maxAcceleration * maxAcceleration / maxJerk; // Lowest peak that reaches full acceleration
+        if (distance >= 2 * accelDistance(knee)) {
+            // distance = v * (v / a + a / j)
+            return (-knee + Math.sqrt(knee * knee + 4 * maxAcceleration * distance)) / 2;
+        }
+        return Math.cbrt(distance * distance * maxJerk / 4); // distance = 2 v * sqrt(v / j)
+    }
+
+    /**
+     * Returns the time to accelerate from rest to a speed under the jerk and acceleration limits.
+     */
+    private double accelSeconds(double speed) {
+        double knee = maxAcceleration * maxAcceleration / maxJerk;
+        return speed >= knee ? speed / maxAcceleration + maxAcceleration / maxJerk : 2 * Math.sqrt(speed / maxJerk);
+    }
+
+    /**
+     * Returns the distance covered while accelerating from rest to a speed. The profile is
+     * symmetric, so the mean speed is half the final speed.
+     */
+    private double accelDistance(double speed) {
+        return speed * accelSeconds(speed) / 2;
+    }
+
+    /**
+     * Returns how far the car has travelled a given time into a run.
+     */
+    private double position(double seconds, double distance) {
+        double peak = peakSpeed(distance);
+        double accel = accelSeconds(peak);
+        double total = runSeconds(distance);
+        if (seconds <= accel) {
+            return accelPosition(seconds, peak);
+        } else if (seconds <= total - accel) {
+            return accelDistance(peak) + peak * (seconds - accel);
+        }
+        return distance - accelPosition(total - seconds, peak); // Braking mirrors accelerating
+    }
+
+    /**
+     * Returns how far the car has travelled a given time after setting off from rest
+     * towards a peak speed: jerk up, constant acceleration, jerk down.
+     */
+    private double accelPosition(double seconds, double peak) {
+        double jerkTime;
+        double constantTime;
+        double acceleration;
+        if (peak >= maxAcceleration * maxAcceleration / maxJerk) {
+            acceleration = maxAcceleration;
+            jerkTime = maxAcceleration / maxJerk;
+            constantTime = peak / maxAcceleration - jerkTime;
+        } else {
+            acceleration = Math.sqrt(peak * maxJerk);
+            jerkTime = acceleration / maxJerk;
+            constantTime = 0;
+        }
+
+        if (seconds <= jerkTime) {
+            return maxJerk * seconds * seconds * seconds / 6;
+        }
+        double speed1 = maxJerk * jerkTime * jerkTime / 2;
+        double position1 = speed1 * jerkTime / 3;
+        if (seconds <= jerkTime + constantTime) {
+            double t = seconds - jerkTime;
+            return position1 + speed1 * t + acceleration * t * t / 2;
+        }
+        double speed2 = speed1 + acceleration * constantTime;
+        double position2 = position1 + speed1 * constantTime + acceleration * constantTime * constantTime / 2;
+        double t = Math.min(seconds - jerkTime - constantTime, jerkTime);
+        return position2 + speed2 * t + acceleration * t * t / 2 - maxJerk * t * t * t / 6;
+    }
+
+    /**
+     * Rounds a duration to whole milliseconds.
+     */
+    private static int toMillis(double seconds) {
+        return (int) Math.round(seconds * 1000);
+    }
+
+    /**
+     * Returns the heights of evenly spaced floors.
+     */
+    private static double[] evenLevels(int topFloor, double floorHeight) {
+        if (topFloor < 1) {
+            throw new IllegalArgumentException("The top floor must be at least 1.");
+        }
+        if (!(floorHeight > 0) || Double.isInfinite(floorHeight)) {
+            throw new IllegalArgumentException("The floor height must be a positive number.");
+        }
+        double[] levels = new double[topFloor + 1];
+        for (int floor = 1; floor <= topFloor; floor++) {
+            levels[floor] = (floor - 1) * floorHeight;
+        }
+        return levels;
+    }
+
+    /**
+     * Returns a landing flag for every floor.
+     */
+    private static boolean[] allLandings(int topFloor) {
+        boolean[] landings = new boolean[Math.max(topFloor + 1, 0)];
+        Arrays.fill(landings, true);
+        return landings;
+    }
+}
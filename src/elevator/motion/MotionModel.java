@@ -0,0 +1,63 @@
+package elevator.motion;
+
+/**
+ * The {@code MotionModel} interface describes how long a car takes to travel between
+ * floors.
+ * <p>
+ * A car moves in runs: it sets off from rest at one floor and comes to rest at another.
+ * A model gives the duration of a run, when the car passes each floor on the way, and
+ * how long into a run the car can still decide to stop at a floor short of its target.
+ * Dispatchers and planners estimate arrival times with {@link #travelMillis(int, int)},
+ * so implementations should answer it in constant time.
+ * </p>
+ * <p>
+ * Models are immutable and may be shared by any number of cars on any threads.
+ * </p>
+ */
+public interface MotionModel {
+
+    /**
+     * Returns the duration of a run from rest at one floor to rest at another.
+     *
+     * @param from The floor the run starts at.
+     * @param to   The floor the run ends at.
+     * @return The travel time in milliseconds; zero if the floors are the same.
+     */
+    long travelMillis(int from, int to);
+
+    /**
+     * Returns when a car passes a floor between the ends of a run.
+     *
+     * @param from  The floor the run starts at.
+     * @param to    The floor the run ends at.
+     * @param floor A floor strictly between {@code from} and {@code to}.
+     * @return The time since the start of the run, in milliseconds.
+     */
+    long passMillis(int from, int to, int floor);
+
+    /**
+     * Returns the latest time into a run at which the car can still choose to stop at a
+     * floor, because it has not yet needed to start braking for it.
+     *
+     * @param from The floor the run starts at.
+     * @param stop The floor the car would stop at.
+     * @return The time since the start of the run, in milliseconds.
+     */
+    long commitMillis(int from, int stop);
+
+    /**
+     * Indicates whether the car can stop at a floor. Floors in an express zone have no
+     * landing; the car passes them without stopping.
+     *
+     * @param floor The floor.
+     * @return {@code true} if the floor has a landing.
+     */
+    boolean hasLanding(int floor);
+
+    /**
+     * Returns the highest floor this model describes.
+     *
+     * @return The top floor, or {@link Integer#MAX_VALUE} if the model fits any building.
+     */
+    int getTopFloor();
+}
@@ -0,0 +1,275 @@
+package elevator.net;
+
+import elevator.Direction;
+import elevator.journal.JournalEvent;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * The {@code CallClient} class is a blocking client of a {@link CallServer}.
+ * <p>
+ * Calls are buffered and sent in batches when the buffer fills, on {@link #flush()}, or
+ * on {@link #sync()}. The client is not thread-safe; use one client per thread. Its
+ * {@link #main(String[])} method is a load generator.
+ * </p>
+ */
+public class CallClient implements Closeable {
+    private static final int BUFFER_BYTES = 64 << 10;
+
+    private final SocketChannel channel;
+    private final ByteBuffer out = ByteBuffer.allocate(BUFFER_BYTES);
+    private final ByteBuffer in = ByteBuffer.allocate(BUFFER_BYTES);
+    private Consumer<JournalEvent> eventHandler; // Receives state updates read while syncing
+    private int sequence;
+
+    // Constructor
+
+    /**
+     * Connects to a call server on the loopback interface.
+     *
+     * @param port The server's port.
+     * @throws IOException If the connection cannot be made.
+     */
+    public CallClient(int port) throws IOException {
+        this.channel = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        this.channel.socket().setTcpNoDelay(true);
+        this.eventHandler = event -> { };
+        in.flip(); // Starts empty, in read mode
+    }
+
+    // Public Methods
+
+    /**
+     * Queues a hall call.
+     *
+     * @param floor     The floor of the call.
+     * @param direction The requested direction.
+     * @throws IOException If the batch cannot be sent.
+     */
+    public void hallCall(int floor, Direction direction) throws IOException {
+        put(direction.isUp() ? CallProtocol.HALL_UP : CallProtocol.HALL_DOWN, 0, floor);
+    }
+
+    /**
+     * Queues an inside button press.
+     *
+     * @param car   The number of the car, from 0.
+     * @param floor The requested floor.
+     * @throws IOException If the batch cannot be sent.
+     */
+    public void carCall(int car, int floor) throws IOException {
+        put(CallProtocol.CAR_CALL, car, floor);
+    }
+
+    /**
+     * Queues the withdrawal of a hall call.
+     *
+     * @param floor     The floor of the call.
+     * @param direction The direction of the call.
+     * @throws IOException If the batch cannot be sent.
+     */
+    public void cancelHallCall(int floor, Direction direction) throws IOException {
+        put(direction.isUp() ? CallProtocol.CANCEL_HALL_UP : CallProtocol.CANCEL_HALL_DOWN, 0, floor);
+    }
+
+    /**
+     * Queues the withdrawal of an inside button press.
+     *
+     * @param car   The number of the car, from 0.
+     * @param floor The floor of the stop.
+     * @throws IOException If the batch cannot be sent.
+     */
+    public void cancelCarCall(int car, int floor) throws IOException {
+        put(CallProtocol.CANCEL_CAR_CALL, car, floor);
+    }
+
+    /**
+     * Asks the server to stream state updates, which are passed to the event handler
+     * while {@link #sync()} or {@link #nextEvent()} reads.
+     *
+     * @throws IOException If the request cannot be sent.
+     */
+    public void subscribe() throws IOException {
+        put(CallProtocol.SUBSCRIBE, 0, 0);
+        flush();
+    }
+
+    /**
+     * Asks the server to stop streaming state updates.
+     *
+     * @throws IOException If the request cannot be sent.
+     */
+    public void unsubscribe() throws IOException {
+        put(CallProtocol.UNSUBSCRIBE, 0, 0);
+        flush();
+    }
+
+    /**
+     * Sends every queued call.
+     *
+     * @throws IOException If the calls cannot be sent.
+     */
+    public void flush() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    /**
+     * Sends every queued call and waits until the server has handed them to the cars'
+     * intakes. The cars may not have applied them yet.
+     *
+     * @return The number of calls the server has accepted on this connection.
+     * @throws IOException If the connection fails.
+     */
+    public long sync() throws IOException {
+        int expected = ++sequence;
+        put(CallProtocol.SYNC, 0, expected);
+        flush();
+        while (true) {
+            fill();
+            int at = in.position();
+            if (in.get(at + 10) == CallProtocol.ACK_CODE && (in.getShort(at + 8) & 0xFFFF) == CallProtocol.ACK_CAR) {
+                in.position(at + 12);
+                int value = in.getInt();
+                long accepted = in.getLong();
+                if (value == expected) {
+                    return accepted;
+                }
+            } else {
+                JournalEvent event = JournalEvent.decode(in);
+                if (event != null) {
+                    eventHandler.accept(event);
+                }
+            }
+        }
+    }
+
+    /**
+     * Blocks until the next state update arrives. Acknowledgements are skipped.
+     *
+     * @return The next state update.
+     * @throws IOException If the connection fails.
+     */
+    public JournalEvent nextEvent() throws IOException {
+        while (true) {
+            fill();
+            JournalEvent event = JournalEvent.decode(in);
+            if (event != null) {
+                return event;
+            }
+        }
+    }
+
+    /**
+     * Closes the connection. Queued calls that were not flushed are discarded.
+     *
+     * @throws IOException If the connection cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Generates load from the command line and prints the call rate achieved.
+     * <p>
+     * Options: {@code --port P}, {@code --floors N} and {@code --cars N} (matching the
+     * server), {@code --calls N}, and {@code --batch N} calls per sync.
+     * </p>
+     *
+     * @param args Command-line options.
+     * @throws IOException If the connection fails.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = CallServer.DEFAULT_PORT;
+        int floors = 20;
+        int cars = 4;
+        int calls = 1_000_000;
+        int batch = 1000;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--port" -> port = Integer.parseInt(value);
+                case "--floors" -> floors = Integer.parseInt(value);
+                case "--cars" -> cars = Integer.parseInt(value);
+                case "--calls" -> calls = Integer.parseInt(value);
+                case "--batch" -> batch = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        Random random = new Random(1);
+        long start = System.nanoTime();
+        long accepted;
+        try (CallClient client = new CallClient(port)) {
+            for (int i = 1; i <= calls; i++) {
+                int floor = 1 + random.nextInt(floors);
+                if (random.nextBoolean()) {
+                    client.carCall(random.nextInt(cars), floor);
+                } else {
+                    client.hallCall(floor, Direction.of(floor == 1 || (floor != floors && random.nextBoolean())));
+                }
+                if (i % batch == 0) {
+                    client.sync();
+                }
+            }
+            accepted = client.sync();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Sent %d calls (%d accepted) in %.2f s: %.0f calls/s%n",
+                calls, accepted, seconds, calls / seconds);
+    }
+
+    // Setter
+
+    /**
+     * Sets the handler that receives state updates read while waiting for a sync.
+     *
+     * @param eventHandler The handler.
+     */
+    public void setEventHandler(Consumer<JournalEvent> eventHandler) {
+        this.eventHandler = eventHandler;
+    }
+
+    // Private Methods
+
+    /**
+     * Queues one call record, sending the batch first if the buffer is full.
+     */
+    private void put(byte op, int car, int floor) throws IOException {
+        if (out.remaining() < CallProtocol.CALL_SIZE) {
+            flush();
+        }
+        out.put(op);
+        out.put((byte) 0); // Reserved
+        out.putShort((short) car);
+        out.putInt(floor);
+    }
+
+    /**
+     * Reads until at least one whole server record is buffered.
+     */
+    private void fill() throws IOException {
+        if (in.remaining() >= JournalEvent.SIZE) {
+            return;
+        }
+        in.compact();
+        while (in.position() < JournalEvent.SIZE) {
+            if (channel.read(in) < 0) {
+                throw new EOFException("The call server closed the connection.");
+            }
+        }
+        in.flip();
+    }
+}
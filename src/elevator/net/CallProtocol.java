@@ -0,0 +1,32 @@
+package elevator.net;
+
+/**
+ * The {@code CallProtocol} class holds the wire format shared by the call server and
+ * client.
+ * <p>
+ * Clients send fixed {@value #CALL_SIZE}-byte records: an operation code, a reserved
+ * byte, a car number, and a floor, big-endian. The server sends fixed
+ * {@link elevator.journal.JournalEvent#SIZE}-byte records in the journal event format;
+ * a record whose type code is {@value #ACK_CODE} acknowledges a {@link #SYNC}, with the
+ * sync's sequence number as its value and the connection's accepted calls as its extra.
+ * </p>
+ */
+final class CallProtocol {
+    static final int CALL_SIZE = 8;
+
+    static final byte CAR_CALL = 0; // Inside button: car and floor
+    static final byte HALL_UP = 1; // Up hall call: floor
+    static final byte HALL_DOWN = 2; // Down hall call: floor
+    static final byte SUBSCRIBE = 3; // Start streaming state updates
+    static final byte UNSUBSCRIBE = 4; // Stop streaming state updates
+    static final byte SYNC = 5; // Acknowledge once every earlier record is in the cars' intakes; the floor field is a sequence number
+    static final byte CANCEL_CAR_CALL = 6; // Withdraw an inside button press: car and floor
+    static final byte CANCEL_HALL_UP = 7; // Withdraw an up hall call: floor
+    static final byte CANCEL_HALL_DOWN = 8; // Withdraw a down hall call: floor
+
+    static final byte ACK_CODE = 0; // Event type code of a sync acknowledgement
+    static final int ACK_CAR = 0xFFFF; // Car number of a sync acknowledgement
+
+    private CallProtocol() {
+    }
+}
@@ -0,0 +1,465 @@
+package elevator.net;
+
+import elevator.Direction;
+import elevator.Elevator;
+import elevator.group.EtaDispatcher;
+import elevator.group.GroupController;
+import elevator.journal.EventRecorder;
+import elevator.journal.JournalEvent;
+import elevator.sim.RealTimeClock;
+import elevator.sim.SimulationClock;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code CallServer} class accepts hall and car calls for a bank of elevators over
+ * TCP on the loopback interface, and streams the cars' state transitions back.
+ * <p>
+ * The protocol is binary and has no framing beyond fixed-size records, so a client
+ * batches calls simply by writing many records at once. Each call record is 8 bytes,
+ * big-endian: an operation code (0 car call, 1 up hall call, 2 down hall call,
+ * 3 subscribe, 4 unsubscribe, 5 sync, 6 cancel car call, 7 cancel up hall call, 8 cancel
+ * down hall call), a reserved byte, a car number (car calls only), and a floor (the
+ * sequence number, for a sync). Hall calls are assigned by the bank's dispatcher through
+ * the {@link GroupController}, and a cancelled hall call is withdrawn from every car;
+ * invalid calls, and calls a car's full intake rejects, are counted and dropped without
+ * a reply. A subscribed connection receives every transition as a 24-byte
+ * {@link JournalEvent} record. A sync is answered, once every earlier record of the
+ * connection has been handed to the cars' intakes, by a record with type code 0, the
+ * sequence number as its value, and the calls accepted on the connection so far as its
+ * extra value. A car applies the calls on its next drain, which may follow the answer.
+ * </p>
+ * <p>
+ * One selector thread serves every connection, and calls are handed to the cars'
+ * lock-free intakes, so ingestion never waits on a car, unless the cars' intakes are
+ * set to {@link elevator.OverflowPolicy#BLOCK}: the server thread then waits for room
+ * and stops reading, and TCP flow control slows the clients down. State updates are copied into
+ * a bounded buffer per subscriber; a subscriber that falls more than
+ * {@value #OUTPUT_BYTES} bytes behind is disconnected rather than allowed to hold the
+ * cars back.
+ * </p>
+ */
+public class CallServer extends EventRecorder implements Closeable {
+    /** The default port of the command-line server. */
+    public static final int DEFAULT_PORT = 7070;
+
+    private static final int INPUT_BYTES = 64 << 10; // Read buffer per connection
+    private static final int OUTPUT_BYTES = 1 << 20; // Pending state updates per subscriber
+
+    private final GroupController group;
+    private final Elevator firstCar; // Every car of the bank serves the same floors
+    private final ServerSocketChannel server;
+    private final Selector selector;
+    private final List<Connection> subscribers; // Copy-on-write, read on every state update
+    private final Queue<Connection> flushes; // Connections with output for the selector to write
+    private final AtomicLong accepted;
+    private final AtomicLong rejected;
+    private final Thread thread;
+    private volatile boolean running;
+
+    // Constructor
+
+    /**
+     * Opens a server for a bank of cars on the loopback interface. The server listens to
+     * the cars from now on, but accepts connections only once {@link #start()} is called.
+     *
+     * @param group The bank that receives the calls.
+     * @param port  The port to listen on, or 0 for any free port.
+     * @throws IOException If the port cannot be bound.
+     */
+    public CallServer(GroupController group, int port) throws IOException {
+        this.group = group;
+        this.firstCar = group.getCars().get(0);
+        this.subscribers = new CopyOnWriteArrayList<>();
+        this.flushes = new ConcurrentLinkedQueue<>();
+        this.accepted = new AtomicLong();
+        this.rejected = new AtomicLong();
+
+        this.selector = Selector.open();
+        this.server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        this.thread = new Thread(this::serve, "call-server");
+        this.thread.setDaemon(true);
+
+        List<Elevator> cars = group.getCars();
+        for (Elevator car : cars) {
+            carNumber(car); // Every car is numbered before any listens, so car threads only read the numbers
+        }
+        for (Elevator car : cars) {
+            car.addListener(this);
+        }
+    }
+
+    // Public Methods
+
+    /**
+     * Starts accepting connections on the selector thread.
+     *
+     * @throws IllegalStateException If the server has already been started.
+     */
+    public synchronized void start() {
+        if (running || thread.isAlive()) {
+            throw new IllegalStateException("The call server has already been started.");
+        }
+        running = true;
+        thread.start();
+    }
+
+    /**
+     * Stops the server: the selector thread exits, every connection is closed, and the
+     * server stops listening to the cars. The cars themselves keep running.
+     *
+     * @throws IOException If the listening socket cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        if (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        for (Elevator car : group.getCars()) {
+            car.removeListener(this);
+        }
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+        server.close();
+    }
+
+    /**
+     * Serves a bank of cars in real time from the command line until the process is killed.
+     * <p>
+     * Options: {@code --port P} (default {@value #DEFAULT_PORT}), {@code --floors N}, and
+     * {@code --cars N}. Hall calls are dispatched by ETA.
+     * </p>
+     *
+     * @param args Command-line options.
+     * @throws IOException If the port cannot be bound.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        int floors = 20;
+        int cars = 4;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--port" -> port = Integer.parseInt(value);
+                case "--floors" -> floors = Integer.parseInt(value);
+                case "--cars" -> cars = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        SimulationClock clock = new RealTimeClock();
+        List<Elevator> bank = new ArrayList<>(cars);
+        for (int i = 0; i < cars; i++) {
+            bank.add(new Elevator(floors, clock));
+        }
+        GroupController group = new GroupController(bank, new EtaDispatcher());
+        CallServer server = new CallServer(group, port);
+        group.start();
+        server.start();
+        System.out.println("Serving " + cars + " cars on " + server.getAddress());
+
+        try {
+            server.thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Getters
+
+    /**
+     * Returns the address the server listens on.
+     *
+     * @return The loopback address and bound port.
+     * @throws IOException If the listening socket has been closed.
+     */
+    public InetSocketAddress getAddress() throws IOException {
+        return (InetSocketAddress) server.getLocalAddress();
+    }
+
+    /**
+     * Returns the number of calls handed to the bank.
+     *
+     * @return The accepted call count.
+     */
+    public long getAccepted() {
+        return accepted.get();
+    }
+
+    /**
+     * Returns the number of calls dropped as invalid.
+     *
+     * @return The rejected call count.
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    // Protected Methods
+
+    /**
+     * Copies a state transition to every subscriber. Runs on the thread of the car's clock.
+     */
+    @Override
+    protected void record(Elevator elevator, JournalEvent.Type type, int value, long extra) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        long time = elevator.getClock().now();
+        int car = carNumber(elevator);
+        for (Connection subscriber : subscribers) {
+            subscriber.send(time, car, type, value, extra);
+        }
+    }
+
+    // Private Methods
+
+    /**
+     * Runs the selector loop. Executed by the server thread.
+     */
+    private void serve() {
+        while (running) {
+            try {
+                selector.select();
+            } catch (IOException e) {
+                return;
+            }
+
+            Connection pending;
+            while ((pending = flushes.poll()) != null) {
+                if (pending.key.isValid()) {
+                    pending.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                }
+            }
+
+            for (SelectionKey key : selector.selectedKeys()) {
+                try {
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    Connection connection = (Connection) key.attachment();
+                    if (key.isReadable()) {
+                        connection.read();
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        connection.write();
+                    }
+                } catch (IOException e) {
+                    if (key.attachment() instanceof Connection connection) {
+                        connection.close();
+                    }
+                }
+            }
+            selector.selectedKeys().clear();
+        }
+    }
+
+    /**
+     * Accepts a pending connection.
+     */
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        Connection connection = new Connection(channel);
+        connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+    }
+
+    /**
+     * Counts a call as accepted or rejected. Runs on the server thread.
+     */
+    private void count(Connection connection, boolean applied) {
+        if (applied) {
+            connection.accepted++;
+            accepted.incrementAndGet();
+        } else {
+            rejected.incrementAndGet();
+        }
+    }
+
+    /**
+     * Applies one call record. Runs on the server thread.
+     *
+     * @return {@code false} if the operation code is unknown.
+     */
+    private boolean apply(Connection connection, byte op, int car, int floor) {
+        switch (op) {
+            case CallProtocol.CAR_CALL, CallProtocol.CANCEL_CAR_CALL -> {
+                boolean valid = car < group.getCars().size() && isLanding(floor);
+                count(connection, valid && (op == CallProtocol.CAR_CALL
+                        ? group.addInsideRequest(car, floor) : group.cancelInsideRequest(car, floor)));
+            }
+            case CallProtocol.HALL_UP, CallProtocol.HALL_DOWN,
+                    CallProtocol.CANCEL_HALL_UP, CallProtocol.CANCEL_HALL_DOWN -> {
+                boolean up = op == CallProtocol.HALL_UP || op == CallProtocol.CANCEL_HALL_UP;
+                // Checked here so floors the bank cannot stop at are turned away before reaching a car;
+                // the group rejects calls out of its terminals in the wrong direction
+                boolean valid = isLanding(floor);
+                boolean press = op == CallProtocol.HALL_UP || op == CallProtocol.HALL_DOWN;
+                count(connection, valid && (press
+                        ? group.addRequest(floor, Direction.of(up)) >= 0 : group.cancelRequest(floor, Direction.of(up))));
+            }
+            case CallProtocol.SUBSCRIBE -> {
+                if (!subscribers.contains(connection)) {
+                    subscribers.add(connection);
+                }
+            }
+            case CallProtocol.UNSUBSCRIBE -> subscribers.remove(connection);
+            case CallProtocol.SYNC -> connection.acknowledge(floor);
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Indicates whether the bank's cars can stop at a floor: one they serve, outside any
+     * express zone. Runs on the server thread.
+     */
+    private boolean isLanding(int floor) {
+        return firstCar.serves(floor) && firstCar.getConfig().getMotion().hasLanding(floor);
+    }
+
+    /**
+     * One client connection.
+     */
+    private final class Connection {
+        private final SocketChannel channel;
+        private final ByteBuffer in = ByteBuffer.allocate(INPUT_BYTES);
+        private final ByteBuffer out = ByteBuffer.allocate(OUTPUT_BYTES); // Guarded by this
+        private SelectionKey key;
+        private long accepted; // Calls accepted on this connection, server thread only
+        private boolean flushQueued; // Guarded by this
+        private boolean overflowed; // Guarded by this
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Reads and applies every complete call record available.
+         */
+        void read() throws IOException {
+            if (channel.read(in) < 0) {
+                close();
+                return;
+            }
+            in.flip();
+            while (in.remaining() >= CallProtocol.CALL_SIZE) {
+                byte op = in.get();
+                in.get(); // Reserved
+                int car = in.getShort() & 0xFFFF;
+                int floor = in.getInt();
+                if (!apply(this, op, car, floor)) {
+                    close(); // Not speaking the protocol; the stream cannot be resynchronized
+                    return;
+                }
+            }
+            in.compact();
+        }
+
+        /**
+         * Writes as much pending output as the socket accepts.
+         */
+        synchronized void write() throws IOException {
+            if (overflowed) {
+                close();
+                return;
+            }
+            out.flip();
+            channel.write(out);
+            out.compact();
+            if (out.position() == 0) {
+                flushQueued = false;
+                key.interestOps(SelectionKey.OP_READ);
+            }
+        }
+
+        /**
+         * Queues one state update for this subscriber.
+         */
+        synchronized void send(long time, int car, JournalEvent.Type type, int value, long extra) {
+            if (out.remaining() < JournalEvent.SIZE) {
+                overflowed = true;
+            } else if (!overflowed) {
+                JournalEvent.encode(out, time, car, type, value, extra);
+            }
+            requestFlush();
+        }
+
+        /**
+         * Queues the acknowledgement of a sync.
+         */
+        synchronized void acknowledge(int sequence) {
+            if (out.remaining() < JournalEvent.SIZE) {
+                overflowed = true;
+            } else {
+                out.putLong(group.getCars().get(0).getClock().now());
+                out.putShort((short) CallProtocol.ACK_CAR);
+                out.put(CallProtocol.ACK_CODE);
+                out.put((byte) 0); // Reserved
+                out.putInt(sequence);
+                out.putLong(accepted);
+            }
+            requestFlush();
+        }
+
+        /**
+         * Closes the connection. Runs on the server thread.
+         */
+        void close() {
+            subscribers.remove(this);
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Already unusable; nothing more to release
+            }
+        }
+
+        /**
+         * Asks the selector thread to write this connection's output. Caller holds the lock.
+         */
+        private void requestFlush() {
+            if (!flushQueued) {
+                flushQueued = true;
+                flushes.add(this);
+                selector.wakeup();
+            }
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package elevator.park;
+
+import elevator.Elevator;
+import elevator.ElevatorListener;
+import elevator.Request;
+
+import java.util.Arrays;
+
+/**
+ * The {@code DemandModel} class learns where hall calls come from at each time of day.
+ * <p>
+ * The day is divided into slots, fifteen minutes by default, and the model keeps one
+ * counter per floor and slot. Registered as a listener on the cars of a bank, it counts
+ * every hall call they answer in the slot and at the floor the call was made. Counters
+ * decay exponentially with a configurable half-life of simulated time, a week by
+ * default, so the model follows traffic that changes over the weeks, while a slot's
+ * counters still carry what was seen in that slot on earlier days. A decayed count is
+ * proportional to the floor's recent call rate in the slot.
+ * </p>
+ * <p>
+ * Memory is bounded by the number of floors and slots, however many calls are seen.
+ * Decay is applied lazily: each slot remembers when its counters were last brought up to
+ * date, so recording a call touches one slot.
+ * </p>
+ * <p>
+ * The forecast for a moment comes from its slot, or, until that slot has seen enough
+ * calls, from the closest earlier slot that has. On the first day the model therefore
+ * follows the traffic of the last few minutes, and from then on it anticipates each slot.
+ * The model is safe for use by cars on different threads.
+ * </p>
+ */
+public class DemandModel implements ElevatorListener {
+    public static final long DAY_MILLIS = 86_400_000;
+    public static final long DEFAULT_SLOT_MILLIS = 15 * 60_000; // Length of a time slot
+    public static final long DEFAULT_HALF_LIFE_MILLIS = 7 * DAY_MILLIS; // Age at which a call counts half
+    private static final double MIN_EVIDENCE = 3; // Decayed calls a slot needs before it is trusted
+
+    private final int topFloor;
+    private final long slotMillis;
+    private final long halfLifeMillis;
+    private final int slots; // Slots per day
+    private final double decayRate; // Decay per millisecond: ln 2 / half-life
+    private final double[] counts; // Decayed calls per slot and floor, indexed slot * (topFloor + 1) + floor
+    private final double[] totals; // Decayed calls per slot
+    private final long[] updatedAt; // Time each slot's counters were last decayed to
+    private long recorded; // Calls recorded in all
+
+    // Constructors
+
+    /**
+     * Constructs a {@code DemandModel} with the default slot length and half-life.
+     *
+     * @param topFloor The highest floor of the building.
+     */
+    public DemandModel(int topFloor) {
+        this(topFloor, DEFAULT_SLOT_MILLIS, DEFAULT_HALF_LIFE_MILLIS);
+    }
+
+    /**
+     * Constructs a {@code DemandModel}.
+     *
+     * @param topFloor       The highest floor of the building.
+     * @param slotMillis     The length of a time slot, at most a day.
+     * @param halfLifeMillis The age at which a call counts half as much as a new one.
+     * @throws IllegalArgumentException If the top floor, slot length or half-life is not
+     *                                  positive, or a slot is longer than a day.
+     */
+    public DemandModel(int topFloor, long slotMillis, long halfLifeMillis) {
+        if (topFloor < 1) {
+            throw new IllegalArgumentException("The top floor must be at least 1.");
+        }
+        if (slotMillis < 1 || slotMillis > DAY_MILLIS) {
+            throw new IllegalArgumentException("A time slot must last between 1 ms and a day.");
+        }
+        if (halfLifeMillis < 1) {
+            throw new IllegalArgumentException("The half-life must be positive.");
+        }
+        this.topFloor = topFloor;
+        this.slotMillis = slotMillis;
+        this.halfLifeMillis = halfLifeMillis;
+        this.slots = (int) ((DAY_MILLIS + slotMillis - 1) / slotMillis);
+        this.decayRate = Math.log(2) / halfLifeMillis;
+        this.counts = new double[slots * (topFloor + 1)];
+        this.totals = new double[slots];
+        this.updatedAt = new long[slots];
+    }
+
+    // Public Methods
+
+    /**
+     * Records a hall call.
+     *
+     * @param floor The floor the call was made from.
+     * @param time  The simulation time at which the call was made.
+     * @throws IllegalArgumentException If the floor is outside the building.
+     */
+    public synchronized void record(int floor, long time) {
+        if (floor < 1 || floor > topFloor) {
+            throw new IllegalArgumentException("Floor " + floor + " is outside the building.");
+        }
+        int slot = slotOf(time);
+        double weight = 1;
+        if (time >= updatedAt[slot]) {
+            decay(slot, time);
+        } else {
+            weight = Math.exp(-decayRate * (updatedAt[slot] - time)); // Answered after a later call was recorded
+        }
+        counts[slot * (topFloor + 1) + floor] += weight;
+        totals[slot] += weight;
+        recorded++;
+    }
+
+    /**
+     * Forecasts where the next hall call will come from.
+     *
+     * @param now The simulation time to forecast for.
+     * @return A new array indexed by floor with each floor's share of the expected calls,
+     *         summing to one, or all zero if the model has not seen enough calls yet.
+     */
+    public synchronized double[] forecast(long now) {
+        double[] shares = new double[topFloor + 1];
+        int slot = slotOf(now);
+        for (int back = 0; back < slots; back++) {
+            int s = Math.floorMod(slot - back, slots);
+            if (totals[s] * Math.exp(-decayRate * Math.max(0, now - updatedAt[s])) >= MIN_EVIDENCE) {
+                for (int floor = 1; floor <= topFloor; floor++) {
+                    shares[floor] = counts[s * (topFloor + 1) + floor] / totals[s]; // Decay cancels out
+                }
+                return shares;
+            }
+        }
+        return shares;
+    }
+
+    /**
+     * Forgets every recorded call.
+     */
+    public synchronized void clear() {
+        Arrays.fill(counts, 0);
+        Arrays.fill(totals, 0);
+        Arrays.fill(updatedAt, 0);
+        recorded = 0;
+    }
+
+    /**
+     * Returns a string representation of this model.
+     *
+     * @return A string representation of this model.
+     */
+    @Override
+    public String toString() {
+        return "DemandModel [Floors: " + topFloor + ", Slot: " + slotMillis / 60_000.0 + " min, Half-life: "
+                + halfLifeMillis / (double) DAY_MILLIS + " days, Recorded: " + getRecorded() + "]";
+    }
+
+    // Event Handlers
+
+    @Override
+    public void onRequestServed(Elevator elevator, Request request, long requestedAt) {
+        if (!request.isInside()) {
+            record(request.getFloor(), requestedAt);
+        }
+    }
+
+    // Getters
+
+    /**
+     * Returns the highest floor the model covers.
+     *
+     * @return The top floor.
+     */
+    public int getTopFloor() {
+        return topFloor;
+    }
+
+    /**
+     * Returns the length of a time slot.
+     *
+     * @return The slot length in milliseconds.
+     */
+    public long getSlotMillis() {
+        return slotMillis;
+    }
+
+    /**
+     * Returns the age at which a recorded call counts half as much as a new one.
+     *
+     * @return The half-life in simulation milliseconds.
+     */
+    public long getHalfLifeMillis() {
+        return halfLifeMillis;
+    }
+
+    /**
+     * Returns the number of calls recorded, without decay.
+     *
+     * @return The number of recorded calls.
+     */
+    public synchronized long getRecorded() {
+        return recorded;
+    }
+
+    // Private Methods
+
+    /**
+     * Returns the slot of the day a moment falls in.
+     *
+     * @param time The simulation time.
+     * @return The slot index.
+     */
+    private int slotOf(long time) {
+        return (int) (Math.floorMod(time, DAY_MILLIS) / slotMillis);
+    }
+
+    /**
+     * Brings the counters of a slot up to date by decaying them to the given time.
+     *
+     * @param slot The slot.
+     * @param time The time to decay to, not before the slot was last updated.
+     */
+    private void decay(int slot, long time) {
+        if (time == updatedAt[slot]) {
+            return;
+        }
+        double factor = Math.exp(-decayRate * (time - updatedAt[slot]));
+        int base = slot * (topFloor + 1);
+        for (int floor = 1; floor <= topFloor; floor++) {
+            counts[base + floor] *= factor;
+        }
+        totals[slot] *= factor;
+        updatedAt[slot] = time;
+    }
+}
@@ -0,0 +1,121 @@
+package elevator.park;
+
+import elevator.Elevator;
+import elevator.motion.MotionModel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The {@code DemandParking} class parks idle cars where the next hall calls are expected,
+ * as forecast by a {@link DemandModel}.
+ * <p>
+ * An idle car parks at the floor that minimizes the expected travel time to the next
+ * call: the forecast share of each floor times the travel time to it, given by the car's
+ * {@link MotionModel}. Cars of a bank that are already parked, or on their way to park,
+ * cover the floors they are nearer to, so a second idle car goes where the first does not
+ * reach quickly rather than next to it. With a single car, or all traffic at one floor,
+ * this is the floor the next call is most likely to come from.
+ * </p>
+ * <p>
+ * Until the model has seen enough calls, cars park at their home floor. The policy may be
+ * shared by the cars of one bank, but the model must also be registered as a listener on
+ * them to learn.
+ * </p>
+ */
+public class DemandParking implements ParkingPolicy {
+    private final DemandModel demand;
+    private final List<Elevator> bank; // Cars whose parking floors are taken into account
+
+    // Constructors
+
+    /**
+     * Constructs a {@code DemandParking} policy for a single car.
+     *
+     * @param demand The model forecasting where calls come from.
+     */
+    public DemandParking(DemandModel demand) {
+        this(demand, List.of());
+    }
+
+    /**
+     * Constructs a {@code DemandParking} policy for the cars of a bank.
+     *
+     * @param demand The model forecasting where calls come from.
+     * @param bank   The cars that share the policy.
+     */
+    public DemandParking(DemandModel demand, List<Elevator> bank) {
+        this.demand = demand;
+        this.bank = Collections.unmodifiableList(new ArrayList<>(bank));
+    }
+
+    // Public Methods
+
+    /**
+     * Chooses the floor with the least expected travel time to the next call not covered
+     * by another parked car. Ties go to the floor nearest the car.
+     *
+     * @param car The car that has run out of requests.
+     * @param now The current simulation time.
+     * @return The parking floor.
+     */
+    @Override
+    public int parkingFloor(Elevator car, long now) {
+        double[] shares = demand.forecast(now);
+        int topFloor = Math.min(car.getTopFloor(), shares.length - 1);
+        int[] origins = new int[topFloor];
+        int count = 0;
+        for (int floor = 1; floor <= topFloor; floor++) {
+            if (shares[floor] > 0) {
+                origins[count++] = floor;
+            }
+        }
+        if (count == 0) {
+            return car.getConfig().getHomeFloor(); // Nothing learned yet
+        }
+
+        // Travel time to each origin from the nearest other parked car
+        MotionModel motion = car.getConfig().getMotion();
+        long[] covered = new long[count];
+        Arrays.fill(covered, Long.MAX_VALUE);
+        for (Elevator other : bank) {
+            int parked = other.getParkingFloor();
+            if (other != car && parked > 0) {
+                for (int i = 0; i < count; i++) {
+                    covered[i] = Math.min(covered[i], motion.travelMillis(parked, origins[i]));
+                }
+            }
+        }
+
+        int from = car.getCurrentFloor();
+        int best = -1;
+        double bestCost = Double.MAX_VALUE;
+        for (int floor = 1; floor <= car.getTopFloor(); floor++) {
+            if (!car.serves(floor)) {
+                continue;
+            }
+            double cost = 0;
+            for (int i = 0; i < count; i++) {
+                cost += shares[origins[i]] * Math.min(motion.travelMillis(floor, origins[i]), covered[i]);
+            }
+            if (cost < bestCost || cost == bestCost && Math.abs(floor - from) < Math.abs(best - from)) {
+                best = floor;
+                bestCost = cost;
+            }
+        }
+        return best;
+    }
+
+    // Getters
+
+    /**
+     * Returns the model this policy forecasts with.
+     *
+     * @return The demand model.
+     */
+    public DemandModel getDemand() {
+        return demand;
+    }
+}
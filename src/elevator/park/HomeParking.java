@@ -0,0 +1,22 @@
+package elevator.park;
+
+import elevator.Elevator;
+
+/**
+ * The {@code HomeParking} class parks every idle car at the home floor of its
+ * configuration, normally the lobby. This is the default policy of an elevator.
+ */
+public class HomeParking implements ParkingPolicy {
+
+    /**
+     * Returns the car's home floor.
+     *
+     * @param car The car that has run out of requests.
+     * @param now The current simulation time.
+     * @return The home floor.
+     */
+    @Override
+    public int parkingFloor(Elevator car, long now) {
+        return car.getConfig().getHomeFloor();
+    }
+}
@@ -0,0 +1,26 @@
+package elevator.park;
+
+import elevator.Elevator;
+
+/**
+ * The {@code ParkingPolicy} interface decides where a car waits when it has no requests
+ * to serve.
+ * <p>
+ * A car consults its policy when it runs out of requests, travels to the chosen floor
+ * without opening its doors, and stays parked there until it is called. A well-placed
+ * idle car answers the next call sooner, so a policy should choose a floor close to where
+ * that call is likely to come from. Policies are called on the car's clock thread and may
+ * be shared by the cars of a bank.
+ * </p>
+ */
+public interface ParkingPolicy {
+
+    /**
+     * Chooses the floor an idle car parks at.
+     *
+     * @param car The car that has run out of requests.
+     * @param now The current simulation time.
+     * @return A floor with a landing; any other floor is replaced with the car's home floor.
+     */
+    int parkingFloor(Elevator car, long now);
+}
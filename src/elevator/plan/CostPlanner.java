@@ -0,0 +1,289 @@
+package elevator.plan;
+
+import elevator.ElevatorConfig;
+import elevator.RequestIndex;
+import elevator.motion.MotionModel;
+
+/**
+ * The {@code CostPlanner} class plans stops by searching for the route through every
+ * pending request that minimizes a cost, and heads for the first stop of that route.
+ * <p>
+ * The cost of a route is the time it takes, counting the travel time of every run from
+ * the car's {@link MotionModel} and a full door cycle at every stop, plus the weighted
+ * time until each request is reached. A request's weight starts at one and grows by one
+ * for every minute it has already waited, so an old call is not deferred indefinitely by
+ * newer calls close to the car. Serving any request at a floor is taken to serve them
+ * all.
+ * </p>
+ * <p>
+ * The search is a depth-first branch and bound that tries the nearest floors first and
+ * prunes any partial route whose lower bound cannot beat the best complete route. The
+ * first incumbent is a plain sweep: every pending floor ahead of the car, then every
+ * floor behind it. The chosen route therefore never costs more than that sweep. It is
+ * not compared with the route LOOK actually takes, which passes hall calls against its
+ * direction and comes back for them. The search is limited by a budget of nodes rather
+ * than of wall time, so that runs in virtual time stay reproducible; when the budget
+ * runs out the best route found so far is used. The route is planned again at every
+ * decision, so only its first stop is kept.
+ * </p>
+ */
+public class CostPlanner implements StopPlanner {
+    public static final double DEFAULT_WAIT_WEIGHT = 1.0; // Weight of waiting time relative to travel time
+    public static final int DEFAULT_NODE_BUDGET = 5_000; // Partial routes examined per decision
+    private static final double AGING_MILLIS = 60_000; // Waiting time that adds one to a request's weight
+
+    private final MotionModel motion;
+    private final long stopMillis; // Door cycle at each stop
+    private final double waitWeight;
+    private final int nodeBudget;
+
+    // Constructors
+
+    /**
+     * Constructs a {@code CostPlanner} with the default weight and budget.
+     *
+     * @param config The timings of the car being planned for.
+     */
+    public CostPlanner(ElevatorConfig config) {
+        this(config, DEFAULT_WAIT_WEIGHT, DEFAULT_NODE_BUDGET);
+    }
+
+    /**
+     * Constructs a {@code CostPlanner}.
+     *
+     * @param config     The timings of the car being planned for.
+     * @param waitWeight The weight of waiting time relative to travel time.
+     * @param nodeBudget The number of partial routes the search may examine per decision.
+     * @throws IllegalArgumentException If the weight is negative or the budget is not positive.
+     */
+    public CostPlanner(ElevatorConfig config, double waitWeight, int nodeBudget) {
+        if (!(waitWeight >= 0) || Double.isInfinite(waitWeight)) {
+            throw new IllegalArgumentException("The wait weight must be a non-negative number.");
+        }
+        if (nodeBudget < 1) {
+            throw new IllegalArgumentException("The node budget must be at least 1.");
+        }
+        this.motion = config.getMotion();
+        this.stopMillis = config.getDoorCycleMillis();
+        this.waitWeight = waitWeight;
+        this.nodeBudget = nodeBudget;
+    }
+
+    // Public Methods
+
+    /**
+     * Returns the first stop of the cheapest route found.
+     *
+     * @param requests The car's pending requests.
+     * @param floor    The floor the car is at.
+     * @param up       {@code true} if the car is travelling, or last travelled, upwards.
+     * @param now      The current simulation time.
+     * @return The next floor to stop at, or {@code -1} if none is pending.
+     */
+    @Override
+    public int nextStop(RequestIndex requests, int floor, boolean up, long now) {
+        if (requests.isEmpty()) {
+            return -1;
+        }
+        Search search = new Search(requests, now);
+        if (search.count == 1) {
+            return search.floors[0];
+        }
+        search.seedWithSweep(floor, up);
+        search.explore(floor, 0, 0, 0, -1);
+        return search.bestFirst;
+    }
+
+    /**
+     * Returns a string representation of this planner.
+     *
+     * @return A string representation of this planner.
+     */
+    @Override
+    public String toString() {
+        return "CostPlanner [Wait weight: " + waitWeight + ", Node budget: " + nodeBudget + "]";
+    }
+
+    // Getters
+
+    /**
+     * Returns the weight of waiting time relative to travel time.
+     *
+     * @return The wait weight.
+     */
+    public double getWaitWeight() {
+        return waitWeight;
+    }
+
+    /**
+     * Returns the number of partial routes the search may examine per decision.
+     *
+     * @return The node budget.
+     */
+    public int getNodeBudget() {
+        return nodeBudget;
+    }
+
+    /**
+     * The state of one route search. Created per decision, so the planner itself stays
+     * stateless and may be shared by cars on different threads.
+     */
+    private final class Search {
+        private final int count; // Floors with a pending request
+        private final int[] floors; // Ascending
+        private final double[] weights; // Aged weight of the requests at each floor
+        private final boolean[] visited;
+        private int nodes;
+        private double best = Double.POSITIVE_INFINITY;
+        private int bestFirst = -1;
+
+        Search(RequestIndex requests, long now) {
+            int n = 0;
+            for (int f = requests.nextRequestFloor(1); f >= 0; f = requests.nextRequestFloor(f + 1)) {
+                n++;
+            }
+            this.count = n;
+            this.floors = new int[n];
+            this.weights = new double[n];
+            this.visited = new boolean[n];
+
+            int i = 0;
+            for (int f = requests.nextRequestFloor(1); f >= 0; f = requests.nextRequestFloor(f + 1)) {
+                double weight = 0;
+                if (requests.hasInside(f)) {
+                    weight += 1 + (now - requests.insideSince(f)) / AGING_MILLIS;
+                }
+                if (requests.hasHallCall(f, true)) {
+                    weight += 1 + (now - requests.hallCallSince(f, true)) / AGING_MILLIS;
+                }
+                if (requests.hasHallCall(f, false)) {
+                    weight += 1 + (now - requests.hallCallSince(f, false)) / AGING_MILLIS;
+                }
+                floors[i] = f;
+                weights[i++] = weight;
+            }
+        }
+
+        /**
+         * Makes a plain sweep the incumbent: every floor ahead in the direction of
+         * travel, then every floor behind, whatever the directions of their hall calls.
+         */
+        void seedWithSweep(int floor, boolean up) {
+            int split = firstAtOrAbove(floor);
+            int[] order = new int[count];
+            int n = 0;
+            if (up) {
+                for (int i = split; i < count; i++) {
+                    order[n++] = i;
+                }
+                for (int i = split - 1; i >= 0; i--) {
+                    order[n++] = i;
+                }
+            } else {
+                int ahead = split < count && floors[split] == floor ? split : split - 1;
+                for (int i = ahead; i >= 0; i--) {
+                    order[n++] = i;
+                }
+                for (int i = ahead + 1; i < count; i++) {
+                    order[n++] = i;
+                }
+            }
+
+            long time = 0;
+            double cost = 0;
+            int position = floor;
+            for (int i : order) {
+                long arrival = time + motion.travelMillis(position, floors[i]);
+                cost += waitWeight * weights[i] * arrival;
+                time = arrival + stopMillis;
+                position = floors[i];
+            }
+            best = cost + time;
+            bestFirst = floors[order[0]];
+        }
+
+        /**
+         * Extends a partial route by every unvisited floor, nearest first.
+         *
+         * @param position The floor the partial route ends at.
+         * @param time     The time the partial route takes.
+         * @param cost     The weighted waiting cost of the partial route.
+         * @param served   The number of floors on the partial route.
+         * @param first    The first floor of the partial route, or {@code -1} at the root.
+         */
+        void explore(int position, long time, double cost, int served, int first) {
+            if (served == count) {
+                if (cost + time < best) {
+                    best = cost + time;
+                    bestFirst = first;
+                }
+                return;
+            }
+            if (nodes++ >= nodeBudget || lowerBound(position, time, cost, served) >= best) {
+                return;
+            }
+
+            int above = firstAtOrAbove(position);
+            int below = above - 1;
+            while (true) {
+                while (below >= 0 && visited[below]) {
+                    below--;
+                }
+                while (above < count && visited[above]) {
+                    above++;
+                }
+                int next;
+                if (below < 0 && above >= count) {
+                    return;
+                } else if (below < 0) {
+                    next = above++;
+                } else if (above >= count) {
+                    next = below--;
+                } else if (floors[above] - position <= position - floors[below]) {
+                    next = above++;
+                } else {
+                    next = below--;
+                }
+
+                long arrival = time + motion.travelMillis(position, floors[next]);
+                visited[next] = true;
+                explore(floors[next], arrival + stopMillis, cost + waitWeight * weights[next] * arrival,
+                        served + 1, first < 0 ? floors[next] : first);
+                visited[next] = false;
+            }
+        }
+
+        /**
+         * Bounds the cost of any completion of a partial route from below: the remaining
+         * floors are reached no sooner than by going straight to each, and the route
+         * must still reach both ends of their span and stop at each. No route between two
+         * floors is faster than the direct run, so the bound holds for any motion model.
+         */
+        private double lowerBound(int position, long time, double cost, int served) {
+            int lowest = Integer.MAX_VALUE;
+            int highest = Integer.MIN_VALUE;
+            double waiting = 0;
+            for (int i = 0; i < count; i++) {
+                if (!visited[i]) {
+                    lowest = Math.min(lowest, floors[i]);
+                    highest = Math.max(highest, floors[i]);
+                    waiting += weights[i] * (time + motion.travelMillis(position, floors[i]));
+                }
+            }
+            long span = motion.travelMillis(lowest, highest)
+                    + Math.min(motion.travelMillis(position, lowest), motion.travelMillis(position, highest));
+            return cost + waitWeight * waiting + time + span + (long) (count - served) * stopMillis;
+        }
+
+        /**
+         * Returns the index of the first floor at or above the given floor, or {@code count}.
+         */
+        private int firstAtOrAbove(int floor) {
+            int i = 0;
+            while (i < count && floors[i] < floor) {
+                i++;
+            }
+            return i;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package elevator.plan;
+
+import elevator.RequestIndex;
+
+/**
+ * The {@code LookPlanner} class plans stops with the LOOK discipline: the car keeps
+ * sweeping in one direction while requests lie ahead, then reverses.
+ * <p>
+ * This is the default planner of every car. It decides in constant time from the
+ * request index and ignores how long requests have waited.
+ * </p>
+ */
+public class LookPlanner implements StopPlanner {
+
+    // Public Method
+
+    /**
+     * Returns the next stop of the current sweep.
+     *
+     * @param requests The car's pending requests.
+     * @param floor    The floor the car is at.
+     * @param up       {@code true} if the car is sweeping up.
+     * @param now      Unused.
+     * @return The next floor to stop at, or {@code -1} if none is pending.
+     */
+    @Override
+    public int nextStop(RequestIndex requests, int floor, boolean up, long now) {
+        return requests.nextStop(floor, up);
+    }
+}
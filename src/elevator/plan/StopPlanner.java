@@ -0,0 +1,27 @@
+package elevator.plan;
+
+import elevator.RequestIndex;
+
+/**
+ * The {@code StopPlanner} interface decides where a car goes next from its pending
+ * requests.
+ * <p>
+ * A planner is consulted at every decision point: when the car becomes idle, after
+ * each stop, and when new requests wake it. It only chooses the next stop; the car
+ * still stops on the way for inside stops and hall calls in its direction of travel.
+ * Planners must be stateless or confine their state to the car they are used by.
+ * </p>
+ */
+public interface StopPlanner {
+
+    /**
+     * Chooses the next floor to stop at.
+     *
+     * @param requests The car's pending requests.
+     * @param floor    The floor the car is at.
+     * @param up       {@code true} if the car is travelling, or last travelled, upwards.
+     * @param now      The current simulation time, for weighing how long requests have waited.
+     * @return A floor with a pending request, or {@code -1} if none is pending.
+     */
+    int nextStop(RequestIndex requests, int floor, boolean up, long now);
+}
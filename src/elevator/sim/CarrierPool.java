@@ -0,0 +1,278 @@
+package elevator.sim;
+
+import java.io.Closeable;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code CarrierPool} class runs the scheduled actions of many wall-clock
+ * {@link SimulationClock}s on a small, fixed pool of carrier threads.
+ * <p>
+ * Each clock made by {@link #newClock()} is a lane: its actions run one at a time and
+ * in due order, exactly as on a {@link RealTimeClock}'s dispatcher thread, but lanes
+ * share one timer thread and the carriers instead of starting a thread each. Giving
+ * every car its own lane lets a fleet of thousands of cars run with a thread count set
+ * by the hardware rather than by the fleet; an idle car costs only its heap objects.
+ * </p>
+ * <p>
+ * Shutdown is cooperative. {@link #shutdown()} stops the timer: timeouts not yet due are
+ * discarded and actions scheduled afterwards never run. Actions already handed to a
+ * carrier run to completion, after which the carriers exit; {@link #awaitTermination}
+ * waits for that. Stop the cars first so that none is left part-way through a cycle.
+ * </p>
+ */
+public class CarrierPool implements Closeable {
+    private final long origin; // Wall-clock origin in nanoseconds, shared by every lane
+    private final EventScheduler scheduler; // Timeouts of every lane, guarded by itself
+    private final ExecutorService carriers;
+    private final Thread timer;
+    private boolean shutdown; // Guarded by scheduler
+
+    // Constructor
+
+    /**
+     * Constructs a {@code CarrierPool} and starts its threads.
+     *
+     * @param carriers The number of carrier threads.
+     * @throws IllegalArgumentException If {@code carriers} is not positive.
+     */
+    public CarrierPool(int carriers) {
+        if (carriers < 1) {
+            throw new IllegalArgumentException("A carrier pool needs at least one carrier thread.");
+        }
+        this.origin = System.nanoTime();
+        this.scheduler = new EventScheduler();
+        this.carriers = Executors.newFixedThreadPool(carriers, daemonThreads());
+        this.timer = new Thread(this::dispatch, "carrier-timer");
+        this.timer.setDaemon(true);
+        this.timer.start();
+    }
+
+    // Public Methods
+
+    /**
+     * Creates a new lane: a clock whose actions run serially on this pool's carriers.
+     * Give each car its own lane; cars sharing a lane also share its ordering.
+     *
+     * @return The new clock, reading the same time as every other lane of this pool.
+     */
+    public SimulationClock newClock() {
+        return new Lane();
+    }
+
+    /**
+     * Returns the wall-clock time elapsed since this pool was created.
+     *
+     * @return The elapsed time in milliseconds.
+     */
+    public long now() {
+        return (System.nanoTime() - origin) / 1_000_000L;
+    }
+
+    /**
+     * Starts an orderly shutdown. Pending timeouts are discarded, actions scheduled from
+     * now on never run, and actions already handed to a carrier finish. Returns at once.
+     */
+    public void shutdown() {
+        synchronized (scheduler) {
+            shutdown = true;
+            scheduler.notifyAll();
+        }
+    }
+
+    /**
+     * Waits for the carriers to finish after {@link #shutdown()}.
+     *
+     * @param timeout The maximum time to wait.
+     * @param unit    The unit of {@code timeout}.
+     * @return {@code true} if every carrier has exited, {@code false} if the wait timed out.
+     * @throws InterruptedException If the calling thread is interrupted while waiting.
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long start = System.nanoTime();
+        long nanos = unit.toNanos(timeout);
+        TimeUnit.NANOSECONDS.timedJoin(timer, nanos);
+        if (timer.isAlive()) {
+            return false;
+        }
+        return carriers.awaitTermination(nanos - (System.nanoTime() - start), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Shuts the pool down and waits for the carriers to finish.
+     */
+    @Override
+    public void close() {
+        shutdown();
+        try {
+            awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Indicates whether {@link #shutdown()} has been called.
+     *
+     * @return {@code true} if the pool is shutting down or has terminated.
+     */
+    public boolean isShutdown() {
+        synchronized (scheduler) {
+            return shutdown;
+        }
+    }
+
+    // Private Methods
+
+    /**
+     * Hands timeouts to their lanes as they become due. Executed by the timer thread,
+     * which alone submits work to the carriers, so the carriers are shut down only once
+     * no further submission can happen.
+     */
+    private void dispatch() {
+        try {
+            while (true) {
+                ScheduledEvent due;
+                synchronized (scheduler) {
+                    ScheduledEvent head = scheduler.peek();
+                    while (!shutdown && (head == null || head.getTime() > now())) {
+                        if (head == null) {
+                            scheduler.wait();
+                        } else {
+                            scheduler.wait(Math.max(1, head.getTime() - now()));
+                        }
+                        head = scheduler.peek();
+                    }
+                    if (shutdown) {
+                        return;
+                    }
+                    due = scheduler.poll();
+                }
+                due.run(); // Queues the action on its lane
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            carriers.shutdown();
+        }
+    }
+
+    /**
+     * Creates the factory for the daemon carrier threads.
+     */
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger count = new AtomicInteger();
+        return body -> {
+            Thread thread = new Thread(body, "carrier-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * A clock whose due actions are run serially by whichever carrier is free.
+     */
+    private final class Lane implements SimulationClock, Runnable {
+        private final Queue<Handoff> ready = new ConcurrentLinkedQueue<>(); // Due, in due order
+        private final AtomicBoolean queued = new AtomicBoolean(); // Whether a carrier holds this lane
+
+        @Override
+        public long now() {
+            return CarrierPool.this.now();
+        }
+
+        @Override
+        public void sleep(long millis) throws InterruptedException {
+            Thread.sleep(millis);
+        }
+
+        @Override
+        public ScheduledEvent schedule(long delayMillis, Runnable action) {
+            Handoff handoff = new Handoff(this, action);
+            synchronized (scheduler) {
+                if (shutdown) {
+                    ScheduledEvent discarded = new ScheduledEvent(now() + delayMillis, -1, handoff);
+                    discarded.cancel(); // Never runs; the timer has stopped
+                    return discarded;
+                }
+                handoff.event = scheduler.schedule(now() + delayMillis, handoff);
+                if (scheduler.peek() == handoff.event) {
+                    scheduler.notifyAll(); // Due before the event the timer is waiting for
+                }
+                return handoff.event;
+            }
+        }
+
+        @Override
+        public Thread startProcess(String name, Runnable body) {
+            Thread thread = new Thread(body, name);
+            thread.start();
+            return thread;
+        }
+
+        /**
+         * Queues a due action and, unless a carrier already holds this lane, hands the
+         * lane to one. Called only by the timer thread.
+         */
+        void enqueue(Handoff handoff) {
+            ready.add(handoff);
+            if (queued.compareAndSet(false, true)) {
+                carriers.execute(this);
+            }
+        }
+
+        /**
+         * Runs the lane's due actions until none remain. Executed by a carrier. A lane
+         * never resubmits itself, so only the timer thread submits to the carriers.
+         */
+        @Override
+        public void run() {
+            do {
+                Handoff handoff;
+                while ((handoff = ready.poll()) != null) {
+                    if (!handoff.event.isCancelled()) { // Cancelled after it fell due
+                        fire(handoff.action);
+                    }
+                }
+                queued.set(false);
+            } while (!ready.isEmpty() && queued.compareAndSet(false, true));
+        }
+
+        /**
+         * Runs one action, reporting a failure instead of letting it stall the lane.
+         */
+        private void fire(Runnable action) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                Thread carrier = Thread.currentThread();
+                carrier.getUncaughtExceptionHandler().uncaughtException(carrier, e);
+            }
+        }
+    }
+
+    /**
+     * The agenda entry of a lane's action, which moves the action onto its lane when due.
+     */
+    private static final class Handoff implements Runnable {
+        private final Lane lane;
+        private final Runnable action;
+        private ScheduledEvent event; // Set under the scheduler lock before the timer can see it
+
+        Handoff(Lane lane, Runnable action) {
+            this.lane = lane;
+            this.action = action;
+        }
+
+        @Override
+        public void run() {
+            lane.enqueue(this);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package elevator.sim;
+
+import java.util.PriorityQueue;
+
+/**
+ * The {@code EventScheduler} class is a priority-queue based agenda of
+ * {@link ScheduledEvent}s ordered by due time.
+ * <p>
+ * The scheduler itself is not thread-safe; the clock implementations that own it
+ * are responsible for guarding access. Cancelled events are skipped lazily when they
+ * reach the head of the queue.
+ * </p>
+ */
+public class EventScheduler {
+    private final PriorityQueue<ScheduledEvent> agenda = new PriorityQueue<>();
+    private long nextSequence;
+
+    // Public Methods
+
+    /**
+     * Schedules an action to run at the given simulation time.
+     *
+     * @param time   The simulation time, in milliseconds, at which the action is due.
+     * @param action The action to run.
+     * @return The scheduled event, which may be used to cancel the action.
+     */
+    public ScheduledEvent schedule(long time, Runnable action) {
+        ScheduledEvent event = new ScheduledEvent(time, nextSequence++, action);
+        agenda.add(event);
+        return event;
+    }
+
+    /**
+     * Returns the next live event without removing it.
+     *
+     * @return The earliest non-cancelled event, or {@code null} if none are pending.
+     */
+    public ScheduledEvent peek() {
+        discardCancelled();
+        return agenda.peek();
+    }
+
+    /**
+     * Removes and returns the next live event.
+     *
+     * @return The earliest non-cancelled event, or {@code null} if none are pending.
+     */
+    public ScheduledEvent poll() {
+        discardCancelled();
+        return agenda.poll();
+    }
+
+    /**
+     * Indicates whether any live events are pending.
+     *
+     * @return {@code true} if no non-cancelled events remain, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return peek() == null;
+    }
+
+    /**
+     * Returns the number of events in the agenda, including cancelled events that
+     * have not yet been discarded.
+     *
+     * @return The number of queued events.
+     */
+    public int size() {
+        return agenda.size();
+    }
+
+    // Private Method
+
+    /**
+     * Drops cancelled events sitting at the head of the agenda.
+     */
+    private void discardCancelled() {
+        while (!agenda.isEmpty() && agenda.peek().isCancelled()) {
+            agenda.poll();
+        }
+    }
+}
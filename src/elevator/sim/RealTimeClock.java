@@ -0,0 +1,123 @@
+package elevator.sim;
+
+/**
+ * The {@code RealTimeClock} class is a {@link SimulationClock} that follows the wall clock.
+ * <p>
+ * Sleeping delegates to {@link Thread#sleep(long)} and scheduled actions are run by a
+ * daemon dispatcher thread once they become due. This is the clock used by the
+ * interactive application.
+ * </p>
+ */
+public class RealTimeClock implements SimulationClock {
+    private final long origin; // Wall-clock origin in nanoseconds
+    private final EventScheduler scheduler;
+    private Thread dispatcher; // Started lazily on the first scheduled action
+
+    // Constructor
+
+    /**
+     * Constructs a {@code RealTimeClock} whose time starts at zero now.
+     */
+    public RealTimeClock() {
+        this.origin = System.nanoTime();
+        this.scheduler = new EventScheduler();
+    }
+
+    // Public Methods
+
+    /**
+     * Returns the wall-clock time elapsed since this clock was created.
+     *
+     * @return The elapsed time in milliseconds.
+     */
+    @Override
+    public long now() {
+        return (System.nanoTime() - origin) / 1_000_000L;
+    }
+
+    /**
+     * Sleeps the calling thread for the given number of milliseconds.
+     *
+     * @param millis The number of milliseconds to wait.
+     * @throws InterruptedException If the calling thread is interrupted.
+     */
+    @Override
+    public void sleep(long millis) throws InterruptedException {
+        Thread.sleep(millis);
+    }
+
+    /**
+     * Schedules an action to run on the dispatcher thread after the given delay.
+     *
+     * @param delayMillis The delay in milliseconds.
+     * @param action      The action to run.
+     * @return The scheduled event.
+     */
+    @Override
+    public ScheduledEvent schedule(long delayMillis, Runnable action) {
+        synchronized (scheduler) {
+            ScheduledEvent event = scheduler.schedule(now() + delayMillis, action);
+            if (dispatcher == null) {
+                dispatcher = new Thread(this::dispatch, "clock-dispatcher");
+                dispatcher.setDaemon(true);
+                dispatcher.start();
+            }
+            scheduler.notifyAll(); // The new event may be due before the current head
+            return event;
+        }
+    }
+
+    /**
+     * Starts the process body on a new platform thread.
+     *
+     * @param name The name of the thread.
+     * @param body The body of the process.
+     * @return The started thread.
+     */
+    @Override
+    public Thread startProcess(String name, Runnable body) {
+        Thread thread = new Thread(body, name);
+        thread.start();
+        return thread;
+    }
+
+    // Private Methods
+
+    /**
+     * Runs scheduled actions as they become due. Executed by the dispatcher thread.
+     */
+    private void dispatch() {
+        while (true) {
+            ScheduledEvent due;
+            synchronized (scheduler) {
+                try {
+                    ScheduledEvent head = scheduler.peek();
+                    while (head == null || head.getTime() > now()) {
+                        if (head == null) {
+                            scheduler.wait();
+                        } else {
+                            scheduler.wait(Math.max(1, head.getTime() - now()));
+                        }
+                        head = scheduler.peek();
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                due = scheduler.poll();
+            }
+            fire(due); // Run outside the lock so actions may schedule further events
+        }
+    }
+
+    /**
+     * Runs one action, reporting a failure instead of letting it end the dispatcher.
+     */
+    private static void fire(ScheduledEvent due) {
+        try {
+            due.run();
+        } catch (RuntimeException e) {
+            Thread dispatcher = Thread.currentThread();
+            dispatcher.getUncaughtExceptionHandler().uncaughtException(dispatcher, e);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package elevator.sim;
+
+/**
+ * The {@code ScheduledEvent} class represents a single action registered with an
+ * {@link EventScheduler} to run at a given simulation time.
+ * <p>
+ * Events are ordered by their due time and, for events due at the same instant, by
+ * the order in which they were scheduled. This keeps the execution order fully
+ * deterministic regardless of which clock implementation drives the scheduler.
+ * </p>
+ */
+public final class ScheduledEvent implements Comparable<ScheduledEvent> {
+    private final long time; // Due time in simulation milliseconds
+    private final long sequence; // Tie-breaker preserving scheduling order
+    private final Runnable action;
+    private volatile boolean cancelled;
+
+    // Constructor
+
+    /**
+     * Constructs a new {@code ScheduledEvent}.
+     *
+     * @param time     The simulation time, in milliseconds, at which the event is due.
+     * @param sequence The scheduling sequence number used to break ties.
+     * @param action   The action to run when the event fires.
+     */
+    ScheduledEvent(long time, long sequence, Runnable action) {
+        this.time = time;
+        this.sequence = sequence;
+        this.action = action;
+    }
+
+    // Public Methods
+
+    /**
+     * Cancels this event. A cancelled event is discarded by the scheduler instead of run.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Orders events by due time, then by scheduling sequence.
+     *
+     * @param other The event to compare against.
+     * @return A negative value, zero, or a positive value as this event is due before,
+     *         at the same time as, or after the other event.
+     */
+    @Override
+    public int compareTo(ScheduledEvent other) {
+        int byTime = Long.compare(time, other.time);
+        return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+    }
+
+    // Getters
+
+    /**
+     * Returns the simulation time at which this event is due.
+     *
+     * @return The due time in milliseconds.
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Indicates whether this event has been cancelled.
+     *
+     * @return {@code true} if the event was cancelled, {@code false} otherwise.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    // Package-Private Methods
+
+    /**
+     * Runs the action associated with this event.
+     */
+    void run() {
+        action.run();
+    }
+}
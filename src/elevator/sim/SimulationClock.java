@@ -0,0 +1,52 @@
+package elevator.sim;
+
+/**
+ * The {@code SimulationClock} interface abstracts the passage of time for the
+ * elevator system.
+ * <p>
+ * Elevator logic never calls {@code Thread.sleep} directly; it asks its clock to
+ * sleep instead. A {@link RealTimeClock} maps simulation time onto the wall clock,
+ * preserving the interactive behavior of the application, while a {@link VirtualClock}
+ * advances a discrete-event agenda as fast as the logic can run, so a full day of
+ * traffic can be replayed in seconds.
+ * </p>
+ */
+public interface SimulationClock {
+
+    /**
+     * Returns the current simulation time.
+     *
+     * @return The number of milliseconds elapsed since the clock was created.
+     */
+    long now();
+
+    /**
+     * Blocks the calling process for the given amount of simulation time.
+     *
+     * @param millis The number of simulation milliseconds to wait.
+     * @throws InterruptedException If the calling thread is interrupted or the clock is shut down.
+     */
+    void sleep(long millis) throws InterruptedException;
+
+    /**
+     * Schedules an action to run once the given amount of simulation time has elapsed.
+     * <p>
+     * Actions must not block; they run on the clock's dispatching thread.
+     * </p>
+     *
+     * @param delayMillis The delay, in simulation milliseconds, before the action runs.
+     * @param action      The action to run.
+     * @return The scheduled event, which may be used to cancel the action.
+     */
+    ScheduledEvent schedule(long delayMillis, Runnable action);
+
+    /**
+     * Starts a new simulated process on its own thread. Processes started this way
+     * may call {@link #sleep(long)} and take part in the clock's notion of time.
+     *
+     * @param name The name of the process thread.
+     * @param body The body of the process.
+     * @return The started thread.
+     */
+    Thread startProcess(String name, Runnable body);
+}
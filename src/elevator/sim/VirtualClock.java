@@ -0,0 +1,198 @@
+package elevator.sim;
+
+/**
+ * The {@code VirtualClock} class is a discrete-event {@link SimulationClock} that runs
+ * in virtual time.
+ * <p>
+ * Time only advances when every participating process is asleep: the clock then jumps
+ * straight to the earliest event on its agenda, runs it, and repeats. Exactly one
+ * process runs at any moment, and ties are broken by scheduling order, so a simulation
+ * driven by this clock is sequential and repeatable while still allowing the elevator
+ * logic to be written as ordinary blocking code.
+ * </p>
+ * <p>
+ * The thread that creates the clock is its owner. Time is held still while the owner
+ * runs; the owner lets the simulation advance by calling {@link #runUntil(long)} and
+ * ends it with {@link #shutdown()}.
+ * </p>
+ */
+public class VirtualClock implements SimulationClock {
+    private final EventScheduler scheduler;
+    private long now; // Current virtual time in milliseconds
+    private int runnable; // Number of participating processes that are not asleep
+    private boolean stopped;
+
+    // Constructor
+
+    /**
+     * Constructs a {@code VirtualClock} starting at time zero, owned by the calling thread.
+     */
+    public VirtualClock() {
+        this(0);
+    }
+
+    /**
+     * Constructs a {@code VirtualClock} starting at the given time, owned by the calling
+     * thread. Used to resume a simulation from a checkpoint.
+     *
+     * @param startMillis The initial virtual time in milliseconds.
+     */
+    public VirtualClock(long startMillis) {
+        this.scheduler = new EventScheduler();
+        this.now = startMillis;
+        this.runnable = 1; // The owner counts as running until it yields in runUntil
+        this.stopped = false;
+    }
+
+    // Public Methods
+
+    /**
+     * Returns the current virtual time.
+     *
+     * @return The virtual time in milliseconds.
+     */
+    @Override
+    public synchronized long now() {
+        return now;
+    }
+
+    /**
+     * Suspends the calling process until the given amount of virtual time has passed.
+     *
+     * @param millis The number of virtual milliseconds to wait.
+     * @throws InterruptedException If the calling thread is interrupted or the clock is shut down.
+     */
+    @Override
+    public synchronized void sleep(long millis) throws InterruptedException {
+        if (stopped) {
+            throw new InterruptedException("Virtual clock has been shut down.");
+        }
+
+        Wakeup wakeup = new Wakeup();
+        ScheduledEvent event = scheduler.schedule(now + Math.max(0, millis), wakeup);
+        runnable--;
+        advance();
+
+        try {
+            while (!wakeup.fired && !stopped) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            // Leave the agenda consistent before reporting the interruption
+            event.cancel();
+            if (!wakeup.fired) {
+                runnable++;
+            }
+            throw e;
+        }
+
+        if (!wakeup.fired) {
+            throw new InterruptedException("Virtual clock has been shut down.");
+        }
+    }
+
+    /**
+     * Schedules an action to run after the given amount of virtual time.
+     *
+     * @param delayMillis The delay in virtual milliseconds.
+     * @param action      The action to run.
+     * @return The scheduled event.
+     */
+    @Override
+    public synchronized ScheduledEvent schedule(long delayMillis, Runnable action) {
+        return scheduler.schedule(now + Math.max(0, delayMillis), action);
+    }
+
+    /**
+     * Starts a participating process on a new thread. The process is counted as
+     * running from this call onwards, so virtual time cannot slip past it before it starts.
+     *
+     * @param name The name of the process thread.
+     * @param body The body of the process.
+     * @return The started thread.
+     */
+    @Override
+    public Thread startProcess(String name, Runnable body) {
+        synchronized (this) {
+            runnable++;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                body.run();
+            } finally {
+                exitProcess();
+            }
+        }, name);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Lets the simulation run until the given virtual time is reached. Must be called
+     * by the owner thread; time is held still again once this method returns.
+     *
+     * @param endTime The virtual time, in milliseconds, to run until.
+     * @throws InterruptedException If the owner is interrupted or the clock is shut down.
+     */
+    public void runUntil(long endTime) throws InterruptedException {
+        sleep(endTime - now());
+    }
+
+    /**
+     * Stops the clock. All sleeping processes are woken with an {@link InterruptedException}
+     * and any further attempt to sleep fails immediately.
+     */
+    public synchronized void shutdown() {
+        stopped = true;
+        notifyAll();
+    }
+
+    /**
+     * Returns the number of pending events on the agenda.
+     *
+     * @return The number of queued events.
+     */
+    public synchronized int pendingEvents() {
+        return scheduler.size();
+    }
+
+    // Private Methods
+
+    /**
+     * Records the exit of a participating process and lets time advance if it was
+     * the last one running.
+     */
+    private synchronized void exitProcess() {
+        runnable--;
+        advance();
+    }
+
+    /**
+     * Advances virtual time while no process is running, executing due actions in order
+     * until one of them wakes a sleeping process. Must be called while holding the lock.
+     */
+    private void advance() {
+        while (runnable == 0 && !stopped) {
+            ScheduledEvent next = scheduler.poll();
+            if (next == null) {
+                return; // Nothing left to wake; every process is waiting indefinitely
+            }
+            now = Math.max(now, next.getTime());
+            next.run();
+        }
+    }
+
+    /**
+     * The agenda entry that wakes a sleeping process.
+     */
+    private final class Wakeup implements Runnable {
+        private boolean fired;
+
+        @Override
+        public void run() {
+            fired = true;
+            runnable++;
+            VirtualClock.this.notifyAll();
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package elevator.topology;
+
+import java.util.Arrays;
+
+/**
+ * The {@code FloorSet} class is an immutable set of floors, such as the floors a car
+ * serves.
+ * <p>
+ * Floors are bits of a {@code long} array, so a membership test is one array access and a
+ * mask, whatever the height of the building, and a set of 256 floors takes 40 bytes.
+ * The lowest and highest floors are kept as well, so the range a car covers is known
+ * without a scan.
+ * </p>
+ */
+public final class FloorSet {
+    private final long[] words; // Bit f % 64 of word f / 64 is set for each floor f
+    private final int size;
+    private final int lowest;
+    private final int highest;
+
+    // Constructor
+
+    /**
+     * Constructs a {@code FloorSet} from its bits.
+     *
+     * @param words The bits, owned by the new set.
+     */
+    private FloorSet(long[] words) {
+        int last = words.length;
+        while (last > 0 && words[last - 1] == 0) {
+            last--;
+        }
+        this.words = Arrays.copyOf(words, last);
+        int count = 0;
+        for (long word : this.words) {
+            count += Long.bitCount(word);
+        }
+        this.size = count;
+        this.lowest = nextFloor(0);
+        this.highest = last == 0 ? -1 : (last - 1) * 64 + 63 - Long.numberOfLeadingZeros(this.words[last - 1]);
+    }
+
+    // Public Methods
+
+    /**
+     * Returns the set of the given floors.
+     *
+     * @param floors The floors, each 1 or above.
+     * @return The set.
+     * @throws IllegalArgumentException If a floor is below 1.
+     */
+    public static FloorSet of(int... floors) {
+        long[] words = new long[0];
+        for (int floor : floors) {
+            if (floor < 1) {
+                throw new IllegalArgumentException("Floors start at 1: " + floor);
+            }
+            if (floor >> 6 >= words.length) {
+                words = Arrays.copyOf(words, (floor >> 6) + 1);
+            }
+            words[floor >> 6] |= 1L << floor;
+        }
+        return new FloorSet(words);
+    }
+
+    /**
+     * Returns the set of every floor in a range.
+     *
+     * @param lowest  The lowest floor, 1 or above.
+     * @param highest The highest floor.
+     * @return The set.
+     * @throws IllegalArgumentException If the lowest floor is below 1 or above the highest.
+     */
+    public static FloorSet range(int lowest, int highest) {
+        if (lowest < 1 || lowest > highest) {
+            throw new IllegalArgumentException("Invalid floor range: " + lowest + "-" + highest);
+        }
+        long[] words = new long[(highest >> 6) + 1];
+        for (int floor = lowest; floor <= highest; floor++) {
+            words[floor >> 6] |= 1L << floor;
+        }
+        return new FloorSet(words);
+    }
+
+    /**
+     * Parses a set written as floors and ranges separated by commas, such as {@code 1,20-40},
+     * the form {@link #toString()} produces.
+     *
+     * @param text The text to parse.
+     * @return The set.
+     * @throws IllegalArgumentException If the text is not a list of floors and ranges.
+     */
+    public static FloorSet parse(String text) {
+        FloorSet set = of();
+        for (String part : text.split(",")) {
+            String[] ends = part.trim().split("-");
+            try {
+                set = set.union(ends.length == 1 ? of(Integer.parseInt(ends[0]))
+                        : range(Integer.parseInt(ends[0]), Integer.parseInt(ends[ends.length - 1])));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Not a floor or range of floors: " + part, e);
+            }
+        }
+        return set;
+    }
+
+    /**
+     * Returns the set of floors in the given bits, as returned by {@link #toLongArray()}.
+     *
+     * @param words The bits.
+     * @return The set.
+     * @throws IllegalArgumentException If the bit for floor 0 is set.
+     */
+    public static FloorSet valueOf(long[] words) {
+        if (words.length > 0 && (words[0] & 1) != 0) {
+            throw new IllegalArgumentException("Floors start at 1.");
+        }
+        return new FloorSet(words.clone());
+    }
+
+    /**
+     * Returns the floors in either this set or another.
+     *
+     * @param other The other set.
+     * @return The union.
+     */
+    public FloorSet union(FloorSet other) {
+        long[] union = Arrays.copyOf(words, Math.max(words.length, other.words.length));
+        for (int i = 0; i < other.words.length; i++) {
+            union[i] |= other.words[i];
+        }
+        return new FloorSet(union);
+    }
+
+    /**
+     * Indicates whether a floor is in this set.
+     *
+     * @param floor The floor.
+     * @return {@code true} if the floor is in the set.
+     */
+    public boolean contains(int floor) {
+        int word = floor >> 6;
+        return floor >= 0 && word < words.length && (words[word] & 1L << floor) != 0;
+    }
+
+    /**
+     * Returns the lowest floor of this set at or above a floor, for iterating in order.
+     *
+     * @param from The floor to start from.
+     * @return The floor, or {@code -1} if there is none.
+     */
+    public int nextFloor(int from) {
+        int word = Math.max(0, from) >> 6;
+        if (word >= words.length) {
+            return -1;
+        }
+        long bits = words[word] & -1L << Math.max(0, from);
+        while (bits == 0) {
+            if (++word == words.length) {
+                return -1;
+            }
+            bits = words[word];
+        }
+        return word * 64 + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Returns the number of floors of this set below a floor, which for a floor of the set
+     * is its position counting from zero.
+     *
+     * @param floor The floor.
+     * @return The number of floors below it.
+     */
+    public int rank(int floor) {
+        if (floor <= 0) {
+            return 0;
+        }
+        int word = floor >> 6;
+        if (word >= words.length) {
+            return size;
+        }
+        int count = Long.bitCount(words[word] & ~(-1L << floor));
+        for (int w = 0; w < word; w++) {
+            count += Long.bitCount(words[w]);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the bits of this set, bit {@code f % 64} of word {@code f / 64} standing for floor {@code f}.
+     *
+     * @return A new array of the bits.
+     */
+    public long[] toLongArray() {
+        return words.clone();
+    }
+
+    /**
+     * Indicates whether another object is a set of the same floors.
+     *
+     * @param other The object to compare with.
+     * @return {@code true} if the floors are the same.
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof FloorSet set && Arrays.equals(words, set.words);
+    }
+
+    /**
+     * Returns a hash code for this set.
+     *
+     * @return The hash code.
+     */
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+
+    /**
+     * Returns the floors as a list of floors and ranges, such as {@code 1,20-40}.
+     *
+     * @return A string representation of this set.
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (int floor = lowest; floor >= 0; ) {
+            int end = floor;
+            while (contains(end + 1)) {
+                end++;
+            }
+            text.append(text.length() == 0 ? "" : ",").append(floor).append(end > floor ? "-" + end : "");
+            floor = nextFloor(end + 1);
+        }
+        return text.toString();
+    }
+
+    // Getters
+
+    /**
+     * Returns the number of floors in this set.
+     *
+     * @return The number of floors.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the lowest floor of this set.
+     *
+     * @return The lowest floor, or {@code -1} if the set is empty.
+     */
+    public int getLowest() {
+        return lowest;
+    }
+
+    /**
+     * Returns the highest floor of this set.
+     *
+     * @return The highest floor, or {@code -1} if the set is empty.
+     */
+    public int getHighest() {
+        return highest;
+    }
+}
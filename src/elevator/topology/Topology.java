@@ -0,0 +1,266 @@
+package elevator.topology;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The {@code Topology} class describes how the banks of a tall building divide its floors,
+ * and routes trips across them.
+ * <p>
+ * Each bank of cars serves a {@link FloorSet}: a low-rise bank the lobby and the lower
+ * floors, a shuttle the lobby and a sky lobby, an upper bank the sky lobby and the floors
+ * above it. A floor served by more than one bank is a transfer floor, where passengers
+ * change cars. A trip between two floors no single bank serves is split into legs that
+ * change banks at transfer floors.
+ * </p>
+ * <p>
+ * Routes are computed once, when the topology is built, into tables indexed by origin and
+ * destination, so looking up the bank to board and the floor to leave it at takes
+ * constant time however many floors and banks the building has. A route takes the fewest
+ * legs; among those, the fewest floors travelled; among those, the lowest-numbered banks.
+ * The tables take five bytes per pair of floors, 200 kB for 200 floors.
+ * </p>
+ */
+public final class Topology {
+    public static final int NO_ROUTE = -1; // Bank of a trip no bank can carry
+    private static final int MAX_BANKS = Short.MAX_VALUE; // Banks are stored as shorts
+
+    private final int topFloor;
+    private final List<FloorSet> banks; // Floors served by each bank
+    private final int floors; // Stride of the route tables: topFloor + 1
+    private final short[] nextBank; // Bank to board for each origin and destination, or NO_ROUTE
+    private final short[] legEnd; // Floor to leave that bank at
+    private final byte[] legs; // Legs of the whole route, 0 if there is none
+    private final FloorSet transferFloors;
+
+    // Constructor
+
+    /**
+     * Constructs a {@code Topology} and computes its routes.
+     *
+     * @param topFloor The highest floor of the building.
+     * @param banks    The floors each bank serves, in bank order.
+     * @throws IllegalArgumentException If there is no bank, a bank serves fewer than two
+     *                                  floors or a floor above the top floor, or the
+     *                                  building is too tall for the route tables.
+     */
+    public Topology(int topFloor, List<FloorSet> banks) {
+        if (banks.isEmpty() || banks.size() > MAX_BANKS) {
+            throw new IllegalArgumentException("A building needs between 1 and " + MAX_BANKS + " banks.");
+        }
+        if (topFloor < 2 || topFloor > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("The top floor must be between 2 and " + Short.MAX_VALUE + ".");
+        }
+        for (FloorSet bank : banks) {
+            if (bank.size() < 2 || bank.getHighest() > topFloor) {
+                throw new IllegalArgumentException("A bank must serve at least two floors up to " + topFloor
+                        + ": " + bank);
+            }
+        }
+        this.topFloor = topFloor;
+        this.banks = Collections.unmodifiableList(new ArrayList<>(banks));
+        this.floors = topFloor + 1;
+        this.nextBank = new short[floors * floors];
+        this.legEnd = new short[floors * floors];
+        this.legs = new byte[floors * floors];
+        this.transferFloors = findTransferFloors();
+        Arrays.fill(nextBank, (short) NO_ROUTE);
+
+        int[] floorsOf = new int[topFloor]; // Scratch lists of each bank's floors, reused per bank
+        int[][] served = new int[banks.size()][];
+        for (int b = 0; b < banks.size(); b++) {
+            int count = 0;
+            for (int floor = banks.get(b).getLowest(); floor >= 0; floor = banks.get(b).nextFloor(floor + 1)) {
+                floorsOf[count++] = floor;
+            }
+            served[b] = Arrays.copyOf(floorsOf, count);
+        }
+        for (int destination = 1; destination <= topFloor; destination++) {
+            routeTo(destination, served);
+        }
+    }
+
+    // Public Methods
+
+    /**
+     * Returns the bank to board for the first leg of a trip.
+     *
+     * @param origin      The floor the passenger is at.
+     * @param destination The floor the passenger travels to.
+     * @return The bank, or {@link #NO_ROUTE} if no sequence of banks connects the floors.
+     */
+    public int nextBank(int origin, int destination) {
+        return nextBank[index(origin, destination)];
+    }
+
+    /**
+     * Returns the floor at which to leave the bank of the first leg of a trip: the
+     * destination itself, or the transfer floor where the next leg begins.
+     *
+     * @param origin      The floor the passenger is at.
+     * @param destination The floor the passenger travels to.
+     * @return The floor, or {@link #NO_ROUTE} if there is no route.
+     */
+    public int legEnd(int origin, int destination) {
+        int index = index(origin, destination);
+        return nextBank[index] == NO_ROUTE ? NO_ROUTE : legEnd[index];
+    }
+
+    /**
+     * Returns the number of legs of the route of a trip.
+     *
+     * @param origin      The floor the passenger is at.
+     * @param destination The floor the passenger travels to.
+     * @return The number of legs, or {@code 0} if there is no route or the floors are the same.
+     */
+    public int legs(int origin, int destination) {
+        return legs[index(origin, destination)];
+    }
+
+    /**
+     * Indicates whether a bank serves a floor.
+     *
+     * @param bank  The bank.
+     * @param floor The floor.
+     * @return {@code true} if the bank's cars stop at the floor.
+     */
+    public boolean serves(int bank, int floor) {
+        return banks.get(bank).contains(floor);
+    }
+
+    /**
+     * Returns a string representation of this topology.
+     *
+     * @return A string representation of this topology.
+     */
+    @Override
+    public String toString() {
+        return "Topology [Floors: " + topFloor + ", Banks: " + banks + ", Transfers: " + transferFloors + "]";
+    }
+
+    // Getters
+
+    /**
+     * Returns the highest floor of the building.
+     *
+     * @return The top floor.
+     */
+    public int getTopFloor() {
+        return topFloor;
+    }
+
+    /**
+     * Returns the number of banks.
+     *
+     * @return The number of banks.
+     */
+    public int getBankCount() {
+        return banks.size();
+    }
+
+    /**
+     * Returns the floors a bank serves.
+     *
+     * @param bank The bank.
+     * @return The served floors.
+     */
+    public FloorSet getServedFloors(int bank) {
+        return banks.get(bank);
+    }
+
+    /**
+     * Returns the floors served by more than one bank, where passengers can change banks.
+     *
+     * @return The transfer floors.
+     */
+    public FloorSet getTransferFloors() {
+        return transferFloors;
+    }
+
+    // Private Methods
+
+    /**
+     * Returns the position of a trip in the route tables.
+     *
+     * @throws IllegalArgumentException If a floor is outside the building.
+     */
+    private int index(int origin, int destination) {
+        if (origin < 1 || origin > topFloor || destination < 1 || destination > topFloor) {
+            throw new IllegalArgumentException("Floors must be between 1 and " + topFloor + ".");
+        }
+        return origin * floors + destination;
+    }
+
+    /**
+     * Finds the floors served by more than one bank.
+     */
+    private FloorSet findTransferFloors() {
+        FloorSet seen = FloorSet.of();
+        FloorSet twice = FloorSet.of();
+        for (FloorSet bank : banks) {
+            for (int floor = bank.getLowest(); floor >= 0; floor = bank.nextFloor(floor + 1)) {
+                if (seen.contains(floor)) {
+                    twice = twice.union(FloorSet.of(floor));
+                }
+            }
+            seen = seen.union(bank);
+        }
+        return twice;
+    }
+
+    /**
+     * Fills the routes of every origin to one destination, by a breadth-first search back
+     * from the destination one leg at a time. A floor reached in round {@code k} needs
+     * {@code k} legs; among the floors of the previous rounds it can reach with one bank,
+     * it takes the one that leaves the fewest floors to travel.
+     *
+     * @param destination The destination floor.
+     * @param served      The floors of each bank, in ascending order.
+     */
+    private void routeTo(int destination, int[][] served) {
+        int[] distance = new int[floors]; // Floors travelled from each routed floor to the destination
+        int[] round = new int[floors]; // Legs from each floor, 0 while unrouted
+        round[destination] = -1; // The destination needs no legs; -1 marks it as routed
+        int[] frontier = {destination};
+        int[] reached = new int[topFloor];
+
+        for (int leg = 1; frontier.length > 0 && leg <= Byte.MAX_VALUE; leg++) {
+            int count = 0;
+            for (int b = 0; b < served.length; b++) {
+                FloorSet bank = banks.get(b);
+                boolean touches = false;
+                for (int floor : frontier) {
+                    touches |= bank.contains(floor);
+                }
+                if (!touches) {
+                    continue;
+                }
+                for (int floor : served[b]) {
+                    if (round[floor] != 0 && round[floor] != leg) {
+                        continue; // Routed in an earlier round
+                    }
+                    for (int via : frontier) {
+                        if (via == floor || !bank.contains(via)) {
+                            continue;
+                        }
+                        int travelled = Math.abs(floor - via) + distance[via];
+                        int index = floor * floors + destination;
+                        if (round[floor] == 0 || travelled < distance[floor]) {
+                            if (round[floor] == 0) {
+                                reached[count++] = floor;
+                            }
+                            round[floor] = leg;
+                            distance[floor] = travelled;
+                            nextBank[index] = (short) b;
+                            legEnd[index] = (short) via;
+                            legs[index] = (byte) leg;
+                        }
+                    }
+                }
+            }
+            frontier = Arrays.copyOf(reached, count);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package elevator.ui;
+
+import java.util.List;
+
+/**
+ * The {@code LogBuffer} class keeps the most recent lines of an activity log in a ring
+ * buffer of fixed capacity.
+ * <p>
+ * Lines are numbered in the order they are appended. A reader remembers the number of
+ * the next line it has not seen and {@link #copySince(long, List) copies} everything
+ * from there on, so appending and reading cost only the lines involved, however long
+ * the log has been running. Once the buffer is full each new line overwrites the oldest;
+ * a reader that falls behind by more than the capacity misses the overwritten lines.
+ * </p>
+ * <p>
+ * Any number of threads may append and read.
+ * </p>
+ */
+public final class LogBuffer {
+    public static final int DEFAULT_CAPACITY = 1000; // Lines kept
+
+    private final String[] lines; // Ring of the latest lines; line n is at n % capacity
+    private long appended; // Lines appended since construction, guarded by this
+
+    // Constructor
+
+    /**
+     * Constructs an empty {@code LogBuffer}.
+     *
+     * @param capacity The number of lines kept.
+     * @throws IllegalArgumentException If the capacity is not positive.
+     */
+    public LogBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("A log buffer must hold at least one line.");
+        }
+        this.lines = new String[capacity];
+    }
+
+    // Public Methods
+
+    /**
+     * Appends a line, overwriting the oldest one if the buffer is full.
+     *
+     * @param line The line, without a line terminator.
+     */
+    public synchronized void append(String line) {
+        lines[(int) (appended++ % lines.length)] = line;
+    }
+
+    /**
+     * Copies the lines appended since a given line number, oldest first. Lines already
+     * overwritten are skipped; their number is the difference between the lines wanted
+     * and the lines copied.
+     *
+     * @param from The number of the first line wanted, normally the value the previous
+     *             read returned.
+     * @param into The list the lines are added to.
+     * @return The number of the next line to be appended, to pass to the next read.
+     */
+    public synchronized long copySince(long from, List<String> into) {
+        for (long n = Math.max(from, appended - lines.length); n < appended; n++) {
+            into.add(lines[(int) (n % lines.length)]);
+        }
+        return appended;
+    }
+
+    // Getters
+
+    /**
+     * Returns the number of lines appended since construction, which is also the number
+     * the next line will get.
+     *
+     * @return The number of appended lines.
+     */
+    public synchronized long getAppended() {
+        return appended;
+    }
+
+    /**
+     * Returns the number of lines kept.
+     *
+     * @return The capacity in lines.
+     */
+    public int getCapacity() {
+        return lines.length;
+    }
+}
@@ -0,0 +1,253 @@
+package elevator.ui;
+
+import elevator.Direction;
+import elevator.Request;
+
+import javax.swing.AbstractListModel;
+
+/**
+ * The {@code QueueListModel} class presents an elevator's pending requests as the rows of
+ * a list, in ascending floor order, with the current request marked.
+ * <p>
+ * The model is updated from changes rather than rebuilt. The elevator's thread posts each
+ * request that is added, served or cancelled, and the current request; repeat changes to
+ * one request before the next frame coalesce. On the Event Dispatch Thread,
+ * {@link #apply()} moves the posted changes into the rows and fires one event per row
+ * that actually changed. A row's position is the number of pending requests before it,
+ * kept in a Fenwick tree over the possible requests, so inserting, removing and looking
+ * up a row take time logarithmic in the number of floors. Rows are described only when a
+ * list asks for them, so a list with fixed cell sizes costs the same to update and paint
+ * whether a few or thousands of requests are pending.
+ * </p>
+ */
+public final class QueueListModel extends AbstractListModel<String> {
+    private static final long serialVersionUID = 1L;
+    private static final int KINDS = 3; // Inside stop, up call and down call, in display order within a floor
+
+    private final int topFloor;
+
+    // Posted by the elevator's thread, guarded by this
+    private final boolean[] posted; // Whether each request is pending, as last posted
+    private final boolean[] dirty; // Whether each request changed since the last apply
+    private final int[] changed; // Requests changed since the last apply, in posting order
+    private int changedCount;
+    private volatile int postedCurrent; // Current request, or -1
+
+    // Shown rows, Event Dispatch Thread only
+    private final boolean[] shown; // Whether each request has a row
+    private final int[] rows; // Fenwick tree of shown requests, indexed by request + 1
+    private final int[] batch; // Changes taken by the running apply
+    private final boolean[] batchPending;
+    private int size;
+    private int shownCurrent;
+
+    // Constructor
+
+    /**
+     * Constructs an empty {@code QueueListModel}.
+     *
+     * @param topFloor The highest floor of the elevator.
+     * @throws IllegalArgumentException If the top floor is below 1.
+     */
+    public QueueListModel(int topFloor) {
+        if (topFloor < 1) {
+            throw new IllegalArgumentException("The top floor must be at least 1.");
+        }
+        int keys = (topFloor + 1) * KINDS;
+        this.topFloor = topFloor;
+        this.posted = new boolean[keys];
+        this.dirty = new boolean[keys];
+        this.changed = new int[keys];
+        this.postedCurrent = -1;
+        this.shown = new boolean[keys];
+        this.rows = new int[keys + 1];
+        this.batch = new int[keys];
+        this.batchPending = new boolean[keys];
+        this.shownCurrent = -1;
+    }
+
+    // Public Methods
+
+    /**
+     * Posts a change to a request. Safe to call from any thread.
+     *
+     * @param request The request.
+     * @param pending {@code true} if it was added, {@code false} if it was served or cancelled.
+     * @throws IllegalArgumentException If the request's floor is above the top floor.
+     */
+    public void post(Request request, boolean pending) {
+        int key = keyOf(request);
+        synchronized (this) {
+            posted[key] = pending;
+            if (!dirty[key]) {
+                dirty[key] = true;
+                changed[changedCount++] = key;
+            }
+        }
+    }
+
+    /**
+     * Posts the request the elevator is heading for. Safe to call from any thread.
+     *
+     * @param current The current request, or {@code null} if there is none.
+     */
+    public void postCurrent(Request current) {
+        postedCurrent = current == null ? -1 : keyOf(current);
+    }
+
+    /**
+     * Applies the changes posted since the previous call and notifies the list's
+     * listeners of each row added, removed or re-marked. Must run on the Event Dispatch Thread.
+     *
+     * @return The number of rows that changed.
+     */
+    public int apply() {
+        int count;
+        synchronized (this) {
+            count = changedCount;
+            for (int i = 0; i < count; i++) {
+                int key = changed[i];
+                batch[i] = key;
+                batchPending[i] = posted[key];
+                dirty[key] = false;
+            }
+            changedCount = 0;
+        }
+
+        int updated = 0;
+        for (int i = 0; i < count; i++) {
+            int key = batch[i];
+            if (shown[key] == batchPending[i]) {
+                continue; // Changed and changed back within one frame
+            }
+            int row = rowsBefore(key);
+            shown[key] = batchPending[i];
+            if (shown[key]) {
+                addRows(key, 1);
+                size++;
+                fireIntervalAdded(this, row, row);
+            } else {
+                addRows(key, -1);
+                size--;
+                fireIntervalRemoved(this, row, row);
+            }
+            updated++;
+        }
+
+        int current = postedCurrent;
+        if (current != shownCurrent) {
+            int previous = shownCurrent;
+            shownCurrent = current;
+            refresh(previous);
+            refresh(current);
+            updated++;
+        }
+        return updated;
+    }
+
+    /**
+     * Returns the number of pending requests shown.
+     *
+     * @return The number of rows.
+     */
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Describes the request in a row.
+     *
+     * @param index The row.
+     * @return The description, marked if it is the current request.
+     * @throws IndexOutOfBoundsException If there is no such row.
+     */
+    @Override
+    public String getElementAt(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("No row " + index + " in a queue of " + size + ".");
+        }
+        int key = keyAt(index);
+        int floor = key / KINDS;
+        Request request = switch (key % KINDS) {
+            case 0 -> Request.inside(floor);
+            case 1 -> Request.hallCall(floor, Direction.UP);
+            default -> Request.hallCall(floor, Direction.DOWN);
+        };
+        return key == shownCurrent ? "Current queue item: " + request : request.toString();
+    }
+
+    // Private Methods
+
+    /**
+     * Returns the key of a request: its floor times the number of kinds plus its kind.
+     *
+     * @param request The request.
+     * @return The key.
+     * @throws IllegalArgumentException If the request's floor is above the top floor.
+     */
+    private int keyOf(Request request) {
+        if (request.getFloor() > topFloor) {
+            throw new IllegalArgumentException("Floor " + request.getFloor() + " is above the top floor.");
+        }
+        int kind = request.isInside() ? 0 : request.getDirection().isUp() ? 1 : 2;
+        return request.getFloor() * KINDS + kind;
+    }
+
+    /**
+     * Notifies listeners that the row of a request needs repainting, if it has one.
+     *
+     * @param key The request, or {@code -1}.
+     */
+    private void refresh(int key) {
+        if (key >= 0 && shown[key]) {
+            int row = rowsBefore(key);
+            fireContentsChanged(this, row, row);
+        }
+    }
+
+    /**
+     * Counts the rows of requests with smaller keys.
+     *
+     * @param key The request.
+     * @return The number of rows before it.
+     */
+    private int rowsBefore(int key) {
+        int count = 0;
+        for (int i = key; i > 0; i -= i & -i) {
+            count += rows[i];
+        }
+        return count;
+    }
+
+    /**
+     * Adds to the row count of a request.
+     *
+     * @param key   The request.
+     * @param delta {@code 1} when its row appears, {@code -1} when it goes.
+     */
+    private void addRows(int key, int delta) {
+        for (int i = key + 1; i < rows.length; i += i & -i) {
+            rows[i] += delta;
+        }
+    }
+
+    /**
+     * Finds the request shown in a row by descending the Fenwick tree.
+     *
+     * @param index The row.
+     * @return The request's key.
+     */
+    private int keyAt(int index) {
+        int position = 0;
+        int remaining = index; // Rows still to skip
+        for (int step = Integer.highestOneBit(rows.length - 1); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next < rows.length && rows[next] <= remaining) {
+                position = next;
+                remaining -= rows[next];
+            }
+        }
+        return position; // Tree index position + 1 holds the row, and keys are offset by one
+    }
+}
@@ -0,0 +1,225 @@
+package elevator.ui;
+
+import elevator.Elevator;
+import elevator.ElevatorListener;
+import elevator.Request;
+
+import javax.swing.*;
+import javax.swing.text.BadLocationException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The {@code SwingElevatorView} class renders an elevator's activity log into a
+ * {@link JTextArea} and its request queue into a {@link JList}.
+ * <p>
+ * Events arrive on the elevator's thread. The view only records them there: log lines
+ * go into a bounded {@link LogBuffer}, and request changes are posted to a
+ * {@link QueueListModel}. Repaints are throttled to a frame rate: at most one frame is
+ * pending on the Event Dispatch Thread at a time, no sooner than a frame interval after
+ * the previous one, and it applies every change recorded since, so bursts of events cost
+ * a single update of each component.
+ * </p>
+ * <p>
+ * A frame costs only what changed. New log lines are appended and the oldest trimmed, so
+ * the log area never holds more than the buffer's capacity, however long the elevator
+ * runs. The queue list is updated row by row; give it a prototype cell value or fixed
+ * cell size so that it does not measure every row, and the cost stays the same with
+ * thousands of pending requests.
+ * </p>
+ */
+public class SwingElevatorView implements ElevatorListener {
+    public static final int DEFAULT_FRAME_MILLIS = 50; // Minimum time between repaints
+
+    private final JTextArea logArea; // Log area for real-time updates
+    private final LogBuffer log; // Latest log lines, appended by the elevator's thread
+    private final QueueListModel queue; // Pending requests shown in the queue list
+    private final int frameMillis;
+    private final AtomicBoolean flushScheduled;
+    private final Timer frameTimer; // Delays a frame that would come too soon after the previous one
+    private final List<String> frameLines; // Log lines of the frame being painted, Event Dispatch Thread only
+    private long logCursor; // Number of the next log line to show, Event Dispatch Thread only
+    private long lastFrameNanos; // Start of the previous frame, Event Dispatch Thread only
+
+    // Constructors
+
+    /**
+     * Constructs a {@code SwingElevatorView} with the default log capacity and frame rate.
+     *
+     * @param logArea   The JTextArea used to display log messages.
+     * @param queueList The JList used to display the request queue; its model is replaced.
+     * @param topFloor  The highest floor of the elevator.
+     */
+    public SwingElevatorView(JTextArea logArea, JList<String> queueList, int topFloor) {
+        this(logArea, queueList, topFloor, LogBuffer.DEFAULT_CAPACITY, DEFAULT_FRAME_MILLIS);
+    }
+
+    /**
+     * Constructs a {@code SwingElevatorView}.
+     *
+     * @param logArea     The JTextArea used to display log messages.
+     * @param queueList   The JList used to display the request queue; its model is replaced.
+     * @param topFloor    The highest floor of the elevator.
+     * @param logLines    The number of log lines kept.
+     * @param frameMillis The minimum time between repaints.
+     * @throws IllegalArgumentException If the top floor or log capacity is below 1, or the
+     *                                  frame interval is negative.
+     */
+    public SwingElevatorView(JTextArea logArea, JList<String> queueList, int topFloor, int logLines,
+                             int frameMillis) {
+        if (frameMillis < 0) {
+            throw new IllegalArgumentException("The frame interval cannot be negative.");
+        }
+        this.logArea = logArea;
+        this.log = new LogBuffer(logLines);
+        this.queue = new QueueListModel(topFloor);
+        this.frameMillis = frameMillis;
+        this.flushScheduled = new AtomicBoolean();
+        this.frameTimer = new Timer(frameMillis, event -> flush());
+        this.frameTimer.setRepeats(false);
+        this.frameLines = new ArrayList<>();
+        this.lastFrameNanos = System.nanoTime() - frameMillis * 1_000_000L;
+        SwingUtilities.invokeLater(() -> queueList.setModel(queue));
+    }
+
+    // Event Handlers
+
+    @Override
+    public void onMessage(Elevator elevator, String message) {
+        appendLine(message);
+    }
+
+    @Override
+    public void onRequestAdded(Elevator elevator, Request request) {
+        queue.post(request, true);
+        scheduleFlush();
+    }
+
+    @Override
+    public void onRequestCancelled(Elevator elevator, Request request) {
+        queue.post(request, false);
+        scheduleFlush();
+    }
+
+    @Override
+    public void onRequestServed(Elevator elevator, Request request, long requestedAt) {
+        queue.post(request, false);
+        scheduleFlush();
+    }
+
+    @Override
+    public void onQueueChanged(Elevator elevator) {
+        queue.postCurrent(elevator.getCurrentRequest());
+        scheduleFlush();
+    }
+
+    @Override
+    public void onDeparted(Elevator elevator, int floor, int targetFloor) {
+        appendLine("Starting movement to floor " + targetFloor);
+    }
+
+    @Override
+    public void onFloorPassed(Elevator elevator, int floor) {
+        appendLine("Passing floor " + floor);
+    }
+
+    @Override
+    public void onArrived(Elevator elevator, int floor) {
+        appendLine("Arrived at floor " + floor);
+    }
+
+    @Override
+    public void onDoorsOpening(Elevator elevator, int floor) {
+        appendLine("Opening doors...");
+    }
+
+    @Override
+    public void onDoorsOpened(Elevator elevator, int floor) {
+        appendLine("Waiting for passengers to enter/exit...");
+    }
+
+    @Override
+    public void onDoorsClosing(Elevator elevator, int floor) {
+        appendLine("Closing doors...");
+    }
+
+    // Private Methods
+
+    /**
+     * Buffers a log line and schedules a repaint.
+     *
+     * @param line The line to log.
+     */
+    private void appendLine(String line) {
+        log.append(line);
+        scheduleFlush();
+    }
+
+    /**
+     * Schedules a frame on the Event Dispatch Thread unless one is already pending.
+     */
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::scheduleFrame);
+        }
+    }
+
+    /**
+     * Paints a frame now, or once the frame interval since the previous one has passed.
+     * Runs on the Event Dispatch Thread.
+     */
+    private void scheduleFrame() {
+        long waitMillis = frameMillis - (System.nanoTime() - lastFrameNanos) / 1_000_000;
+        if (waitMillis <= 0) {
+            flush();
+        } else {
+            frameTimer.setInitialDelay((int) waitMillis);
+            frameTimer.restart();
+        }
+    }
+
+    /**
+     * Applies all buffered changes to the components. Runs on the Event Dispatch Thread.
+     */
+    private void flush() {
+        flushScheduled.set(false); // Events arriving from now on schedule another frame
+        lastFrameNanos = System.nanoTime();
+        flushLog();
+        queue.apply();
+    }
+
+    /**
+     * Appends the new log lines to the log area and trims it to the buffer's capacity.
+     * If more lines arrived than the buffer holds, the area is replaced with the latest.
+     */
+    private void flushLog() {
+        frameLines.clear();
+        long next = log.copySince(logCursor, frameLines);
+        boolean missed = next - logCursor > frameLines.size();
+        logCursor = next;
+        if (frameLines.isEmpty()) {
+            return;
+        }
+
+        StringBuilder text = new StringBuilder();
+        for (String line : frameLines) {
+            text.append(line).append('\n');
+        }
+        if (missed) {
+            logArea.setText(text.toString());
+        } else {
+            logArea.append(text.toString());
+        }
+
+        int excess = logArea.getLineCount() - 1 - log.getCapacity(); // The text ends with a line break
+        if (excess > 0) {
+            try {
+                logArea.replaceRange(null, 0, logArea.getLineStartOffset(excess));
+            } catch (BadLocationException e) {
+                throw new IllegalStateException("The log area changed while it was trimmed.", e);
+            }
+        }
+        logArea.setCaretPosition(logArea.getDocument().getLength());
+    }
+}
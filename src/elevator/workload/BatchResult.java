@@ -0,0 +1,135 @@
+package elevator.workload;
+
+import elevator.metrics.ElevatorMetrics;
+
+/**
+ * The {@code BatchResult} class summarizes one batch run of a workload.
+ * <p>
+ * Wait time runs from a passenger's arrival at the origin floor until boarding;
+ * journey time runs from arrival until stepping out at the destination. The full
+ * distributions, along with the car-level metrics, are available from {@link #getMetrics()}.
+ * </p>
+ */
+public final class BatchResult {
+    private final int trips;
+    private final int delivered;
+    private final ElevatorMetrics metrics;
+    private final long simulatedMillis;
+    private final long wallMillis;
+
+    // Constructor
+
+    /**
+     * Constructs a new {@code BatchResult}.
+     *
+     * @param trips           The number of trips in the workload.
+     * @param delivered       The number of passengers that reached their destination.
+     * @param metrics         The metrics recorded during the run.
+     * @param simulatedMillis The simulated duration of the run.
+     * @param wallMillis      The wall-clock duration of the run.
+     */
+    public BatchResult(int trips, int delivered, ElevatorMetrics metrics, long simulatedMillis, long wallMillis) {
+        this.trips = trips;
+        this.delivered = delivered;
+        this.metrics = metrics;
+        this.simulatedMillis = simulatedMillis;
+        this.wallMillis = wallMillis;
+    }
+
+    // Public Method
+
+    /**
+     * Returns a human-readable summary of this result.
+     *
+     * @return A multi-line summary.
+     */
+    @Override
+    public String toString() {
+        return String.format("Delivered %d of %d trips%n"
+                        + "Mean wait: %.1f s (p90 %.1f s, p99 %.1f s, max %.1f s)%n"
+                        + "Mean journey: %.1f s (p90 %.1f s, p99 %.1f s)%n"
+                        + "Car utilization: %.1f%%, %d floors travelled, %.1f stops per busy period%n"
+                        + "Simulated %.1f min in %d ms",
+                delivered, trips, getMeanWaitMillis() / 1000.0,
+                metrics.getPassengerWaitTimes().percentile(90) / 1000.0,
+                metrics.getPassengerWaitTimes().percentile(99) / 1000.0, getMaxWaitMillis() / 1000.0,
+                getMeanJourneyMillis() / 1000.0, metrics.getJourneyP90Millis() / 1000.0,
+                metrics.getJourneyP99Millis() / 1000.0, metrics.getUtilization() * 100,
+                metrics.getFloorsTravelled(), metrics.getMeanStopsPerTrip(),
+                simulatedMillis / 60_000.0, wallMillis);
+    }
+
+    // Getters
+
+    /**
+     * Returns the number of trips in the workload.
+     *
+     * @return The number of trips.
+     */
+    public int getTrips() {
+        return trips;
+    }
+
+    /**
+     * Returns the number of passengers that reached their destination.
+     *
+     * @return The number of delivered passengers.
+     */
+    public int getDelivered() {
+        return delivered;
+    }
+
+    /**
+     * Returns the mean wait time of delivered passengers.
+     *
+     * @return The mean wait time in milliseconds.
+     */
+    public double getMeanWaitMillis() {
+        return metrics.getPassengerWaitTimes().getMean();
+    }
+
+    /**
+     * Returns the longest wait time of a delivered passenger.
+     *
+     * @return The maximum wait time in milliseconds.
+     */
+    public long getMaxWaitMillis() {
+        return metrics.getPassengerWaitTimes().getMax();
+    }
+
+    /**
+     * Returns the mean journey time of delivered passengers.
+     *
+     * @return The mean journey time in milliseconds.
+     */
+    public double getMeanJourneyMillis() {
+        return metrics.getMeanJourneyMillis();
+    }
+
+    /**
+     * Returns the metrics recorded during the run.
+     *
+     * @return The wait, journey, and car metrics.
+     */
+    public ElevatorMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the simulated duration of the run.
+     *
+     * @return The simulated time in milliseconds.
+     */
+    public long getSimulatedMillis() {
+        return simulatedMillis;
+    }
+
+    /**
+     * Returns the wall-clock duration of the run.
+     *
+     * @return The elapsed real time in milliseconds.
+     */
+    public long getWallMillis() {
+        return wallMillis;
+    }
+}
@@ -0,0 +1,674 @@
+package elevator.workload;
+
+import elevator.Checkpoint;
+import elevator.Elevator;
+import elevator.ElevatorConfig;
+import elevator.ElevatorListener;
+import elevator.group.DestinationDispatcher;
+import elevator.group.Dispatcher;
+import elevator.group.EtaDispatcher;
+import elevator.group.GroupController;
+import elevator.group.NearestCarDispatcher;
+import elevator.group.SectorDispatcher;
+import elevator.motion.KinematicMotion;
+import elevator.park.DemandModel;
+import elevator.park.DemandParking;
+import elevator.park.ParkingPolicy;
+import elevator.plan.CostPlanner;
+import elevator.plan.LookPlanner;
+import elevator.plan.StopPlanner;
+import elevator.journal.EventTrace;
+import elevator.journal.JournalEvent;
+import elevator.journal.JournalWriter;
+import elevator.metrics.ElevatorMetrics;
+import elevator.sim.VirtualClock;
+import elevator.topology.FloorSet;
+import elevator.topology.Topology;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The {@code BatchRunner} class replays a list of {@link Trip}s through a bank of
+ * elevators in virtual time, as fast as the simulation can run.
+ * <p>
+ * Each passenger appears at the origin floor at the trip's time, calls a car, rides to
+ * the destination, and may change banks on the way in a zoned building given by a
+ * {@link Topology}. The run ends once every passenger has been delivered or the drain
+ * time after the last arrival has passed. Passengers are held in a
+ * {@link PassengerTable} and moved through the building by a {@code PassengerTracker},
+ * which feeds each delivered passenger's wait and journey time to the
+ * {@link ElevatorMetrics} returned with the result.
+ * </p>
+ * <p>
+ * A run is deterministic: every arrival, timer and decision is ordered by the run's
+ * {@link VirtualClock}, and generated traffic by its seed, so the same inputs always
+ * produce the same {@link EventTrace}.
+ * </p>
+ */
+public class BatchRunner {
+    private static final long STEP_MILLIS = 60_000; // Granularity at which completion is checked
+    private static final long DEFAULT_DRAIN_MILLIS = 4 * 3_600_000L; // Time allowed after the last arrival
+
+    private final int topFloor;
+    private final int cars;
+    private final Dispatcher dispatcher;
+    private final ElevatorConfig config;
+    private StopPlanner planner; // Next-stop policy of every car; LOOK unless set
+    private long drainMillis;
+    private JournalWriter journal; // Records every car's transitions when set
+    private EventTrace trace; // Hashes every car's transitions when set
+    private long checkpointAt; // Simulation time at which to capture a checkpoint, or -1
+    private Checkpoint checkpoint; // Captured by the last run
+    private boolean destinationControl; // Whether passengers enter destinations on hall keypads
+    private final List<ElevatorListener> listeners; // Attached to every car of later runs
+    private DemandModel demand; // Learns where idle cars park, or null to park them at home
+    private Topology topology; // Banks of a zoned building, or null for one bank serving every floor
+
+    // Constructor
+
+    /**
+     * Constructs a {@code BatchRunner} for a bank of identical cars.
+     *
+     * @param topFloor   The highest floor of the building.
+     * @param cars       The number of cars in the bank.
+     * @param dispatcher The strategy used to assign hall calls.
+     */
+    public BatchRunner(int topFloor, int cars, Dispatcher dispatcher) {
+        this(topFloor, cars, dispatcher, ElevatorConfig.DEFAULT);
+    }
+
+    /**
+     * Constructs a {@code BatchRunner} for a bank of identical cars with the given timings.
+     *
+     * @param topFloor   The highest floor of the building.
+     * @param cars       The number of cars in the bank, or in each bank of a zoned building.
+     * @param dispatcher The strategy used to assign hall calls.
+     * @param config     The timings and home floor shared by every car.
+     */
+    public BatchRunner(int topFloor, int cars, Dispatcher dispatcher, ElevatorConfig config) {
+        this.topFloor = topFloor;
+        this.cars = cars;
+        this.dispatcher = dispatcher;
+        this.config = config;
+        this.planner = new LookPlanner();
+        this.drainMillis = DEFAULT_DRAIN_MILLIS;
+        this.checkpointAt = -1;
+        this.destinationControl = dispatcher instanceof DestinationDispatcher;
+        this.listeners = new ArrayList<>();
+    }
+
+    // Public Methods
+
+    /**
+     * Runs the trips to completion in virtual time.
+     *
+     * @param trips The trips to replay, ordered by time.
+     * @return A summary of the run.
+     * @throws InterruptedException If the calling thread is interrupted.
+     */
+    public BatchResult run(List<Trip> trips) throws InterruptedException {
+        return run(PassengerTable.of(trips), null);
+    }
+
+    /**
+     * Runs the passengers of a table to completion in virtual time.
+     *
+     * @param passengers The passengers to replay.
+     * @return A summary of the run.
+     * @throws InterruptedException If the calling thread is interrupted.
+     */
+    public BatchResult run(PassengerTable passengers) throws InterruptedException {
+        return run(passengers, null);
+    }
+
+    /**
+     * Resumes a run from a checkpoint and runs the trips that start after it.
+     * <p>
+     * The cars are restored with their positions and pending calls, and the dispatcher
+     * and trips can differ from the original run, so one checkpoint can fork many runs
+     * with different policies. Passengers already waiting or riding at the checkpoint are
+     * not tracked; their calls are still answered, but only the later trips are measured.
+     * </p>
+     *
+     * @param start The checkpoint to resume from.
+     * @param trips The trips to replay, ordered by time; those at or before the checkpoint are skipped.
+     * @return A summary of the resumed run.
+     * @throws InterruptedException If the calling thread is interrupted.
+     */
+    public BatchResult resume(Checkpoint start, List<Trip> trips) throws InterruptedException {
+        return run(PassengerTable.of(trips), start);
+    }
+
+    /**
+     * Resumes a run from a checkpoint and runs the passengers of a table that arrive
+     * after it; see {@link #resume(Checkpoint, List)}.
+     *
+     * @param start      The checkpoint to resume from.
+     * @param passengers The passengers to replay; those arriving at or before the checkpoint are skipped.
+     * @return A summary of the resumed run.
+     * @throws InterruptedException If the calling thread is interrupted.
+     */
+    public BatchResult resume(Checkpoint start, PassengerTable passengers) throws InterruptedException {
+        return run(passengers, start);
+    }
+
+    /**
+     * Runs the passengers, either from an empty building or from a checkpoint.
+     *
+     * @param table The passengers to replay.
+     * @param start The checkpoint to resume from, or {@code null} to start cold.
+     * @return A summary of the run.
+     * @throws InterruptedException If the calling thread is interrupted.
+     */
+    private BatchResult run(PassengerTable table, Checkpoint start) throws InterruptedException {
+        long wallStart = System.currentTimeMillis();
+        long startTime = start == null ? 0 : start.getTime();
+        VirtualClock clock = new VirtualClock(startTime);
+        ElevatorMetrics metrics = new ElevatorMetrics(clock);
+        int first = start == null ? 0 : table.firstAfter(startTime);
+        PassengerTracker passengers = new PassengerTracker(table, first, topFloor, topology, destinationControl,
+                metrics, clock);
+
+        int bankCount = topology == null ? 1 : topology.getBankCount();
+        List<Elevator> all;
+        if (start == null) {
+            all = new ArrayList<>(bankCount * cars);
+            for (int b = 0; b < bankCount; b++) {
+                ElevatorConfig bankConfig = bankConfig(b);
+                for (int i = 0; i < cars; i++) {
+                    all.add(new Elevator(topFloor, clock, bankConfig, passengers, metrics));
+                }
+            }
+        } else {
+            all = start.restore(clock, passengers, metrics);
+        }
+        List<List<Elevator>> banks = new ArrayList<>(bankCount);
+        for (int b = 0; b < bankCount; b++) {
+            banks.add(new ArrayList<>());
+        }
+        for (Elevator car : all) {
+            banks.get(bankOf(car)).add(car);
+        }
+
+        for (Elevator car : all) {
+            car.setPlanner(planner);
+            if (journal != null) {
+                journal.attach(car);
+            }
+            if (trace != null) {
+                trace.attach(car);
+            }
+            for (ElevatorListener listener : listeners) {
+                car.addListener(listener);
+            }
+        }
+        List<GroupController> groups = new ArrayList<>(bankCount);
+        for (List<Elevator> bank : banks) {
+            if (bank.isEmpty()) {
+                throw new IllegalArgumentException("No car serves the floors of a bank.");
+            }
+            if (demand != null) {
+                ParkingPolicy parking = new DemandParking(demand, bank);
+                for (Elevator car : bank) {
+                    car.addListener(demand);
+                    car.setParkingPolicy(parking);
+                }
+            }
+            groups.add(new GroupController(bank, dispatcher));
+        }
+        passengers.attach(groups, banks);
+
+        for (GroupController group : groups) {
+            group.start();
+        }
+        checkpoint = null;
+        int count = table.size() - first;
+        long lastArrival = count == 0 ? startTime : table.getArrival(table.size() - 1);
+        long horizon = lastArrival + drainMillis;
+        while (passengers.getDelivered() < count && clock.now() < horizon) {
+            long until = Math.min(clock.now() + STEP_MILLIS, horizon);
+            boolean capture = checkpoint == null && checkpointAt >= clock.now() && checkpointAt <= until;
+            clock.runUntil(capture ? checkpointAt : until);
+            if (capture) {
+                checkpoint = Checkpoint.capture(all); // Every car is asleep while the owner holds time
+            }
+        }
+
+        BatchResult result = new BatchResult(count, passengers.getDelivered(), metrics,
+                clock.now(), System.currentTimeMillis() - wallStart);
+
+        for (GroupController group : groups) {
+            group.stop();
+        }
+        clock.shutdown();
+        return result;
+    }
+
+    /**
+     * Sets how long the run may continue after the last passenger arrives.
+     *
+     * @param drainMillis The drain time in simulation milliseconds.
+     */
+    public void setDrainMillis(long drainMillis) {
+        this.drainMillis = drainMillis;
+    }
+
+    /**
+     * Sets the planner that chooses the next stop of every car in later runs.
+     *
+     * @param planner The stop planner, shared by the cars.
+     */
+    public void setPlanner(StopPlanner planner) {
+        this.planner = planner;
+    }
+
+    /**
+     * Captures a checkpoint of the cars when later runs reach the given time. The
+     * checkpoint is available from {@link #getCheckpoint()} once the run has finished.
+     *
+     * @param millis The simulation time to capture, or {@code -1} to capture nothing.
+     */
+    public void setCheckpointAt(long millis) {
+        this.checkpointAt = millis;
+    }
+
+    /**
+     * Returns the checkpoint captured by the last run.
+     *
+     * @return The checkpoint, or {@code null} if none was requested or the run ended first.
+     */
+    public Checkpoint getCheckpoint() {
+        return checkpoint;
+    }
+
+    /**
+     * Chooses how passengers call cars in later runs: with up and down buttons, pressing
+     * their destination once aboard, or on destination keypads in the hall, boarding only
+     * the car they are assigned. Keypads are used by default when the dispatcher is a
+     * {@link DestinationDispatcher}.
+     *
+     * @param destinationControl {@code true} for hall keypads.
+     */
+    public void setDestinationControl(boolean destinationControl) {
+        this.destinationControl = destinationControl;
+    }
+
+    /**
+     * Registers a listener on every car of later runs, for example to take measurements
+     * the metrics do not cover. Listeners are called on the run's clock thread.
+     *
+     * @param listener The listener to add.
+     */
+    public void addListener(ElevatorListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Parks the idle cars of later runs where a demand model expects the next calls, and
+     * lets the model learn from the calls they answer. The model is kept across runs, so
+     * it can be trained on one run and used in the next.
+     *
+     * @param demand The model to forecast with, or {@code null} to park cars at their home floor.
+     */
+    public void setDemandModel(DemandModel demand) {
+        this.demand = demand;
+    }
+
+    /**
+     * Divides the floors of later runs among banks of cars. Each bank gets as many cars as
+     * the runner was constructed with, parked at the home floor if the bank serves it and
+     * at the bank's lowest floor otherwise, and passengers change banks at transfer floors.
+     * A run resumed from a checkpoint assigns each restored car to the bank whose floors it
+     * serves.
+     *
+     * @param topology The banks, or {@code null} for one bank serving every floor.
+     * @throws IllegalArgumentException If the topology is of a building of another height.
+     */
+    public void setTopology(Topology topology) {
+        if (topology != null && topology.getTopFloor() != topFloor) {
+            throw new IllegalArgumentException("The topology must have " + topFloor + " floors.");
+        }
+        this.topology = topology;
+    }
+
+    /**
+     * Records the state transitions of the cars of later runs in a journal. The caller
+     * remains responsible for closing the journal.
+     *
+     * @param journal The journal to write to, or {@code null} to stop journaling.
+     */
+    public void setJournal(JournalWriter journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Records the state transitions of the cars of the next run in a trace. A trace
+     * belongs to a single run; set a new one before each run to compare them.
+     *
+     * @param trace The trace to record into, or {@code null} to stop tracing.
+     */
+    public void setTrace(EventTrace trace) {
+        this.trace = trace;
+    }
+
+    /**
+     * Runs a generated or recorded workload from the command line.
+     * <p>
+     * Options: {@code --floors N}, {@code --cars N},
+     * {@code --dispatcher nearest|sector|eta|destination} (the last with hall keypads),
+     * {@code --planner look|cost}, {@code --parking home|demand} for where idle cars wait,
+     * {@code --capacity N} passengers per car (unlimited by default),
+     * {@code --motion constant|kinematic}, {@code --express LOW-HIGH} for an express zone
+     * without landings (kinematic motion only; nobody travels to or from it),
+     * {@code --banks "1-20;1,20-40"} to divide the floors among banks of {@code --cars}
+     * cars each, separated by semicolons,
+     * {@code --pattern UP_PEAK|DOWN_PEAK|LUNCH|INTER_FLOOR}, {@code --rate tripsPerHour},
+     * {@code --hours H}, {@code --seed S}, {@code --replay file.jsonl} to replay a call log
+     * instead of generating one, {@code --record file.jsonl} to save the trips used,
+     * {@code --journal directory} to journal every car's state transitions,
+     * {@code --checkpoint file --checkpoint-at ms} to save the state of the cars at a
+     * given time, {@code --resume file} to start from a saved checkpoint,
+     * {@code --trace file} to save the run's event trace, {@code --expect-trace file} to
+     * compare it with a trace saved earlier, and {@code --verify} to run twice and
+     * compare the traces of both runs. Every option but {@code --verify} takes a value.
+     * </p>
+     * <p>
+     * A trace comparison prints the first event at which the traces differ and exits
+     * with status 1, so a saved trace can drive a bisection of the commits that changed
+     * dispatch behavior.
+     * </p>
+     *
+     * @param args Command-line options.
+     * @throws IOException          If a call log, the journal, a checkpoint, or a trace cannot be read or written.
+     * @throws InterruptedException If the run is interrupted.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int floors = 20;
+        int cars = 4;
+        String dispatcherName = "eta";
+        String plannerName = "look";
+        String parking = "home";
+        String motionName = "constant";
+        String express = null;
+        String bankFloors = null;
+        int capacity = ElevatorConfig.UNLIMITED_CAPACITY;
+        TrafficPattern pattern = TrafficPattern.UP_PEAK;
+        double rate = 600;
+        double hours = 1;
+        long seed = 1;
+        Path replay = null;
+        Path record = null;
+        Path journal = null;
+        Path checkpointFile = null;
+        long checkpointAt = -1;
+        Path resume = null;
+        Path traceFile = null;
+        Path expectTrace = null;
+        boolean verify = false;
+
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (option.equals("--verify")) {
+                verify = true; // The only option without a value
+                continue;
+            }
+            if (!option.startsWith("--")) {
+                throw new IllegalArgumentException("Unknown option: " + option);
+            }
+            if (++i == args.length) {
+                throw new IllegalArgumentException("Missing value for option: " + option);
+            }
+            String value = args[i];
+            switch (option) {
+                case "--floors" -> floors = Integer.parseInt(value);
+                case "--cars" -> cars = Integer.parseInt(value);
+                case "--dispatcher" -> dispatcherName = value;
+                case "--planner" -> plannerName = value;
+                case "--parking" -> parking = value;
+                case "--capacity" -> capacity = Integer.parseInt(value);
+                case "--motion" -> motionName = value;
+                case "--express" -> express = value;
+                case "--banks" -> bankFloors = value;
+                case "--pattern" -> pattern = TrafficPattern.valueOf(value.toUpperCase());
+                case "--rate" -> rate = Double.parseDouble(value);
+                case "--hours" -> hours = Double.parseDouble(value);
+                case "--seed" -> seed = Long.parseLong(value);
+                case "--replay" -> replay = Path.of(value);
+                case "--record" -> record = Path.of(value);
+                case "--journal" -> journal = Path.of(value);
+                case "--checkpoint" -> checkpointFile = Path.of(value);
+                case "--checkpoint-at" -> checkpointAt = Long.parseLong(value);
+                case "--resume" -> resume = Path.of(value);
+                case "--trace" -> traceFile = Path.of(value);
+                case "--expect-trace" -> expectTrace = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + option);
+            }
+        }
+
+        ElevatorConfig config = motion(motionName, floors, ElevatorConfig.DEFAULT.withCapacity(capacity));
+        double[] weights = WorkloadGenerator.uniformWeights(floors);
+        if (express != null) {
+            if (!(config.getMotion() instanceof KinematicMotion kinematic)) {
+                throw new IllegalArgumentException("Express zones need --motion kinematic.");
+            }
+            String[] range = express.split("-");
+            int lowest = Integer.parseInt(range[0]);
+            int highest = Integer.parseInt(range[range.length - 1]);
+            config = config.withMotion(kinematic.withExpressZone(lowest, highest));
+            Arrays.fill(weights, lowest, highest + 1, 0); // Nobody lives where the car cannot stop
+        }
+
+        PassengerTable passengers = replay != null
+                ? PassengerTable.of(CallLog.read(replay, floors))
+                : new WorkloadGenerator(floors, pattern, rate, weights, seed).generatePassengers((long) (hours * 3_600_000L));
+        if (record != null) {
+            CallLog.write(record, passengers.toTrips());
+        }
+
+        BatchRunner runner = new BatchRunner(floors, cars, dispatcher(dispatcherName), config);
+        runner.setPlanner(planner(plannerName, config));
+        if (bankFloors != null) {
+            List<FloorSet> banks = new ArrayList<>();
+            for (String bank : bankFloors.split(";")) {
+                banks.add(FloorSet.parse(bank));
+            }
+            runner.setTopology(new Topology(floors, banks));
+        }
+        runner.setDemandModel(demandModel(parking, floors));
+        Checkpoint start = resume == null ? null : Checkpoint.read(resume);
+        if (checkpointFile != null) {
+            runner.setCheckpointAt(checkpointAt);
+        }
+
+        boolean tracing = traceFile != null || expectTrace != null || verify;
+        ByteArrayOutputStream traceBytes = new ByteArrayOutputStream();
+        EventTrace tracer = tracing ? new EventTrace(traceBytes) : null;
+        runner.setTrace(tracer);
+        JournalWriter writer = journal == null ? null : new JournalWriter(journal);
+        try {
+            runner.setJournal(writer);
+            System.out.println(start == null ? runner.run(passengers) : runner.resume(start, passengers));
+            if (writer != null) {
+                System.out.println("Journaled " + writer.getWritten() + " events to " + journal);
+            }
+        } finally {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+        byte[] trace = traceBytes.toByteArray();
+        if (tracer != null) {
+            System.out.println("Traced " + tracer.getEvents() + " events, SHA-256 " + tracer.getDigest());
+        }
+        if (traceFile != null) {
+            Files.write(traceFile, trace);
+            System.out.println("Saved trace to " + traceFile);
+        }
+
+        if (checkpointFile != null) {
+            if (runner.getCheckpoint() == null) {
+                System.out.println("The run ended before the checkpoint time.");
+            } else {
+                runner.getCheckpoint().write(checkpointFile);
+                System.out.println("Saved checkpoint at " + checkpointAt + " ms to " + checkpointFile);
+            }
+        }
+
+        boolean identical = true;
+        if (expectTrace != null) {
+            identical = compareTraces(Files.readAllBytes(expectTrace), trace, "the trace in " + expectTrace);
+        }
+        if (verify) {
+            ByteArrayOutputStream again = new ByteArrayOutputStream();
+            runner.setTrace(new EventTrace(again));
+            runner.setJournal(null);
+            runner.setCheckpointAt(-1);
+            runner.setDemandModel(demandModel(parking, floors)); // As untrained as the first run's
+            if (start == null) {
+                runner.run(passengers);
+            } else {
+                runner.resume(start, passengers);
+            }
+            identical &= compareTraces(trace, again.toByteArray(), "a second run");
+        }
+        if (!identical) {
+            System.exit(1);
+        }
+    }
+
+    // Private Methods
+
+    /**
+     * Prints whether a run's trace matches an expected one, and if not, the first event
+     * at which they differ.
+     *
+     * @param expected The expected trace.
+     * @param actual   The run's trace.
+     * @param source   Where the expected trace comes from, for the message.
+     * @return {@code true} if the traces are identical.
+     */
+    private static boolean compareTraces(byte[] expected, byte[] actual, String source) {
+        long event = EventTrace.firstDifference(expected, actual);
+        if (event < 0) {
+            System.out.println("The trace is identical to " + source + ": " + actual.length / JournalEvent.SIZE
+                    + " events.");
+            return true;
+        }
+        System.out.println("The trace differs from " + source + " at event " + event + ":");
+        System.out.println("  expected: " + Objects.toString(EventTrace.eventAt(expected, event), "end of trace"));
+        System.out.println("  actual:   " + Objects.toString(EventTrace.eventAt(actual, event), "end of trace"));
+        return false;
+    }
+
+    /**
+     * Returns the configuration of the cars of a bank: the runner's, restricted to the
+     * bank's floors, with the home floor moved to the bank's lowest if it does not serve it.
+     *
+     * @param bank The bank.
+     * @return The configuration.
+     */
+    private ElevatorConfig bankConfig(int bank) {
+        if (topology == null) {
+            return config;
+        }
+        FloorSet served = topology.getServedFloors(bank);
+        ElevatorConfig bankConfig = served.contains(config.getHomeFloor()) ? config
+                : config.withHomeFloor(served.getLowest());
+        return bankConfig.withServedFloors(served);
+    }
+
+    /**
+     * Returns the bank a car belongs to: the one whose floors it serves.
+     *
+     * @param car The car.
+     * @return The bank.
+     * @throws IllegalArgumentException If the car's floors are not those of any bank.
+     */
+    private int bankOf(Elevator car) {
+        FloorSet served = car.getConfig().getServedFloors();
+        if (topology == null) {
+            if (served != null) {
+                throw new IllegalArgumentException("A car serving only floors " + served + " needs a topology.");
+            }
+            return 0;
+        }
+        for (int b = 0; b < topology.getBankCount(); b++) {
+            if (topology.getServedFloors(b).equals(served)) {
+                return b;
+            }
+        }
+        throw new IllegalArgumentException("No bank serves the floors of a car: " + served);
+    }
+
+    // Package-Private Methods
+
+    /**
+     * Resolves a dispatcher by its command-line name.
+     *
+     * @param name The dispatcher name.
+     * @return A new dispatcher.
+     */
+    static Dispatcher dispatcher(String name) {
+        return switch (name.toLowerCase()) {
+            case "nearest" -> new NearestCarDispatcher();
+            case "sector" -> new SectorDispatcher();
+            case "eta" -> new EtaDispatcher();
+            case "destination" -> new DestinationDispatcher();
+            default -> throw new IllegalArgumentException("Unknown dispatcher: " + name);
+        };
+    }
+
+    /**
+     * Resolves a parking policy by its command-line name.
+     *
+     * @param name     The policy name: {@code home} or {@code demand}.
+     * @param topFloor The highest floor of the building.
+     * @return A new, untrained demand model, or {@code null} to park cars at home.
+     */
+    static DemandModel demandModel(String name, int topFloor) {
+        return switch (name.toLowerCase()) {
+            case "home" -> null;
+            case "demand" -> new DemandModel(topFloor);
+            default -> throw new IllegalArgumentException("Unknown parking policy: " + name);
+        };
+    }
+
+    /**
+     * Applies a motion model named on the command line to a configuration.
+     *
+     * @param name     The model name: {@code constant} keeps the configuration's floor
+     *                 travel time, {@code kinematic} uses the default kinematic limits.
+     * @param topFloor The highest floor of the building.
+     * @param config   The configuration to apply the model to.
+     * @return The configuration with the model.
+     */
+    static ElevatorConfig motion(String name, int topFloor, ElevatorConfig config) {
+        return switch (name.toLowerCase()) {
+            case "constant" -> config;
+            case "kinematic" -> config.withMotion(new KinematicMotion(topFloor));
+            default -> throw new IllegalArgumentException("Unknown motion model: " + name);
+        };
+    }
+
+    /**
+     * Resolves a stop planner by its command-line name.
+     *
+     * @param name   The planner name.
+     * @param config The timings of the cars being planned for.
+     * @return A new planner.
+     */
+    static StopPlanner planner(String name, ElevatorConfig config) {
+        return switch (name.toLowerCase()) {
+            case "look" -> new LookPlanner();
+            case "cost" -> new CostPlanner(config);
+            default -> throw new IllegalArgumentException("Unknown planner: " + name);
+        };
+    }
+}
@@ -0,0 +1,132 @@
+package elevator.workload;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code CallLog} class reads and writes recorded passenger trips as JSON Lines.
+ * <p>
+ * Each non-blank line is one flat JSON object with numeric {@code time} (milliseconds
+ * from the start of the recording), {@code origin}, and {@code destination} fields, for
+ * example {@code {"time": 1200, "origin": 1, "destination": 7}}. Other fields are
+ * ignored, so logs exported by other tools can be replayed as long as they carry these
+ * three. Both floors must be in the building the log is replayed in, and records are
+ * returned in time order.
+ * </p>
+ */
+public final class CallLog {
+
+    private CallLog() {
+    }
+
+    // Public Methods
+
+    /**
+     * Reads a call log for a building.
+     *
+     * @param path     The file to read.
+     * @param topFloor The highest floor of the building the trips are replayed in.
+     * @return The recorded trips, ordered by time.
+     * @throws IOException              If the file cannot be read.
+     * @throws IllegalArgumentException If a line is not a valid trip record, or its
+     *                                  origin or destination is outside the building.
+     */
+    public static List<Trip> read(Path path, int topFloor) throws IOException {
+        List<Trip> trips = new ArrayList<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    trips.add(new Trip(field(line, "time"), floor(line, "origin", topFloor),
+                            floor(line, "destination", topFloor)));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException(path + ":" + lineNumber + ": " + e.getMessage(), e);
+                }
+            }
+        }
+
+        trips.sort((a, b) -> Long.compare(a.getTime(), b.getTime()));
+        return trips;
+    }
+
+    /**
+     * Writes trips as a call log that {@link #read(Path, int)} can replay.
+     *
+     * @param path  The file to write.
+     * @param trips The trips to record.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(Path path, List<Trip> trips) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            for (Trip trip : trips) {
+                writer.write("{\"time\": " + trip.getTime() + ", \"origin\": " + trip.getOrigin()
+                        + ", \"destination\": " + trip.getDestination() + "}");
+                writer.newLine();
+            }
+        }
+    }
+
+    // Private Methods
+
+    /**
+     * Extracts a floor field from a flat JSON object.
+     *
+     * @param line     The JSON text.
+     * @param name     The field name.
+     * @param topFloor The highest floor of the building.
+     * @return The floor.
+     * @throws IllegalArgumentException If the field is missing, not an integer, or not a
+     *                                  floor of the building.
+     */
+    private static int floor(String line, String name, int topFloor) {
+        long floor = field(line, name);
+        if (floor < 1 || floor > topFloor) {
+            throw new IllegalArgumentException("Field \"" + name + "\" is floor " + floor
+                    + ", outside the building of floors 1 to " + topFloor + ".");
+        }
+        return (int) floor;
+    }
+
+    /**
+     * Extracts a numeric field from a flat JSON object.
+     *
+     * @param line The JSON text.
+     * @param name The field name.
+     * @return The field's value.
+     * @throws IllegalArgumentException If the field is missing or not an integer.
+     */
+    private static long field(String line, String name) {
+        int key = line.indexOf("\"" + name + "\"");
+        int colon = key < 0 ? -1 : line.indexOf(':', key + name.length() + 2);
+        if (colon < 0) {
+            throw new IllegalArgumentException("Missing field \"" + name + "\".");
+        }
+
+        int start = colon + 1;
+        while (start < line.length() && Character.isWhitespace(line.charAt(start))) {
+            start++;
+        }
+        int end = start;
+        while (end < line.length() && (Character.isDigit(line.charAt(end)) || line.charAt(end) == '-')) {
+            end++;
+        }
+
+        try {
+            return Long.parseLong(line.substring(start, end));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Field \"" + name + "\" is not an integer.");
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package elevator.workload;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The {@code PassengerTable} class holds the passengers of a workload in arrival order,
+ * one column per attribute.
+ * <p>
+ * Passengers are identified by their index. Arrival times, origins and destinations are
+ * kept in parallel primitive arrays rather than as one object per passenger, so a table
+ * costs 16 bytes per passenger and a day of rush-hour traffic for a large building, many
+ * millions of trips, fits comfortably in memory and is scanned without chasing pointers.
+ * {@link BatchRunner} keeps the state of a run in the same way.
+ * </p>
+ * <p>
+ * A table is filled by a single thread and is not safe for concurrent modification; once
+ * filled it may be read by any number of runs.
+ * </p>
+ */
+public final class PassengerTable {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private long[] arrivals; // Time each passenger appears at the origin, non-decreasing
+    private int[] origins;
+    private int[] destinations;
+    private int size;
+
+    // Constructors
+
+    /**
+     * Constructs an empty {@code PassengerTable}.
+     */
+    public PassengerTable() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty {@code PassengerTable} with room for the given number of
+     * passengers before it grows.
+     *
+     * @param expected The expected number of passengers.
+     * @throws IllegalArgumentException If the number is negative.
+     */
+    public PassengerTable(int expected) {
+        if (expected < 0) {
+            throw new IllegalArgumentException("The expected number of passengers cannot be negative.");
+        }
+        this.arrivals = new long[expected];
+        this.origins = new int[expected];
+        this.destinations = new int[expected];
+    }
+
+    // Public Methods
+
+    /**
+     * Builds a table from a list of trips.
+     *
+     * @param trips The trips, ordered by time.
+     * @return A new table with one passenger per trip, in the same order.
+     * @throws IllegalArgumentException If the trips are not ordered by time.
+     */
+    public static PassengerTable of(List<Trip> trips) {
+        PassengerTable table = new PassengerTable(trips.size());
+        for (Trip trip : trips) {
+            table.add(trip.getTime(), trip.getOrigin(), trip.getDestination());
+        }
+        return table;
+    }
+
+    /**
+     * Appends a passenger.
+     *
+     * @param time        The simulation time, in milliseconds, at which the passenger arrives.
+     * @param origin      The floor the passenger calls from.
+     * @param destination The floor the passenger travels to.
+     * @return The index of the new passenger.
+     * @throws IllegalArgumentException If the origin and destination are the same floor, or
+     *                                  the passenger arrives before the previous one.
+     */
+    public int add(long time, int origin, int destination) {
+        if (origin == destination) {
+            throw new IllegalArgumentException("A trip must change floors: " + origin);
+        }
+        if (size > 0 && time < arrivals[size - 1]) {
+            throw new IllegalArgumentException("Passengers must be added in arrival order: " + time);
+        }
+        if (size == arrivals.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, size + (size >> 1));
+            arrivals = Arrays.copyOf(arrivals, capacity);
+            origins = Arrays.copyOf(origins, capacity);
+            destinations = Arrays.copyOf(destinations, capacity);
+        }
+        arrivals[size] = time;
+        origins[size] = origin;
+        destinations[size] = destination;
+        return size++;
+    }
+
+    /**
+     * Returns the index of the first passenger arriving strictly after the given time.
+     *
+     * @param time The time in simulation milliseconds.
+     * @return The index, or {@link #size()} if every passenger arrives at or before it.
+     */
+    public int firstAfter(long time) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (arrivals[middle] <= time) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the passengers as a list of trips, for example to write a call log.
+     *
+     * @return A new list with one trip per passenger, in arrival order.
+     */
+    public List<Trip> toTrips() {
+        List<Trip> trips = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            trips.add(new Trip(arrivals[i], origins[i], destinations[i]));
+        }
+        return trips;
+    }
+
+    /**
+     * Returns a string representation of this table.
+     *
+     * @return A string representation of this table.
+     */
+    @Override
+    public String toString() {
+        return "PassengerTable [Passengers: " + size + "]";
+    }
+
+    // Getters
+
+    /**
+     * Returns the number of passengers.
+     *
+     * @return The number of passengers.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the time at which a passenger arrives at the origin floor.
+     *
+     * @param passenger The passenger's index.
+     * @return The arrival time in simulation milliseconds.
+     */
+    public long getArrival(int passenger) {
+        return arrivals[checkIndex(passenger)];
+    }
+
+    /**
+     * Returns the floor a passenger calls from.
+     *
+     * @param passenger The passenger's index.
+     * @return The origin floor.
+     */
+    public int getOrigin(int passenger) {
+        return origins[checkIndex(passenger)];
+    }
+
+    /**
+     * Returns the floor a passenger travels to.
+     *
+     * @param passenger The passenger's index.
+     * @return The destination floor.
+     */
+    public int getDestination(int passenger) {
+        return destinations[checkIndex(passenger)];
+    }
+
+    /**
+     * Indicates whether a passenger travels upwards.
+     *
+     * @param passenger The passenger's index.
+     * @return {@code true} if the destination is above the origin.
+     */
+    public boolean isUp(int passenger) {
+        return destinations[checkIndex(passenger)] > origins[passenger];
+    }
+
+    // Private Method
+
+    /**
+     * Checks that an index names a passenger of this table.
+     *
+     * @param passenger The index.
+     * @return The index.
+     * @throws IndexOutOfBoundsException If there is no such passenger.
+     */
+    private int checkIndex(int passenger) {
+        if (passenger < 0 || passenger >= size) {
+            throw new IndexOutOfBoundsException("No passenger " + passenger + " in a table of " + size + ".");
+        }
+        return passenger;
+    }
+}
@@ -0,0 +1,343 @@
+package elevator.workload;
+
+import elevator.Direction;
+import elevator.Elevator;
+import elevator.ElevatorListener;
+import elevator.group.GroupController;
+import elevator.metrics.ElevatorMetrics;
+import elevator.sim.VirtualClock;
+import elevator.topology.Topology;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code PassengerTracker} class moves the passengers of a {@link BatchRunner} run
+ * through the building: it makes their calls, boards and lets out riders, and feeds each
+ * delivered passenger's wait and journey time to the run's {@link ElevatorMetrics}. It
+ * listens to every car of every bank, and all callbacks run sequentially because the
+ * banks share one virtual clock.
+ * <p>
+ * When a car opens its doors, passengers bound for that floor step out and waiting
+ * passengers travelling in the car's direction step in and press their destination,
+ * as many as the car's capacity allows; those left behind call again. Under destination
+ * control passengers enter their destination on a hall keypad instead, wait for the car
+ * they are assigned, and press nothing once aboard. A passenger whose destination their
+ * floor's banks do not reach rides to a transfer floor, steps out, and calls the next
+ * bank from there, leg by leg. Their wait is measured to the first boarding and their
+ * journey to the final arrival.
+ * </p>
+ * <p>
+ * Passengers are indices into the table, and the run's state is kept in primitive
+ * arrays: each waiting line and each car's riders bound for one floor is a list
+ * threaded through {@code next}, so boarding and alighting allocate nothing and
+ * letting riders out at a floor only visits the riders bound for it. Arrivals are
+ * fed to the clock one at a time rather than scheduled up front.
+ * </p>
+ * <p>
+ * Waiting lines belong to a unit: a bank, or under destination control a car. Riders
+ * are listed by the floor they leave the car at, which in a zoned building may be a
+ * transfer floor rather than their destination.
+ * </p>
+ */
+final class PassengerTracker implements ElevatorListener {
+    private static final int NONE = -1; // End of a list
+
+    private final PassengerTable table;
+    private final int topFloor;
+    private final Topology topology; // Banks of a zoned building, or null for one bank serving every floor
+    private final boolean destinationControl; // Whether passengers enter destinations on hall keypads
+    private final ElevatorMetrics metrics;
+    private final VirtualClock clock;
+    private final long[] boardedAt; // Boarding time of each passenger
+    private final int[] next; // Next passenger in the same waiting line or rider list
+    private final int[] position; // Floor each passenger waits at or last boarded from, with a topology
+    private final Runnable arrivalAction = this::arriveDue;
+    private final Map<Elevator, Integer> carIndex = new IdentityHashMap<>();
+    private int[] lineHeads; // First passenger in each waiting line; see line(int, int, boolean)
+    private int[] lineTails;
+    private boolean[] stranded; // Whether a full car has left someone in each line
+    private int[] riderHeads; // Riders of each car bound for each floor, by car * (topFloor + 1) + floor
+    private List<GroupController> groups; // Controller of each bank
+    private int[] carBanks; // Bank of each car
+    private int[] firstCar; // Index of the first car of each bank
+    private int nextArrival; // Index of the next passenger to arrive
+    private int delivered;
+
+    // Constructor
+
+    /**
+     * Constructs a {@code PassengerTracker} for the passengers of a table.
+     *
+     * @param table              The passengers of the run.
+     * @param first              The index of the first passenger to replay.
+     * @param topFloor           The highest floor of the building.
+     * @param topology           The banks of a zoned building, or {@code null} for one bank.
+     * @param destinationControl Whether passengers enter their destinations on hall keypads.
+     * @param metrics            Receives each delivered passenger's wait and journey time.
+     * @param clock              The run's clock.
+     */
+    PassengerTracker(PassengerTable table, int first, int topFloor, Topology topology, boolean destinationControl,
+                     ElevatorMetrics metrics, VirtualClock clock) {
+        this.table = table;
+        this.topFloor = topFloor;
+        this.topology = topology;
+        this.destinationControl = destinationControl;
+        this.metrics = metrics;
+        this.clock = clock;
+        this.boardedAt = new long[table.size()];
+        this.next = new int[table.size()];
+        this.position = topology == null ? null : new int[table.size()];
+        this.nextArrival = first;
+    }
+
+    // Package-Private Methods
+
+    /**
+     * Connects the passengers to the banks and schedules the first arrival.
+     *
+     * @param groups The controller of each bank, which takes its hall calls.
+     * @param banks  The cars of each bank.
+     */
+    void attach(List<GroupController> groups, List<List<Elevator>> banks) {
+        this.groups = groups;
+        firstCar = new int[banks.size()];
+        for (int b = 0; b < banks.size(); b++) {
+            firstCar[b] = carIndex.size();
+            for (Elevator car : banks.get(b)) {
+                carIndex.put(car, carIndex.size());
+            }
+        }
+        carBanks = new int[carIndex.size()];
+        for (int b = 0; b < banks.size(); b++) {
+            Arrays.fill(carBanks, firstCar[b], firstCar[b] + banks.get(b).size(), b);
+        }
+        int lines = (destinationControl ? carIndex.size() : banks.size()) * 2 * (topFloor + 1);
+        lineHeads = new int[lines];
+        lineTails = new int[lines];
+        stranded = new boolean[lines];
+        riderHeads = new int[carIndex.size() * (topFloor + 1)];
+        Arrays.fill(lineHeads, NONE);
+        Arrays.fill(riderHeads, NONE);
+        if (nextArrival < table.size()) {
+            clock.schedule(table.getArrival(nextArrival) - clock.now(), arrivalAction);
+        }
+    }
+
+    // Event Handlers
+
+    @Override
+    public void onDoorsOpened(Elevator car, int floor) {
+        long now = car.getClock().now();
+        int index = carIndex.get(car);
+        int riders = index * (topFloor + 1);
+
+        // Let riders out first; those changing banks call the next one
+        int alighting = 0;
+        int rider = riderHeads[riders + floor];
+        riderHeads[riders + floor] = NONE;
+        while (rider != NONE) {
+            int following = next[rider];
+            alighting++;
+            if (floor == table.getDestination(rider)) {
+                metrics.recordPassenger(table.getArrival(rider), boardedAt[rider], now);
+                delivered++;
+            } else {
+                position[rider] = floor;
+                call(rider);
+            }
+            rider = following;
+        }
+        car.alight(alighting);
+
+        // Then board those waiting to travel in the car's direction, as many as fit.
+        // Under destination control the car already holds their destinations.
+        int line = line(destinationControl ? index : carBanks[index], floor, car.isMovingUp());
+        while (lineHeads[line] != NONE && car.board(1) == 1) {
+            int passenger = lineHeads[line];
+            int legEnd = legEnd(floor, table.getDestination(passenger));
+            lineHeads[line] = next[passenger];
+            if (floor == table.getOrigin(passenger)) {
+                boardedAt[passenger] = now; // Waits are measured to the first boarding
+            }
+            next[passenger] = riderHeads[riders + legEnd];
+            riderHeads[riders + legEnd] = passenger;
+            if (!destinationControl) {
+                car.addInsideRequest(legEnd);
+            }
+        }
+
+        stranded[line] = false;
+        if (lineHeads[line] != NONE) {
+            if (destinationControl) {
+                withdrawStops(car, riders, floor, line);
+            }
+            callAgain(line, true); // Left behind by a full car
+        }
+    }
+
+    @Override
+    public void onQueueChanged(Elevator car) {
+        if (groups == null || !car.isIdle()) {
+            return;
+        }
+        // Passengers left behind call again when a car of their bank comes to rest at
+        // their floor, as their call may be held by a car still busy elsewhere
+        int floor = car.getCurrentFloor();
+        int bank = carBanks[carIndex.get(car)];
+        int first = destinationControl ? firstCar[bank] : bank;
+        int last = destinationControl ? first + groups.get(bank).getCars().size() : bank + 1;
+        for (int unit = first; unit < last; unit++) {
+            for (int line = line(unit, floor, false); line <= line(unit, floor, true); line++) {
+                if (stranded[line] && lineHeads[line] != NONE) {
+                    callAgain(line, false);
+                }
+            }
+        }
+    }
+
+    // Getters
+
+    /**
+     * Returns the number of passengers delivered to their destination so far.
+     *
+     * @return The number of delivered passengers.
+     */
+    int getDelivered() {
+        return delivered;
+    }
+
+    // Private Methods
+
+    /**
+     * Places every passenger due by now in a waiting line, makes their hall calls, and
+     * schedules the next arrival.
+     */
+    private void arriveDue() {
+        long now = clock.now();
+        while (nextArrival < table.size() && table.getArrival(nextArrival) <= now) {
+            if (position != null) {
+                position[nextArrival] = table.getOrigin(nextArrival);
+            }
+            call(nextArrival++);
+        }
+        if (nextArrival < table.size()) {
+            clock.schedule(table.getArrival(nextArrival) - now, arrivalAction);
+        }
+    }
+
+    /**
+     * Makes a passenger's call for the next leg of their trip and places them at the
+     * back of the waiting line: the line of the floor and the bank serving the leg, or
+     * under destination control the line for the car they were assigned. A call the
+     * controller turns down, or a trip no bank can carry, leaves the passenger waiting
+     * for good, as an invalid hall call does.
+     *
+     * @param passenger The passenger.
+     * @return The waiting line, or {@link #NONE} if the passenger was turned down.
+     */
+    private int call(int passenger) {
+        int origin = position == null ? table.getOrigin(passenger) : position[passenger];
+        int legEnd = legEnd(origin, table.getDestination(passenger));
+        if (legEnd == Topology.NO_ROUTE) {
+            return NONE;
+        }
+        int bank = topology == null ? 0 : topology.nextBank(origin, table.getDestination(passenger));
+        boolean up = legEnd > origin;
+        int unit = bank;
+        if (destinationControl) {
+            int car = groups.get(bank).addDestinationCall(origin, legEnd);
+            if (car < 0) {
+                return NONE;
+            }
+            unit = firstCar[bank] + car;
+        } else {
+            groups.get(bank).addRequest(origin, Direction.of(up));
+        }
+
+        int line = line(unit, origin, up);
+        next[passenger] = NONE;
+        if (lineHeads[line] == NONE) {
+            lineHeads[line] = passenger;
+        } else {
+            next[lineTails[line]] = passenger;
+        }
+        lineTails[line] = passenger;
+        return line;
+    }
+
+    /**
+     * Makes the passengers of a waiting line call again. Under destination control
+     * each is assigned afresh and may move to another car's line.
+     *
+     * @param line   The line.
+     * @param strand {@code true} if a full car has just left them behind, so they call
+     *               again once more when a car comes to rest at their floor.
+     */
+    private void callAgain(int line, boolean strand) {
+        int floor = (line >> 1) % (topFloor + 1);
+        boolean up = (line & 1) == 1;
+        if (!destinationControl) {
+            groups.get((line >> 1) / (topFloor + 1)).addRequest(floor, Direction.of(up));
+            stranded[line] = true;
+            return;
+        }
+
+        int passenger = lineHeads[line];
+        lineHeads[line] = NONE;
+        stranded[line] = false;
+        while (passenger != NONE) {
+            int following = next[passenger];
+            int assigned = call(passenger);
+            if (assigned != NONE) {
+                stranded[assigned] |= strand;
+            }
+            passenger = following;
+        }
+    }
+
+    /**
+     * Withdraws the stops a car booked for passengers it left behind. Answering their
+     * call turned every destination booked with it into an inside stop, so a stop no
+     * rider is bound for would have the car call at a floor for nobody.
+     *
+     * @param car    The car leaving the passengers behind.
+     * @param riders The index of the car's first rider list.
+     * @param floor  The floor they wait at.
+     * @param line   Their waiting line.
+     */
+    private void withdrawStops(Elevator car, int riders, int floor, int line) {
+        for (int passenger = lineHeads[line]; passenger != NONE; passenger = next[passenger]) {
+            int legEnd = legEnd(floor, table.getDestination(passenger));
+            if (riderHeads[riders + legEnd] == NONE) {
+                car.cancelInsideRequest(legEnd);
+            }
+        }
+    }
+
+    /**
+     * Returns the index of a waiting line: one per floor and direction of each bank,
+     * or under destination control of each car.
+     *
+     * @param unit  The bank, or under destination control the car the passengers were assigned.
+     * @param floor The floor.
+     * @param up    {@code true} for passengers going up.
+     * @return The line index.
+     */
+    private int line(int unit, int floor, boolean up) {
+        return (unit * (topFloor + 1) + floor) * 2 + (up ? 1 : 0);
+    }
+
+    /**
+     * Returns the floor at which a passenger leaves the car of the next leg of a trip.
+     *
+     * @param floor       The floor the passenger is at.
+     * @param destination The destination of the trip.
+     * @return The destination or a transfer floor, or {@link Topology#NO_ROUTE} if there is no route.
+     */
+    private int legEnd(int floor, int destination) {
+        return topology == null ? destination : topology.legEnd(floor, destination);
+    }
+}
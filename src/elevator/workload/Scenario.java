@@ -0,0 +1,216 @@
+package elevator.workload;
+
+import elevator.ElevatorConfig;
+
+import java.util.List;
+
+/**
+ * The {@code Scenario} class describes one building configuration to evaluate: the
+ * bank of cars, their timings, dispatch, stop-planning and parking policies, and the
+ * traffic they serve.
+ * <p>
+ * A scenario carries no seed of its own. The {@link SweepRunner} supplies one per
+ * replication, so every scenario of a sweep is judged against the same traffic.
+ * </p>
+ */
+public final class Scenario {
+    private final int topFloor;
+    private final int cars;
+    private final String dispatcher; // Command-line name, resolved to a new dispatcher per run
+    private final String planner; // Command-line name of the cars' stop planner
+    private final String parking; // Command-line name of the parking policy, resolved to a new demand model per run
+    private final ElevatorConfig config;
+    private final TrafficPattern pattern;
+    private final double tripsPerHour;
+    private final long durationMillis;
+
+    // Constructors
+
+    /**
+     * Constructs a new {@code Scenario} whose cars plan their stops with LOOK.
+     *
+     * @param topFloor       The highest floor of the building.
+     * @param cars           The number of cars in the bank.
+     * @param dispatcher     The dispatcher name: {@code nearest}, {@code sector}, {@code eta}, or {@code destination}.
+     * @param config         The timings and home floor shared by every car.
+     * @param pattern        The traffic pattern.
+     * @param tripsPerHour   The mean passenger arrival rate.
+     * @param durationMillis The length of the generated traffic in simulation milliseconds.
+     */
+    public Scenario(int topFloor, int cars, String dispatcher, ElevatorConfig config,
+                    TrafficPattern pattern, double tripsPerHour, long durationMillis) {
+        this(topFloor, cars, dispatcher, "look", config, pattern, tripsPerHour, durationMillis);
+    }
+
+    /**
+     * Constructs a new {@code Scenario}.
+     *
+     * @param topFloor       The highest floor of the building.
+     * @param cars           The number of cars in the bank.
+     * @param dispatcher     The dispatcher name: {@code nearest}, {@code sector}, {@code eta}, or {@code destination}.
+     * @param planner        The stop planner name: {@code look} or {@code cost}.
+     * @param config         The timings and home floor shared by every car.
+     * @param pattern        The traffic pattern.
+     * @param tripsPerHour   The mean passenger arrival rate.
+     * @param durationMillis The length of the generated traffic in simulation milliseconds.
+     */
+    public Scenario(int topFloor, int cars, String dispatcher, String planner, ElevatorConfig config,
+                    TrafficPattern pattern, double tripsPerHour, long durationMillis) {
+        this(topFloor, cars, dispatcher, planner, "home", config, pattern, tripsPerHour, durationMillis);
+    }
+
+    /**
+     * Constructs a copy of a scenario with every field given.
+     */
+    private Scenario(int topFloor, int cars, String dispatcher, String planner, String parking, ElevatorConfig config,
+                     TrafficPattern pattern, double tripsPerHour, long durationMillis) {
+        this.topFloor = topFloor;
+        this.cars = cars;
+        this.dispatcher = dispatcher;
+        this.planner = planner;
+        this.parking = parking;
+        this.config = config;
+        this.pattern = pattern;
+        this.tripsPerHour = tripsPerHour;
+        this.durationMillis = durationMillis;
+    }
+
+    // Public Methods
+
+    /**
+     * Returns a copy of this scenario whose idle cars park by another policy.
+     *
+     * @param parking The parking policy name: {@code home} or {@code demand}.
+     * @return The new scenario.
+     */
+    public Scenario withParking(String parking) {
+        return new Scenario(topFloor, cars, dispatcher, planner, parking, config, pattern, tripsPerHour, durationMillis);
+    }
+
+    /**
+     * Generates the traffic of this scenario for one replication.
+     *
+     * @param seed The seed of the replication.
+     * @return The trips ordered by time.
+     */
+    public List<Trip> generateTrips(long seed) {
+        return new WorkloadGenerator(topFloor, pattern, tripsPerHour, seed).generate(durationMillis);
+    }
+
+    /**
+     * Generates the traffic of this scenario for one replication as a passenger table.
+     *
+     * @param seed The seed of the replication.
+     * @return The passengers in arrival order.
+     */
+    public PassengerTable generatePassengers(long seed) {
+        return new WorkloadGenerator(topFloor, pattern, tripsPerHour, seed).generatePassengers(durationMillis);
+    }
+
+    /**
+     * Creates a runner for one replication of this scenario. Each call resolves a new
+     * dispatcher, planner and demand model, so concurrent runs never share their state.
+     *
+     * @return A new batch runner.
+     */
+    public BatchRunner newRunner() {
+        BatchRunner runner = new BatchRunner(topFloor, cars, BatchRunner.dispatcher(dispatcher), config);
+        runner.setPlanner(BatchRunner.planner(planner, config));
+        runner.setDemandModel(BatchRunner.demandModel(parking, topFloor));
+        return runner;
+    }
+
+    /**
+     * Returns a string representation of this scenario.
+     *
+     * @return A string representation of this scenario.
+     */
+    @Override
+    public String toString() {
+        return "Scenario [Floors: " + topFloor + ", Cars: " + cars + ", Dispatcher: " + dispatcher
+                + ", Planner: " + planner + ", Parking: " + parking + ", " + config + ", Pattern: " + pattern + ", Rate: " + tripsPerHour + "/h]";
+    }
+
+    // Getters
+
+    /**
+     * Returns the highest floor of the building.
+     *
+     * @return The top floor.
+     */
+    public int getTopFloor() {
+        return topFloor;
+    }
+
+    /**
+     * Returns the number of cars in the bank.
+     *
+     * @return The number of cars.
+     */
+    public int getCars() {
+        return cars;
+    }
+
+    /**
+     * Returns the name of the dispatch policy.
+     *
+     * @return The dispatcher name.
+     */
+    public String getDispatcher() {
+        return dispatcher;
+    }
+
+    /**
+     * Returns the name of the stop planner.
+     *
+     * @return The planner name.
+     */
+    public String getPlanner() {
+        return planner;
+    }
+
+    /**
+     * Returns the name of the parking policy.
+     *
+     * @return The parking policy name.
+     */
+    public String getParking() {
+        return parking;
+    }
+
+    /**
+     * Returns the timings and home floor shared by every car.
+     *
+     * @return The car configuration.
+     */
+    public ElevatorConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Returns the traffic pattern.
+     *
+     * @return The traffic pattern.
+     */
+    public TrafficPattern getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Returns the mean passenger arrival rate.
+     *
+     * @return The rate in trips per hour.
+     */
+    public double getTripsPerHour() {
+        return tripsPerHour;
+    }
+
+    /**
+     * Returns the length of the generated traffic.
+     *
+     * @return The duration in simulation milliseconds.
+     */
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+}
@@ -0,0 +1,259 @@
+package elevator.workload;
+
+import elevator.ElevatorConfig;
+import elevator.motion.KinematicMotion;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code SweepRunner} class evaluates many {@link Scenario}s by running independent
+ * batch simulations in parallel.
+ * <p>
+ * Every scenario is replicated a fixed number of times. Replication {@code r} of every
+ * scenario uses the same seed, derived from the sweep's base seed, so configurations are
+ * compared on identical traffic and a sweep reproduces exactly whatever the thread count.
+ * </p>
+ * <p>
+ * Each run owns its own {@link elevator.sim.VirtualClock}, cars, and dispatcher, and
+ * only one of its threads is ever runnable at a time, so runs share nothing and the
+ * sweep scales with the number of worker threads up to the number of cores.
+ * </p>
+ */
+public class SweepRunner {
+    private static final long SEED_INCREMENT = 0x9E3779B97F4A7C15L; // Golden-ratio step of SplitMix64
+
+    private final int threads;
+    private final int replications;
+    private final long baseSeed;
+
+    // Constructor
+
+    /**
+     * Constructs a {@code SweepRunner}.
+     *
+     * @param threads      The number of simulations to run at once.
+     * @param replications The number of runs per scenario.
+     * @param baseSeed     The seed from which every replication's seed is derived.
+     * @throws IllegalArgumentException If the thread or replication count is not positive.
+     */
+    public SweepRunner(int threads, int replications, long baseSeed) {
+        if (threads < 1 || replications < 1) {
+            throw new IllegalArgumentException("A sweep needs at least one thread and one replication.");
+        }
+        this.threads = threads;
+        this.replications = replications;
+        this.baseSeed = baseSeed;
+    }
+
+    // Public Methods
+
+    /**
+     * Runs every replication of every scenario and aggregates the results.
+     *
+     * @param scenarios The scenarios to evaluate.
+     * @return One summary per scenario, in the order given.
+     * @throws InterruptedException If the calling thread is interrupted while waiting.
+     */
+    public List<SweepSummary> run(List<Scenario> scenarios) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads, daemonThreads());
+        try {
+            List<List<Future<BatchResult>>> futures = new ArrayList<>(scenarios.size());
+            for (Scenario scenario : scenarios) {
+                List<Future<BatchResult>> runs = new ArrayList<>(replications);
+                for (int r = 0; r < replications; r++) {
+                    long seed = seedFor(r);
+                    runs.add(pool.submit(() -> scenario.newRunner().run(scenario.generatePassengers(seed))));
+                }
+                futures.add(runs);
+            }
+
+            List<SweepSummary> summaries = new ArrayList<>(scenarios.size());
+            for (int i = 0; i < scenarios.size(); i++) {
+                List<BatchResult> results = new ArrayList<>(replications);
+                for (Future<BatchResult> run : futures.get(i)) {
+                    results.add(await(run));
+                }
+                summaries.add(new SweepSummary(scenarios.get(i), results));
+            }
+            return summaries;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the seed used by a replication. The seed depends only on the base seed and
+     * the replication number.
+     *
+     * @param replication The replication number, from 0.
+     * @return The seed of the replication.
+     */
+    public long seedFor(int replication) {
+        long z = baseSeed + (replication + 1) * SEED_INCREMENT;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Formats sweep summaries as a plain-text table, one row per scenario.
+     *
+     * @param summaries The summaries to format.
+     * @return The table.
+     */
+    public static String formatTable(List<SweepSummary> summaries) {
+        StringBuilder table = new StringBuilder(String.format(
+                "%-6s %-5s %-11s %-5s %-9s %-4s %-12s %-8s %-7s %-5s %-6s %15s %8s %9s %6s %6s%n",
+                "Floors", "Cars", "Dispatch", "Plan", "Motion", "Cap", "Pattern", "Floor ms", "Dwell", "Home", "Park",
+                "Wait s (95% CI)", "Wait p90", "Journey s", "Util", "Done"));
+        for (SweepSummary summary : summaries) {
+            Scenario scenario = summary.getScenario();
+            ElevatorConfig config = scenario.getConfig();
+            table.append(String.format("%-6d %-5d %-11s %-5s %-9s %-4s %-12s %-8d %-7d %-5d %-6s %6.1f +/- %4.1f %8.1f %9.1f %5.1f%% %5.1f%%%n",
+                    scenario.getTopFloor(), scenario.getCars(), scenario.getDispatcher(), scenario.getPlanner(),
+                    config.getMotion() instanceof KinematicMotion ? "kinematic" : "constant",
+                    config.getCapacity() == ElevatorConfig.UNLIMITED_CAPACITY ? "-" : config.getCapacity(),
+                    scenario.getPattern(),
+                    config.getFloorTravelMillis(), config.getDoorDwellMillis(), config.getHomeFloor(), scenario.getParking(),
+                    summary.getMeanWaitMillis() / 1000.0, summary.getWaitConfidenceMillis() / 1000.0,
+                    summary.getWaitP90Millis() / 1000.0, summary.getMeanJourneyMillis() / 1000.0,
+                    summary.getUtilization() * 100, summary.getDeliveredFraction() * 100));
+        }
+        return table.toString();
+    }
+
+    /**
+     * Runs a grid of scenarios from the command line and prints the summary table.
+     * <p>
+     * Options taking comma-separated lists span the grid: {@code --cars}, {@code --dispatcher},
+     * {@code --planner}, {@code --motion}, {@code --capacity}, {@code --pattern},
+     * {@code --floor-travel}, {@code --dwell}, {@code --home}, and {@code --parking}. Single values:
+     * {@code --floors}, {@code --door-move}, {@code --rate}, {@code --hours},
+     * {@code --runs} (replications per scenario), {@code --seed}, and {@code --threads}.
+     * </p>
+     *
+     * @param args Command-line options.
+     * @throws InterruptedException If the sweep is interrupted.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int floors = 20;
+        String[] carCounts = {"2", "4"};
+        String[] dispatchers = {"nearest", "sector", "eta"};
+        String[] planners = {"look"};
+        String[] motions = {"constant"};
+        String[] capacities = {String.valueOf(ElevatorConfig.UNLIMITED_CAPACITY)};
+        String[] patterns = {"UP_PEAK"};
+        String[] floorTravel = {String.valueOf(ElevatorConfig.DEFAULT.getFloorTravelMillis())};
+        String[] dwell = {String.valueOf(ElevatorConfig.DEFAULT.getDoorDwellMillis())};
+        String[] homes = {"1"};
+        String[] parkings = {"home"};
+        long doorMove = ElevatorConfig.DEFAULT.getDoorMoveMillis();
+        double rate = 600;
+        double hours = 1;
+        int runs = 5;
+        long seed = 1;
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--floors" -> floors = Integer.parseInt(value);
+                case "--cars" -> carCounts = value.split(",");
+                case "--dispatcher" -> dispatchers = value.split(",");
+                case "--planner" -> planners = value.split(",");
+                case "--motion" -> motions = value.split(",");
+                case "--capacity" -> capacities = value.split(",");
+                case "--pattern" -> patterns = value.split(",");
+                case "--floor-travel" -> floorTravel = value.split(",");
+                case "--dwell" -> dwell = value.split(",");
+                case "--home" -> homes = value.split(",");
+                case "--parking" -> parkings = value.split(",");
+                case "--door-move" -> doorMove = Long.parseLong(value);
+                case "--rate" -> rate = Double.parseDouble(value);
+                case "--hours" -> hours = Double.parseDouble(value);
+                case "--runs" -> runs = Integer.parseInt(value);
+                case "--seed" -> seed = Long.parseLong(value);
+                case "--threads" -> threads = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        List<Scenario> scenarios = new ArrayList<>();
+        for (String pattern : patterns) {
+            for (String cars : carCounts) {
+                for (String dispatcher : dispatchers) {
+                    for (String planner : planners) {
+                        for (String motion : motions) {
+                            for (String capacity : capacities) {
+                                for (String travel : floorTravel) {
+                                    for (String doorDwell : dwell) {
+                                        for (String home : homes) {
+                                            ElevatorConfig config = BatchRunner.motion(motion, floors,
+                                                    new ElevatorConfig(Long.parseLong(travel), doorMove,
+                                                            Long.parseLong(doorDwell), Integer.parseInt(home))
+                                                            .withCapacity(Integer.parseInt(capacity)));
+                                            Scenario scenario = new Scenario(floors, Integer.parseInt(cars), dispatcher,
+                                                    planner, config, TrafficPattern.valueOf(pattern.toUpperCase()),
+                                                    rate, (long) (hours * 3_600_000L));
+                                            for (String parking : parkings) {
+                                                scenarios.add(scenario.withParking(parking));
+                                            }
+                                        }
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        long start = System.currentTimeMillis();
+        List<SweepSummary> summaries = new SweepRunner(threads, runs, seed).run(scenarios);
+        long elapsed = System.currentTimeMillis() - start;
+
+        System.out.print(formatTable(summaries));
+        System.out.printf("%d runs on %d threads in %d ms%n", scenarios.size() * runs, threads, elapsed);
+    }
+
+    // Private Methods
+
+    /**
+     * Waits for a run and unwraps its failure.
+     *
+     * @param run The pending run.
+     * @return The result of the run.
+     * @throws InterruptedException If the calling thread is interrupted while waiting.
+     */
+    private static BatchResult await(Future<BatchResult> run) throws InterruptedException {
+        try {
+            return run.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Simulation run failed.", e.getCause());
+        }
+    }
+
+    /**
+     * Creates worker threads that do not keep the JVM alive.
+     *
+     * @return The thread factory.
+     */
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger count = new AtomicInteger();
+        return body -> {
+            Thread thread = new Thread(body, "sweep-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,129 @@
+package elevator.workload;
+
+import java.util.List;
+
+/**
+ * The {@code SweepSummary} class aggregates the replications of one {@link Scenario}.
+ * <p>
+ * Each statistic is the mean over replications of the per-run figure, so every run
+ * carries the same weight whatever its passenger count. The spread of the mean wait is
+ * reported as the half-width of a normal-approximation 95% confidence interval.
+ * </p>
+ */
+public final class SweepSummary {
+    private final Scenario scenario;
+    private final List<BatchResult> runs;
+
+    // Constructor
+
+    /**
+     * Constructs a new {@code SweepSummary}.
+     *
+     * @param scenario The scenario that was run.
+     * @param runs     The results of its replications, in replication order.
+     */
+    public SweepSummary(Scenario scenario, List<BatchResult> runs) {
+        this.scenario = scenario;
+        this.runs = List.copyOf(runs);
+    }
+
+    // Public Methods
+
+    /**
+     * Returns the mean over replications of the mean passenger wait.
+     *
+     * @return The mean wait time in milliseconds.
+     */
+    public double getMeanWaitMillis() {
+        return mean(runs.stream().mapToDouble(BatchResult::getMeanWaitMillis).toArray());
+    }
+
+    /**
+     * Returns the half-width of the 95% confidence interval of the mean wait.
+     *
+     * @return The confidence half-width in milliseconds, or 0 for a single replication.
+     */
+    public double getWaitConfidenceMillis() {
+        double[] waits = runs.stream().mapToDouble(BatchResult::getMeanWaitMillis).toArray();
+        if (waits.length < 2) {
+            return 0;
+        }
+        double mean = mean(waits);
+        double squares = 0;
+        for (double wait : waits) {
+            squares += (wait - mean) * (wait - mean);
+        }
+        return 1.96 * Math.sqrt(squares / (waits.length - 1) / waits.length);
+    }
+
+    /**
+     * Returns the mean over replications of the 90th percentile passenger wait.
+     *
+     * @return The wait time in milliseconds.
+     */
+    public double getWaitP90Millis() {
+        return mean(runs.stream().mapToDouble(run -> run.getMetrics().getPassengerWaitTimes().percentile(90)).toArray());
+    }
+
+    /**
+     * Returns the mean over replications of the mean passenger journey time.
+     *
+     * @return The journey time in milliseconds.
+     */
+    public double getMeanJourneyMillis() {
+        return mean(runs.stream().mapToDouble(BatchResult::getMeanJourneyMillis).toArray());
+    }
+
+    /**
+     * Returns the mean over replications of car utilization.
+     *
+     * @return The utilization, between 0 and 1.
+     */
+    public double getUtilization() {
+        return mean(runs.stream().mapToDouble(run -> run.getMetrics().getUtilization()).toArray());
+    }
+
+    /**
+     * Returns the fraction of all trips that were delivered before their run ended.
+     *
+     * @return The delivered fraction, between 0 and 1.
+     */
+    public double getDeliveredFraction() {
+        long trips = runs.stream().mapToLong(BatchResult::getTrips).sum();
+        long delivered = runs.stream().mapToLong(BatchResult::getDelivered).sum();
+        return trips == 0 ? 1 : (double) delivered / trips;
+    }
+
+    // Getters
+
+    /**
+     * Returns the scenario that was run.
+     *
+     * @return The scenario.
+     */
+    public Scenario getScenario() {
+        return scenario;
+    }
+
+    /**
+     * Returns the results of the replications.
+     *
+     * @return An unmodifiable list of results in replication order.
+     */
+    public List<BatchResult> getRuns() {
+        return runs;
+    }
+
+    // Private Method
+
+    /**
+     * Returns the arithmetic mean of the values, or 0 if there are none.
+     */
+    private static double mean(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return values.length == 0 ? 0 : sum / values.length;
+    }
+}
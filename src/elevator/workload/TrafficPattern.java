@@ -0,0 +1,58 @@
+package elevator.workload;
+
+/**
+ * The {@code TrafficPattern} enum describes the classic building traffic mixes used
+ * for elevator capacity planning.
+ * <p>
+ * Each pattern splits arrivals into incoming trips (from the lobby to an upper floor),
+ * outgoing trips (from an upper floor to the lobby), and inter-floor trips between two
+ * upper floors.
+ * </p>
+ */
+public enum TrafficPattern {
+    /** Morning arrivals: almost everyone travels up from the lobby. */
+    UP_PEAK(0.90, 0.05),
+    /** Evening departures: almost everyone travels down to the lobby. */
+    DOWN_PEAK(0.05, 0.90),
+    /** Midday: people leave for and return from lunch in similar numbers. */
+    LUNCH(0.45, 0.45),
+    /** Working hours: most movement is between upper floors. */
+    INTER_FLOOR(0.10, 0.10);
+
+    private final double incoming; // Share of trips from the lobby
+    private final double outgoing; // Share of trips to the lobby
+
+    TrafficPattern(double incoming, double outgoing) {
+        this.incoming = incoming;
+        this.outgoing = outgoing;
+    }
+
+    // Getters
+
+    /**
+     * Returns the share of trips that start at the lobby.
+     *
+     * @return The incoming share, between 0 and 1.
+     */
+    public double getIncoming() {
+        return incoming;
+    }
+
+    /**
+     * Returns the share of trips that end at the lobby.
+     *
+     * @return The outgoing share, between 0 and 1.
+     */
+    public double getOutgoing() {
+        return outgoing;
+    }
+
+    /**
+     * Returns the share of trips between two upper floors.
+     *
+     * @return The inter-floor share, between 0 and 1.
+     */
+    public double getInterFloor() {
+        return 1.0 - incoming - outgoing;
+    }
+}
@@ -0,0 +1,80 @@
+package elevator.workload;
+
+/**
+ * The {@code Trip} class represents one passenger journey: a person who appears at an
+ * origin floor at a given time and wants to travel to a destination floor.
+ */
+public final class Trip {
+    private final long time; // Arrival time at the origin, in simulation milliseconds
+    private final int origin;
+    private final int destination;
+
+    // Constructor
+
+    /**
+     * Constructs a new {@code Trip}.
+     *
+     * @param time        The simulation time, in milliseconds, at which the passenger arrives.
+     * @param origin      The floor the passenger calls from.
+     * @param destination The floor the passenger travels to.
+     * @throws IllegalArgumentException If the origin and destination are the same floor.
+     */
+    public Trip(long time, int origin, int destination) {
+        if (origin == destination) {
+            throw new IllegalArgumentException("A trip must change floors: " + origin);
+        }
+        this.time = time;
+        this.origin = origin;
+        this.destination = destination;
+    }
+
+    // Public Method
+
+    /**
+     * Returns a string representation of this trip.
+     *
+     * @return A string representation of this trip.
+     */
+    @Override
+    public String toString() {
+        return "Trip [Time: " + time + " ms, From: " + origin + ", To: " + destination + "]";
+    }
+
+    // Getters
+
+    /**
+     * Returns the time at which the passenger arrives at the origin floor.
+     *
+     * @return The arrival time in simulation milliseconds.
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Returns the floor the passenger calls from.
+     *
+     * @return The origin floor.
+     */
+    public int getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Returns the floor the passenger travels to.
+     *
+     * @return The destination floor.
+     */
+    public int getDestination() {
+        return destination;
+    }
+
+    /**
+     * Indicates whether the passenger travels upwards.
+     *
+     * @return {@code true} if the destination is above the origin.
+     */
+    public boolean isUp() {
+        return destination > origin;
+    }
+}
@@ -0,0 +1,196 @@
+package elevator.workload;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The {@code WorkloadGenerator} class produces synthetic passenger trips for a building.
+ * <p>
+ * Arrivals follow a Poisson process with the configured rate, so the gaps between
+ * passengers are exponentially distributed. Each trip is classified as incoming,
+ * outgoing, or inter-floor according to the {@link TrafficPattern}, and upper floors
+ * are drawn in proportion to their population weights. Floor 1 is the lobby. The
+ * generator is seeded, so the same parameters always produce the same trips.
+ * </p>
+ */
+public class WorkloadGenerator {
+    private final int topFloor;
+    private final TrafficPattern pattern;
+    private final double tripsPerMillisecond;
+    private final double[] cumulativeWeights; // Cumulative population of floors 2..topFloor
+    private final int populatedFloors; // Number of upper floors with a positive weight
+    private final Random random;
+
+    // Constructors
+
+    /**
+     * Constructs a {@code WorkloadGenerator} in which every upper floor is equally populated.
+     *
+     * @param topFloor    The highest floor of the building; must be at least 2.
+     * @param pattern     The traffic mix to generate.
+     * @param tripsPerHour The mean number of passenger arrivals per hour.
+     * @param seed        The random seed.
+     */
+    public WorkloadGenerator(int topFloor, TrafficPattern pattern, double tripsPerHour, long seed) {
+        this(topFloor, pattern, tripsPerHour, uniformWeights(topFloor), seed);
+    }
+
+    /**
+     * Constructs a {@code WorkloadGenerator} with per-floor population weights.
+     *
+     * @param topFloor     The highest floor of the building; must be at least 2.
+     * @param pattern      The traffic mix to generate.
+     * @param tripsPerHour The mean number of passenger arrivals per hour.
+     * @param floorWeights The relative population of each floor, indexed by floor number.
+     *                     Entries 0 and 1 (the lobby) are ignored.
+     * @param seed         The random seed.
+     * @throws IllegalArgumentException If the building has no upper floor, the rate is not
+     *                                  positive, or no upper floor has a positive weight.
+     */
+    public WorkloadGenerator(int topFloor, TrafficPattern pattern, double tripsPerHour,
+                             double[] floorWeights, long seed) {
+        if (topFloor < 2) {
+            throw new IllegalArgumentException("Trips need at least two floors.");
+        }
+        if (tripsPerHour <= 0) {
+            throw new IllegalArgumentException("The arrival rate must be positive.");
+        }
+        if (floorWeights.length <= topFloor) {
+            throw new IllegalArgumentException("A weight is needed for every floor up to " + topFloor + ".");
+        }
+
+        this.topFloor = topFloor;
+        this.pattern = pattern;
+        this.tripsPerMillisecond = tripsPerHour / 3_600_000.0;
+        this.cumulativeWeights = new double[topFloor - 1];
+        this.random = new Random(seed);
+
+        double total = 0;
+        int populated = 0;
+        for (int floor = 2; floor <= topFloor; floor++) {
+            if (floorWeights[floor] > 0) {
+                total += floorWeights[floor];
+                populated++;
+            }
+            cumulativeWeights[floor - 2] = total;
+        }
+        this.populatedFloors = populated;
+        if (total <= 0) {
+            throw new IllegalArgumentException("At least one upper floor must have a positive weight.");
+        }
+    }
+
+    // Public Methods
+
+    /**
+     * Generates the trips arriving during the given period, in arrival order.
+     *
+     * @param durationMillis The length of the period in simulation milliseconds.
+     * @return The generated trips.
+     */
+    public List<Trip> generate(long durationMillis) {
+        List<Trip> trips = new ArrayList<>();
+        double time = nextGap();
+
+        while (time < durationMillis) {
+            trips.add(nextTrip((long) time));
+            time += nextGap();
+        }
+
+        return trips;
+    }
+
+    /**
+     * Generates the passengers arriving during the given period into a
+     * {@link PassengerTable}. Draws the same trips as {@link #generate(long)} would, but
+     * stores them column-wise, so long or dense workloads fit in memory.
+     *
+     * @param durationMillis The length of the period in simulation milliseconds.
+     * @return The generated passengers, in arrival order.
+     */
+    public PassengerTable generatePassengers(long durationMillis) {
+        PassengerTable passengers = new PassengerTable();
+        double time = nextGap();
+
+        while (time < durationMillis) {
+            Trip trip = nextTrip((long) time);
+            passengers.add(trip.getTime(), trip.getOrigin(), trip.getDestination());
+            time += nextGap();
+        }
+
+        return passengers;
+    }
+
+    /**
+     * Returns weights that populate every upper floor equally.
+     *
+     * @param topFloor The highest floor of the building.
+     * @return An array of weights indexed by floor number.
+     */
+    public static double[] uniformWeights(int topFloor) {
+        double[] weights = new double[topFloor + 1];
+        Arrays.fill(weights, 2, topFloor + 1, 1.0);
+        return weights;
+    }
+
+    // Private Methods
+
+    /**
+     * Draws the exponentially distributed gap to the next arrival.
+     *
+     * @return The gap in milliseconds.
+     */
+    private double nextGap() {
+        return -Math.log(1.0 - random.nextDouble()) / tripsPerMillisecond;
+    }
+
+    /**
+     * Draws the origin and destination of a trip arriving at the given time.
+     *
+     * @param time The arrival time.
+     * @return The trip.
+     */
+    private Trip nextTrip(long time) {
+        double kind = random.nextDouble();
+
+        if (kind < pattern.getIncoming()) {
+            return new Trip(time, 1, upperFloor(-1));
+        } else if (kind < pattern.getIncoming() + pattern.getOutgoing() || populatedFloors == 1) {
+            return new Trip(time, upperFloor(-1), 1);
+        }
+
+        int origin = upperFloor(-1);
+        return new Trip(time, origin, upperFloor(origin));
+    }
+
+    /**
+     * Draws an upper floor in proportion to its population weight.
+     *
+     * @param excluded A floor that must not be drawn, or {@code -1}.
+     * @return The drawn floor.
+     */
+    private int upperFloor(int excluded) {
+        while (true) {
+            double target = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+
+            // Find the first floor whose cumulative weight exceeds the target
+            int low = 0;
+            int high = cumulativeWeights.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cumulativeWeights[mid] > target) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+
+            int floor = low + 2;
+            if (floor != excluded) {
+                return floor;
+            }
+        }
+    }
+}
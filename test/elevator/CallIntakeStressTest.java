@@ -0,0 +1,136 @@
+package elevator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Stress test of the {@link CallIntake}: many producer threads press and cancel calls
+ * on a small building while a consumer thread drains the intake, as the car's clock
+ * thread does, and every operation is accounted for.
+ * <p>
+ * Each operation carries its producer and sequence number in its time, so the consumer
+ * can check that it receives every producer's calls in the order they were posted and
+ * none twice. Once all threads finish, every operation posted must have been polled,
+ * coalesced, or rejected exactly once, and a fresh press of every call must be queued
+ * rather than coalesced with a call that was never delivered. Rounds run with a small
+ * rejecting intake, a small blocking one, and the default capacity.
+ * </p>
+ */
+class CallIntakeStressTest {
+    private static final int THREADS = 8;
+    private static final int OPERATIONS = 100_000; // Presses and cancellations per producer
+    private static final int FLOORS = 10; // Few floors, so many presses coalesce
+    private static final int SEQUENCE_BITS = 32; // Low bits of a call's time; the producer is above them
+    private static final int CANCEL_PERCENT = 20; // Share of operations that are cancellations
+
+    @Test
+    void smallRejectingIntake() throws InterruptedException {
+        run(16, OverflowPolicy.REJECT);
+    }
+
+    @Test
+    void smallBlockingIntake() throws InterruptedException {
+        run(16, OverflowPolicy.BLOCK);
+    }
+
+    @Test
+    void defaultCapacity() throws InterruptedException {
+        run(CallIntake.DEFAULT_CAPACITY, OverflowPolicy.REJECT);
+    }
+
+    /**
+     * Runs one round and checks that no call was lost, duplicated or reordered.
+     *
+     * @param capacity The intake capacity.
+     * @param policy   What happens to a call that does not fit.
+     */
+    private void run(int capacity, OverflowPolicy policy) throws InterruptedException {
+        CallIntake intake = new CallIntake(FLOORS);
+        intake.setLimit(capacity, policy);
+        LongAdder posted = new LongAdder();
+        LongAdder refused = new LongAdder(); // Operations the producers saw rejected
+        long[] lastSequence = new long[THREADS];
+        Arrays.fill(lastSequence, -1);
+        AtomicBoolean producing = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+
+        Thread[] producers = new Thread[THREADS];
+        for (int p = 0; p < THREADS; p++) {
+            int producer = p;
+            producers[p] = new Thread(() -> produce(intake, producer, start, posted, refused), "producer-" + p);
+            producers[p].start();
+        }
+        long[] polled = new long[1];
+        boolean[] ordered = {true};
+        Thread consumer = new Thread(() -> {
+            while (producing.get() || intake.hasPending()) {
+                CallIntake.Call call = intake.poll();
+                if (call == null) {
+                    Thread.yield(); // Lets producers run on machines with few cores
+                    continue;
+                }
+                polled[0]++;
+                int producer = (int) (call.time >>> SEQUENCE_BITS);
+                long sequence = call.time & ((1L << SEQUENCE_BITS) - 1);
+                if (sequence <= lastSequence[producer]) {
+                    ordered[0] = false; // Out of order, or delivered twice
+                }
+                lastSequence[producer] = sequence;
+            }
+        }, "consumer");
+        consumer.start();
+
+        start.countDown();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        producing.set(false);
+        consumer.join();
+
+        long coalesced = intake.getCoalesced();
+        long rejected = intake.getRejected();
+        assertEquals(posted.sum(), polled[0] + coalesced + rejected, "every call polled, coalesced or rejected once");
+        assertEquals(refused.sum(), rejected, "every rejection reported to its producer");
+        assertTrue(ordered[0], "each producer's calls polled in order");
+
+        intake.setLimit(Integer.MAX_VALUE, OverflowPolicy.REJECT); // Room for one of each call, with no consumer
+        for (int floor = 1; floor <= FLOORS; floor++) { // Every call must queue again once drained
+            for (int kind = CallIntake.INSIDE; kind <= CallIntake.DOWN; kind++) {
+                intake.offer(floor, kind, 0);
+            }
+        }
+        assertEquals(coalesced, intake.getCoalesced(), "no call left marked as queued");
+    }
+
+    /**
+     * Posts one producer's operations, tagging each with the producer and its sequence.
+     */
+    private void produce(CallIntake intake, int producer, CountDownLatch start, LongAdder posted, LongAdder refused) {
+        SplittableRandom random = new SplittableRandom(producer);
+        try {
+            start.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        for (int sequence = 0; sequence < OPERATIONS; sequence++) {
+            int floor = 1 + random.nextInt(FLOORS);
+            int kind = random.nextInt(3);
+            long time = (long) producer << SEQUENCE_BITS | sequence;
+            boolean queued = random.nextInt(100) < CANCEL_PERCENT ? intake.cancel(floor, kind, time)
+                    : intake.offer(floor, kind, time);
+            if (!queued) {
+                refused.increment();
+            }
+        }
+        posted.add(OPERATIONS);
+    }
+}
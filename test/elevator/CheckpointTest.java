@@ -0,0 +1,121 @@
+package elevator;
+
+import elevator.motion.KinematicMotion;
+import elevator.topology.FloorSet;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Tests of the {@link Checkpoint} file format: a written checkpoint reads back with
+ * every car's position, requests, keypad bookings and configuration, and corrupt input
+ * is reported as an {@link IOException} rather than any other failure.
+ */
+class CheckpointTest {
+    private static final int FLOORS = 20;
+    private static final long TIME = 123_456;
+    private static final int TOP_FLOOR_OFFSET = 20; // Magic, version, time, and car count come first
+    private static final int MUTATIONS = 5_000;
+
+    @Test
+    void roundTripKeepsEveryCar() throws IOException {
+        Checkpoint original = sample();
+        Checkpoint read = Checkpoint.read(new ByteArrayInputStream(bytes(original)));
+
+        assertEquals(TIME, read.getTime());
+        assertEquals(original.getCars().size(), read.getCars().size());
+        for (int c = 0; c < original.getCars().size(); c++) {
+            ElevatorSnapshot expected = original.getCars().get(c);
+            ElevatorSnapshot actual = read.getCars().get(c);
+            assertEquals(expected.getTopFloor(), actual.getTopFloor());
+            assertEquals(expected.getConfig().toString(), actual.getConfig().toString());
+            assertEquals(expected.getCurrentFloor(), actual.getCurrentFloor());
+            assertEquals(expected.isMovingUp(), actual.isMovingUp());
+            assertEquals(expected.getCurrentRequest(), actual.getCurrentRequest());
+            assertEquals(expected.getPendingRequests(), actual.getPendingRequests());
+            for (int i = 0; i < expected.getPendingRequests().size(); i++) {
+                assertEquals(expected.getRequestedAt(i), actual.getRequestedAt(i));
+            }
+            assertEquals(expected.getBookedCalls(), actual.getBookedCalls());
+            for (int i = 0; i < expected.getBookedCalls().size(); i++) {
+                assertEquals(expected.getBookedDestination(i), actual.getBookedDestination(i));
+            }
+        }
+    }
+
+    @Test
+    void rejectsImplausibleTopFloor() throws IOException {
+        for (int topFloor : new int[] {0, -1, Short.MAX_VALUE + 1, Integer.MAX_VALUE}) {
+            byte[] data = bytes(sample());
+            ByteBuffer.wrap(data).putInt(TOP_FLOOR_OFFSET, topFloor);
+            assertThrows(IOException.class, () -> Checkpoint.read(new ByteArrayInputStream(data)));
+        }
+    }
+
+    @Test
+    void rejectsTruncatedInput() throws IOException {
+        byte[] data = bytes(sample());
+        for (int length = 0; length < data.length; length++) {
+            byte[] truncated = Arrays.copyOf(data, length);
+            assertThrows(IOException.class, () -> Checkpoint.read(new ByteArrayInputStream(truncated)));
+        }
+    }
+
+    @Test
+    void reportsCorruptionOnlyAsIOException() throws IOException {
+        byte[] data = bytes(sample());
+        SplittableRandom random = new SplittableRandom(42);
+        for (int n = 0; n < MUTATIONS; n++) {
+            byte[] corrupt = data.clone();
+            for (int k = random.nextInt(1, 5); k > 0; k--) {
+                corrupt[random.nextInt(corrupt.length)] = (byte) random.nextInt(256);
+            }
+            try {
+                Checkpoint.read(new ByteArrayInputStream(corrupt));
+            } catch (IOException expected) {
+                // A detected corruption
+            } catch (RuntimeException | OutOfMemoryError e) {
+                fail("Mutation " + n + " escaped as " + e, e);
+            }
+        }
+    }
+
+    /**
+     * Builds a checkpoint of two cars: one with constant-speed motion, a capacity, served
+     * floors, pending requests and keypad bookings with repeats, and one kinematic car.
+     */
+    private static Checkpoint sample() {
+        ElevatorConfig constant = ElevatorConfig.DEFAULT.withCapacity(12).withServedFloors(FloorSet.range(1, 15));
+        ElevatorSnapshot first = new ElevatorSnapshot(FLOORS, constant, 4, true, Request.inside(9),
+                List.of(Request.hallCall(7, Direction.UP), Request.inside(12), Request.hallCall(3, Direction.DOWN)),
+                new long[] {1_000, 2_500, 90_000},
+                List.of(Request.hallCall(7, Direction.UP), Request.hallCall(7, Direction.UP),
+                        Request.hallCall(3, Direction.DOWN)),
+                new int[] {11, 11, 1});
+
+        ElevatorConfig kinematic = ElevatorConfig.DEFAULT.withMotion(new KinematicMotion(FLOORS));
+        ElevatorSnapshot second = new ElevatorSnapshot(FLOORS, kinematic, 18, false, null,
+                List.of(Request.hallCall(2, Direction.UP)), new long[] {100_000});
+
+        return new Checkpoint(TIME, List.of(first, second));
+    }
+
+    /**
+     * Writes a checkpoint to memory.
+     */
+    private static byte[] bytes(Checkpoint checkpoint) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        checkpoint.write(out);
+        return out.toByteArray();
+    }
+}
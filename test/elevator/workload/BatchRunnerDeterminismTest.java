@@ -0,0 +1,71 @@
+package elevator.workload;
+
+import elevator.ElevatorConfig;
+import elevator.journal.EventTrace;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Determinism test of the {@link BatchRunner}: two runs of the same seed and
+ * configuration, each with its own runner, cars and traffic, record identical event
+ * traces. Runs cover ETA dispatch with full cars, destination dispatch, and demand
+ * parking, whose model learns during the run.
+ */
+class BatchRunnerDeterminismTest {
+    private static final int FLOORS = 20;
+    private static final int CARS = 4;
+    private static final double TRIPS_PER_HOUR = 1200;
+    private static final long HOUR_MILLIS = 3_600_000;
+    private static final long SEED = 7;
+
+    @Test
+    void etaDispatchWithCapacityRepeats() throws InterruptedException {
+        assertRepeats("eta", "home", 8);
+    }
+
+    @Test
+    void destinationDispatchRepeats() throws InterruptedException {
+        assertRepeats("destination", "home", 16);
+    }
+
+    @Test
+    void demandParkingRepeats() throws InterruptedException {
+        assertRepeats("eta", "demand", ElevatorConfig.UNLIMITED_CAPACITY);
+    }
+
+    @Test
+    void anotherSeedChangesTheTrace() throws InterruptedException {
+        EventTrace first = run("eta", "home", ElevatorConfig.UNLIMITED_CAPACITY, SEED);
+        EventTrace second = run("eta", "home", ElevatorConfig.UNLIMITED_CAPACITY, SEED + 1);
+        assertNotEquals(first.getDigest(), second.getDigest());
+    }
+
+    /**
+     * Runs a configuration twice on the same seed and compares the traces.
+     */
+    private static void assertRepeats(String dispatcher, String parking, int capacity) throws InterruptedException {
+        EventTrace first = run(dispatcher, parking, capacity, SEED);
+        EventTrace second = run(dispatcher, parking, capacity, SEED);
+        assertTrue(first.getEvents() > 0);
+        assertEquals(first.getEvents(), second.getEvents());
+        assertEquals(first.getDigest(), second.getDigest());
+    }
+
+    /**
+     * Runs an hour of up-peak traffic with a fresh runner and returns its trace.
+     */
+    private static EventTrace run(String dispatcher, String parking, int capacity, long seed)
+            throws InterruptedException {
+        BatchRunner runner = new BatchRunner(FLOORS, CARS, BatchRunner.dispatcher(dispatcher),
+                ElevatorConfig.DEFAULT.withCapacity(capacity));
+        runner.setDemandModel(BatchRunner.demandModel(parking, FLOORS));
+        EventTrace trace = new EventTrace();
+        runner.setTrace(trace);
+        runner.run(new WorkloadGenerator(FLOORS, TrafficPattern.UP_PEAK, TRIPS_PER_HOUR, seed)
+                .generatePassengers(HOUR_MILLIS));
+        return trace;
+    }
+}